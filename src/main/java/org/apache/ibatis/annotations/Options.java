@@ -22,6 +22,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import org.apache.ibatis.mapping.PartitionType;
 import org.apache.ibatis.mapping.ResultSetType;
 import org.apache.ibatis.mapping.StatementType;
 
@@ -138,6 +139,68 @@ public @interface Options {
    */
   String resultSets() default "";
 
+  /**
+   * Returns column names that order the rows of a select for keyset pagination.
+   * <p>
+   * If you specify multiple column, please separate using comma(',').
+   * </p>
+   *
+   * @return column names that separate with comma(',')
+   * @since 3.5.7
+   * @see org.apache.ibatis.session.KeysetRowBounds
+   */
+  String keysetColumn() default "";
+
+  /**
+   * Returns property names that hold the values of the keyset columns in result objects.
+   * <p>
+   * If you specify multiple property, please separate using comma(','). The default is the keyset column names.
+   * </p>
+   *
+   * @return property names that separate with comma(',')
+   * @since 3.5.7
+   */
+  String keysetProperty() default "";
+
+  /**
+   * Returns the column splitting the rows of a select between concurrent sub-queries.
+   *
+   * @return the partition column
+   * @since 3.5.7
+   */
+  String partitionColumn() default "";
+
+  /**
+   * Returns the number of concurrent sub-queries of a partitioned select.
+   * <p>
+   * The default is {@value org.apache.ibatis.executor.PartitionedQuery#DEFAULT_PARTITIONS}.
+   * </p>
+   *
+   * @return the number of partitions
+   * @since 3.5.7
+   */
+  int partitions() default -1;
+
+  /**
+   * Returns how the rows of a partitioned select are split.
+   *
+   * @return the partition type
+   * @since 3.5.7
+   */
+  PartitionType partitionType() default PartitionType.RANGE;
+
+  /**
+   * Returns the property of the parameter object that selects the shard a statement is routed to.
+   * <p>
+   * A parameter of a simple type is used as the shard key itself.
+   * </p>
+   *
+   * @return the shard key property
+   * @since 3.5.7
+   * @see org.apache.ibatis.sharding.ShardedSqlSessionFactory
+   */
+  String shardKey() default "";
+
   /**
    * @return A database id that correspond this options
    * @since 3.5.5
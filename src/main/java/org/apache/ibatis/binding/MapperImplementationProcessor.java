@@ -0,0 +1,239 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.binding;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.IntersectionType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates an implementation class for every mapper interface annotated with
+ * {@link org.apache.ibatis.annotations.Mapper}.
+ * <p>
+ * The generated class is named after the binary name of the interface followed by {@value #IMPLEMENTATION_SUFFIX}
+ * and calls {@link MapperMethods} directly, so {@link MapperProxyFactory} uses it instead of creating a dynamic proxy.
+ * Default methods are inherited as they are. Generic mapper interfaces and interfaces that are not visible from their
+ * package are skipped and keep using the proxy.
+ * <p>
+ * The processor is not registered as a service, enable it explicitly, e.g. with
+ * {@code -processor org.apache.ibatis.binding.MapperImplementationProcessor}.
+ *
+ * @since 3.5.7
+ */
+@SupportedAnnotationTypes("org.apache.ibatis.annotations.Mapper")
+public class MapperImplementationProcessor extends AbstractProcessor {
+
+  public static final String IMPLEMENTATION_SUFFIX = "_MapperImpl";
+  static final String METHODS_FIELD = "METHODS";
+
+  public static String getImplementationName(String mapperInterfaceName) {
+    return mapperInterfaceName + IMPLEMENTATION_SUFFIX;
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    for (TypeElement annotation : annotations) {
+      for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        if (element.getKind() == ElementKind.INTERFACE) {
+          generate((TypeElement) element);
+        }
+      }
+    }
+    return false;
+  }
+
+  private void generate(TypeElement type) {
+    if (!type.getTypeParameters().isEmpty()) {
+      note(type, "generic mapper interfaces are left to the dynamic proxy");
+      return;
+    }
+    for (Element enclosing = type; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+      if (enclosing.getModifiers().contains(Modifier.PRIVATE)) {
+        note(type, "private mapper interfaces are left to the dynamic proxy");
+        return;
+      }
+    }
+    Elements elements = processingEnv.getElementUtils();
+    String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+    String implementationName = getImplementationName(elements.getBinaryName(type).toString());
+    String simpleName = packageName.isEmpty() ? implementationName
+        : implementationName.substring(packageName.length() + 1);
+    try (PrintWriter out = new PrintWriter(processingEnv.getFiler().createSourceFile(implementationName, type)
+        .openWriter())) {
+      out.print(generateSource(type, packageName, simpleName));
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+          "Could not write mapper implementation " + implementationName + ": " + e, type);
+    }
+  }
+
+  private String generateSource(TypeElement type, String packageName, String simpleName) {
+    List<ExecutableElement> methods = getMapperMethods(type);
+    String typeName = type.getQualifiedName().toString();
+    StringBuilder source = new StringBuilder();
+    source.append("// Generated by ").append(getClass().getName()).append(", do not edit.\n");
+    if (!packageName.isEmpty()) {
+      source.append("package ").append(packageName).append(";\n\n");
+    }
+    source.append("@SuppressWarnings(\"unchecked\")\n");
+    source.append("public final class ").append(simpleName).append(" implements ").append(typeName).append(" {\n\n");
+    source.append("  public static final java.lang.reflect.Method[] ").append(METHODS_FIELD).append(" = {");
+    for (int i = 0; i < methods.size(); i++) {
+      ExecutableElement method = methods.get(i);
+      source.append(i == 0 ? "\n" : ",\n");
+      source.append("      org.apache.ibatis.binding.MapperMethods.method(").append(typeName).append(".class, \"")
+          .append(method.getSimpleName()).append('"');
+      for (VariableElement parameter : method.getParameters()) {
+        source.append(", ").append(processingEnv.getTypeUtils().erasure(parameter.asType())).append(".class");
+      }
+      source.append(')');
+    }
+    source.append(" };\n\n");
+    source.append("  private final org.apache.ibatis.session.SqlSession sqlSession;\n");
+    source.append("  private final org.apache.ibatis.binding.MapperMethods methods;\n\n");
+    source.append("  public ").append(simpleName).append("(org.apache.ibatis.session.SqlSession sqlSession, ")
+        .append("org.apache.ibatis.binding.MapperMethods methods) {\n");
+    source.append("    this.sqlSession = sqlSession;\n");
+    source.append("    this.methods = methods;\n");
+    source.append("  }\n");
+    for (int i = 0; i < methods.size(); i++) {
+      appendMethod(source, type, methods.get(i), i);
+    }
+    source.append("\n}\n");
+    return source.toString();
+  }
+
+  private List<ExecutableElement> getMapperMethods(TypeElement type) {
+    Types types = processingEnv.getTypeUtils();
+    DeclaredType declaredType = (DeclaredType) type.asType();
+    Map<String, ExecutableElement> methods = new LinkedHashMap<>();
+    for (Element member : processingEnv.getElementUtils().getAllMembers(type)) {
+      if (member.getKind() != ElementKind.METHOD || !member.getModifiers().contains(Modifier.ABSTRACT)) {
+        continue;
+      }
+      ExecutableElement method = (ExecutableElement) member;
+      StringJoiner signature = new StringJoiner(",", method.getSimpleName() + "(", ")");
+      for (TypeMirror parameterType : ((ExecutableType) types.asMemberOf(declaredType, method)).getParameterTypes()) {
+        signature.add(types.erasure(parameterType).toString());
+      }
+      methods.putIfAbsent(signature.toString(), method);
+    }
+    return new ArrayList<>(methods.values());
+  }
+
+  private void appendMethod(StringBuilder source, TypeElement type, ExecutableElement method, int index) {
+    Types types = processingEnv.getTypeUtils();
+    ExecutableType methodType = (ExecutableType) types.asMemberOf((DeclaredType) type.asType(), method);
+    source.append("\n  @Override\n  public ");
+    if (!methodType.getTypeVariables().isEmpty()) {
+      StringJoiner typeVariables = new StringJoiner(", ", "<", "> ");
+      for (TypeVariable typeVariable : methodType.getTypeVariables()) {
+        typeVariables.add(typeVariable + getBounds(typeVariable.getUpperBound()));
+      }
+      source.append(typeVariables);
+    }
+    TypeMirror returnType = methodType.getReturnType();
+    source.append(returnType).append(' ').append(method.getSimpleName()).append('(');
+    List<? extends TypeMirror> parameterTypes = methodType.getParameterTypes();
+    for (int i = 0; i < parameterTypes.size(); i++) {
+      if (i > 0) {
+        source.append(", ");
+      }
+      TypeMirror parameterType = parameterTypes.get(i);
+      if (method.isVarArgs() && i == parameterTypes.size() - 1) {
+        source.append(((ArrayType) parameterType).getComponentType()).append("...");
+      } else {
+        source.append(parameterType);
+      }
+      source.append(" arg").append(i);
+    }
+    source.append(')');
+    if (!methodType.getThrownTypes().isEmpty()) {
+      StringJoiner thrownTypes = new StringJoiner(", ", " throws ", "");
+      methodType.getThrownTypes().forEach(thrownType -> thrownTypes.add(thrownType.toString()));
+      source.append(thrownTypes);
+    }
+    source.append(" {\n    ");
+    if (returnType.getKind() != TypeKind.VOID) {
+      TypeMirror castType = returnType.getKind().isPrimitive() ? types.boxedClass((PrimitiveType) returnType).asType()
+          : returnType;
+      source.append("return (").append(castType).append(") ");
+    }
+    source.append("methods.execute(").append(index).append(", sqlSession, ");
+    if (parameterTypes.isEmpty()) {
+      // same as the arguments of a proxy invocation
+      source.append("null");
+    } else {
+      StringJoiner args = new StringJoiner(", ", "new Object[] { ", " }");
+      for (int i = 0; i < parameterTypes.size(); i++) {
+        args.add("arg" + i);
+      }
+      source.append(args);
+    }
+    source.append(");\n  }\n");
+  }
+
+  private String getBounds(TypeMirror upperBound) {
+    List<? extends TypeMirror> bounds = upperBound instanceof IntersectionType
+        ? ((IntersectionType) upperBound).getBounds()
+        : Collections.singletonList(upperBound);
+    if (bounds.size() == 1 && "java.lang.Object".equals(bounds.get(0).toString())) {
+      return "";
+    }
+    StringJoiner joiner = new StringJoiner(" & ", " extends ", "");
+    bounds.forEach(bound -> joiner.add(bound.toString()));
+    return joiner.toString();
+  }
+
+  private void note(TypeElement type, String message) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+        "No implementation generated for " + type.getQualifiedName() + ", " + message, type);
+  }
+
+}
@@ -0,0 +1,87 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.binding;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+
+/**
+ * The {@link MapperMethod}s called by a mapper implementation generated by {@link MapperImplementationProcessor}.
+ * <p>
+ * Generated implementations address their methods by index instead of looking them up by {@link Method}. Each
+ * {@link MapperMethod} is resolved on first call and then shared by every mapper instance of the same
+ * {@link MapperProxyFactory}.
+ *
+ * @since 3.5.7
+ */
+public final class MapperMethods {
+
+  private final Class<?> mapperInterface;
+  private final Method[] methods;
+  private final AtomicReferenceArray<MapperMethod> mapperMethods;
+
+  public MapperMethods(Class<?> mapperInterface, Method[] methods) {
+    this.mapperInterface = mapperInterface;
+    this.methods = methods.clone();
+    this.mapperMethods = new AtomicReferenceArray<>(methods.length);
+  }
+
+  public Object execute(int index, SqlSession sqlSession, Object[] args) {
+    MapperMethod mapperMethod = mapperMethods.get(index);
+    if (mapperMethod == null) {
+      mapperMethod = new MapperMethod(mapperInterface, methods[index], sqlSession.getConfiguration());
+      mapperMethods.set(index, mapperMethod);
+    }
+    return mapperMethod.execute(sqlSession, args);
+  }
+
+  /**
+   * Resolves the methods that have not been called yet.
+   *
+   * @param configuration
+   *          the configuration the methods are bound to
+   * @return the methods that could not be resolved, with the reason
+   * @see MapperProxyFactory#resolveMethods(Configuration)
+   */
+  public Map<Method, RuntimeException> resolve(Configuration configuration) {
+    Map<Method, RuntimeException> failures = new LinkedHashMap<>();
+    for (int i = 0; i < methods.length; i++) {
+      if (mapperMethods.get(i) == null) {
+        try {
+          mapperMethods.set(i, new MapperMethod(mapperInterface, methods[i], configuration));
+        } catch (RuntimeException e) {
+          failures.put(methods[i], e);
+        }
+      }
+    }
+    return failures;
+  }
+
+  public static Method method(Class<?> type, String name, Class<?>... parameterTypes) {
+    try {
+      return type.getMethod(name, parameterTypes);
+    } catch (NoSuchMethodException e) {
+      throw new BindingException("Mapper implementation of " + type.getName() + " is out of date, method " + name
+          + " was not found. Cause: " + e, e);
+    }
+  }
+
+}
@@ -27,6 +27,7 @@ import java.lang.reflect.Method;
 import java.util.Map;
 
 import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.SqlSession;
 
 /**
@@ -110,30 +111,32 @@ public class MapperProxy<T> implements InvocationHandler, Serializable {
         return invoker;
       }
 
-      return methodCache.computeIfAbsent(method, m -> {
-        if (m.isDefault()) {
-          // 针对default方法进行处理
-          try {
-            if (privateLookupInMethod == null) {
-              return new DefaultMethodInvoker(getMethodHandleJava8(method));
-            } else {
-              return new DefaultMethodInvoker(getMethodHandleJava9(method));
-            }
-          } catch (IllegalAccessException | InstantiationException | InvocationTargetException
-              | NoSuchMethodException e) {
-            throw new RuntimeException(e);
-          }
-        } else {
-          return new PlainMethodInvoker(new MapperMethod(mapperInterface, method, sqlSession.getConfiguration()));
-        }
-      });
+      return methodCache.computeIfAbsent(method, m -> newInvoker(mapperInterface, m, sqlSession.getConfiguration()));
     } catch (RuntimeException re) {
       Throwable cause = re.getCause();
       throw cause == null ? re : cause;
     }
   }
 
-  private MethodHandle getMethodHandleJava9(Method method)
+  static MapperMethodInvoker newInvoker(Class<?> mapperInterface, Method method, Configuration configuration) {
+    if (method.isDefault()) {
+      // 针对default方法进行处理
+      try {
+        if (privateLookupInMethod == null) {
+          return new DefaultMethodInvoker(getMethodHandleJava8(method));
+        } else {
+          return new DefaultMethodInvoker(getMethodHandleJava9(method));
+        }
+      } catch (IllegalAccessException | InstantiationException | InvocationTargetException
+          | NoSuchMethodException e) {
+        throw new RuntimeException(e);
+      }
+    } else {
+      return new PlainMethodInvoker(new MapperMethod(mapperInterface, method, configuration));
+    }
+  }
+
+  private static MethodHandle getMethodHandleJava9(Method method)
       throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
     final Class<?> declaringClass = method.getDeclaringClass();
     return ((Lookup) privateLookupInMethod.invoke(null, declaringClass, MethodHandles.lookup())).findSpecial(
@@ -141,7 +144,7 @@ public class MapperProxy<T> implements InvocationHandler, Serializable {
         declaringClass);
   }
 
-  private MethodHandle getMethodHandleJava8(Method method)
+  private static MethodHandle getMethodHandleJava8(Method method)
       throws IllegalAccessException, InstantiationException, InvocationTargetException {
     final Class<?> declaringClass = method.getDeclaringClass();
     return lookupConstructor.newInstance(declaringClass, ALLOWED_MODES).unreflectSpecial(method, declaringClass);
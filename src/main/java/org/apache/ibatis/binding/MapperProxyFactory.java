@@ -15,24 +15,48 @@
  */
 package org.apache.ibatis.binding;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.ibatis.binding.MapperProxy.MapperMethodInvoker;
+import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.SqlSession;
 
 /**
+ * Creates the mapper instances handed out by {@link MapperRegistry}.
+ * <p>
+ * When an implementation generated by {@link MapperImplementationProcessor} is found next to the mapper interface it
+ * is instantiated directly, otherwise a JDK dynamic proxy is created.
+ *
  * @author Lasse Voss
  */
 public class MapperProxyFactory<T> {
 
   private final Class<T> mapperInterface;
   private final Map<Method, MapperMethodInvoker> methodCache = new ConcurrentHashMap<>();
+  private final Constructor<? extends T> implementationConstructor;
+  private final MapperMethods implementationMethods;
 
   public MapperProxyFactory(Class<T> mapperInterface) {
     this.mapperInterface = mapperInterface;
+    Class<? extends T> implementationType = findImplementationType(mapperInterface);
+    if (implementationType == null) {
+      this.implementationConstructor = null;
+      this.implementationMethods = null;
+    } else {
+      try {
+        this.implementationConstructor = implementationType.getConstructor(SqlSession.class, MapperMethods.class);
+        Method[] methods = (Method[]) implementationType.getField(MapperImplementationProcessor.METHODS_FIELD).get(null);
+        this.implementationMethods = new MapperMethods(mapperInterface, methods);
+      } catch (ReflectiveOperationException | RuntimeException e) {
+        throw new BindingException("Invalid mapper implementation " + implementationType.getName() + ". Cause: " + e, e);
+      }
+    }
   }
 
   public Class<T> getMapperInterface() {
@@ -43,15 +67,74 @@ public class MapperProxyFactory<T> {
     return methodCache;
   }
 
+  /**
+   * Returns the generated implementation used instead of a dynamic proxy.
+   *
+   * @return the implementation type, or {@code null} when mapper instances are proxies
+   * @since 3.5.7
+   */
+  public Class<? extends T> getImplementationType() {
+    return implementationConstructor == null ? null : implementationConstructor.getDeclaringClass();
+  }
+
   @SuppressWarnings("unchecked")
   protected T newInstance(MapperProxy<T> mapperProxy) {
     // 创建实现了mapperInterface接口的动态代理对象
     return (T) Proxy.newProxyInstance(mapperInterface.getClassLoader(), new Class[] { mapperInterface }, mapperProxy);
   }
 
+  /**
+   * Resolves the methods of the mapper interface ahead of their first call, so that the first call does not pay for
+   * looking up the mapped statement and the method signature.
+   *
+   * @param configuration
+   *          the configuration the mapper is registered with
+   * @return the methods that could not be resolved, with the reason; calling them will fail the same way
+   * @since 3.5.7
+   */
+  public Map<Method, RuntimeException> resolveMethods(Configuration configuration) {
+    if (implementationMethods != null) {
+      return implementationMethods.resolve(configuration);
+    }
+    Map<Method, RuntimeException> failures = new LinkedHashMap<>();
+    for (Method method : mapperInterface.getMethods()) {
+      if (Modifier.isStatic(method.getModifiers()) || method.isSynthetic()) {
+        continue;
+      }
+      try {
+        methodCache.computeIfAbsent(method, m -> MapperProxy.newInvoker(mapperInterface, m, configuration));
+      } catch (RuntimeException e) {
+        failures.put(method, e);
+      }
+    }
+    return failures;
+  }
+
   public T newInstance(SqlSession sqlSession) {
+    if (implementationConstructor != null) {
+      try {
+        return implementationConstructor.newInstance(sqlSession, implementationMethods);
+      } catch (ReflectiveOperationException e) {
+        throw new BindingException("Error creating mapper implementation " + implementationConstructor.getName()
+            + ". Cause: " + e, e);
+      }
+    }
     final MapperProxy<T> mapperProxy = new MapperProxy<>(sqlSession, mapperInterface, methodCache);
     return newInstance(mapperProxy);
   }
 
+  private static <T> Class<? extends T> findImplementationType(Class<T> mapperInterface) {
+    ClassLoader classLoader = mapperInterface.getClassLoader();
+    if (classLoader == null) {
+      return null;
+    }
+    try {
+      Class<?> type = Class.forName(MapperImplementationProcessor.getImplementationName(mapperInterface.getName()), false,
+          classLoader);
+      return mapperInterface.isAssignableFrom(type) ? type.asSubclass(mapperInterface) : null;
+    } catch (ClassNotFoundException e) {
+      return null;
+    }
+  }
+
 }
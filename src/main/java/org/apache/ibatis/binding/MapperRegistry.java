@@ -15,6 +15,7 @@
  */
 package org.apache.ibatis.binding;
 
+import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -61,6 +62,23 @@ public class MapperRegistry {
     }
   }
 
+  /**
+   * Resolves the methods of a known mapper ahead of their first call.
+   *
+   * @param type
+   *          the mapper interface
+   * @return the methods that could not be resolved, with the reason
+   * @since 3.5.7
+   * @see MapperProxyFactory#resolveMethods(Configuration)
+   */
+  public Map<Method, RuntimeException> resolveMethods(Class<?> type) {
+    final MapperProxyFactory<?> mapperProxyFactory = knownMappers.get(type);
+    if (mapperProxyFactory == null) {
+      throw new BindingException("Type " + type + " is not known to the MapperRegistry.");
+    }
+    return mapperProxyFactory.resolveMethods(config);
+  }
+
   public <T> boolean hasMapper(Class<T> type) {
     return knownMappers.containsKey(type);
   }
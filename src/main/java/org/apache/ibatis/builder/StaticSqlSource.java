@@ -46,4 +46,14 @@ public class StaticSqlSource implements SqlSource {
     return new BoundSql(configuration, sql, parameterMappings, parameterObject);
   }
 
+  /**
+   * Returns the parameter mappings shared by every {@link BoundSql} of this source.
+   *
+   * @return the parameter mappings
+   * @since 3.5.7
+   */
+  public List<ParameterMapping> getParameterMappings() {
+    return parameterMappings;
+  }
+
 }
@@ -76,6 +76,7 @@ import org.apache.ibatis.mapping.FetchType;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ResultFlag;
 import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.mapping.PartitionType;
 import org.apache.ibatis.mapping.ResultSetType;
 import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.mapping.SqlSource;
@@ -378,7 +379,13 @@ public class MapperAnnotationBuilder {
           statementAnnotation.getDatabaseId(),
           languageDriver,
           // ResultSets
-          options != null ? nullOrEmpty(options.resultSets()) : null);
+          options != null ? nullOrEmpty(options.resultSets()) : null,
+          options != null ? nullOrEmpty(options.keysetColumn()) : null,
+          options != null ? nullOrEmpty(options.keysetProperty()) : null,
+          options != null ? nullOrEmpty(options.partitionColumn()) : null,
+          options != null && options.partitions() > 0 ? options.partitions() : null,
+          options != null ? options.partitionType() : null,
+          options != null ? nullOrEmpty(options.shardKey()) : null);
     });
   }
 
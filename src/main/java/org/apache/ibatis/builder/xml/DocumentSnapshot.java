@@ -0,0 +1,339 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.builder.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.parsing.XPathParser;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * A compact binary snapshot of the parsed XML documents a configuration is built from.
+ * <p>
+ * Each document is stored as its validated element tree together with the SHA-256 hash of the source it was parsed
+ * from. Restoring a document from the snapshot only rebuilds the tree, skipping the XML parser and DTD validation.
+ * It does not capture the built configuration: every source is still read and hashed to validate the snapshot, and
+ * the builders run on every start. Property placeholders are kept as written and are resolved again on every build.
+ * <p>
+ * Documents that are not in the snapshot yet are parsed as usual and recorded; documents the build no longer reads
+ * are removed by {@link #prune()}, so a snapshot that is written after a build covers exactly the documents of that
+ * build.
+ *
+ * @since 3.5.7
+ * @see org.apache.ibatis.session.SqlSessionFactoryBuilder#build(String, java.nio.file.Path, String, Properties)
+ */
+public class DocumentSnapshot {
+
+  private static final int MAGIC = 0x4d425353;
+  private static final int VERSION = 1;
+
+  private static final byte ELEMENT = 1;
+  private static final byte TEXT = 2;
+  private static final byte CDATA = 3;
+
+  private final Map<String, Entry> entries = new LinkedHashMap<>();
+  private final Set<String> usedLocations = new HashSet<>();
+  private boolean modified;
+
+  /**
+   * Reads a snapshot that was written by {@link #write(OutputStream)}.
+   *
+   * @param inputStream
+   *          the stream to read from
+   * @return the snapshot
+   * @throws IOException
+   *           if the stream could not be read or does not contain a snapshot of this version
+   */
+  public static DocumentSnapshot read(InputStream inputStream) throws IOException {
+    DataInputStream in = new DataInputStream(inputStream);
+    if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+      throw new IOException("Not a document snapshot of version " + VERSION + ".");
+    }
+    DocumentSnapshot snapshot = new DocumentSnapshot();
+    int size = in.readInt();
+    for (int i = 0; i < size; i++) {
+      String location = in.readUTF();
+      byte[] hash = readBytes(in);
+      byte[] document = readBytes(in);
+      snapshot.entries.put(location, new Entry(hash, document));
+    }
+    return snapshot;
+  }
+
+  public void write(OutputStream outputStream) throws IOException {
+    DataOutputStream out = new DataOutputStream(outputStream);
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    out.writeInt(entries.size());
+    for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+      out.writeUTF(entry.getKey());
+      writeBytes(out, entry.getValue().hash);
+      writeBytes(out, entry.getValue().document);
+    }
+    out.flush();
+  }
+
+  /**
+   * Checks every recorded document against its current source.
+   *
+   * @return true if every source can still be read and has the recorded content
+   */
+  public boolean isUpToDate() {
+    for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+      try (InputStream inputStream = openSource(entry.getKey())) {
+        if (!Arrays.equals(entry.getValue().hash, hash(readFully(inputStream)))) {
+          return false;
+        }
+      } catch (IOException e) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether documents were recorded since this snapshot was created or read.
+   *
+   * @return true if the snapshot should be written again
+   */
+  public boolean isModified() {
+    return modified;
+  }
+
+  public Set<String> getLocations() {
+    return Collections.unmodifiableSet(entries.keySet());
+  }
+
+  /**
+   * Removes the documents that were neither restored nor recorded since this snapshot was created or read, e.g.
+   * mapper documents that are no longer referenced by the configuration.
+   *
+   * @return true if documents were removed
+   */
+  public boolean prune() {
+    boolean pruned = entries.keySet().retainAll(usedLocations);
+    modified |= pruned;
+    return pruned;
+  }
+
+  /**
+   * Restores a recorded document.
+   *
+   * @param location
+   *          the resource or url the document was read from
+   * @param variables
+   *          the variables used to resolve placeholders
+   * @return a parser over a fresh copy of the document, or null if the document is not in this snapshot
+   */
+  public XPathParser getParser(String location, Properties variables) {
+    Entry entry = entries.get(location);
+    if (entry == null) {
+      return null;
+    }
+    usedLocations.add(location);
+    try {
+      Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+      DataInputStream in = new DataInputStream(new ByteArrayInputStream(entry.document));
+      document.appendChild(readNode(in, document, new ArrayList<>()));
+      return new XPathParser(document, false, variables, new XMLMapperEntityResolver());
+    } catch (IOException | ParserConfigurationException e) {
+      throw new BuilderException("Error restoring document '" + location + "' from the document snapshot. Cause: " + e, e);
+    }
+  }
+
+  /**
+   * Parses and validates a document and records it in this snapshot.
+   *
+   * @param location
+   *          the resource or url the document is read from
+   * @param inputStream
+   *          the document source, closed by this method
+   * @param variables
+   *          the variables used to resolve placeholders
+   * @return a parser over the document
+   * @throws IOException
+   *           if the source could not be read
+   */
+  public XPathParser parse(String location, InputStream inputStream, Properties variables) throws IOException {
+    byte[] source;
+    try (InputStream in = inputStream) {
+      source = readFully(in);
+    }
+    XPathParser parser = new XPathParser(new ByteArrayInputStream(source), true, variables, new XMLMapperEntityResolver());
+    // encode right away, the builders modify the tree while applying includes
+    ByteArrayOutputStream document = new ByteArrayOutputStream(source.length);
+    DataOutputStream out = new DataOutputStream(document);
+    writeNode(out, parser.evalNode("/*").getNode(), new HashMap<>());
+    out.flush();
+    entries.put(location, new Entry(hash(source), document.toByteArray()));
+    usedLocations.add(location);
+    modified = true;
+    return parser;
+  }
+
+  private static InputStream openSource(String location) throws IOException {
+    // resource paths never contain a scheme
+    return location.indexOf(':') > 1 ? Resources.getUrlAsStream(location) : Resources.getResourceAsStream(location);
+  }
+
+  private static void writeNode(DataOutputStream out, Node node, Map<String, Integer> strings) throws IOException {
+    switch (node.getNodeType()) {
+      case Node.ELEMENT_NODE:
+        out.writeByte(ELEMENT);
+        writeString(out, node.getNodeName(), strings);
+        NamedNodeMap attributes = node.getAttributes();
+        out.writeInt(attributes.getLength());
+        for (int i = 0; i < attributes.getLength(); i++) {
+          Node attribute = attributes.item(i);
+          writeString(out, attribute.getNodeName(), strings);
+          writeString(out, attribute.getNodeValue(), strings);
+        }
+        List<Node> children = new ArrayList<>();
+        NodeList childNodes = node.getChildNodes();
+        for (int i = 0; i < childNodes.getLength(); i++) {
+          short type = childNodes.item(i).getNodeType();
+          if (type == Node.ELEMENT_NODE || type == Node.TEXT_NODE || type == Node.CDATA_SECTION_NODE) {
+            children.add(childNodes.item(i));
+          }
+        }
+        out.writeInt(children.size());
+        for (Node child : children) {
+          writeNode(out, child, strings);
+        }
+        break;
+      case Node.CDATA_SECTION_NODE:
+        out.writeByte(CDATA);
+        writeString(out, node.getNodeValue(), strings);
+        break;
+      default:
+        out.writeByte(TEXT);
+        writeString(out, node.getNodeValue(), strings);
+        break;
+    }
+  }
+
+  private static Node readNode(DataInputStream in, Document document, List<String> strings) throws IOException {
+    byte type = in.readByte();
+    switch (type) {
+      case ELEMENT:
+        Element element = document.createElement(readString(in, strings));
+        int attributes = in.readInt();
+        for (int i = 0; i < attributes; i++) {
+          element.setAttribute(readString(in, strings), readString(in, strings));
+        }
+        int children = in.readInt();
+        for (int i = 0; i < children; i++) {
+          element.appendChild(readNode(in, document, strings));
+        }
+        return element;
+      case CDATA:
+        return document.createCDATASection(readString(in, strings));
+      case TEXT:
+        return document.createTextNode(readString(in, strings));
+      default:
+        throw new IOException("Unknown node type " + type + ".");
+    }
+  }
+
+  private static void writeString(DataOutputStream out, String value, Map<String, Integer> strings) throws IOException {
+    Integer index = strings.get(value);
+    if (index != null) {
+      out.writeInt(index);
+    } else {
+      strings.put(value, strings.size());
+      out.writeInt(-1);
+      writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  private static String readString(DataInputStream in, List<String> strings) throws IOException {
+    int index = in.readInt();
+    if (index >= 0) {
+      return strings.get(index);
+    }
+    String value = new String(readBytes(in), StandardCharsets.UTF_8);
+    strings.add(value);
+    return value;
+  }
+
+  private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static byte[] readBytes(DataInputStream in) throws IOException {
+    byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  private static byte[] readFully(InputStream in) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    int n;
+    while ((n = in.read(buffer)) != -1) {
+      out.write(buffer, 0, n);
+    }
+    return out.toByteArray();
+  }
+
+  private static byte[] hash(byte[] source) {
+    try {
+      return MessageDigest.getInstance("SHA-256").digest(source);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available.", e);
+    }
+  }
+
+  private static class Entry {
+    private final byte[] hash;
+    private final byte[] document;
+
+    Entry(byte[] hash, byte[] document) {
+      this.hash = hash;
+      this.document = document;
+    }
+  }
+
+}
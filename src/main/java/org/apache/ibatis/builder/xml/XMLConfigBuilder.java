@@ -15,9 +15,22 @@
  */
 package org.apache.ibatis.builder.xml;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.sql.DataSource;
 
@@ -25,7 +38,9 @@ import org.apache.ibatis.builder.BaseBuilder;
 import org.apache.ibatis.builder.BuilderException;
 import org.apache.ibatis.datasource.DataSourceFactory;
 import org.apache.ibatis.executor.ErrorContext;
+import org.apache.ibatis.executor.dialect.Dialect;
 import org.apache.ibatis.executor.loader.ProxyFactory;
+import org.apache.ibatis.io.ResolverUtil;
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.io.VFS;
 import org.apache.ibatis.logging.Log;
@@ -90,6 +105,25 @@ public class XMLConfigBuilder extends BaseBuilder {
     this(new XPathParser(inputStream, true, props, new XMLMapperEntityResolver()), environment, props);
   }
 
+  /**
+   * Creates a builder that restores the configuration document and the mapper documents from a snapshot, parsing and
+   * recording the documents that are not in the snapshot yet.
+   *
+   * @param snapshot
+   *          the snapshot
+   * @param resource
+   *          the classpath resource of the configuration document
+   * @param environment
+   *          the environment to use, or {@code null} for the default one
+   * @param props
+   *          the properties overriding those of the configuration document
+   * @since 3.5.7
+   */
+  public XMLConfigBuilder(DocumentSnapshot snapshot, String resource, String environment, Properties props) {
+    this(getConfigurationDocument(snapshot, resource, props), environment, props);
+    this.configuration.setDocumentSnapshot(snapshot);
+  }
+
   private XMLConfigBuilder(XPathParser parser, String environment, Properties props) {
     super(new Configuration());
     ErrorContext.instance().resource("SQL Mapper Configuration");
@@ -104,10 +138,26 @@ public class XMLConfigBuilder extends BaseBuilder {
       throw new BuilderException("Each XMLConfigBuilder can only be used once.");
     }
     parsed = true;
-    parseConfiguration(parser.evalNode("/configuration"));
+    try {
+      parseConfiguration(parser.evalNode("/configuration"));
+    } finally {
+      configuration.setDocumentSnapshot(null);
+    }
     return configuration;
   }
 
+  private static XPathParser getConfigurationDocument(DocumentSnapshot snapshot, String resource, Properties props) {
+    XPathParser parser = snapshot.getParser(resource, props);
+    if (parser != null) {
+      return parser;
+    }
+    try {
+      return snapshot.parse(resource, Resources.getResourceAsStream(resource), props);
+    } catch (IOException e) {
+      throw new BuilderException("Error reading SQL Mapper Configuration '" + resource + "'. Cause: " + e, e);
+    }
+  }
+
   private void parseConfiguration(XNode root) {
     try {
       // 解析<properties>标签
@@ -313,6 +363,13 @@ public class XMLConfigBuilder extends BaseBuilder {
     configuration.setConfigurationFactory(resolveClass(props.getProperty("configurationFactory")));
     configuration.setShrinkWhitespacesInSql(booleanValueOf(props.getProperty("shrinkWhitespacesInSql"), false));
     configuration.setDefaultSqlProviderType(resolveClass(props.getProperty("defaultSqlProviderType")));
+    configuration.setQueryCoalescingEnabled(booleanValueOf(props.getProperty("queryCoalescingEnabled"), false));
+    configuration.setPhysicalPaginationEnabled(booleanValueOf(props.getProperty("physicalPaginationEnabled"), false));
+    configuration.setDialect((Dialect) createInstance(props.getProperty("dialect")));
+    configuration.setParallelMapperParsingEnabled(booleanValueOf(props.getProperty("parallelMapperParsingEnabled"), false));
+    configuration.setDiscardSqlFragments(booleanValueOf(props.getProperty("discardSqlFragments"), false));
+    configuration.setLazyStatementBuildingEnabled(booleanValueOf(props.getProperty("lazyStatementBuildingEnabled"), false));
+    configuration.setFreezeConfiguration(booleanValueOf(props.getProperty("freezeConfiguration"), false));
   }
 
   /**
@@ -431,38 +488,205 @@ public class XMLConfigBuilder extends BaseBuilder {
 
   private void mapperElement(XNode parent) throws Exception {
     if (parent != null) {
-      for (XNode child : parent.getChildren()) {
-        //是否指定了<package>子标签，则会扫描指定包内全部Java类型
-        if ("package".equals(child.getName())) {
-          String mapperPackage = child.getStringAttribute("name");
+      if (!isParallelMapperParsing()) {
+        mapperElement(parent, Collections.emptyMap(), new HashMap<>());
+        return;
+      }
+      ExecutorService parsers = newMapperParserService();
+      try {
+        Map<String, List<Class<?>>> packageMappers = new HashMap<>();
+        mapperElement(parent, parseMapperDocuments(parent, parsers, packageMappers), packageMappers);
+      } finally {
+        parsers.shutdownNow();
+      }
+    }
+  }
+
+  private void mapperElement(XNode parent, Map<String, Future<XPathParser>> documents,
+      Map<String, List<Class<?>>> packageMappers) throws Exception {
+    for (XNode child : parent.getChildren()) {
+      //是否指定了<package>子标签，则会扫描指定包内全部Java类型
+      if ("package".equals(child.getName())) {
+        String mapperPackage = child.getStringAttribute("name");
+        if (isParallelMapperParsing() || configuration.getDocumentSnapshot() != null) {
+          for (Class<?> mapperInterface : packageMappers.computeIfAbsent(mapperPackage, this::findMapperInterfaces)) {
+            addMapper(mapperInterface, documents);
+          }
+        } else {
           configuration.addMappers(mapperPackage);
+        }
+      } else {
+        // 解析<mapper>子标签，这里会获取resource、url、class三个属性，这三个属性互斥
+        String resource = child.getStringAttribute("resource");
+        String url = child.getStringAttribute("url");
+        String mapperClass = child.getStringAttribute("class");
+        // 如果指定了resource或者url标签，都会创建XMLMapperBuilder对象，然后使用它来解析指定的Mapper配置文件
+        if (resource != null && url == null && mapperClass == null) {
+          ErrorContext.instance().resource(resource);
+          XPathParser document = getMapperDocument(documents, resource, () -> Resources.getResourceAsStream(resource));
+          XMLMapperBuilder mapperParser = new XMLMapperBuilder(document, configuration, resource, configuration.getSqlFragments());
+          mapperParser.parse();
+        } else if (resource == null && url != null && mapperClass == null) {
+          ErrorContext.instance().resource(url);
+          XPathParser document = getMapperDocument(documents, url, () -> Resources.getUrlAsStream(url));
+          XMLMapperBuilder mapperParser = new XMLMapperBuilder(document, configuration, url, configuration.getSqlFragments());
+          mapperParser.parse();
+        }
+        // 如果指定了mapperClass属性，则向MapperRegistry注册class属性指定的mapperClass
+        else if (resource == null && url == null && mapperClass != null) {
+          Class<?> mapperInterface = Resources.classForName(mapperClass);
+          addMapper(mapperInterface, documents);
         } else {
-          // 解析<mapper>子标签，这里会获取resource、url、class三个属性，这三个属性互斥
-          String resource = child.getStringAttribute("resource");
-          String url = child.getStringAttribute("url");
-          String mapperClass = child.getStringAttribute("class");
-          // 如果指定了resource或者url标签，都会创建XMLMapperBuilder对象，然后使用它来解析指定的Mapper配置文件
-          if (resource != null && url == null && mapperClass == null) {
-            ErrorContext.instance().resource(resource);
-            InputStream inputStream = Resources.getResourceAsStream(resource);
-            XMLMapperBuilder mapperParser = new XMLMapperBuilder(inputStream, configuration, resource, configuration.getSqlFragments());
-            mapperParser.parse();
-          } else if (resource == null && url != null && mapperClass == null) {
-            ErrorContext.instance().resource(url);
-            InputStream inputStream = Resources.getUrlAsStream(url);
-            XMLMapperBuilder mapperParser = new XMLMapperBuilder(inputStream, configuration, url, configuration.getSqlFragments());
-            mapperParser.parse();
-          }
-          // 如果指定了mapperClass属性，则向MapperRegistry注册class属性指定的mapperClass
-          else if (resource == null && url == null && mapperClass != null) {
-            Class<?> mapperInterface = Resources.classForName(mapperClass);
-            configuration.addMapper(mapperInterface);
-          } else {
-            throw new BuilderException("A mapper element may only specify a url, resource or class, but not more than one.");
-          }
+          throw new BuilderException("A mapper element may only specify a url, resource or class, but not more than one.");
+        }
+      }
+    }
+  }
+
+  /**
+   * Parses every mapper document referenced by the mappers element on the given parser threads. Each document is opened
+   * by the task parsing it, with the context class loader of the calling thread, so no more documents are open than
+   * there are parser threads and tasks that never run open nothing. Only the DOM parsing runs concurrently; the
+   * documents are applied to the configuration on the calling thread.
+   */
+  private Map<String, Future<XPathParser>> parseMapperDocuments(XNode parent, ExecutorService parsers,
+      Map<String, List<Class<?>>> packageMappers) throws Exception {
+    Map<String, Future<XPathParser>> documents = new HashMap<>();
+    for (XNode child : parent.getChildren()) {
+      if ("package".equals(child.getName())) {
+        String mapperPackage = child.getStringAttribute("name");
+        for (Class<?> mapperInterface : packageMappers.computeIfAbsent(mapperPackage, this::findMapperInterfaces)) {
+          submitMapperDocument(parsers, documents, getXmlResource(mapperInterface),
+              () -> openXmlResource(mapperInterface));
         }
+      } else {
+        String resource = child.getStringAttribute("resource");
+        String url = child.getStringAttribute("url");
+        String mapperClass = child.getStringAttribute("class");
+        if (resource != null && url == null && mapperClass == null) {
+          submitMapperDocument(parsers, documents, resource, () -> Resources.getResourceAsStream(resource));
+        } else if (resource == null && url != null && mapperClass == null) {
+          submitMapperDocument(parsers, documents, url, () -> Resources.getUrlAsStream(url));
+        } else if (resource == null && url == null && mapperClass != null) {
+          Class<?> mapperInterface = Resources.classForName(mapperClass);
+          submitMapperDocument(parsers, documents, getXmlResource(mapperInterface),
+              () -> openXmlResource(mapperInterface));
+        }
+      }
+    }
+    return documents;
+  }
+
+  private void submitMapperDocument(ExecutorService parsers, Map<String, Future<XPathParser>> documents,
+      String location, Callable<InputStream> source) {
+    if (documents.containsKey(location)) {
+      return;
+    }
+    Properties variables = configuration.getVariables();
+    // resources are looked up with the context class loader, which parser threads do not share
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    documents.put(location, parsers.submit(() -> {
+      Thread thread = Thread.currentThread();
+      ClassLoader previous = thread.getContextClassLoader();
+      thread.setContextClassLoader(classLoader);
+      try (InputStream in = source.call()) {
+        // a mapper interface without a document is bound by its annotations only
+        return in == null ? null : new XPathParser(in, true, variables, new XMLMapperEntityResolver());
+      } catch (Exception e) {
+        throw new BuilderException("Error parsing Mapper XML. The XML location is '" + location + "'. Cause: " + e, e);
+      } finally {
+        thread.setContextClassLoader(previous);
+      }
+    }));
+  }
+
+  /**
+   * Creates the threads parsing mapper documents. They live only while the mappers element is processed and do not
+   * compete with the common fork-join pool, as parsing blocks on reading the documents.
+   */
+  private static ExecutorService newMapperParserService() {
+    AtomicInteger threadNumber = new AtomicInteger();
+    return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+      Thread thread = new Thread(runnable, "mybatis-mapper-parser-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  private boolean isParallelMapperParsing() {
+    // documents recorded in a snapshot are parsed one by one
+    return configuration.isParallelMapperParsingEnabled() && configuration.getDocumentSnapshot() == null;
+  }
+
+  private XPathParser getMapperDocument(Map<String, Future<XPathParser>> documents, String location,
+      Callable<InputStream> source) throws Exception {
+    Future<XPathParser> document = documents.get(location);
+    if (document != null) {
+      try {
+        return document.get();
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new BuilderException("Error parsing Mapper XML. The XML location is '" + location + "'. Cause: " + e.getCause(), e.getCause());
+      }
+    }
+    DocumentSnapshot snapshot = configuration.getDocumentSnapshot();
+    if (snapshot == null) {
+      return new XPathParser(source.call(), true, configuration.getVariables(), new XMLMapperEntityResolver());
+    }
+    XPathParser parser = snapshot.getParser(location, configuration.getVariables());
+    if (parser == null) {
+      InputStream inputStream = source.call();
+      parser = inputStream == null ? null : snapshot.parse(location, inputStream, configuration.getVariables());
+    }
+    return parser;
+  }
+
+  private void addMapper(Class<?> mapperInterface, Map<String, Future<XPathParser>> documents) throws Exception {
+    String xmlResource = getXmlResource(mapperInterface);
+    XPathParser document = null;
+    if (!configuration.hasMapper(mapperInterface)
+        && (documents.containsKey(xmlResource) || configuration.getDocumentSnapshot() != null)) {
+      document = getMapperDocument(documents, xmlResource, () -> openXmlResource(mapperInterface));
+    }
+    if (document != null) {
+      // binds the mapper interface to its namespace, just as MapperAnnotationBuilder would after loading the document
+      ErrorContext.instance().resource(xmlResource);
+      new XMLMapperBuilder(document, configuration, xmlResource, configuration.getSqlFragments(), mapperInterface.getName()).parse();
+    } else {
+      configuration.addMapper(mapperInterface);
+    }
+  }
+
+  private List<Class<?>> findMapperInterfaces(String packageName) {
+    ResolverUtil<Class<?>> resolverUtil = new ResolverUtil<>();
+    resolverUtil.find(new ResolverUtil.IsA(Object.class), packageName);
+    List<Class<?>> mapperInterfaces = new ArrayList<>();
+    for (Class<?> type : resolverUtil.getClasses()) {
+      if (type.isInterface()) {
+        mapperInterfaces.add(type);
+      }
+    }
+    mapperInterfaces.sort(Comparator.comparing(Class::getName));
+    return mapperInterfaces;
+  }
+
+  private static String getXmlResource(Class<?> mapperInterface) {
+    return mapperInterface.getName().replace('.', '/') + ".xml";
+  }
+
+  private static InputStream openXmlResource(Class<?> mapperInterface) {
+    String xmlResource = getXmlResource(mapperInterface);
+    InputStream inputStream = mapperInterface.getResourceAsStream("/" + xmlResource);
+    if (inputStream == null) {
+      try {
+        inputStream = Resources.getResourceAsStream(mapperInterface.getClassLoader(), xmlResource);
+      } catch (IOException e) {
+        // ignore, resource is not required
       }
     }
+    return inputStream;
   }
 
   private boolean isSpecifiedEnvironment(String id) {
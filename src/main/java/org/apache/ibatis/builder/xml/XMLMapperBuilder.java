@@ -82,7 +82,40 @@ public class XMLMapperBuilder extends BaseBuilder {
         configuration, resource, sqlFragments);
   }
 
-  private XMLMapperBuilder(XPathParser parser, Configuration configuration, String resource, Map<String, XNode> sqlFragments) {
+  /**
+   * Creates a builder for a mapper document that has already been parsed.
+   *
+   * @param parser
+   *          the parser holding the mapper document
+   * @param configuration
+   *          the configuration
+   * @param resource
+   *          the location of the mapper document
+   * @param sqlFragments
+   *          the sql fragments
+   * @param namespace
+   *          the expected namespace
+   * @since 3.5.7
+   */
+  public XMLMapperBuilder(XPathParser parser, Configuration configuration, String resource, Map<String, XNode> sqlFragments, String namespace) {
+    this(parser, configuration, resource, sqlFragments);
+    this.builderAssistant.setCurrentNamespace(namespace);
+  }
+
+  /**
+   * Creates a builder for a mapper document that has already been parsed.
+   *
+   * @param parser
+   *          the parser holding the mapper document
+   * @param configuration
+   *          the configuration
+   * @param resource
+   *          the location of the mapper document
+   * @param sqlFragments
+   *          the sql fragments
+   * @since 3.5.7
+   */
+  public XMLMapperBuilder(XPathParser parser, Configuration configuration, String resource, Map<String, XNode> sqlFragments) {
     super(configuration);
     this.builderAssistant = new MapperBuilderAssistant(configuration, resource);
     this.parser = parser;
@@ -144,6 +177,10 @@ public class XMLMapperBuilder extends BaseBuilder {
   private void buildStatementFromContext(List<XNode> list, String requiredDatabaseId) {
     for (XNode context : list) {
       final XMLStatementBuilder statementParser = new XMLStatementBuilder(configuration, builderAssistant, context, requiredDatabaseId);
+      if (configuration.isLazyStatementBuildingEnabled()) {
+        configuration.addLazyStatement(builderAssistant.applyCurrentNamespace(context.getStringAttribute("id"), false), statementParser);
+        continue;
+      }
       try {
         statementParser.parseStatementNode();
       } catch (IncompleteElementException e) {
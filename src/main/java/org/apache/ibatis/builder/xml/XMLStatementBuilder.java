@@ -25,6 +25,7 @@ import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.keygen.NoKeyGenerator;
 import org.apache.ibatis.executor.keygen.SelectKeyGenerator;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.PartitionType;
 import org.apache.ibatis.mapping.ResultSetType;
 import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.mapping.SqlSource;
@@ -109,11 +110,19 @@ public class XMLStatementBuilder extends BaseBuilder {
     String keyProperty = context.getStringAttribute("keyProperty");
     String keyColumn = context.getStringAttribute("keyColumn");
     String resultSets = context.getStringAttribute("resultSets");
+    String keysetColumn = context.getStringAttribute("keysetColumn");
+    String keysetProperty = context.getStringAttribute("keysetProperty");
+    String partitionColumn = context.getStringAttribute("partitionColumn");
+    Integer partitions = context.getIntAttribute("partitions");
+    String partitionType = context.getStringAttribute("partitionType");
+    PartitionType partitionTypeEnum = partitionType == null ? null : PartitionType.valueOf(partitionType);
+    String shardKey = context.getStringAttribute("shardKey");
 
     builderAssistant.addMappedStatement(id, sqlSource, statementType, sqlCommandType,
         fetchSize, timeout, parameterMap, parameterTypeClass, resultMap, resultTypeClass,
         resultSetTypeEnum, flushCache, useCache, resultOrdered,
-        keyGenerator, keyProperty, keyColumn, databaseId, langDriver, resultSets);
+        keyGenerator, keyProperty, keyColumn, databaseId, langDriver, resultSets, keysetColumn, keysetProperty,
+        partitionColumn, partitions, partitionTypeEnum, shardKey);
   }
 
   private void processSelectKeyNodes(String id, Class<?> parameterTypeClass, LanguageDriver langDriver) {
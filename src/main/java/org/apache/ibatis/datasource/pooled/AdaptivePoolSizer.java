@@ -0,0 +1,154 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+/**
+ * Keeps recent wait and usage times of a pool and derives from them how many connections the pool should hand out.
+ * <p>
+ * Times are smoothed with an exponentially weighted moving average. The expected wait of a new request is estimated
+ * from the queue in front of it and the average time a connection stays checked out. The limit is raised one
+ * connection at a time while that estimate is too long, or while requests have to wait before any connection has
+ * been returned and nothing is known about checkout times yet, and lowered one connection at a time only after several
+ * consecutive intervals in which at least two connections were never needed, so that it does not oscillate.
+ * <p>
+ * Instances are guarded by the lock of the owning {@link PoolState}.
+ *
+ * @since 3.5.7
+ */
+class AdaptivePoolSizer {
+
+  private static final double SMOOTHING = 0.2;
+  private static final int QUIET_INTERVALS_BEFORE_SHRINK = 3;
+
+  private double averageWaitTime = -1;
+  private double averageCheckoutTime = -1;
+  private int waitingCount;
+  private int limit;
+  private long intervalStart = System.currentTimeMillis();
+  private int intervalPeakActive;
+  private int quietIntervals;
+
+  void recordCheckout(long waitTime, int activeConnections) {
+    averageWaitTime = smooth(averageWaitTime, waitTime);
+    intervalPeakActive = Math.max(intervalPeakActive, activeConnections);
+  }
+
+  void recordReturn(long checkoutTime) {
+    averageCheckoutTime = smooth(averageCheckoutTime, checkoutTime);
+  }
+
+  void waitStarted() {
+    waitingCount++;
+  }
+
+  void waitEnded() {
+    waitingCount--;
+  }
+
+  int getWaitingCount() {
+    return waitingCount;
+  }
+
+  long getAverageWaitTime() {
+    return averageWaitTime < 0 ? 0 : (long) averageWaitTime;
+  }
+
+  long getAverageCheckoutTime() {
+    return averageCheckoutTime < 0 ? 0 : (long) averageCheckoutTime;
+  }
+
+  /**
+   * Estimates how long a request arriving now would wait for one of the given busy connections.
+   *
+   * @param activeConnections
+   *          the number of checked out connections
+   * @return the expected wait in milliseconds, 0 while no connection has been returned yet
+   */
+  long predictWaitTime(int activeConnections) {
+    if (averageCheckoutTime < 0 || activeConnections == 0) {
+      return 0;
+    }
+    return (long) ((waitingCount + 1) * averageCheckoutTime / activeConnections);
+  }
+
+  /**
+   * Decides whether a request that would have to wait for one of the given busy connections is a reason to grow.
+   *
+   * @param activeConnections
+   *          the number of checked out connections
+   * @param targetWaitTime
+   *          the acceptable wait in milliseconds
+   * @return true if the predicted wait exceeds the target, or if no connection has been returned yet
+   */
+  boolean isWaitTooLong(int activeConnections, long targetWaitTime) {
+    // 冷启动时没有归还记录，无法预测等待时间，需要等待即视为超过目标
+    return averageCheckoutTime < 0 || predictWaitTime(activeConnections) > targetWaitTime;
+  }
+
+  int getLimit(int minimum, int maximum) {
+    if (limit == 0) {
+      limit = minimum;
+    }
+    return Math.max(minimum, Math.min(maximum, limit));
+  }
+
+  boolean grow(int minimum, int maximum) {
+    int current = getLimit(minimum, maximum);
+    if (current >= maximum) {
+      return false;
+    }
+    limit = current + 1;
+    quietIntervals = 0;
+    return true;
+  }
+
+  /**
+   * Closes the current interval if it has lasted long enough, and lowers the limit by one connection after enough
+   * intervals that did not need the two topmost connections.
+   *
+   * @param activeConnections
+   *          the number of checked out connections
+   * @param interval
+   *          the interval length in milliseconds
+   * @param minimum
+   *          the lowest limit allowed
+   * @param maximum
+   *          the highest limit allowed
+   */
+  void shrinkIfIdle(int activeConnections, long interval, int minimum, int maximum) {
+    long now = System.currentTimeMillis();
+    if (now - intervalStart < interval) {
+      return;
+    }
+    int current = getLimit(minimum, maximum);
+    intervalPeakActive = Math.max(intervalPeakActive, activeConnections);
+    if (intervalPeakActive < current - 1) {
+      if (++quietIntervals >= QUIET_INTERVALS_BEFORE_SHRINK) {
+        limit = Math.max(minimum, current - 1);
+        quietIntervals = 0;
+      }
+    } else {
+      quietIntervals = 0;
+    }
+    intervalStart = now;
+    intervalPeakActive = activeConnections;
+  }
+
+  private static double smooth(double average, long sample) {
+    return average < 0 ? sample : average + SMOOTHING * (sample - average);
+  }
+
+}
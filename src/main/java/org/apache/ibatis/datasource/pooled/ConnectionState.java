@@ -0,0 +1,171 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Session state of a pooled connection, kept locally so that repeated getters, no-op setters and needless rollbacks
+ * do not reach the driver.
+ * <p>
+ * A value is read from the driver the first time it is needed and is afterwards maintained from the calls made
+ * through the pooled connection. Statement executions are not intercepted, so a connection that created a statement
+ * is considered dirty until it goes back to the pool, even if it was committed in between. Changes made on the
+ * unwrapped driver connection are not seen.
+ *
+ * @since 3.5.7
+ */
+class ConnectionState {
+
+  private Boolean autoCommit;
+  private Integer transactionIsolation;
+  private Boolean readOnly;
+  private boolean catalogKnown;
+  private String catalog;
+  private boolean schemaKnown;
+  private String schema;
+  private boolean dirty;
+
+  Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+    switch (method.getName()) {
+      case "getAutoCommit":
+        return getAutoCommit(connection);
+      case "setAutoCommit":
+        boolean desiredAutoCommit = (Boolean) args[0];
+        if (autoCommit == null || autoCommit != desiredAutoCommit) {
+          autoCommit = null;
+          connection.setAutoCommit(desiredAutoCommit);
+          autoCommit = desiredAutoCommit;
+        }
+        return null;
+      case "getTransactionIsolation":
+        if (transactionIsolation == null) {
+          transactionIsolation = connection.getTransactionIsolation();
+        }
+        return transactionIsolation;
+      case "setTransactionIsolation":
+        int desiredLevel = (Integer) args[0];
+        if (transactionIsolation == null || transactionIsolation != desiredLevel) {
+          transactionIsolation = null;
+          connection.setTransactionIsolation(desiredLevel);
+          transactionIsolation = desiredLevel;
+        }
+        return null;
+      case "isReadOnly":
+        if (readOnly == null) {
+          readOnly = connection.isReadOnly();
+        }
+        return readOnly;
+      case "setReadOnly":
+        boolean desiredReadOnly = (Boolean) args[0];
+        if (readOnly == null || readOnly != desiredReadOnly) {
+          readOnly = null;
+          connection.setReadOnly(desiredReadOnly);
+          readOnly = desiredReadOnly;
+        }
+        return null;
+      case "getCatalog":
+        if (!catalogKnown) {
+          catalog = connection.getCatalog();
+          catalogKnown = true;
+        }
+        return catalog;
+      case "setCatalog":
+        String desiredCatalog = (String) args[0];
+        if (!catalogKnown || !equals(catalog, desiredCatalog)) {
+          catalogKnown = false;
+          connection.setCatalog(desiredCatalog);
+          catalog = desiredCatalog;
+          catalogKnown = true;
+        }
+        return null;
+      case "getSchema":
+        if (!schemaKnown) {
+          schema = connection.getSchema();
+          schemaKnown = true;
+        }
+        return schema;
+      case "setSchema":
+        String desiredSchema = (String) args[0];
+        if (!schemaKnown || !equals(schema, desiredSchema)) {
+          schemaKnown = false;
+          connection.setSchema(desiredSchema);
+          schema = desiredSchema;
+          schemaKnown = true;
+        }
+        return null;
+      case "createStatement":
+      case "prepareStatement":
+      case "prepareCall":
+      case "setSavepoint":
+        dirty = true;
+        return method.invoke(connection, args);
+      case "unwrap":
+        // the caller may change anything on the driver connection from now on
+        reset();
+        dirty = true;
+        return method.invoke(connection, args);
+      default:
+        return method.invoke(connection, args);
+    }
+  }
+
+  boolean getAutoCommit(Connection connection) throws SQLException {
+    if (autoCommit == null) {
+      autoCommit = connection.getAutoCommit();
+    }
+    return autoCommit;
+  }
+
+  /**
+   * Returns whether the connection may hold uncommitted work. A connection that never created a statement since it
+   * was last returned to the pool does not, whatever its auto-commit mode.
+   *
+   * @param connection
+   *          the real connection, queried only when the auto-commit mode is not known yet
+   * @return true if a rollback is needed before the connection can be reused
+   * @throws SQLException
+   *           if the auto-commit mode could not be read
+   */
+  boolean isRollbackRequired(Connection connection) throws SQLException {
+    return dirty && !getAutoCommit(connection);
+  }
+
+  boolean isDirty() {
+    return dirty;
+  }
+
+  void markClean() {
+    dirty = false;
+  }
+
+  void reset() {
+    autoCommit = null;
+    transactionIsolation = null;
+    readOnly = null;
+    catalogKnown = false;
+    catalog = null;
+    schemaKnown = false;
+    schema = null;
+  }
+
+  private static boolean equals(String a, String b) {
+    return a == null ? b == null : a.equals(b);
+  }
+
+}
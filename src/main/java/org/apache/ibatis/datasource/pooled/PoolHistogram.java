@@ -0,0 +1,128 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations in milliseconds, with one bucket per power of two.
+ * <p>
+ * Bucket 0 counts zero, bucket {@code i} counts the values from {@code 2^(i-1)} to {@code 2^i - 1}. Percentiles are
+ * therefore reported as the upper bound of the bucket they fall in, which is within a factor of two of the real
+ * value and never above the recorded maximum.
+ *
+ * @since 3.5.7
+ */
+public final class PoolHistogram {
+
+  private static final int BUCKETS = Long.SIZE;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder total = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  public void record(long value) {
+    long millis = Math.max(0, value);
+    counts.incrementAndGet(bucketOf(millis));
+    count.increment();
+    total.add(millis);
+    max.accumulateAndGet(millis, Math::max);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public long getTotal() {
+    return total.sum();
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  public double getMean() {
+    long n = count.sum();
+    return n == 0 ? 0 : (double) total.sum() / n;
+  }
+
+  /**
+   * Returns an upper bound of the given percentile.
+   *
+   * @param percentile
+   *          the percentile, between 0 and 100
+   * @return the upper bound of the bucket that holds the percentile, 0 if nothing was recorded
+   */
+  public long getPercentile(double percentile) {
+    long[] snapshot = getBucketCounts();
+    long n = 0;
+    for (long c : snapshot) {
+      n += c;
+    }
+    if (n == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(n * Math.min(100, Math.max(0, percentile)) / 100);
+    long seen = 0;
+    for (int i = 0; i < snapshot.length; i++) {
+      seen += snapshot[i];
+      if (seen >= Math.max(1, rank)) {
+        return Math.min(upperBoundOf(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  /**
+   * Returns a copy of the bucket counts. The counts of concurrent recordings may or may not be included.
+   *
+   * @return the number of values recorded in each bucket
+   */
+  public long[] getBucketCounts() {
+    long[] snapshot = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+    }
+    return snapshot;
+  }
+
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0);
+    }
+    count.reset();
+    total.reset();
+    max.set(0);
+  }
+
+  static int bucketOf(long millis) {
+    return Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(millis));
+  }
+
+  static long upperBoundOf(int bucket) {
+    return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+  }
+
+  @Override
+  public String toString() {
+    return "count=" + getCount() + ", mean=" + (long) getMean() + ", p50=" + getPercentile(50) + ", p99="
+        + getPercentile(99) + ", max=" + getMax();
+  }
+
+}
@@ -0,0 +1,79 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+/**
+ * Receives events of a {@link PooledDataSource}. Listeners are called on the thread that checks out or returns the
+ * connection, after the pool has released its lock, so they should return quickly.
+ *
+ * @since 3.5.7
+ * @see PooledDataSource#addPoolListener(PoolListener)
+ */
+public interface PoolListener {
+
+  /**
+   * Called after a connection was checked out.
+   *
+   * @param pool
+   *          the pool (or partition) that served the request
+   * @param waitTime
+   *          the milliseconds the request took, including any wait for a connection
+   */
+  default void connectionCheckedOut(PoolState pool, long waitTime) {
+    // NOP
+  }
+
+  /**
+   * Called after a connection was returned to the pool.
+   *
+   * @param pool
+   *          the pool (or partition) the connection belongs to
+   * @param holdTime
+   *          the milliseconds the connection was checked out
+   */
+  default void connectionReturned(PoolState pool, long holdTime) {
+    // NOP
+  }
+
+  /**
+   * Called after the pool took back a connection that was checked out longer than
+   * {@link PooledDataSource#getPoolMaximumCheckoutTime()}.
+   *
+   * @param pool
+   *          the pool (or partition) the connection belongs to
+   * @param checkoutTime
+   *          the milliseconds the connection had been checked out
+   * @param borrowSite
+   *          the stack trace of the code that checked the connection out, or {@code null} if it was not sampled
+   * @see PooledDataSource#setPoolBorrowSiteSampling(int)
+   */
+  default void overdueConnectionClaimed(PoolState pool, long checkoutTime, Throwable borrowSite) {
+    // NOP
+  }
+
+  /**
+   * Called when a request was rejected because its predicted wait exceeded the admission deadline.
+   *
+   * @param pool
+   *          the pool (or partition) that rejected the request
+   * @param predictedWaitTime
+   *          the predicted wait in milliseconds
+   */
+  default void requestRejected(PoolState pool, long predictedWaitTime) {
+    // NOP
+  }
+
+}
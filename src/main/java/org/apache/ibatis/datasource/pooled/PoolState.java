@@ -66,8 +66,200 @@ public class PoolState {
    */
   protected long badConnectionCount = 0;
 
+  /**
+   * 预计等待时间超过准入期限而被直接拒绝的请求数
+   */
+  protected long rejectedRequestCount = 0;
+
+  protected int expectedConnectionTypeCode;
+
+  final AdaptivePoolSizer sizer = new AdaptivePoolSizer();
+
+  private final PoolHistogram waitTimeHistogram = new PoolHistogram();
+  private final PoolHistogram holdTimeHistogram = new PoolHistogram();
+
+  /**
+   * 以下字段在持有锁时更新，供无需加锁的监控读取
+   */
+  volatile int activeConnectionGauge;
+  volatile int idleConnectionGauge;
+  volatile int pendingRequestGauge;
+  volatile int activeConnectionLimitGauge;
+  volatile long claimedOverdueConnectionSnapshot;
+  volatile long rejectedRequestSnapshot;
+
+  /**
+   * 按用户名和密码分区时，该分区使用的凭据
+   */
+  final boolean partition;
+  final String username;
+  final String password;
+
+  /**
+   * 最近一次借出或归还连接的时间，以及该分区是否已因长期未使用而被移除
+   */
+  long lastUsedTimestamp;
+  boolean removed;
+  /**
+   * 已计入数据源连接总数的连接数
+   */
+  int countedConnections;
+
+  private Integer maximumActiveConnections;
+  private Integer maximumIdleConnections;
+
   public PoolState(PooledDataSource dataSource) {
     this.dataSource = dataSource;
+    this.partition = false;
+    this.username = null;
+    this.password = null;
+  }
+
+  PoolState(PooledDataSource dataSource, String username, String password) {
+    this.dataSource = dataSource;
+    this.partition = true;
+    this.username = username;
+    this.password = password;
+  }
+
+  /**
+   * Returns the maximum number of active connections of this pool, which is the data source's
+   * {@link PooledDataSource#getPoolMaximumActiveConnections()} unless overridden for this pool.
+   *
+   * @return the maximum number of active connections
+   * @since 3.5.7
+   */
+  public synchronized int getMaximumActiveConnections() {
+    return maximumActiveConnections == null ? dataSource.poolMaximumActiveConnections : maximumActiveConnections;
+  }
+
+  /**
+   * Overrides the maximum number of active connections for this pool only.
+   *
+   * @param maximumActiveConnections
+   *          the maximum number of active connections
+   * @since 3.5.7
+   */
+  public synchronized void setMaximumActiveConnections(int maximumActiveConnections) {
+    this.maximumActiveConnections = maximumActiveConnections;
+  }
+
+  /**
+   * Returns the maximum number of idle connections of this pool, which is the data source's
+   * {@link PooledDataSource#getPoolMaximumIdleConnections()} unless overridden for this pool.
+   *
+   * @return the maximum number of idle connections
+   * @since 3.5.7
+   */
+  public synchronized int getMaximumIdleConnections() {
+    return maximumIdleConnections == null ? dataSource.poolMaximumIdleConnections : maximumIdleConnections;
+  }
+
+  /**
+   * Overrides the maximum number of idle connections for this pool only.
+   *
+   * @param maximumIdleConnections
+   *          the maximum number of idle connections
+   * @since 3.5.7
+   */
+  public synchronized void setMaximumIdleConnections(int maximumIdleConnections) {
+    this.maximumIdleConnections = maximumIdleConnections;
+  }
+
+  /**
+   * Returns how many connections this pool currently hands out at most. With adaptive sizing this moves between
+   * {@link PooledDataSource#getPoolMinimumActiveConnections()} and {@link #getMaximumActiveConnections()}, otherwise
+   * it is the maximum.
+   *
+   * @return the current limit of active connections
+   * @since 3.5.7
+   */
+  public synchronized int getActiveConnectionLimit() {
+    int maximum = getMaximumActiveConnections();
+    return dataSource.poolAdaptiveSizingEnabled ? sizer.getLimit(getMinimumActiveConnections(), maximum) : maximum;
+  }
+
+  synchronized int getIdleConnectionLimit() {
+    int maximum = getMaximumIdleConnections();
+    return dataSource.poolAdaptiveSizingEnabled ? Math.min(maximum, getActiveConnectionLimit()) : maximum;
+  }
+
+  synchronized int getMinimumActiveConnections() {
+    return Math.max(1, Math.min(dataSource.poolMinimumActiveConnections, getMaximumActiveConnections()));
+  }
+
+  /**
+   * Returns the histogram of the time requests took to check out a connection, including any wait. It can be read
+   * without taking the pool's lock.
+   *
+   * @return the wait time histogram
+   * @since 3.5.7
+   */
+  public PoolHistogram getWaitTimeHistogram() {
+    return waitTimeHistogram;
+  }
+
+  /**
+   * Returns the histogram of the time connections stayed checked out. It can be read without taking the pool's lock.
+   *
+   * @return the hold time histogram
+   * @since 3.5.7
+   */
+  public PoolHistogram getHoldTimeHistogram() {
+    return holdTimeHistogram;
+  }
+
+  /**
+   * Returns the number of requests currently waiting for a connection. Like the other gauges of
+   * {@link PoolStatistics}, this is read without taking the pool's lock.
+   *
+   * @return the number of waiting requests
+   * @since 3.5.7
+   */
+  public int getPendingRequestCount() {
+    return pendingRequestGauge;
+  }
+
+  synchronized void updateGauges() {
+    activeConnectionGauge = activeConnections.size();
+    idleConnectionGauge = idleConnections.size();
+    int connections = activeConnectionGauge + idleConnectionGauge;
+    dataSource.totalConnections.addAndGet(connections - countedConnections);
+    countedConnections = connections;
+    pendingRequestGauge = sizer.getWaitingCount();
+    activeConnectionLimitGauge = getActiveConnectionLimit();
+    claimedOverdueConnectionSnapshot = claimedOverdueConnectionCount;
+    rejectedRequestSnapshot = rejectedRequestCount;
+  }
+
+  /**
+   * Returns the recent average time requests waited for a connection, weighted towards the latest requests.
+   *
+   * @return the recent average wait time in milliseconds
+   * @since 3.5.7
+   */
+  public synchronized long getRecentAverageWaitTime() {
+    return sizer.getAverageWaitTime();
+  }
+
+  /**
+   * Returns the recent average time connections stayed checked out, weighted towards the latest returns.
+   *
+   * @return the recent average checkout time in milliseconds
+   * @since 3.5.7
+   */
+  public synchronized long getRecentAverageCheckoutTime() {
+    return sizer.getAverageCheckoutTime();
+  }
+
+  /**
+   * Returns the number of requests that were rejected because their predicted wait exceeded the admission deadline.
+   *
+   * @return the number of rejected requests
+   * @since 3.5.7
+   */
+  public synchronized long getRejectedRequestCount() {
+    return rejectedRequestCount;
   }
 
   public synchronized long getRequestCount() {
@@ -117,10 +309,10 @@ public class PoolState {
     builder.append("\n===CONFINGURATION==============================================");
     builder.append("\n jdbcDriver                     ").append(dataSource.getDriver());
     builder.append("\n jdbcUrl                        ").append(dataSource.getUrl());
-    builder.append("\n jdbcUsername                   ").append(dataSource.getUsername());
-    builder.append("\n jdbcPassword                   ").append(dataSource.getPassword() == null ? "NULL" : "************");
-    builder.append("\n poolMaxActiveConnections       ").append(dataSource.poolMaximumActiveConnections);
-    builder.append("\n poolMaxIdleConnections         ").append(dataSource.poolMaximumIdleConnections);
+    builder.append("\n jdbcUsername                   ").append(partition ? username : dataSource.getUsername());
+    builder.append("\n jdbcPassword                   ").append((partition ? password : dataSource.getPassword()) == null ? "NULL" : "************");
+    builder.append("\n poolMaxActiveConnections       ").append(getMaximumActiveConnections());
+    builder.append("\n poolMaxIdleConnections         ").append(getMaximumIdleConnections());
     builder.append("\n poolMaxCheckoutTime            ").append(dataSource.poolMaximumCheckoutTime);
     builder.append("\n poolTimeToWait                 ").append(dataSource.poolTimeToWait);
     builder.append("\n poolPingEnabled                ").append(dataSource.poolPingEnabled);
@@ -137,6 +329,10 @@ public class PoolState {
     builder.append("\n hadToWait                      ").append(getHadToWaitCount());
     builder.append("\n averageWaitTime                ").append(getAverageWaitTime());
     builder.append("\n badConnectionCount             ").append(getBadConnectionCount());
+    builder.append("\n activeConnectionLimit          ").append(getActiveConnectionLimit());
+    builder.append("\n rejectedRequestCount           ").append(getRejectedRequestCount());
+    builder.append("\n waitTime                       ").append(waitTimeHistogram);
+    builder.append("\n holdTime                       ").append(holdTimeHistogram);
     builder.append("\n===============================================================");
     return builder.toString();
   }
@@ -0,0 +1,112 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+/**
+ * JMX view of a {@link PoolState}.
+ *
+ * @since 3.5.7
+ */
+public class PoolStatistics implements PoolStatisticsMBean {
+
+  private final PoolState pool;
+
+  public PoolStatistics(PoolState pool) {
+    this.pool = pool;
+  }
+
+  @Override
+  public int getActiveConnections() {
+    return pool.activeConnectionGauge;
+  }
+
+  @Override
+  public int getIdleConnections() {
+    return pool.idleConnectionGauge;
+  }
+
+  @Override
+  public int getPendingRequests() {
+    return pool.pendingRequestGauge;
+  }
+
+  @Override
+  public int getActiveConnectionLimit() {
+    return pool.activeConnectionLimitGauge;
+  }
+
+  @Override
+  public long getCheckoutCount() {
+    return pool.getWaitTimeHistogram().getCount();
+  }
+
+  @Override
+  public double getMeanWaitTime() {
+    return pool.getWaitTimeHistogram().getMean();
+  }
+
+  @Override
+  public long getMedianWaitTime() {
+    return pool.getWaitTimeHistogram().getPercentile(50);
+  }
+
+  @Override
+  public long getWaitTime99thPercentile() {
+    return pool.getWaitTimeHistogram().getPercentile(99);
+  }
+
+  @Override
+  public long getMaxWaitTime() {
+    return pool.getWaitTimeHistogram().getMax();
+  }
+
+  @Override
+  public double getMeanHoldTime() {
+    return pool.getHoldTimeHistogram().getMean();
+  }
+
+  @Override
+  public long getMedianHoldTime() {
+    return pool.getHoldTimeHistogram().getPercentile(50);
+  }
+
+  @Override
+  public long getHoldTime99thPercentile() {
+    return pool.getHoldTimeHistogram().getPercentile(99);
+  }
+
+  @Override
+  public long getMaxHoldTime() {
+    return pool.getHoldTimeHistogram().getMax();
+  }
+
+  @Override
+  public long getOverdueCheckoutCount() {
+    return pool.claimedOverdueConnectionSnapshot;
+  }
+
+  @Override
+  public long getRejectedRequestCount() {
+    return pool.rejectedRequestSnapshot;
+  }
+
+  @Override
+  public void resetHistograms() {
+    pool.getWaitTimeHistogram().reset();
+    pool.getHoldTimeHistogram().reset();
+  }
+
+}
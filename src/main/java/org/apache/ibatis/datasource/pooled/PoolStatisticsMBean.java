@@ -0,0 +1,58 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+/**
+ * Management interface of a pool, registered by {@link PooledDataSource#setPoolJmxName(String)}. None of the
+ * attributes take the pool's lock, so they can be read while the pool is starved.
+ *
+ * @since 3.5.7
+ */
+public interface PoolStatisticsMBean {
+
+  int getActiveConnections();
+
+  int getIdleConnections();
+
+  int getPendingRequests();
+
+  int getActiveConnectionLimit();
+
+  long getCheckoutCount();
+
+  double getMeanWaitTime();
+
+  long getMedianWaitTime();
+
+  long getWaitTime99thPercentile();
+
+  long getMaxWaitTime();
+
+  double getMeanHoldTime();
+
+  long getMedianHoldTime();
+
+  long getHoldTime99thPercentile();
+
+  long getMaxHoldTime();
+
+  long getOverdueCheckoutCount();
+
+  long getRejectedRequestCount();
+
+  void resetHistograms();
+
+}
@@ -64,6 +64,9 @@ class PooledConnection implements InvocationHandler {
    * 标识是否有效，主要目的是防止使用方将连接归还给连接池后，依然保留该PooledConnection对象的引用并继续通过该PooledConnection对象操作数据库
    */
   private boolean valid;
+  private ConnectionState connectionState;
+  private PoolState poolState;
+  private Throwable borrowSite;
 
   /**
    * Constructor for SimplePooledConnection that uses the Connection and PooledDataSource passed in.
@@ -80,6 +83,8 @@ class PooledConnection implements InvocationHandler {
     this.createdTimestamp = System.currentTimeMillis();
     this.lastUsedTimestamp = System.currentTimeMillis();
     this.valid = true;
+    this.connectionState = dataSource.isPoolStateTrackingEnabled() ? new ConnectionState() : null;
+    this.poolState = dataSource.getPoolState();
     this.proxyConnection = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), IFACES, this);
   }
 
@@ -229,6 +234,50 @@ class PooledConnection implements InvocationHandler {
     return System.currentTimeMillis() - checkoutTimestamp;
   }
 
+  ConnectionState getConnectionState() {
+    return connectionState;
+  }
+
+  void setConnectionState(ConnectionState connectionState) {
+    this.connectionState = connectionState;
+  }
+
+  PoolState getPoolState() {
+    return poolState;
+  }
+
+  void setPoolState(PoolState poolState) {
+    this.poolState = poolState;
+  }
+
+  Throwable getBorrowSite() {
+    return borrowSite;
+  }
+
+  void setBorrowSite(Throwable borrowSite) {
+    this.borrowSite = borrowSite;
+  }
+
+  /**
+   * Rolls back the real connection if it may hold uncommitted work. Without state tracking this is the case whenever
+   * auto-commit is off.
+   *
+   * @throws SQLException
+   *           if the rollback fails
+   */
+  void rollbackIfNecessary() throws SQLException {
+    if (connectionState == null) {
+      if (!realConnection.getAutoCommit()) {
+        realConnection.rollback();
+      }
+    } else {
+      if (connectionState.isRollbackRequired(realConnection)) {
+        realConnection.rollback();
+      }
+      connectionState.markClean();
+    }
+  }
+
   @Override
   public int hashCode() {
     return hashCode;
@@ -277,6 +326,9 @@ class PooledConnection implements InvocationHandler {
         // issue #579 toString() should never fail
         // throw an SQLException instead of a Runtime
         checkConnection();
+        if (connectionState != null) {
+          return connectionState.invoke(realConnection, method, args);
+        }
       }
       //调用realConnection的对应方法
       return method.invoke(realConnection, args);
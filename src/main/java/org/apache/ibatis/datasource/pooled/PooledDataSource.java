@@ -16,15 +16,31 @@
 package org.apache.ibatis.datasource.pooled;
 
 import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
 import javax.sql.DataSource;
 
 import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
@@ -56,8 +72,26 @@ public class PooledDataSource implements DataSource {
   protected String poolPingQuery = "NO PING QUERY SET";
   protected boolean poolPingEnabled;
   protected int poolPingConnectionsNotUsedFor;
-
-  private int expectedConnectionTypeCode;
+  protected boolean poolStateTrackingEnabled;
+  protected boolean poolPartitioningEnabled;
+  protected int poolMaximumTotalConnections;
+  protected int poolPartitionIdleTimeout = 300000;
+  protected boolean poolAdaptiveSizingEnabled;
+  protected int poolMinimumActiveConnections = 1;
+  protected int poolTargetWaitTime = 50;
+  protected int poolAdaptiveSizingInterval = 5000;
+  protected int poolAdmissionDeadline;
+  protected int poolBorrowSiteSampling;
+  protected String poolJmxName;
+
+  private final Map<List<String>, PoolState> partitions = new ConcurrentHashMap<>();
+  /**
+   * 所有分区的连接总数，以及因总数达到上限而等待的请求数
+   */
+  final AtomicInteger totalConnections = new AtomicInteger();
+  private final AtomicInteger capacityWaiters = new AtomicInteger();
+  private final AtomicLong lastPartitionSweep = new AtomicLong(System.currentTimeMillis());
+  private final List<PoolListener> listeners = new CopyOnWriteArrayList<>();
 
   public PooledDataSource() {
     dataSource = new UnpooledDataSource();
@@ -69,22 +103,22 @@ public class PooledDataSource implements DataSource {
 
   public PooledDataSource(String driver, String url, String username, String password) {
     dataSource = new UnpooledDataSource(driver, url, username, password);
-    expectedConnectionTypeCode = assembleConnectionTypeCode(dataSource.getUrl(), dataSource.getUsername(), dataSource.getPassword());
+    state.expectedConnectionTypeCode = assembleConnectionTypeCode(dataSource.getUrl(), dataSource.getUsername(), dataSource.getPassword());
   }
 
   public PooledDataSource(String driver, String url, Properties driverProperties) {
     dataSource = new UnpooledDataSource(driver, url, driverProperties);
-    expectedConnectionTypeCode = assembleConnectionTypeCode(dataSource.getUrl(), dataSource.getUsername(), dataSource.getPassword());
+    state.expectedConnectionTypeCode = assembleConnectionTypeCode(dataSource.getUrl(), dataSource.getUsername(), dataSource.getPassword());
   }
 
   public PooledDataSource(ClassLoader driverClassLoader, String driver, String url, String username, String password) {
     dataSource = new UnpooledDataSource(driverClassLoader, driver, url, username, password);
-    expectedConnectionTypeCode = assembleConnectionTypeCode(dataSource.getUrl(), dataSource.getUsername(), dataSource.getPassword());
+    state.expectedConnectionTypeCode = assembleConnectionTypeCode(dataSource.getUrl(), dataSource.getUsername(), dataSource.getPassword());
   }
 
   public PooledDataSource(ClassLoader driverClassLoader, String driver, String url, Properties driverProperties) {
     dataSource = new UnpooledDataSource(driverClassLoader, driver, url, driverProperties);
-    expectedConnectionTypeCode = assembleConnectionTypeCode(dataSource.getUrl(), dataSource.getUsername(), dataSource.getPassword());
+    state.expectedConnectionTypeCode = assembleConnectionTypeCode(dataSource.getUrl(), dataSource.getUsername(), dataSource.getPassword());
   }
 
   @Override
@@ -257,6 +291,189 @@ public class PooledDataSource implements DataSource {
     forceCloseAll();
   }
 
+  /**
+   * Determines if pooled connections keep track of their auto-commit mode, transaction isolation, read-only flag,
+   * catalog and schema locally, and of whether they may hold uncommitted work. Redundant state queries, no-op state
+   * changes and rollbacks of connections that did no work are then not sent to the driver.
+   * <p>
+   * This assumes the connection state is only changed through the pooled connection.
+   *
+   * @param poolStateTrackingEnabled
+   *          True if connection state should be tracked by the pool
+   * @since 3.5.7
+   */
+  public void setPoolStateTrackingEnabled(boolean poolStateTrackingEnabled) {
+    this.poolStateTrackingEnabled = poolStateTrackingEnabled;
+    forceCloseAll();
+  }
+
+  /**
+   * Determines if connections requested with credentials other than the configured ones are kept in a separate pool
+   * per set of credentials. Each partition has its own idle and active connections, limits and statistics, so
+   * switching between database users does not close and reopen connections.
+   * <p>
+   * Partitions apply the pool-wide limits unless {@link PoolState#setMaximumActiveConnections(int)} or
+   * {@link PoolState#setMaximumIdleConnections(int)} is set on the partition returned by
+   * {@link #getPoolState(String, String)}. All partitions together keep no more than
+   * {@link #setPoolMaximumTotalConnections(int) poolMaximumTotalConnections} connections open, and partitions that
+   * have not been used for {@link #setPoolPartitionIdleTimeout(int) poolPartitionIdleTimeout} are closed and removed.
+   *
+   * @param poolPartitioningEnabled
+   *          True if each set of credentials should get its own pool
+   * @since 3.5.7
+   */
+  public void setPoolPartitioningEnabled(boolean poolPartitioningEnabled) {
+    this.poolPartitioningEnabled = poolPartitioningEnabled;
+    forceCloseAll();
+  }
+
+  /**
+   * The most connections, active and idle, the pool and all its partitions keep open together when partitioning is
+   * enabled. A partition that needs a connection while the total is reached closes an idle connection of another
+   * partition, or waits until one is returned. 0, the default, uses {@code poolMaximumActiveConnections}.
+   *
+   * @param poolMaximumTotalConnections
+   *          The maximum number of connections of all partitions
+   * @since 3.5.7
+   */
+  public void setPoolMaximumTotalConnections(int poolMaximumTotalConnections) {
+    this.poolMaximumTotalConnections = poolMaximumTotalConnections;
+    forceCloseAll();
+  }
+
+  /**
+   * The time, in milliseconds, after which a partition that had no connection checked out is closed and removed,
+   * together with its statistics. 0 keeps partitions until the pool is closed. Default: 300000.
+   *
+   * @param poolPartitionIdleTimeout
+   *          The idle time in milliseconds after which a partition is removed
+   * @since 3.5.7
+   */
+  public void setPoolPartitionIdleTimeout(int poolPartitionIdleTimeout) {
+    this.poolPartitionIdleTimeout = poolPartitionIdleTimeout;
+    forceCloseAll();
+  }
+
+  /**
+   * Determines if the number of connections handed out adapts to demand instead of always allowing
+   * {@code poolMaximumActiveConnections}. The limit starts at {@code poolMinimumActiveConnections}, grows while the
+   * predicted wait of a request exceeds {@code poolTargetWaitTime}, or while requests have to wait before any
+   * connection has been returned, and shrinks again after a few
+   * {@code poolAdaptiveSizingInterval} intervals in which the topmost connections were not needed.
+   *
+   * @param poolAdaptiveSizingEnabled
+   *          True if the pool should size itself
+   * @since 3.5.7
+   */
+  public void setPoolAdaptiveSizingEnabled(boolean poolAdaptiveSizingEnabled) {
+    this.poolAdaptiveSizingEnabled = poolAdaptiveSizingEnabled;
+    forceCloseAll();
+  }
+
+  /**
+   * The lowest number of active connections adaptive sizing shrinks the pool to.
+   *
+   * @param poolMinimumActiveConnections
+   *          The minimum number of active connections
+   * @since 3.5.7
+   */
+  public void setPoolMinimumActiveConnections(int poolMinimumActiveConnections) {
+    this.poolMinimumActiveConnections = poolMinimumActiveConnections;
+    forceCloseAll();
+  }
+
+  /**
+   * The wait for a connection, in milliseconds, that adaptive sizing accepts before it lets the pool grow. Shorter
+   * waits are queued on the existing connections so that spikes do not over-subscribe the database.
+   *
+   * @param poolTargetWaitTime
+   *          The acceptable predicted wait in milliseconds
+   * @since 3.5.7
+   */
+  public void setPoolTargetWaitTime(int poolTargetWaitTime) {
+    this.poolTargetWaitTime = poolTargetWaitTime;
+    forceCloseAll();
+  }
+
+  /**
+   * The length, in milliseconds, of the intervals over which adaptive sizing observes whether connections can be
+   * released.
+   *
+   * @param poolAdaptiveSizingInterval
+   *          The observation interval in milliseconds
+   * @since 3.5.7
+   */
+  public void setPoolAdaptiveSizingInterval(int poolAdaptiveSizingInterval) {
+    this.poolAdaptiveSizingInterval = poolAdaptiveSizingInterval;
+    forceCloseAll();
+  }
+
+  /**
+   * Rejects a request for a connection right away, instead of letting it wait, when its predicted wait exceeds this
+   * many milliseconds. The prediction is based on the number of waiting requests and the recent average checkout
+   * time. 0 disables admission control.
+   *
+   * @param poolAdmissionDeadline
+   *          The admission deadline in milliseconds
+   * @since 3.5.7
+   */
+  public void setPoolAdmissionDeadline(int poolAdmissionDeadline) {
+    this.poolAdmissionDeadline = poolAdmissionDeadline;
+    forceCloseAll();
+  }
+
+  /**
+   * Records the stack trace of one in this many checkouts, so that a connection claimed back as overdue can be
+   * attributed to the code that checked it out. 0 disables sampling, 1 records every checkout. Unlike the other pool
+   * properties, changing this does not close the pooled connections.
+   *
+   * @param poolBorrowSiteSampling
+   *          The sampling interval
+   * @since 3.5.7
+   * @see PoolListener#overdueConnectionClaimed(PoolState, long, Throwable)
+   */
+  public void setPoolBorrowSiteSampling(int poolBorrowSiteSampling) {
+    this.poolBorrowSiteSampling = poolBorrowSiteSampling;
+  }
+
+  /**
+   * Registers a {@link PoolStatisticsMBean} for the pool and each of its partitions with the platform MBean server,
+   * under {@code org.apache.ibatis.datasource.pooled:type=PooledDataSource,name=<name>}. Setting {@code null}
+   * unregisters them. Unlike the other pool properties, changing this does not close the pooled connections.
+   *
+   * @param poolJmxName
+   *          The name to register the pool under
+   * @since 3.5.7
+   */
+  public void setPoolJmxName(String poolJmxName) {
+    unregisterStatistics();
+    this.poolJmxName = poolJmxName;
+    registerStatistics(state);
+    partitions.values().forEach(this::registerStatistics);
+  }
+
+  /**
+   * Adds a listener that is told about checkouts, returns, overdue connections and rejected requests.
+   *
+   * @param listener
+   *          the listener
+   * @since 3.5.7
+   */
+  public void addPoolListener(PoolListener listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Removes a listener added by {@link #addPoolListener(PoolListener)}.
+   *
+   * @param listener
+   *          the listener
+   * @since 3.5.7
+   */
+  public void removePoolListener(PoolListener listener) {
+    listeners.remove(listener);
+  }
+
   public String getDriver() {
     return dataSource.getDriver();
   }
@@ -327,43 +544,250 @@ public class PooledDataSource implements DataSource {
     return poolPingConnectionsNotUsedFor;
   }
 
+  /**
+   * Returns whether pooled connections track their state locally.
+   *
+   * @return true if connection state is tracked
+   * @since 3.5.7
+   */
+  public boolean isPoolStateTrackingEnabled() {
+    return poolStateTrackingEnabled;
+  }
+
+  /**
+   * Returns whether each set of credentials gets a pool of its own.
+   *
+   * @return true if the pool is partitioned by credentials
+   * @since 3.5.7
+   */
+  public boolean isPoolPartitioningEnabled() {
+    return poolPartitioningEnabled;
+  }
+
+  /**
+   * Gets the most connections the pool and all its partitions keep open together.
+   *
+   * @return the maximum number of connections of all partitions
+   * @since 3.5.7
+   */
+  public int getPoolMaximumTotalConnections() {
+    return poolMaximumTotalConnections > 0 ? poolMaximumTotalConnections : poolMaximumActiveConnections;
+  }
+
+  /**
+   * Gets the time after which an unused partition is removed.
+   *
+   * @return the idle time in milliseconds, 0 if partitions are kept
+   * @since 3.5.7
+   */
+  public int getPoolPartitionIdleTimeout() {
+    return poolPartitionIdleTimeout;
+  }
+
+  /**
+   * Returns whether the pool sizes itself.
+   *
+   * @return true if adaptive sizing is enabled
+   * @since 3.5.7
+   */
+  public boolean isPoolAdaptiveSizingEnabled() {
+    return poolAdaptiveSizingEnabled;
+  }
+
+  /**
+   * Gets the lowest number of active connections adaptive sizing shrinks the pool to.
+   *
+   * @return the minimum number of active connections
+   * @since 3.5.7
+   */
+  public int getPoolMinimumActiveConnections() {
+    return poolMinimumActiveConnections;
+  }
+
+  /**
+   * Gets the predicted wait that adaptive sizing accepts before it lets the pool grow.
+   *
+   * @return the acceptable predicted wait in milliseconds
+   * @since 3.5.7
+   */
+  public int getPoolTargetWaitTime() {
+    return poolTargetWaitTime;
+  }
+
+  /**
+   * Gets the length of the intervals over which adaptive sizing observes demand.
+   *
+   * @return the observation interval in milliseconds
+   * @since 3.5.7
+   */
+  public int getPoolAdaptiveSizingInterval() {
+    return poolAdaptiveSizingInterval;
+  }
+
+  /**
+   * Gets the predicted wait above which requests are rejected right away.
+   *
+   * @return the admission deadline in milliseconds, 0 if disabled
+   * @since 3.5.7
+   */
+  public int getPoolAdmissionDeadline() {
+    return poolAdmissionDeadline;
+  }
+
+  /**
+   * Gets how often the stack trace of a checkout is recorded.
+   *
+   * @return one in how many checkouts is recorded, 0 if disabled
+   * @since 3.5.7
+   */
+  public int getPoolBorrowSiteSampling() {
+    return poolBorrowSiteSampling;
+  }
+
+  /**
+   * Gets the name the pool statistics are registered under.
+   *
+   * @return the JMX name, {@code null} if not registered
+   * @since 3.5.7
+   */
+  public String getPoolJmxName() {
+    return poolJmxName;
+  }
+
   /**
    * Closes all active and idle connections in the pool.
    */
   public void forceCloseAll() {
     synchronized (state) {
-      expectedConnectionTypeCode = assembleConnectionTypeCode(dataSource.getUrl(), dataSource.getUsername(), dataSource.getPassword());
-      for (int i = state.activeConnections.size(); i > 0; i--) {
-        try {
-          PooledConnection conn = state.activeConnections.remove(i - 1);
-          conn.invalidate();
+      state.expectedConnectionTypeCode = assembleConnectionTypeCode(dataSource.getUrl(), dataSource.getUsername(), dataSource.getPassword());
+      closeAll(state);
+    }
+    for (PoolState partition : partitions.values()) {
+      synchronized (partition) {
+        partition.expectedConnectionTypeCode = assembleConnectionTypeCode(dataSource.getUrl(), partition.username, partition.password);
+        closeAll(partition);
+      }
+    }
+    if (log.isDebugEnabled()) {
+      log.debug("PooledDataSource forcefully closed/removed all connections.");
+    }
+  }
+
+  private void closeAll(PoolState partition) {
+    for (int i = partition.activeConnections.size(); i > 0; i--) {
+      close(partition.activeConnections.remove(i - 1));
+    }
+    for (int i = partition.idleConnections.size(); i > 0; i--) {
+      close(partition.idleConnections.remove(i - 1));
+    }
+    partition.updateGauges();
+  }
 
-          Connection realConn = conn.getRealConnection();
-          if (!realConn.getAutoCommit()) {
-            realConn.rollback();
+  private void close(PooledConnection conn) {
+    try {
+      conn.invalidate();
+
+      Connection realConn = conn.getRealConnection();
+      if (!realConn.getAutoCommit()) {
+        realConn.rollback();
+      }
+      realConn.close();
+    } catch (Exception e) {
+      // ignore
+    }
+  }
+
+  /**
+   * Reserves one of the connections all partitions may keep open together.
+   */
+  private boolean reserveConnection(PoolState partition) {
+    if (!poolPartitioningEnabled) {
+      return true;
+    }
+    int maximum = getPoolMaximumTotalConnections();
+    for (;;) {
+      int total = totalConnections.get();
+      if (total >= maximum) {
+        return false;
+      }
+      if (totalConnections.compareAndSet(total, total + 1)) {
+        // 提前计入该分区，updateGauges不会重复计数
+        partition.countedConnections++;
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Closes an idle connection of another partition, so that the given one can open a connection without exceeding
+   * the total. Must not be called while holding the lock of a partition.
+   */
+  private void closeIdleConnectionOfOtherPartition(PoolState partition) {
+    List<PoolState> pools = new ArrayList<>(partitions.values());
+    pools.add(state);
+    for (PoolState other : pools) {
+      if (other == partition) {
+        continue;
+      }
+      synchronized (other) {
+        if (!other.idleConnections.isEmpty()) {
+          PooledConnection conn = other.idleConnections.remove(0);
+          close(conn);
+          other.updateGauges();
+          if (log.isDebugEnabled()) {
+            log.debug("Closed idle connection " + conn.getRealHashCode() + " to make room for another partition.");
           }
-          realConn.close();
-        } catch (Exception e) {
-          // ignore
+          return;
         }
       }
-      for (int i = state.idleConnections.size(); i > 0; i--) {
-        try {
-          PooledConnection conn = state.idleConnections.remove(i - 1);
-          conn.invalidate();
+    }
+  }
 
-          Connection realConn = conn.getRealConnection();
-          if (!realConn.getAutoCommit()) {
-            realConn.rollback();
-          }
-          realConn.close();
-        } catch (Exception e) {
-          // ignore
+  /**
+   * Wakes the requests of other partitions that wait because the total of connections is reached. Must not be called
+   * while holding the lock of a partition.
+   */
+  private void notifyCapacityWaiters(PoolState partition) {
+    List<PoolState> pools = new ArrayList<>(partitions.values());
+    pools.add(state);
+    for (PoolState other : pools) {
+      if (other != partition) {
+        synchronized (other) {
+          other.notifyAll();
         }
       }
     }
-    if (log.isDebugEnabled()) {
-      log.debug("PooledDataSource forcefully closed/removed all connections.");
+  }
+
+  /**
+   * Closes and removes the partitions that had no connection checked out for {@code poolPartitionIdleTimeout}. Runs
+   * at most once per timeout.
+   */
+  private void removeUnusedPartitions() {
+    if (poolPartitionIdleTimeout <= 0 || partitions.isEmpty()) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    long lastSweep = lastPartitionSweep.get();
+    if (now - lastSweep < poolPartitionIdleTimeout || !lastPartitionSweep.compareAndSet(lastSweep, now)) {
+      return;
+    }
+    for (Iterator<PoolState> it = partitions.values().iterator(); it.hasNext();) {
+      PoolState partition = it.next();
+      synchronized (partition) {
+        if (!partition.activeConnections.isEmpty() || partition.sizer.getWaitingCount() > 0
+            || now - partition.lastUsedTimestamp < poolPartitionIdleTimeout) {
+          continue;
+        }
+        partition.removed = true;
+        closeAll(partition);
+      }
+      it.remove();
+      unregisterStatistics(partition);
+      if (log.isDebugEnabled()) {
+        log.debug("Removed partition of " + partition.username + " that was not used for " + poolPartitionIdleTimeout
+            + " milliseconds.");
+      }
     }
   }
 
@@ -371,59 +795,144 @@ public class PooledDataSource implements DataSource {
     return state;
   }
 
+  /**
+   * Returns the pool that serves connections for the given credentials. With partitioning enabled every set of
+   * credentials other than the configured ones gets a pool of its own, created on first use; otherwise, and for the
+   * configured credentials, this is the same as {@link #getPoolState()}.
+   *
+   * @param username
+   *          the database user
+   * @param password
+   *          the user's password
+   * @return the pool state of the partition
+   * @since 3.5.7
+   */
+  public PoolState getPoolState(String username, String password) {
+    if (!poolPartitioningEnabled
+        || (Objects.equals(username, dataSource.getUsername()) && Objects.equals(password, dataSource.getPassword()))) {
+      return state;
+    }
+    return partitions.computeIfAbsent(Arrays.asList(username, password), k -> {
+      PoolState partition = new PoolState(this, username, password);
+      partition.lastUsedTimestamp = System.currentTimeMillis();
+      partition.expectedConnectionTypeCode = assembleConnectionTypeCode(dataSource.getUrl(), username, password);
+      registerStatistics(partition);
+      return partition;
+    });
+  }
+
+  private void registerStatistics(PoolState partition) {
+    if (poolJmxName == null) {
+      return;
+    }
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      server.registerMBean(new PoolStatistics(partition), getStatisticsName(partition));
+    } catch (JMException e) {
+      log.warn("Could not register statistics of pool '" + poolJmxName + "'. Cause: " + e);
+    }
+  }
+
+  private void unregisterStatistics() {
+    if (poolJmxName == null) {
+      return;
+    }
+    partitions.values().forEach(this::unregisterStatistics);
+    unregisterStatistics(state);
+  }
+
+  private void unregisterStatistics(PoolState partition) {
+    if (poolJmxName == null) {
+      return;
+    }
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = getStatisticsName(partition);
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+    } catch (JMException e) {
+      log.warn("Could not unregister statistics of pool '" + poolJmxName + "'. Cause: " + e);
+    }
+  }
+
+  private ObjectName getStatisticsName(PoolState partition) throws MalformedObjectNameException {
+    String name = "org.apache.ibatis.datasource.pooled:type=PooledDataSource,name=" + ObjectName.quote(poolJmxName);
+    if (partition.partition) {
+      name += ",partition=" + ObjectName.quote(String.valueOf(partition.username));
+    }
+    return new ObjectName(name);
+  }
+
   private int assembleConnectionTypeCode(String url, String username, String password) {
     return ("" + url + username + password).hashCode();
   }
 
   protected void pushConnection(PooledConnection conn) throws SQLException {
-
-    synchronized (state) {
+    PoolState partition = conn.getPoolState();
+    long holdTime = -1;
+    boolean closedForOtherPartitions = false;
+    synchronized (partition) {
       // 从活跃连接集合中删除该连接
-      state.activeConnections.remove(conn);
+      partition.activeConnections.remove(conn);
+      partition.lastUsedTimestamp = System.currentTimeMillis();
       if (conn.isValid()) {
+        holdTime = conn.getCheckoutTime();
+        partition.sizer.recordReturn(holdTime);
+        // 其他分区因连接总数达到上限而等待时，除非本分区也有等待者，否则关闭连接以腾出名额
+        boolean otherPartitionsWaiting = capacityWaiters.get() > 0 && partition.sizer.getWaitingCount() == 0;
         // 检测空闲连接数是否已经到达上限值
-        if (state.idleConnections.size() < poolMaximumIdleConnections && conn.getConnectionTypeCode() == expectedConnectionTypeCode) {
+        if (partition.idleConnections.size() < partition.getIdleConnectionLimit()
+            && conn.getConnectionTypeCode() == partition.expectedConnectionTypeCode && !otherPartitionsWaiting) {
           // 累积增加accumulatedCheckoutTime
-          state.accumulatedCheckoutTime += conn.getCheckoutTime();
-          if (!conn.getRealConnection().getAutoCommit()) {
-            // 回滚未提交的事务
-            conn.getRealConnection().rollback();
-          }
+          partition.accumulatedCheckoutTime += conn.getCheckoutTime();
+          // 回滚未提交的事务
+          conn.rollbackIfNecessary();
           // 将底层连接重新封装成PooledConnection对象,并且添加到空闲集合中
           PooledConnection newConn = new PooledConnection(conn.getRealConnection(), this);
-          state.idleConnections.add(newConn);
+          partition.idleConnections.add(newConn);
           // 设置创建时间戳和最后使用时间戳
           newConn.setCreatedTimestamp(conn.getCreatedTimestamp());
           newConn.setLastUsedTimestamp(conn.getLastUsedTimestamp());
+          newConn.setConnectionState(conn.getConnectionState());
+          newConn.setPoolState(partition);
           // 丢弃旧PooledConnection对象
           conn.invalidate();
           if (log.isDebugEnabled()) {
             log.debug("Returned connection " + newConn.getRealHashCode() + " to pool.");
           }
           // 唤醒所有阻塞等待空闲连接的线程
-          state.notifyAll();
+          partition.notifyAll();
         }
         // 当前PooledDataSource连接池中的空闲连接已经达到上限值，当前数据库连接无法放回到池中
         else {
           //累积accumulatedCheckoutTime
-          state.accumulatedCheckoutTime += conn.getCheckoutTime();
-          if (!conn.getRealConnection().getAutoCommit()) {
-            // 回滚未提交的事务
-            conn.getRealConnection().rollback();
-          }
+          partition.accumulatedCheckoutTime += conn.getCheckoutTime();
+          // 回滚未提交的事务
+          conn.rollbackIfNecessary();
           // 关闭
           conn.getRealConnection().close();
           if (log.isDebugEnabled()) {
             log.debug("Closed connection " + conn.getRealHashCode() + ".");
           }
           conn.invalidate();
+          closedForOtherPartitions = otherPartitionsWaiting;
         }
       } else {
         if (log.isDebugEnabled()) {
           log.debug("A bad connection (" + conn.getRealHashCode() + ") attempted to return to the pool, discarding connection.");
         }
-        state.badConnectionCount++;
+        partition.badConnectionCount++;
       }
+      partition.updateGauges();
+    }
+    if (closedForOtherPartitions) {
+      notifyCapacityWaiters(partition);
+    }
+    if (holdTime >= 0) {
+      long checkoutTime = holdTime;
+      partition.getHoldTimeHistogram().record(checkoutTime);
+      fireEvent(listener -> listener.connectionReturned(partition, checkoutTime));
     }
   }
 
@@ -432,23 +941,50 @@ public class PooledDataSource implements DataSource {
     PooledConnection conn = null;
     long t = System.currentTimeMillis();
     int localBadConnectionCount = 0;
+    removeUnusedPartitions();
+    PoolState partition = getPoolState(username, password);
+    long rejectedWaitTime = -1;
+    List<Runnable> overdueEvents = null;
+    boolean removed = false;
+    boolean closeIdleConnection = false;
+    boolean triedIdleConnection = false;
 
     while (conn == null) {
-      synchronized (state) {
+      if (closeIdleConnection) {
+        closeIdleConnection = false;
+        triedIdleConnection = true;
+        closeIdleConnectionOfOtherPartition(partition);
+      }
+      synchronized (partition) {
+        // 分区已被移除，改用新的分区
+        if (partition.removed) {
+          removed = true;
+          break;
+        }
+        partition.lastUsedTimestamp = System.currentTimeMillis();
         // 1.检测空闲连接集合
-        if (!state.idleConnections.isEmpty()) {
+        if (!partition.idleConnections.isEmpty()) {
           // 2.获取空闲连接
-          conn = state.idleConnections.remove(0);
+          conn = partition.idleConnections.remove(0);
           if (log.isDebugEnabled()) {
             log.debug("Checked out connection " + conn.getRealHashCode() + " from pool.");
           }
         }
         // 没有空闲连接
         else {
-          // 活跃连接数没有到达上限值，则创建新连接
-          if (state.activeConnections.size() < poolMaximumActiveConnections) {
+          // 活跃连接数没有到达上限值，且所有分区的连接总数没有到达上限值，则创建新连接
+          boolean belowLimit = partition.activeConnections.size() < partition.getActiveConnectionLimit();
+          if (belowLimit && reserveConnection(partition)) {
             // 创建数据库连接，并且封装为PooledConnection对象
-            conn = new PooledConnection(dataSource.getConnection(), this);
+            Connection realConn;
+            try {
+              realConn = partition == state ? dataSource.getConnection() : dataSource.getConnection(username, password);
+            } catch (SQLException | RuntimeException e) {
+              // 释放预留的名额
+              partition.updateGauges();
+              throw e;
+            }
+            conn = new PooledConnection(realConn, this);
             if (log.isDebugEnabled()) {
               log.debug("Created connection " + conn.getRealHashCode() + ".");
             }
@@ -457,34 +993,42 @@ public class PooledDataSource implements DataSource {
           else {
             // 3.检测超时连接
             // 获取最早的活跃连接
-            PooledConnection oldestActiveConnection = state.activeConnections.get(0);
-            long longestCheckoutTime = oldestActiveConnection.getCheckoutTime();
+            PooledConnection oldestActiveConnection = partition.activeConnections.isEmpty() ? null
+                : partition.activeConnections.get(0);
+            long longestCheckoutTime = oldestActiveConnection == null ? 0 : oldestActiveConnection.getCheckoutTime();
             // 检查该连接是否超时
             if (longestCheckoutTime > poolMaximumCheckoutTime) {
               //对超时连接进行统计
-              state.claimedOverdueConnectionCount++;
-              state.accumulatedCheckoutTimeOfOverdueConnections += longestCheckoutTime;
-              state.accumulatedCheckoutTime += longestCheckoutTime;
+              partition.claimedOverdueConnectionCount++;
+              partition.accumulatedCheckoutTimeOfOverdueConnections += longestCheckoutTime;
+              partition.accumulatedCheckoutTime += longestCheckoutTime;
               // 将超时连接移除
-              state.activeConnections.remove(oldestActiveConnection);
-              if (!oldestActiveConnection.getRealConnection().getAutoCommit()) {
-                try {
-                  oldestActiveConnection.getRealConnection().rollback();
-                } catch (SQLException e) {
-                  /*
-                     Just log a message for debug and continue to execute the following
-                     statement like nothing happened.
-                     Wrap the bad connection with a new PooledConnection, this will help
-                     to not interrupt current executing thread and give current thread a
-                     chance to join the next competition for another valid/good database
-                     connection. At the end of this loop, bad {@link @conn} will be set as null.
-                   */
-                  log.debug("Bad connection. Could not roll back");
-                }
+              partition.activeConnections.remove(oldestActiveConnection);
+              try {
+                oldestActiveConnection.rollbackIfNecessary();
+              } catch (SQLException e) {
+                /*
+                   Just log a message for debug and continue to execute the following
+                   statement like nothing happened.
+                   Wrap the bad connection with a new PooledConnection, this will help
+                   to not interrupt current executing thread and give current thread a
+                   chance to join the next competition for another valid/good database
+                   connection. At the end of this loop, bad {@link @conn} will be set as null.
+                 */
+                log.debug("Bad connection. Could not roll back");
               }
               conn = new PooledConnection(oldestActiveConnection.getRealConnection(), this);
               conn.setCreatedTimestamp(oldestActiveConnection.getCreatedTimestamp());
               conn.setLastUsedTimestamp(oldestActiveConnection.getLastUsedTimestamp());
+              conn.setConnectionState(oldestActiveConnection.getConnectionState());
+              if (!listeners.isEmpty()) {
+                Throwable borrowSite = oldestActiveConnection.getBorrowSite();
+                if (overdueEvents == null) {
+                  overdueEvents = new ArrayList<>();
+                }
+                overdueEvents.add(() -> fireEvent(
+                    listener -> listener.overdueConnectionClaimed(partition, longestCheckoutTime, borrowSite)));
+              }
               oldestActiveConnection.invalidate();
               if (log.isDebugEnabled()) {
                 log.debug("Claimed overdue connection " + conn.getRealHashCode() + ".");
@@ -492,18 +1036,55 @@ public class PooledDataSource implements DataSource {
             }
             // 无空闲连接、无法创建新连接且没有超时连接，只能阻塞等待
             else {
+              // 连接总数达到上限时，先尝试关闭其他分区的一个空闲连接
+              if (belowLimit && !triedIdleConnection) {
+                closeIdleConnection = true;
+                continue;
+              }
+              long predictedWaitTime = partition.sizer.predictWaitTime(partition.activeConnections.size());
+              // 预计等待时间过长时，自适应扩容
+              if (poolAdaptiveSizingEnabled && !belowLimit
+                  && partition.sizer.isWaitTooLong(partition.activeConnections.size(), poolTargetWaitTime)
+                  && partition.sizer.grow(partition.getMinimumActiveConnections(), partition.getMaximumActiveConnections())) {
+                if (log.isDebugEnabled()) {
+                  log.debug("Predicted wait of " + predictedWaitTime + " milliseconds, raising connection limit to "
+                      + partition.getActiveConnectionLimit() + ".");
+                }
+                continue;
+              }
+              // 预计等待时间超过准入期限，直接拒绝
+              if (!countedWait && poolAdmissionDeadline > 0 && predictedWaitTime > poolAdmissionDeadline) {
+                partition.rejectedRequestCount++;
+                partition.updateGauges();
+                rejectedWaitTime = predictedWaitTime;
+                break;
+              }
               try {
                 // 统计等待次数
                 if (!countedWait) {
-                  state.hadToWaitCount++;
+                  partition.hadToWaitCount++;
                   countedWait = true;
                 }
                 if (log.isDebugEnabled()) {
                   log.debug("Waiting as long as " + poolTimeToWait + " milliseconds for connection.");
                 }
                 long wt = System.currentTimeMillis();
-                state.wait(poolTimeToWait);
-                state.accumulatedWaitTime += System.currentTimeMillis() - wt;
+                partition.sizer.waitStarted();
+                partition.updateGauges();
+                if (belowLimit) {
+                  capacityWaiters.incrementAndGet();
+                }
+                try {
+                  partition.wait(poolTimeToWait);
+                } finally {
+                  if (belowLimit) {
+                    capacityWaiters.decrementAndGet();
+                  }
+                  partition.sizer.waitEnded();
+                  partition.updateGauges();
+                }
+                triedIdleConnection = false;
+                partition.accumulatedWaitTime += System.currentTimeMillis() - wt;
               } catch (InterruptedException e) {
                 break;
               }
@@ -513,23 +1094,30 @@ public class PooledDataSource implements DataSource {
         if (conn != null) {
           // ping to server and check the connection is valid or not
           if (conn.isValid()) {
-            if (!conn.getRealConnection().getAutoCommit()) {
-              conn.getRealConnection().rollback();
-            }
+            conn.rollbackIfNecessary();
             conn.setConnectionTypeCode(assembleConnectionTypeCode(dataSource.getUrl(), username, password));
+            conn.setPoolState(partition);
             conn.setCheckoutTimestamp(System.currentTimeMillis());
             conn.setLastUsedTimestamp(System.currentTimeMillis());
-            state.activeConnections.add(conn);
-            state.requestCount++;
-            state.accumulatedRequestTime += System.currentTimeMillis() - t;
+            partition.activeConnections.add(conn);
+            partition.requestCount++;
+            partition.accumulatedRequestTime += System.currentTimeMillis() - t;
+            partition.sizer.recordCheckout(System.currentTimeMillis() - t, partition.activeConnections.size());
+            if (poolBorrowSiteSampling > 0 && partition.requestCount % poolBorrowSiteSampling == 0) {
+              conn.setBorrowSite(new Throwable("Connection " + conn.getRealHashCode() + " was checked out here"));
+            }
+            if (poolAdaptiveSizingEnabled) {
+              partition.sizer.shrinkIfIdle(partition.activeConnections.size(), poolAdaptiveSizingInterval,
+                  partition.getMinimumActiveConnections(), partition.getMaximumActiveConnections());
+            }
           } else {
             if (log.isDebugEnabled()) {
               log.debug("A bad connection (" + conn.getRealHashCode() + ") was returned from the pool, getting another connection.");
             }
-            state.badConnectionCount++;
+            partition.badConnectionCount++;
             localBadConnectionCount++;
             conn = null;
-            if (localBadConnectionCount > (poolMaximumIdleConnections + poolMaximumLocalBadConnectionTolerance)) {
+            if (localBadConnectionCount > (partition.getMaximumIdleConnections() + poolMaximumLocalBadConnectionTolerance)) {
               if (log.isDebugEnabled()) {
                 log.debug("PooledDataSource: Could not get a good connection to the database.");
               }
@@ -537,10 +1125,29 @@ public class PooledDataSource implements DataSource {
             }
           }
         }
+        partition.updateGauges();
       }
 
     }
 
+    if (removed) {
+      partitions.remove(Arrays.asList(username, password), partition);
+      return popConnection(username, password);
+    }
+    if (overdueEvents != null) {
+      overdueEvents.forEach(Runnable::run);
+    }
+    if (rejectedWaitTime >= 0) {
+      long predictedWaitTime = rejectedWaitTime;
+      fireEvent(listener -> listener.requestRejected(partition, predictedWaitTime));
+      if (log.isDebugEnabled()) {
+        log.debug("PooledDataSource: Predicted wait of " + rejectedWaitTime
+            + " milliseconds exceeds the admission deadline, rejecting request.");
+      }
+      throw new SQLException("PooledDataSource: Predicted wait of " + rejectedWaitTime
+          + " milliseconds exceeds the admission deadline of " + poolAdmissionDeadline + " milliseconds.");
+    }
+
     if (conn == null) {
       if (log.isDebugEnabled()) {
         log.debug("PooledDataSource: Unknown severe error condition.  The connection pool returned a null connection.");
@@ -548,9 +1155,22 @@ public class PooledDataSource implements DataSource {
       throw new SQLException("PooledDataSource: Unknown severe error condition.  The connection pool returned a null connection.");
     }
 
+    long waitTime = System.currentTimeMillis() - t;
+    partition.getWaitTimeHistogram().record(waitTime);
+    fireEvent(listener -> listener.connectionCheckedOut(partition, waitTime));
     return conn;
   }
 
+  private void fireEvent(Consumer<PoolListener> event) {
+    for (PoolListener listener : listeners) {
+      try {
+        event.accept(listener);
+      } catch (RuntimeException e) {
+        log.warn("Pool listener " + listener + " failed. Cause: " + e);
+      }
+    }
+  }
+
   /**
    * Method to check to see if a connection is still usable
    *
@@ -26,18 +26,25 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.cache.impl.PerpetualCache;
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.dialect.Dialect;
+import org.apache.ibatis.executor.dialect.Keyset;
+import org.apache.ibatis.executor.dialect.Pagination;
 import org.apache.ibatis.executor.statement.StatementUtil;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.logging.jdbc.ConnectionLogger;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.mapping.StatementType;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.KeysetRowBounds;
 import org.apache.ibatis.session.LocalCacheScope;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
@@ -58,9 +65,11 @@ public abstract class BaseExecutor implements Executor {
   protected PerpetualCache localCache;
   protected PerpetualCache localOutputParameterCache;
   protected Configuration configuration;
+  protected Environment environment;
 
   protected int queryStack;
   private boolean closed;
+  private boolean dirty;
 
   protected BaseExecutor(Configuration configuration, Transaction transaction) {
     this.transaction = transaction;
@@ -72,6 +81,24 @@ public abstract class BaseExecutor implements Executor {
     this.wrapper = this;
   }
 
+  /**
+   * Sets the environment the transaction of this executor belongs to, when it is not the environment of the
+   * configuration. The environment id is part of every cache key so that equal queries against different data sources
+   * do not share cached results.
+   *
+   * @param environment
+   *          the environment
+   * @since 3.5.7
+   */
+  public void setEnvironment(Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public Environment getEnvironment() {
+    return environment;
+  }
+
   @Override
   public Transaction getTransaction() {
     if (closed) {
@@ -114,6 +141,7 @@ public abstract class BaseExecutor implements Executor {
       throw new ExecutorException("Executor was closed.");
     }
     clearLocalCache();
+    dirty = true;
     return doUpdate(ms, parameter);
   }
 
@@ -174,7 +202,11 @@ public abstract class BaseExecutor implements Executor {
 
   @Override
   public <E> Cursor<E> queryCursor(MappedStatement ms, Object parameter, RowBounds rowBounds) throws SQLException {
-    BoundSql boundSql = ms.getBoundSql(parameter);
+    BoundSql boundSql = applyKeyset(ms, rowBounds, ms.getBoundSql(parameter));
+    Dialect dialect = configuration.getPagingDialect(ms, boundSql, rowBounds);
+    if (dialect != null) {
+      return doQueryCursor(ms, parameter, RowBounds.DEFAULT, Pagination.getPagingBoundSql(configuration, dialect, boundSql, rowBounds));
+    }
     return doQueryCursor(ms, parameter, rowBounds, boundSql);
   }
 
@@ -201,6 +233,9 @@ public abstract class BaseExecutor implements Executor {
     cacheKey.update(rowBounds.getOffset());
     cacheKey.update(rowBounds.getLimit());
     cacheKey.update(boundSql.getSql());
+    if (rowBounds instanceof KeysetRowBounds) {
+      cacheKey.update(((KeysetRowBounds) rowBounds).getToken());
+    }
     List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
     TypeHandlerRegistry typeHandlerRegistry = ms.getConfiguration().getTypeHandlerRegistry();
     // mimic DefaultParameterHandler logic
@@ -221,9 +256,10 @@ public abstract class BaseExecutor implements Executor {
         cacheKey.update(value);
       }
     }
-    if (configuration.getEnvironment() != null) {
+    Environment keyEnvironment = environment != null ? environment : configuration.getEnvironment();
+    if (keyEnvironment != null) {
       // issue #176
-      cacheKey.update(configuration.getEnvironment().getId());
+      cacheKey.update(keyEnvironment.getId());
     }
     return cacheKey;
   }
@@ -243,6 +279,7 @@ public abstract class BaseExecutor implements Executor {
     if (required) {
       transaction.commit();
     }
+    dirty = false;
   }
 
   @Override
@@ -255,6 +292,7 @@ public abstract class BaseExecutor implements Executor {
         if (required) {
           transaction.rollback();
         }
+        dirty = false;
       }
     }
   }
@@ -322,7 +360,11 @@ public abstract class BaseExecutor implements Executor {
     List<E> list;
     localCache.putObject(key, EXECUTION_PLACEHOLDER);
     try {
-      list = doQuery(ms, parameter, rowBounds, resultHandler, boundSql);
+      if (isCoalescable(ms, resultHandler)) {
+        list = configuration.getQueryCoalescer().execute(key, () -> doPagedQuery(ms, parameter, rowBounds, resultHandler, boundSql));
+      } else {
+        list = doPagedQuery(ms, parameter, rowBounds, resultHandler, boundSql);
+      }
     } finally {
       localCache.removeObject(key);
     }
@@ -333,6 +375,42 @@ public abstract class BaseExecutor implements Executor {
     return list;
   }
 
+  private <E> List<E> doPagedQuery(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
+    BoundSql keysetBoundSql = applyKeyset(ms, rowBounds, boundSql);
+    Dialect dialect = configuration.getPagingDialect(ms, keysetBoundSql, rowBounds);
+    if (dialect == null) {
+      return doQuery(ms, parameter, rowBounds, resultHandler, keysetBoundSql);
+    }
+    return doQuery(ms, parameter, RowBounds.DEFAULT, resultHandler, Pagination.getPagingBoundSql(configuration, dialect, keysetBoundSql, rowBounds));
+  }
+
+  private BoundSql applyKeyset(MappedStatement ms, RowBounds rowBounds, BoundSql boundSql) {
+    if (rowBounds instanceof KeysetRowBounds) {
+      return Keyset.getKeysetBoundSql(configuration, ms, boundSql, (KeysetRowBounds) rowBounds);
+    }
+    return boundSql;
+  }
+
+  /**
+   * Only plain selects whose results are complete once {@code doQuery} returns can be shared with other sessions.
+   * Sessions holding uncommitted changes must see their own writes, so they never join a shared execution.
+   */
+  private boolean isCoalescable(MappedStatement ms, ResultHandler resultHandler) {
+    if (!configuration.isQueryCoalescingEnabled() || dirty || resultHandler != null) {
+      return false;
+    }
+    if (ms.getSqlCommandType() != SqlCommandType.SELECT || ms.getStatementType() == StatementType.CALLABLE
+        || ms.isFlushCacheRequired()) {
+      return false;
+    }
+    for (ResultMap resultMap : ms.getResultMaps()) {
+      if (resultMap.hasNestedQueries()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   protected Connection getConnection(Log statementLog) throws SQLException {
     Connection connection = transaction.getConnection();
     if (statementLog.isDebugEnabled()) {
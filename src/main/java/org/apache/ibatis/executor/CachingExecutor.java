@@ -23,6 +23,7 @@ import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.cache.TransactionalCacheManager;
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ParameterMode;
@@ -51,6 +52,11 @@ public class CachingExecutor implements Executor {
     return delegate.getTransaction();
   }
 
+  @Override
+  public Environment getEnvironment() {
+    return delegate.getEnvironment();
+  }
+
   @Override
   public void close(boolean forceRollback) {
     try {
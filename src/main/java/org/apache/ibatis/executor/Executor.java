@@ -21,6 +21,7 @@ import java.util.List;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.session.ResultHandler;
@@ -64,4 +65,14 @@ public interface Executor {
 
   void setExecutorWrapper(Executor executor);
 
+  /**
+   * Returns the environment the transaction of this executor belongs to.
+   *
+   * @return the environment, or {@code null} when it is the environment of the configuration
+   * @since 3.5.7
+   */
+  default Environment getEnvironment() {
+    return null;
+  }
+
 }
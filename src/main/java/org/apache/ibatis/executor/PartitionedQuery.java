@@ -0,0 +1,436 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.PartitionType;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.transaction.Transaction;
+
+/**
+ * Runs a select as concurrent sub-queries, each restricted to a partition of the rows, and merges their results.
+ * <p>
+ * Every sub-query runs on its own connection of the environment's data source, in its own transaction, and maps its
+ * rows on its own thread. The partitions therefore do not see uncommitted changes of the calling session and are not
+ * a consistent snapshot of the data. Results are merged in partition order; for {@link PartitionType#RANGE} this keeps
+ * the order of a statement ordered by its partition column. Rows whose partition column is null belong to the first
+ * partition.
+ * <p>
+ * When the statement maps nested result maps, rows that build the same result object must share their partition
+ * column value.
+ * <p>
+ * The calling session keeps its own connection while the sub-queries run, so a partitioned select holds up to one
+ * connection more than the number of sub-queries running at once. Unless
+ * {@link Configuration#setPartitionExecutorService(ExecutorService)} provides an executor, at most
+ * {@value #DEFAULT_PARTITIONS} sub-queries run at once in the whole JVM; the data source must be able to serve them
+ * on top of the connections of the sessions, or sub-queries wait for connections that are held by their callers.
+ *
+ * @since 3.5.7
+ */
+public final class PartitionedQuery {
+
+  /**
+   * The number of partitions of a statement that does not declare one, and the number of sub-queries the default
+   * executor runs at once.
+   */
+  public static final int DEFAULT_PARTITIONS = 4;
+
+  private static final String PARAMETER_PREFIX = "__partition_";
+
+  private static final String RANGE_MIN = "pmin";
+
+  private static final String RANGE_MAX = "pmax";
+
+  // rows a sub-query can map ahead of the result handler
+  private static final int STREAM_BUFFER_SIZE = 256;
+
+  private static final Object END_OF_PARTITION = new Object();
+
+  private static final Object NULL_RESULT = new Object();
+
+  private PartitionedQuery() {
+    // Prevent Instantiation of Static Class
+  }
+
+  /**
+   * Returns whether a select can be executed as partitioned sub-queries.
+   *
+   * @param environment
+   *          the environment providing the connections of the sub-queries
+   * @param ms
+   *          the mapped statement
+   * @param rowBounds
+   *          the row bounds
+   * @return true if the statement declares a partition column and is executed without row bounds
+   */
+  public static boolean isPartitioned(Environment environment, MappedStatement ms, RowBounds rowBounds) {
+    return ms.getPartitionColumn() != null
+        && ms.getSqlCommandType() == SqlCommandType.SELECT
+        && ms.getResultSets() == null
+        && rowBounds.getOffset() == RowBounds.NO_ROW_OFFSET
+        && rowBounds.getLimit() == RowBounds.NO_ROW_LIMIT
+        && environment != null && environment.getTransactionFactory() != null && environment.getDataSource() != null;
+  }
+
+  /**
+   * Executes a select as partitioned sub-queries.
+   *
+   * @param <E>
+   *          the element type
+   * @param environment
+   *          the environment providing the connections of the sub-queries
+   * @param executor
+   *          the executor of the calling session, used to find the range of the partition column
+   * @param ms
+   *          the partitioned select
+   * @param parameter
+   *          the parameter object
+   * @return the merged results
+   * @throws SQLException
+   *           if a sub-query fails
+   */
+  public static <E> List<E> query(Environment environment, Executor executor, MappedStatement ms, Object parameter) throws SQLException {
+    List<BoundSql> partitions = getPartitions(executor, ms, parameter);
+    if (partitions.isEmpty()) {
+      return executor.query(ms, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+    }
+    List<Future<List<E>>> futures = new ArrayList<>(partitions.size());
+    try {
+      ExecutorService executorService = getExecutorService(ms.getConfiguration());
+      for (BoundSql partition : partitions) {
+        futures.add(executorService.submit(() -> queryPartition(environment, ms, parameter, partition, null)));
+      }
+      List<E> results = new ArrayList<>();
+      for (Future<List<E>> future : futures) {
+        results.addAll(future.get());
+      }
+      return results;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ExecutorException("Interrupted while waiting for partitions of statement '" + ms.getId() + "'.", e);
+    } catch (ExecutionException e) {
+      throw unwrap(ms, e);
+    } finally {
+      // stops the remaining partitions when one has failed
+      cancel(futures);
+    }
+  }
+
+  /**
+   * Executes a select as partitioned sub-queries and passes the merged results to a result handler.
+   * <p>
+   * Results are handed over while the sub-queries run; each sub-query maps at most a small, fixed number of rows
+   * ahead of the result handler.
+   *
+   * @param environment
+   *          the environment providing the connections of the sub-queries
+   * @param executor
+   *          the executor of the calling session, used to find the range of the partition column
+   * @param ms
+   *          the partitioned select
+   * @param parameter
+   *          the parameter object
+   * @param resultHandler
+   *          the result handler
+   * @throws SQLException
+   *           if a sub-query fails
+   */
+  @SuppressWarnings("unchecked")
+  public static void query(Environment environment, Executor executor, MappedStatement ms, Object parameter, ResultHandler resultHandler) throws SQLException {
+    List<BoundSql> partitions = getPartitions(executor, ms, parameter);
+    if (partitions.isEmpty()) {
+      executor.query(ms, parameter, RowBounds.DEFAULT, resultHandler);
+      return;
+    }
+    List<PartitionStream> streams = new ArrayList<>(partitions.size());
+    List<Future<List<Object>>> futures = new ArrayList<>(partitions.size());
+    try {
+      ExecutorService executorService = getExecutorService(ms.getConfiguration());
+      for (BoundSql partition : partitions) {
+        PartitionStream stream = new PartitionStream();
+        streams.add(stream);
+        futures.add(executorService.submit(() -> queryPartition(environment, ms, parameter, partition, stream)));
+      }
+      DefaultResultContext<Object> resultContext = new DefaultResultContext<>();
+      for (int i = 0; i < streams.size(); i++) {
+        BlockingQueue<Object> rows = streams.get(i).rows;
+        for (Object row = rows.take(); row != END_OF_PARTITION; row = rows.take()) {
+          resultContext.nextResultObject(row == NULL_RESULT ? null : row);
+          resultHandler.handleResult(resultContext);
+          if (resultContext.isStopped()) {
+            return;
+          }
+        }
+        // surfaces the failure of a sub-query that ended early
+        futures.get(i).get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ExecutorException("Interrupted while waiting for partitions of statement '" + ms.getId() + "'.", e);
+    } catch (ExecutionException e) {
+      throw unwrap(ms, e);
+    } finally {
+      cancel(futures);
+    }
+  }
+
+  private static List<BoundSql> getPartitions(Executor executor, MappedStatement ms, Object parameter) throws SQLException {
+    Configuration configuration = ms.getConfiguration();
+    BoundSql boundSql = ms.getBoundSql(parameter);
+    return ms.getPartitionType() == PartitionType.HASH
+        ? getHashPartitions(configuration, ms, boundSql)
+        : getRangePartitions(configuration, executor, ms, parameter, boundSql);
+  }
+
+  private static ExecutorService getExecutorService(Configuration configuration) {
+    ExecutorService executorService = configuration.getPartitionExecutorService();
+    return executorService != null ? executorService : DefaultExecutorService.INSTANCE;
+  }
+
+  private static SQLException unwrap(MappedStatement ms, ExecutionException e) {
+    Throwable cause = e.getCause();
+    if (cause instanceof SQLException) {
+      return (SQLException) cause;
+    } else if (cause instanceof RuntimeException) {
+      throw (RuntimeException) cause;
+    }
+    throw new ExecutorException("Error querying partition of statement '" + ms.getId() + "'.  Cause: " + cause, cause);
+  }
+
+  private static void cancel(List<? extends Future<?>> futures) {
+    for (Future<?> future : futures) {
+      future.cancel(true);
+    }
+  }
+
+  private static <E> List<E> queryPartition(Environment environment, MappedStatement ms, Object parameter, BoundSql boundSql,
+      PartitionStream stream) throws SQLException {
+    Transaction tx = environment.getTransactionFactory().newTransaction(environment.getDataSource(), null, false);
+    Executor executor = ms.getConfiguration().newExecutor(tx, ExecutorType.SIMPLE, environment);
+    try {
+      CacheKey key = executor.createCacheKey(ms, parameter, RowBounds.DEFAULT, boundSql);
+      return executor.query(ms, parameter, RowBounds.DEFAULT, stream, key, boundSql);
+    } finally {
+      try {
+        executor.close(false);
+      } finally {
+        if (stream != null) {
+          stream.end();
+        }
+      }
+    }
+  }
+
+  private static List<BoundSql> getHashPartitions(Configuration configuration, MappedStatement ms, BoundSql boundSql) {
+    String column = ms.getPartitionColumn();
+    int buckets = getPartitionCount(ms);
+    List<BoundSql> partitions = new ArrayList<>(buckets);
+    if (buckets < 2) {
+      return partitions;
+    }
+    for (int i = 0; i < buckets; i++) {
+      // the bucket numbers are generated here, inlining them spares drivers from inferring the type of MOD arguments
+      StringBuilder sql = new StringBuilder("SELECT * FROM (").append(boundSql.getSql()).append(") partition_tmp WHERE ");
+      if (i == 0) {
+        sql.append(column).append(" IS NULL OR ");
+      }
+      sql.append("ABS(MOD(").append(column).append(", ").append(buckets).append(")) = ").append(i);
+      partitions.add(newBoundSql(configuration, sql.toString(), boundSql, Collections.emptyList()));
+    }
+    return partitions;
+  }
+
+  private static List<BoundSql> getRangePartitions(Configuration configuration, Executor executor, MappedStatement ms,
+      Object parameter, BoundSql boundSql) throws SQLException {
+    List<BoundSql> partitions = new ArrayList<>();
+    List<Map<String, Object>> rows = executor.query(newRangeStatement(ms), parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+    Object minValue = rows.isEmpty() ? null : getIgnoringCase(rows.get(0), RANGE_MIN);
+    Object maxValue = rows.isEmpty() ? null : getIgnoringCase(rows.get(0), RANGE_MAX);
+    if (minValue == null || maxValue == null) {
+      // no rows or only nulls in the partition column
+      return partitions;
+    }
+    BigInteger min = BigInteger.valueOf(toLong(ms, minValue));
+    BigInteger max = BigInteger.valueOf(toLong(ms, maxValue));
+    BigInteger span = max.subtract(min).add(BigInteger.ONE);
+    BigInteger requested = BigInteger.valueOf(getPartitionCount(ms));
+    BigInteger step = span.add(requested).subtract(BigInteger.ONE).divide(requested);
+    int count = span.add(step).subtract(BigInteger.ONE).divide(step).intValue();
+    if (count < 2) {
+      return partitions;
+    }
+    String column = ms.getPartitionColumn();
+    for (int i = 0; i < count; i++) {
+      BigInteger lower = min.add(step.multiply(BigInteger.valueOf(i)));
+      boolean last = i == count - 1;
+      StringBuilder sql = new StringBuilder("SELECT * FROM (").append(boundSql.getSql()).append(") partition_tmp WHERE ");
+      if (i == 0) {
+        sql.append(column).append(" IS NULL OR ");
+      }
+      sql.append('(').append(column).append(" >= ? AND ").append(column).append(last ? " <= ?)" : " < ?)");
+      List<Object> bounds = new ArrayList<>(2);
+      bounds.add(lower.longValue());
+      bounds.add(last ? max.longValue() : lower.add(step).longValue());
+      partitions.add(newBoundSql(configuration, sql.toString(), boundSql, bounds));
+    }
+    return partitions;
+  }
+
+  private static BoundSql newBoundSql(Configuration configuration, String sql, BoundSql boundSql, List<Object> values) {
+    List<ParameterMapping> parameterMappings = new ArrayList<>(boundSql.getParameterMappings());
+    for (int i = 0; i < values.size(); i++) {
+      parameterMappings.add(new ParameterMapping.Builder(configuration, PARAMETER_PREFIX + i, Long.class).build());
+    }
+    BoundSql partitionBoundSql = new BoundSql(configuration, sql, parameterMappings, boundSql);
+    for (int i = 0; i < values.size(); i++) {
+      partitionBoundSql.setAdditionalParameter(PARAMETER_PREFIX + i, values.get(i));
+    }
+    return partitionBoundSql;
+  }
+
+  private static MappedStatement newRangeStatement(MappedStatement ms) {
+    Configuration configuration = ms.getConfiguration();
+    String id = ms.getId() + "!partitionRange";
+    String column = ms.getPartitionColumn();
+    SqlSource sqlSource = parameterObject -> {
+      BoundSql boundSql = ms.getBoundSql(parameterObject);
+      String sql = "SELECT MIN(" + column + ") AS " + RANGE_MIN + ", MAX(" + column + ") AS " + RANGE_MAX
+          + " FROM (" + boundSql.getSql() + ") partition_tmp";
+      return new BoundSql(configuration, sql, boundSql.getParameterMappings(), boundSql);
+    };
+    ResultMap resultMap = new ResultMap.Builder(configuration, id + "-Inline", LinkedHashMap.class, new ArrayList<>(), null).build();
+    return new MappedStatement.Builder(configuration, id, sqlSource, SqlCommandType.SELECT)
+        .resource(ms.getResource())
+        .databaseId(ms.getDatabaseId())
+        .lang(ms.getLang())
+        .parameterMap(ms.getParameterMap())
+        .resultMaps(Collections.singletonList(resultMap))
+        .timeout(ms.getTimeout())
+        .useCache(false)
+        .build();
+  }
+
+  private static int getPartitionCount(MappedStatement ms) {
+    Integer partitions = ms.getPartitions();
+    return partitions != null ? partitions : DEFAULT_PARTITIONS;
+  }
+
+  private static Object getIgnoringCase(Map<String, Object> row, String label) {
+    if (row == null) {
+      return null;
+    }
+    // drivers differ in the case of the labels they report
+    for (Map.Entry<String, Object> column : row.entrySet()) {
+      if (label.equalsIgnoreCase(column.getKey())) {
+        return column.getValue();
+      }
+    }
+    return null;
+  }
+
+  private static long toLong(MappedStatement ms, Object value) {
+    if (value instanceof Number) {
+      try {
+        return new BigDecimal(value.toString()).longValueExact();
+      } catch (ArithmeticException | NumberFormatException e) {
+        // falls through
+      }
+    }
+    throw new ExecutorException("Range partitioning of statement '" + ms.getId()
+        + "' requires an integral partition column but found " + value + ".");
+  }
+
+  /**
+   * Hands the rows of a sub-query to the calling thread, blocking the sub-query while its buffer is full.
+   */
+  private static class PartitionStream implements ResultHandler<Object> {
+
+    private final BlockingQueue<Object> rows = new ArrayBlockingQueue<>(STREAM_BUFFER_SIZE);
+
+    @Override
+    public void handleResult(ResultContext<?> resultContext) {
+      Object result = resultContext.getResultObject();
+      try {
+        rows.put(result == null ? NULL_RESULT : result);
+      } catch (InterruptedException e) {
+        // the caller stopped reading
+        Thread.currentThread().interrupt();
+        resultContext.stop();
+      }
+    }
+
+    void end() {
+      if (Thread.currentThread().isInterrupted()) {
+        return;
+      }
+      try {
+        rows.put(END_OF_PARTITION);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static class DefaultExecutorService {
+
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    static final ExecutorService INSTANCE = newInstance();
+
+    private static ExecutorService newInstance() {
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_PARTITIONS, DEFAULT_PARTITIONS, 60L, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "mybatis-partition-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          });
+      executor.allowCoreThreadTimeOut(true);
+      return executor;
+    }
+
+  }
+
+}
@@ -0,0 +1,109 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.ibatis.cache.CacheKey;
+
+/**
+ * Lets concurrent executions of the same query share a single database round trip.
+ * <p>
+ * The first thread that asks for a given {@link CacheKey} runs the query; any other thread asking for an equal key
+ * while that query is still in flight waits for it and receives its own copy of the result list. The elements of the
+ * list are shared, so this should only be enabled for results that callers treat as read-only.
+ * <p>
+ * When the leading execution fails, waiting threads run the query themselves instead of receiving the failure.
+ *
+ * @since 3.5.7
+ */
+public class QueryCoalescer {
+
+  private final ConcurrentMap<CacheKey, InFlightQuery> inFlightQueries = new ConcurrentHashMap<>();
+
+  public <E> List<E> execute(CacheKey key, Query<E> query) throws SQLException {
+    InFlightQuery current = new InFlightQuery();
+    InFlightQuery inFlight = inFlightQueries.putIfAbsent(key, current);
+    if (inFlight == null) {
+      return lead(key, current, query);
+    }
+    if (inFlight.owner == Thread.currentThread()) {
+      // re-entrant call from the leading thread, waiting would never end
+      return query.execute();
+    }
+    List<Object> shared = inFlight.await();
+    if (shared == null) {
+      return query.execute();
+    }
+    @SuppressWarnings("unchecked")
+    List<E> copy = (List<E>) new ArrayList<>(shared);
+    return copy;
+  }
+
+  /**
+   * Returns the number of queries that are currently being executed on behalf of waiting threads.
+   *
+   * @return the number of in-flight queries
+   */
+  public int getInFlightCount() {
+    return inFlightQueries.size();
+  }
+
+  private <E> List<E> lead(CacheKey key, InFlightQuery current, Query<E> query) throws SQLException {
+    List<E> list = null;
+    try {
+      list = query.execute();
+      return list;
+    } finally {
+      inFlightQueries.remove(key, current);
+      current.complete(list);
+    }
+  }
+
+  @FunctionalInterface
+  public interface Query<E> {
+    List<E> execute() throws SQLException;
+  }
+
+  private static class InFlightQuery {
+
+    private final Thread owner = Thread.currentThread();
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile List<Object> result;
+
+    @SuppressWarnings("unchecked")
+    void complete(List<?> result) {
+      this.result = (List<Object>) result;
+      done.countDown();
+    }
+
+    List<Object> await() {
+      try {
+        done.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ExecutorException("Interrupted while waiting for an in-flight query.", e);
+      }
+      return result;
+    }
+  }
+
+}
@@ -0,0 +1,71 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.dialect;
+
+import java.util.List;
+
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * Rewrites select statements for a particular database vendor.
+ *
+ * @since 3.5.7
+ */
+public interface Dialect {
+
+  /**
+   * Returns a select that only returns the rows inside the given bounds.
+   * <p>
+   * Dialects should use {@code ?} placeholders rather than literals so the SQL text stays the same for every page.
+   * The value of each placeholder appended to the statement must be added to {@code parameters}, in placeholder order.
+   * The original select has no trailing semicolon or open line comment, so clauses can be appended to it directly.
+   *
+   * @param sql
+   *          the original select
+   * @param offset
+   *          the number of rows to skip, {@link RowBounds#NO_ROW_OFFSET} for none
+   * @param limit
+   *          the maximum number of rows to return, {@link RowBounds#NO_ROW_LIMIT} for no limit
+   * @param parameters
+   *          receives the values of the placeholders added by this method
+   * @return the paged select
+   */
+  String getPagingSql(String sql, int offset, int limit, List<Integer> parameters);
+
+  /**
+   * Returns whether this dialect can apply row bounds to the given select. The row bounds of a select the dialect
+   * declines are applied on the client side.
+   *
+   * @param sql
+   *          the original select
+   * @return true if {@link #getPagingSql(String, int, int, List)} can page the select
+   */
+  default boolean isPageable(String sql) {
+    return true;
+  }
+
+  /**
+   * Returns a select that counts the rows the given select would return.
+   *
+   * @param sql
+   *          the original select
+   * @return the count select
+   */
+  default String getCountSql(String sql) {
+    return "SELECT COUNT(*) FROM (" + sql + ") count_tmp";
+  }
+
+}
@@ -0,0 +1,72 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.dialect;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the {@link Dialect} to use for a database id.
+ * <p>
+ * The common ids produced by {@link org.apache.ibatis.mapping.VendorDatabaseIdProvider} configurations
+ * (e.g. {@code mysql}, {@code postgresql}, {@code oracle}) are registered by default. Ids are case insensitive.
+ * {@code oracle} pages through {@code ROWNUM}, which works on every release; use {@code oracle12c} for the
+ * {@code OFFSET ... FETCH} clause.
+ *
+ * @since 3.5.7
+ */
+public class DialectRegistry {
+
+  private final Map<String, Dialect> dialects = new ConcurrentHashMap<>();
+
+  public DialectRegistry() {
+    Dialect limitOffset = new LimitOffsetDialect();
+    register("mysql", limitOffset);
+    register("mariadb", limitOffset);
+    register("postgresql", limitOffset);
+    register("h2", limitOffset);
+    register("hsql", limitOffset);
+    register("hsqldb", limitOffset);
+    register("sqlite", limitOffset);
+
+    register("oracle", new RownumDialect());
+
+    Dialect offsetFetch = new OffsetFetchDialect();
+    register("oracle12c", offsetFetch);
+    register("sqlserver", offsetFetch);
+    register("db2", offsetFetch);
+    register("derby", offsetFetch);
+  }
+
+  public void register(String databaseId, Dialect dialect) {
+    if (databaseId == null) {
+      throw new IllegalArgumentException("The database id cannot be null");
+    }
+    if (dialect == null) {
+      throw new IllegalArgumentException("null is not a valid Dialect");
+    }
+    dialects.put(databaseId.toLowerCase(Locale.ENGLISH), dialect);
+  }
+
+  public Dialect getDialect(String databaseId) {
+    if (databaseId == null) {
+      return null;
+    }
+    return dialects.get(databaseId.toLowerCase(Locale.ENGLISH));
+  }
+
+}
@@ -0,0 +1,289 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.dialect;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.KeysetRowBounds;
+
+/**
+ * Restricts a select to the rows following a keyset position.
+ * <p>
+ * The position is carried by an opaque token holding the keyset values of the last row of the previous page. Tokens
+ * only contain plain values and are never deserialized into arbitrary objects.
+ *
+ * @since 3.5.7
+ * @see KeysetRowBounds
+ */
+public final class Keyset {
+
+  private static final String PARAMETER_PREFIX = "__keyset_";
+
+  private static final byte VERSION = 1;
+
+  private static final byte STRING = 1;
+  private static final byte INTEGER = 2;
+  private static final byte LONG = 3;
+  private static final byte SHORT = 4;
+  private static final byte BYTE = 5;
+  private static final byte DOUBLE = 6;
+  private static final byte FLOAT = 7;
+  private static final byte BOOLEAN = 8;
+  private static final byte BIG_DECIMAL = 9;
+  private static final byte BIG_INTEGER = 10;
+  private static final byte TIMESTAMP = 11;
+  private static final byte SQL_DATE = 12;
+  private static final byte DATE = 13;
+  private static final byte LOCAL_DATE = 14;
+  private static final byte LOCAL_DATE_TIME = 15;
+  private static final byte INSTANT = 16;
+
+  private Keyset() {
+    // Prevent Instantiation of Static Class
+  }
+
+  /**
+   * Creates a bound sql that orders the rows by the keyset columns and, unless the first page is requested, only
+   * selects the rows following the position of the token.
+   *
+   * @param configuration
+   *          the configuration
+   * @param ms
+   *          the mapped statement declaring the keyset columns
+   * @param boundSql
+   *          the bound sql of the original select
+   * @param rowBounds
+   *          the keyset row bounds
+   * @return the restricted bound sql
+   */
+  public static BoundSql getKeysetBoundSql(Configuration configuration, MappedStatement ms, BoundSql boundSql, KeysetRowBounds rowBounds) {
+    String[] columns = ms.getKeysetColumns();
+    if (columns == null) {
+      throw new ExecutorException("Statement '" + ms.getId() + "' does not declare keyset columns.");
+    }
+    StringBuilder sql = new StringBuilder("SELECT * FROM (").append(boundSql.getSql()).append(") keyset_tmp");
+    List<ParameterMapping> parameterMappings = new ArrayList<>(boundSql.getParameterMappings());
+    List<Object> parameterValues = new ArrayList<>();
+    if (rowBounds.getToken() != null) {
+      List<Object> values = decodeToken(rowBounds.getToken());
+      if (values.size() != columns.length) {
+        throw new ExecutorException("The keyset token does not match the keyset columns of statement '" + ms.getId() + "'.");
+      }
+      // (k1 > ? OR (k1 = ? AND k2 > ?) OR ...), which unlike a row value comparison is supported by all databases
+      sql.append(" WHERE (");
+      for (int i = 0; i < columns.length; i++) {
+        if (i > 0) {
+          sql.append(" OR ");
+        }
+        sql.append('(');
+        for (int j = 0; j < i; j++) {
+          sql.append(columns[j]).append(" = ? AND ");
+          parameterValues.add(values.get(j));
+        }
+        sql.append(columns[i]).append(" > ?)");
+        parameterValues.add(values.get(i));
+      }
+      sql.append(')');
+    }
+    sql.append(" ORDER BY ").append(String.join(", ", columns));
+    for (int i = 0; i < parameterValues.size(); i++) {
+      Object value = parameterValues.get(i);
+      parameterMappings.add(new ParameterMapping.Builder(configuration, PARAMETER_PREFIX + i, value.getClass()).build());
+    }
+    BoundSql keysetBoundSql = new BoundSql(configuration, sql.toString(), parameterMappings, boundSql);
+    for (int i = 0; i < parameterValues.size(); i++) {
+      keysetBoundSql.setAdditionalParameter(PARAMETER_PREFIX + i, parameterValues.get(i));
+    }
+    return keysetBoundSql;
+  }
+
+  /**
+   * Creates the token of the position following a result object.
+   *
+   * @param configuration
+   *          the configuration
+   * @param ms
+   *          the mapped statement declaring the keyset properties
+   * @param resultObject
+   *          the last result object of a page
+   * @return the token
+   */
+  public static String getToken(Configuration configuration, MappedStatement ms, Object resultObject) {
+    MetaObject metaObject = configuration.newMetaObject(resultObject);
+    List<Object> values = new ArrayList<>();
+    for (String property : ms.getKeysetProperties()) {
+      Object value = metaObject.getValue(property);
+      if (value == null) {
+        throw new ExecutorException("Keyset property '" + property + "' of statement '" + ms.getId() + "' is null.");
+      }
+      values.add(value);
+    }
+    return encodeToken(values);
+  }
+
+  static String encodeToken(List<Object> values) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(VERSION);
+      out.writeByte(values.size());
+      for (Object value : values) {
+        writeValue(out, value);
+      }
+    } catch (IOException e) {
+      throw new ExecutorException("Error encoding keyset token.  Cause: " + e, e);
+    }
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+  }
+
+  static List<Object> decodeToken(String token) {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+      if (in.readByte() != VERSION) {
+        throw new ExecutorException("Invalid keyset token, unsupported version.");
+      }
+      int size = in.readUnsignedByte();
+      List<Object> values = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        values.add(readValue(in));
+      }
+      if (in.available() > 0) {
+        throw new ExecutorException("Invalid keyset token.");
+      }
+      return values;
+    } catch (IOException | IllegalArgumentException | DateTimeException e) {
+      throw new ExecutorException("Invalid keyset token.  Cause: " + e, e);
+    }
+  }
+
+  private static void writeValue(DataOutputStream out, Object value) throws IOException {
+    if (value instanceof String) {
+      out.writeByte(STRING);
+      out.writeUTF((String) value);
+    } else if (value instanceof Integer) {
+      out.writeByte(INTEGER);
+      out.writeInt((Integer) value);
+    } else if (value instanceof Long) {
+      out.writeByte(LONG);
+      out.writeLong((Long) value);
+    } else if (value instanceof Short) {
+      out.writeByte(SHORT);
+      out.writeShort((Short) value);
+    } else if (value instanceof Byte) {
+      out.writeByte(BYTE);
+      out.writeByte((Byte) value);
+    } else if (value instanceof Double) {
+      out.writeByte(DOUBLE);
+      out.writeDouble((Double) value);
+    } else if (value instanceof Float) {
+      out.writeByte(FLOAT);
+      out.writeFloat((Float) value);
+    } else if (value instanceof Boolean) {
+      out.writeByte(BOOLEAN);
+      out.writeBoolean((Boolean) value);
+    } else if (value instanceof BigDecimal) {
+      out.writeByte(BIG_DECIMAL);
+      out.writeUTF(value.toString());
+    } else if (value instanceof BigInteger) {
+      out.writeByte(BIG_INTEGER);
+      out.writeUTF(value.toString());
+    } else if (value instanceof Timestamp) {
+      out.writeByte(TIMESTAMP);
+      out.writeLong(((Timestamp) value).getTime());
+      out.writeInt(((Timestamp) value).getNanos());
+    } else if (value instanceof java.sql.Date) {
+      out.writeByte(SQL_DATE);
+      out.writeLong(((java.sql.Date) value).getTime());
+    } else if (value.getClass() == Date.class) {
+      out.writeByte(DATE);
+      out.writeLong(((Date) value).getTime());
+    } else if (value instanceof LocalDate) {
+      out.writeByte(LOCAL_DATE);
+      out.writeLong(((LocalDate) value).toEpochDay());
+    } else if (value instanceof LocalDateTime) {
+      out.writeByte(LOCAL_DATE_TIME);
+      out.writeUTF(value.toString());
+    } else if (value instanceof Instant) {
+      out.writeByte(INSTANT);
+      out.writeLong(((Instant) value).getEpochSecond());
+      out.writeInt(((Instant) value).getNano());
+    } else {
+      throw new ExecutorException("Keyset values of type " + value.getClass().getName() + " are not supported.");
+    }
+  }
+
+  private static Object readValue(DataInputStream in) throws IOException {
+    byte type = in.readByte();
+    switch (type) {
+      case STRING:
+        return in.readUTF();
+      case INTEGER:
+        return in.readInt();
+      case LONG:
+        return in.readLong();
+      case SHORT:
+        return in.readShort();
+      case BYTE:
+        return in.readByte();
+      case DOUBLE:
+        return in.readDouble();
+      case FLOAT:
+        return in.readFloat();
+      case BOOLEAN:
+        return in.readBoolean();
+      case BIG_DECIMAL:
+        return new BigDecimal(in.readUTF());
+      case BIG_INTEGER:
+        return new BigInteger(in.readUTF());
+      case TIMESTAMP:
+        Timestamp timestamp = new Timestamp(in.readLong());
+        timestamp.setNanos(in.readInt());
+        return timestamp;
+      case SQL_DATE:
+        return new java.sql.Date(in.readLong());
+      case DATE:
+        return new Date(in.readLong());
+      case LOCAL_DATE:
+        return LocalDate.ofEpochDay(in.readLong());
+      case LOCAL_DATE_TIME:
+        return LocalDateTime.parse(in.readUTF());
+      case INSTANT:
+        return Instant.ofEpochSecond(in.readLong(), in.readInt());
+      default:
+        throw new ExecutorException("Invalid keyset token, unknown value type " + type + ".");
+    }
+  }
+
+}
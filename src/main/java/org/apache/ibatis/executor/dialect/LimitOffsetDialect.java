@@ -0,0 +1,46 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.dialect;
+
+import java.util.List;
+
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * Dialect for databases supporting {@code LIMIT ? OFFSET ?} (MySQL, MariaDB, PostgreSQL, H2, HSQLDB, SQLite).
+ * Selects that already limit their rows are declined.
+ *
+ * @since 3.5.7
+ */
+public class LimitOffsetDialect implements Dialect {
+
+  @Override
+  public boolean isPageable(String sql) {
+    return !Pagination.limitsRows(Pagination.topLevelClauses(sql));
+  }
+
+  @Override
+  public String getPagingSql(String sql, int offset, int limit, List<Integer> parameters) {
+    StringBuilder pagingSql = new StringBuilder(sql.length() + 20).append(sql).append(" LIMIT ?");
+    parameters.add(limit);
+    if (offset > RowBounds.NO_ROW_OFFSET) {
+      pagingSql.append(" OFFSET ?");
+      parameters.add(offset);
+    }
+    return pagingSql.toString();
+  }
+
+}
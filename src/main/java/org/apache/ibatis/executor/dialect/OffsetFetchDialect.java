@@ -0,0 +1,50 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.dialect;
+
+import java.util.List;
+
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * Dialect for databases supporting the SQL:2008 {@code OFFSET ? ROWS FETCH NEXT ? ROWS ONLY} clause
+ * (Oracle 12c, SQL Server 2012, DB2, Derby).
+ * <p>
+ * Selects without an {@code ORDER BY} are declined because SQL Server only accepts this clause after one, and the
+ * pages of other databases would not be stable. Selects that already limit their rows are declined too.
+ *
+ * @since 3.5.7
+ */
+public class OffsetFetchDialect implements Dialect {
+
+  @Override
+  public boolean isPageable(String sql) {
+    String clauses = Pagination.topLevelClauses(sql);
+    return Pagination.isOrdered(clauses) && !Pagination.limitsRows(clauses);
+  }
+
+  @Override
+  public String getPagingSql(String sql, int offset, int limit, List<Integer> parameters) {
+    StringBuilder pagingSql = new StringBuilder(sql.length() + 40).append(sql).append(" OFFSET ? ROWS");
+    parameters.add(offset);
+    if (limit != RowBounds.NO_ROW_LIMIT) {
+      pagingSql.append(" FETCH NEXT ? ROWS ONLY");
+      parameters.add(limit);
+    }
+    return pagingSql.toString();
+  }
+
+}
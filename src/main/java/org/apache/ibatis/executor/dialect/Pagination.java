@@ -0,0 +1,233 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.dialect;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.mapping.StatementType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * Applies row bounds in SQL through a {@link Dialect}.
+ *
+ * @since 3.5.7
+ */
+public final class Pagination {
+
+  public static final String COUNT_STATEMENT_SUFFIX = "!count";
+
+  private static final String PARAMETER_PREFIX = "__rowBounds_";
+
+  private static final Pattern LOCKING_CLAUSE = Pattern.compile(
+      "\\bFOR\\s+(NO\\s+KEY\\s+|KEY\\s+)?(UPDATE|SHARE)\\b|\\bLOCK\\s+IN\\s+SHARE\\s+MODE\\b",
+      Pattern.CASE_INSENSITIVE);
+
+  private static final Pattern ROW_LIMITING_CLAUSE = Pattern.compile("\\b(LIMIT|OFFSET|FETCH|TOP)\\b",
+      Pattern.CASE_INSENSITIVE);
+
+  private static final Pattern ORDER_BY_CLAUSE = Pattern.compile("\\bORDER\\s+BY\\b", Pattern.CASE_INSENSITIVE);
+
+  private Pagination() {
+    // Prevent Instantiation of Static Class
+  }
+
+  /**
+   * Returns whether the row bounds of a statement can be applied by the database.
+   * <p>
+   * Result maps with nested result maps are excluded because the bounds of those statements count mapped objects,
+   * not rows. Only prepared statements are supported because the bounds are bound as parameters. Locking selects
+   * (e.g. {@code FOR UPDATE}) are excluded because they can neither be limited nor wrapped in a sub-select.
+   *
+   * @param ms
+   *          the mapped statement
+   * @param boundSql
+   *          the bound sql of the select
+   * @param rowBounds
+   *          the row bounds
+   * @return true if the bounds can be applied in SQL
+   */
+  public static boolean isPageable(MappedStatement ms, BoundSql boundSql, RowBounds rowBounds) {
+    if (rowBounds == null
+        || (rowBounds.getOffset() == RowBounds.NO_ROW_OFFSET && rowBounds.getLimit() == RowBounds.NO_ROW_LIMIT)) {
+      return false;
+    }
+    return ms.getSqlCommandType() == SqlCommandType.SELECT
+        && ms.getStatementType() == StatementType.PREPARED
+        && !ms.hasNestedResultMaps()
+        && ms.getResultSets() == null
+        && !LOCKING_CLAUSE.matcher(topLevelClauses(boundSql.getSql())).find();
+  }
+
+  /**
+   * Creates a bound sql that applies the row bounds in SQL.
+   *
+   * @param configuration
+   *          the configuration
+   * @param dialect
+   *          the dialect
+   * @param boundSql
+   *          the bound sql of the original select
+   * @param rowBounds
+   *          the row bounds to apply
+   * @return the paged bound sql
+   */
+  public static BoundSql getPagingBoundSql(Configuration configuration, Dialect dialect, BoundSql boundSql, RowBounds rowBounds) {
+    List<Integer> values = new ArrayList<>(2);
+    String sql = dialect.getPagingSql(toSubSelect(boundSql.getSql()), rowBounds.getOffset(), rowBounds.getLimit(), values);
+    List<ParameterMapping> parameterMappings = new ArrayList<>(boundSql.getParameterMappings().size() + values.size());
+    parameterMappings.addAll(boundSql.getParameterMappings());
+    for (int i = 0; i < values.size(); i++) {
+      parameterMappings.add(new ParameterMapping.Builder(configuration, PARAMETER_PREFIX + i, Integer.class).build());
+    }
+    BoundSql pagingBoundSql = new BoundSql(configuration, sql, parameterMappings, boundSql);
+    for (int i = 0; i < values.size(); i++) {
+      pagingBoundSql.setAdditionalParameter(PARAMETER_PREFIX + i, values.get(i));
+    }
+    return pagingBoundSql;
+  }
+
+  /**
+   * Creates a statement that counts the rows returned by a select. The count statement shares the cache of the
+   * original statement.
+   *
+   * @param dialect
+   *          the dialect
+   * @param ms
+   *          the original select
+   * @return the count statement
+   */
+  public static MappedStatement newCountStatement(Dialect dialect, MappedStatement ms) {
+    Configuration configuration = ms.getConfiguration();
+    String id = ms.getId() + COUNT_STATEMENT_SUFFIX;
+    SqlSource sqlSource = parameterObject -> {
+      BoundSql boundSql = ms.getBoundSql(parameterObject);
+      return new BoundSql(configuration, dialect.getCountSql(toSubSelect(boundSql.getSql())), boundSql.getParameterMappings(), boundSql);
+    };
+    ResultMap resultMap = new ResultMap.Builder(configuration, id + "-Inline", Long.class, new ArrayList<>(), null).build();
+    return new MappedStatement.Builder(configuration, id, sqlSource, SqlCommandType.SELECT)
+        .resource(ms.getResource())
+        .databaseId(ms.getDatabaseId())
+        .lang(ms.getLang())
+        .parameterMap(ms.getParameterMap())
+        .resultMaps(Collections.singletonList(resultMap))
+        .timeout(ms.getTimeout())
+        .cache(ms.getCache())
+        .useCache(ms.isUseCache())
+        .flushCacheRequired(ms.isFlushCacheRequired())
+        .build();
+  }
+
+  /**
+   * Prepares a select so a dialect can append clauses to it or wrap it in a sub-select: trailing semicolons are
+   * removed and a trailing line comment is terminated.
+   */
+  static String toSubSelect(String sql) {
+    String select = sql.substring(0, endOfStatement(sql, sql.length()));
+    int lastLineComment = select.lastIndexOf("--");
+    if (lastLineComment >= 0 && select.indexOf('\n', lastLineComment) < 0) {
+      select = select.substring(0, endOfStatement(select, lastLineComment)) + " "
+          + select.substring(lastLineComment) + "\n";
+    }
+    return select;
+  }
+
+  /**
+   * Returns whether the outer select already limits its rows ({@code LIMIT}, {@code OFFSET}, {@code FETCH} or
+   * {@code TOP}).
+   *
+   * @param clauses
+   *          the result of {@link #topLevelClauses(String)}
+   */
+  static boolean limitsRows(String clauses) {
+    return ROW_LIMITING_CLAUSE.matcher(clauses).find();
+  }
+
+  /**
+   * Returns whether the outer select has an {@code ORDER BY}.
+   *
+   * @param clauses
+   *          the result of {@link #topLevelClauses(String)}
+   */
+  static boolean isOrdered(String clauses) {
+    return ORDER_BY_CLAUSE.matcher(clauses).find();
+  }
+
+  /**
+   * Returns the clauses of the outer select: quoted literals and identifiers, comments and everything inside
+   * parentheses are replaced with spaces, so a keyword found in the result is not part of a value or a sub-select.
+   */
+  static String topLevelClauses(String sql) {
+    StringBuilder clauses = new StringBuilder(sql.length());
+    int depth = 0;
+    int i = 0;
+    while (i < sql.length()) {
+      int end = endOfQuotedOrComment(sql, i);
+      if (end > i) {
+        for (; i < end; i++) {
+          clauses.append(' ');
+        }
+        continue;
+      }
+      char c = sql.charAt(i++);
+      if (c == '(') {
+        depth++;
+      }
+      clauses.append(depth == 0 ? c : ' ');
+      if (c == ')' && depth > 0) {
+        depth--;
+      }
+    }
+    return clauses.toString();
+  }
+
+  private static int endOfQuotedOrComment(String sql, int start) {
+    char c = sql.charAt(start);
+    int end;
+    int endLength;
+    if (c == '\'' || c == '"' || c == '`') {
+      end = sql.indexOf(c, start + 1);
+      endLength = 1;
+    } else if (sql.startsWith("--", start)) {
+      // the line break ends the comment but stays a separator
+      end = sql.indexOf('\n', start);
+      endLength = 0;
+    } else if (sql.startsWith("/*", start)) {
+      end = sql.indexOf("*/", start + 2);
+      endLength = 2;
+    } else {
+      return start;
+    }
+    return end < 0 ? sql.length() : end + endLength;
+  }
+
+  private static int endOfStatement(String sql, int end) {
+    while (end > 0 && (Character.isWhitespace(sql.charAt(end - 1)) || sql.charAt(end - 1) == ';')) {
+      end--;
+    }
+    return end;
+  }
+
+}
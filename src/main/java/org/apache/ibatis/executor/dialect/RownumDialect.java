@@ -0,0 +1,44 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.dialect;
+
+import java.util.List;
+
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * Dialect for Oracle releases before 12c, which only support paging through {@code ROWNUM}.
+ * <p>
+ * The paged select returns an extra {@code page_rn} column.
+ *
+ * @since 3.5.7
+ */
+public class RownumDialect implements Dialect {
+
+  @Override
+  public String getPagingSql(String sql, int offset, int limit, List<Integer> parameters) {
+    StringBuilder pagingSql = new StringBuilder(sql.length() + 120);
+    pagingSql.append("SELECT * FROM (SELECT page_tmp.*, ROWNUM page_rn FROM (").append(sql).append(") page_tmp");
+    if (limit != RowBounds.NO_ROW_LIMIT) {
+      pagingSql.append(" WHERE ROWNUM <= ?");
+      parameters.add(offset > Integer.MAX_VALUE - limit ? Integer.MAX_VALUE : offset + limit);
+    }
+    pagingSql.append(") WHERE page_rn > ?");
+    parameters.add(offset);
+    return pagingSql.toString();
+  }
+
+}
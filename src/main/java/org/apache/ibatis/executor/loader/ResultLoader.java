@@ -49,6 +49,7 @@ public class ResultLoader {
   protected final BoundSql boundSql;
   protected final ResultExtractor resultExtractor;
   protected final long creatorThreadId;
+  protected final Environment environment;
 
   protected boolean loaded;
   protected Object resultObject;
@@ -64,6 +65,8 @@ public class ResultLoader {
     this.boundSql = boundSql;
     this.resultExtractor = new ResultExtractor(configuration, objectFactory);
     this.creatorThreadId = Thread.currentThread().getId();
+    // 记住执行器所属的环境, 分片会话关闭后延迟加载仍然访问同一个数据源
+    this.environment = executor.getEnvironment() != null ? executor.getEnvironment() : configuration.getEnvironment();
   }
 
   public Object loadResult() throws SQLException {
@@ -87,7 +90,6 @@ public class ResultLoader {
   }
 
   private Executor newExecutor() {
-    final Environment environment = configuration.getEnvironment();
     if (environment == null) {
       throw new ExecutorException("ResultLoader could not load lazily.  Environment was not configured.");
     }
@@ -97,7 +99,7 @@ public class ResultLoader {
     }
     final TransactionFactory transactionFactory = environment.getTransactionFactory();
     final Transaction tx = transactionFactory.newTransaction(ds, null, false);
-    return configuration.newExecutor(tx, ExecutorType.SIMPLE);
+    return configuration.newExecutor(tx, ExecutorType.SIMPLE, environment);
   }
 
   public boolean wasNull() {
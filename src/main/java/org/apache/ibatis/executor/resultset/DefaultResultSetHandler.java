@@ -23,6 +23,7 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -51,8 +52,10 @@ import org.apache.ibatis.mapping.ResultMap;
 import org.apache.ibatis.mapping.ResultMapping;
 import org.apache.ibatis.reflection.MetaClass;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.Reflector;
 import org.apache.ibatis.reflection.ReflectorFactory;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
+import org.apache.ibatis.reflection.wrapper.BeanWrapper;
 import org.apache.ibatis.session.AutoMappingBehavior;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultContext;
@@ -94,6 +97,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
 
   // Cached Automappings
   private final Map<String, List<UnMappedColumnAutoMapping>> autoMappingsCache = new HashMap<>();
+  private final Map<ResultMapping, PrimitivePropertyMapping> primitivePropertyMappings = new IdentityHashMap<>();
 
   // temporary marking flag that indicate using constructor mapping (use field to reduce memory usage)
   private boolean useConstructorMappings;
@@ -108,12 +112,15 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     private final String property;
     private final TypeHandler<?> typeHandler;
     private final boolean primitive;
+    private final PrimitivePropertyMapping primitiveMapping;
 
-    public UnMappedColumnAutoMapping(String column, String property, TypeHandler<?> typeHandler, boolean primitive) {
+    public UnMappedColumnAutoMapping(String column, String property, TypeHandler<?> typeHandler, boolean primitive,
+        PrimitivePropertyMapping primitiveMapping) {
       this.column = column;
       this.property = property;
       this.typeHandler = typeHandler;
       this.primitive = primitive;
+      this.primitiveMapping = primitiveMapping;
     }
   }
 
@@ -192,7 +199,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     while (rsw != null && resultMapCount > resultSetCount) {
       ResultMap resultMap = resultMaps.get(resultSetCount);
       handleResultSet(rsw, resultMap, multipleResults, null);
-      rsw = getNextResultSet(stmt);
+      rsw = getNextResultSet(stmt, resultSetCount + 1);
       cleanUpAfterHandlingResultSet();
       resultSetCount++;
     }
@@ -206,7 +213,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
           ResultMap resultMap = configuration.getResultMap(nestedResultMapId);
           handleResultSet(rsw, resultMap, null, parentMapping);
         }
-        rsw = getNextResultSet(stmt);
+        rsw = getNextResultSet(stmt, resultSetCount + 1);
         cleanUpAfterHandlingResultSet();
         resultSetCount++;
       }
@@ -247,10 +254,10 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         }
       }
     }
-    return rs != null ? new ResultSetWrapper(rs, configuration) : null;
+    return rs != null ? new ResultSetWrapper(rs, configuration, mappedStatement, 0) : null;
   }
 
-  private ResultSetWrapper getNextResultSet(Statement stmt) {
+  private ResultSetWrapper getNextResultSet(Statement stmt, int resultSetIndex) {
     // Making this method tolerant of bad JDBC drivers
     try {
       if (stmt.getConnection().getMetaData().supportsMultipleResultSets()) {
@@ -258,9 +265,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         if (!(!stmt.getMoreResults() && stmt.getUpdateCount() == -1)) {
           ResultSet rs = stmt.getResultSet();
           if (rs == null) {
-            return getNextResultSet(stmt);
+            return getNextResultSet(stmt, resultSetIndex);
           } else {
-            return new ResultSetWrapper(rs, configuration);
+            return new ResultSetWrapper(rs, configuration, mappedStatement, resultSetIndex);
           }
         }
       }
@@ -477,6 +484,12 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       if (propertyMapping.isCompositeResult()
           || (column != null && mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH)))
           || propertyMapping.getResultSet() != null) {
+        PrimitivePropertyMapping primitiveMapping = getPrimitivePropertyMapping(propertyMapping, metaObject);
+        if (primitiveMapping != null) {
+          foundValues = primitiveMapping.apply(rsw.getResultSet(), column, metaObject.getOriginalObject())
+              || foundValues;
+          continue;
+        }
         Object value = getPropertyMappingValue(rsw.getResultSet(), metaObject, propertyMapping, lazyLoader, columnPrefix);
         // issue #541 make property optional
         final String property = propertyMapping.getProperty();
@@ -498,6 +511,31 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return foundValues;
   }
 
+  private PrimitivePropertyMapping getPrimitivePropertyMapping(ResultMapping propertyMapping, MetaObject metaObject) {
+    if (propertyMapping.getProperty() == null || propertyMapping.getNestedQueryId() != null
+        || propertyMapping.getResultSet() != null || propertyMapping.getNestedResultMapId() != null) {
+      return null;
+    }
+    PrimitivePropertyMapping primitiveMapping = primitivePropertyMappings.get(propertyMapping);
+    if (primitiveMapping == null && !primitivePropertyMappings.containsKey(propertyMapping)) {
+      primitiveMapping = createPrimitivePropertyMapping(metaObject, propertyMapping.getProperty(),
+          propertyMapping.getTypeHandler());
+      primitivePropertyMappings.put(propertyMapping, primitiveMapping);
+    }
+    return primitiveMapping != null && primitiveMapping.isApplicableTo(metaObject.getOriginalObject())
+        ? primitiveMapping : null;
+  }
+
+  private PrimitivePropertyMapping createPrimitivePropertyMapping(MetaObject metaObject, String property,
+      TypeHandler<?> typeHandler) {
+    // 只处理普通JavaBean，Map和自定义ObjectWrapper仍走MetaObject
+    if (metaObject.getObjectWrapper().getClass() != BeanWrapper.class) {
+      return null;
+    }
+    Reflector reflector = configuration.getReflectorFactory().findForClass(metaObject.getOriginalObject().getClass());
+    return PrimitivePropertyMapping.create(reflector, property, typeHandler);
+  }
+
   private Object getPropertyMappingValue(ResultSet rs, MetaObject metaResultObject, ResultMapping propertyMapping, ResultLoaderMap lazyLoader, String columnPrefix)
       throws SQLException {
     if (propertyMapping.getNestedQueryId() != null) {
@@ -537,7 +575,8 @@ public class DefaultResultSetHandler implements ResultSetHandler {
           final Class<?> propertyType = metaObject.getSetterType(property);
           if (typeHandlerRegistry.hasTypeHandler(propertyType, rsw.getJdbcType(columnName))) {
             final TypeHandler<?> typeHandler = rsw.getTypeHandler(propertyType, columnName);
-            autoMapping.add(new UnMappedColumnAutoMapping(columnName, property, typeHandler, propertyType.isPrimitive()));
+            autoMapping.add(new UnMappedColumnAutoMapping(columnName, property, typeHandler, propertyType.isPrimitive(),
+                createPrimitivePropertyMapping(metaObject, property, typeHandler)));
           } else {
             configuration.getAutoMappingUnknownColumnBehavior()
                 .doAction(mappedStatement, columnName, property, propertyType);
@@ -557,6 +596,11 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     boolean foundValues = false;
     if (!autoMapping.isEmpty()) {
       for (UnMappedColumnAutoMapping mapping : autoMapping) {
+        final Object resultObject = metaObject.getOriginalObject();
+        if (mapping.primitiveMapping != null && mapping.primitiveMapping.isApplicableTo(resultObject)) {
+          foundValues = mapping.primitiveMapping.apply(rsw.getResultSet(), mapping.column, resultObject) || foundValues;
+          continue;
+        }
         final Object value = mapping.typeHandler.getResult(rsw.getResultSet(), mapping.column);
         if (value != null) {
           foundValues = true;
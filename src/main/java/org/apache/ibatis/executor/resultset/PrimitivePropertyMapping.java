@@ -0,0 +1,232 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.apache.ibatis.executor.result.ResultMapException;
+import org.apache.ibatis.lang.UsesJava7;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.type.PrimitiveTypeHandler;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * Copies a column to a primitive property through a {@link PrimitiveTypeHandler} and a setter handle, so the value is
+ * never boxed on its way from the result set to the result object.
+ */
+abstract class PrimitivePropertyMapping {
+
+  private final Class<?> resultType;
+  private final String property;
+  protected final MethodHandle setter;
+
+  private PrimitivePropertyMapping(Class<?> resultType, String property, MethodHandle setter) {
+    this.resultType = resultType;
+    this.property = property;
+    this.setter = setter;
+  }
+
+  /**
+   * Creates a mapping for a plain property of the given class.
+   *
+   * @return the mapping, or {@code null} if the property is not primitive, the type handler does not declare the
+   *         matching contract or the setter cannot be called through a handle
+   */
+  static PrimitivePropertyMapping create(Reflector reflector, String property, TypeHandler<?> typeHandler) {
+    if (property.indexOf('.') >= 0 || property.indexOf('[') >= 0 || !reflector.hasSetter(property)) {
+      return null;
+    }
+    Class<?> type = reflector.getSetterType(property);
+    if (!type.isPrimitive() || !PrimitiveTypeHandler.isDeclaredBy(typeHandler, contractOf(type))) {
+      return null;
+    }
+    MethodHandle setter = reflector.getSetterHandle(property);
+    if (setter == null) {
+      return null;
+    }
+    setter = setter.asType(MethodType.methodType(void.class, Object.class, type));
+    if (type == int.class) {
+      return new OfInt(reflector.getType(), property, setter, (PrimitiveTypeHandler.OfInt) typeHandler);
+    } else if (type == long.class) {
+      return new OfLong(reflector.getType(), property, setter, (PrimitiveTypeHandler.OfLong) typeHandler);
+    } else if (type == double.class) {
+      return new OfDouble(reflector.getType(), property, setter, (PrimitiveTypeHandler.OfDouble) typeHandler);
+    } else {
+      return new OfBoolean(reflector.getType(), property, setter, (PrimitiveTypeHandler.OfBoolean) typeHandler);
+    }
+  }
+
+  private static Class<? extends PrimitiveTypeHandler> contractOf(Class<?> type) {
+    if (type == int.class) {
+      return PrimitiveTypeHandler.OfInt.class;
+    } else if (type == long.class) {
+      return PrimitiveTypeHandler.OfLong.class;
+    } else if (type == double.class) {
+      return PrimitiveTypeHandler.OfDouble.class;
+    } else if (type == boolean.class) {
+      return PrimitiveTypeHandler.OfBoolean.class;
+    }
+    return null;
+  }
+
+  /**
+   * Returns whether this mapping was created for the class of the given result object.
+   */
+  boolean isApplicableTo(Object resultObject) {
+    return resultObject.getClass() == resultType;
+  }
+
+  /**
+   * Reads the column and sets the property unless the column is SQL {@code NULL}.
+   *
+   * @return true if the property was set
+   */
+  abstract boolean apply(ResultSet rs, String column, Object resultObject) throws SQLException;
+
+  protected ResultMapException readFailure(String column, Exception e) {
+    return new ResultMapException("Error attempting to get column '" + column + "' from result set.  Cause: " + e, e);
+  }
+
+  protected ReflectionException writeFailure(Object resultObject, Object value, Throwable t) {
+    return new ReflectionException("Could not set property '" + property + "' of '" + resultObject.getClass()
+        + "' with value '" + value + "' Cause: " + t.toString(), t);
+  }
+
+  @UsesJava7
+  private static final class OfInt extends PrimitivePropertyMapping {
+
+    private final PrimitiveTypeHandler.OfInt typeHandler;
+
+    OfInt(Class<?> resultType, String property, MethodHandle setter, PrimitiveTypeHandler.OfInt typeHandler) {
+      super(resultType, property, setter);
+      this.typeHandler = typeHandler;
+    }
+
+    @Override
+    boolean apply(ResultSet rs, String column, Object resultObject) throws SQLException {
+      int value;
+      try {
+        value = typeHandler.getInt(rs, column);
+        if (value == 0 && typeHandler.wasNull(rs)) {
+          return false;
+        }
+      } catch (Exception e) {
+        throw readFailure(column, e);
+      }
+      try {
+        setter.invokeExact(resultObject, value);
+      } catch (Throwable t) {
+        throw writeFailure(resultObject, value, t);
+      }
+      return true;
+    }
+  }
+
+  @UsesJava7
+  private static final class OfLong extends PrimitivePropertyMapping {
+
+    private final PrimitiveTypeHandler.OfLong typeHandler;
+
+    OfLong(Class<?> resultType, String property, MethodHandle setter, PrimitiveTypeHandler.OfLong typeHandler) {
+      super(resultType, property, setter);
+      this.typeHandler = typeHandler;
+    }
+
+    @Override
+    boolean apply(ResultSet rs, String column, Object resultObject) throws SQLException {
+      long value;
+      try {
+        value = typeHandler.getLong(rs, column);
+        if (value == 0 && typeHandler.wasNull(rs)) {
+          return false;
+        }
+      } catch (Exception e) {
+        throw readFailure(column, e);
+      }
+      try {
+        setter.invokeExact(resultObject, value);
+      } catch (Throwable t) {
+        throw writeFailure(resultObject, value, t);
+      }
+      return true;
+    }
+  }
+
+  @UsesJava7
+  private static final class OfDouble extends PrimitivePropertyMapping {
+
+    private final PrimitiveTypeHandler.OfDouble typeHandler;
+
+    OfDouble(Class<?> resultType, String property, MethodHandle setter, PrimitiveTypeHandler.OfDouble typeHandler) {
+      super(resultType, property, setter);
+      this.typeHandler = typeHandler;
+    }
+
+    @Override
+    boolean apply(ResultSet rs, String column, Object resultObject) throws SQLException {
+      double value;
+      try {
+        value = typeHandler.getDouble(rs, column);
+        if (value == 0 && typeHandler.wasNull(rs)) {
+          return false;
+        }
+      } catch (Exception e) {
+        throw readFailure(column, e);
+      }
+      try {
+        setter.invokeExact(resultObject, value);
+      } catch (Throwable t) {
+        throw writeFailure(resultObject, value, t);
+      }
+      return true;
+    }
+  }
+
+  @UsesJava7
+  private static final class OfBoolean extends PrimitivePropertyMapping {
+
+    private final PrimitiveTypeHandler.OfBoolean typeHandler;
+
+    OfBoolean(Class<?> resultType, String property, MethodHandle setter, PrimitiveTypeHandler.OfBoolean typeHandler) {
+      super(resultType, property, setter);
+      this.typeHandler = typeHandler;
+    }
+
+    @Override
+    boolean apply(ResultSet rs, String column, Object resultObject) throws SQLException {
+      boolean value;
+      try {
+        value = typeHandler.getBoolean(rs, column);
+        if (!value && typeHandler.wasNull(rs)) {
+          return false;
+        }
+      } catch (Exception e) {
+        throw readFailure(column, e);
+      }
+      try {
+        setter.invokeExact(resultObject, value);
+      } catch (Throwable t) {
+        throw writeFailure(resultObject, value, t);
+      }
+      return true;
+    }
+  }
+
+}
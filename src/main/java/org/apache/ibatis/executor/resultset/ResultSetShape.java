@@ -0,0 +1,103 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * The columns of a result set together with what {@link ResultSetWrapper} derives from them: the type handlers of
+ * each column and the mapped and unmapped columns of each result map.
+ * <p>
+ * A shape is kept by the {@link org.apache.ibatis.mapping.MappedStatement} per result set index and reused by later
+ * executions whose result set has the same column labels and JDBC types, so they skip reading the column class names
+ * and resolving type handlers again.
+ *
+ * @since 3.5.7
+ */
+public final class ResultSetShape {
+
+  private final List<String> columnNames;
+  private final List<String> classNames;
+  private final List<JdbcType> jdbcTypes;
+  private final int[] columnTypes;
+  final Map<String, Map<Class<?>, TypeHandler<?>>> typeHandlers = new ConcurrentHashMap<>();
+  final Map<String, List<String>> mappedColumnNames = new ConcurrentHashMap<>();
+  final Map<String, List<String>> unmappedColumnNames = new ConcurrentHashMap<>();
+
+  ResultSetShape(ResultSetMetaData metaData, boolean useColumnLabel) throws SQLException {
+    final int columnCount = metaData.getColumnCount();
+    List<String> names = new ArrayList<>(columnCount);
+    List<String> classes = new ArrayList<>(columnCount);
+    List<JdbcType> types = new ArrayList<>(columnCount);
+    columnTypes = new int[columnCount];
+    for (int i = 1; i <= columnCount; i++) {
+      names.add(useColumnLabel ? metaData.getColumnLabel(i) : metaData.getColumnName(i));
+      columnTypes[i - 1] = metaData.getColumnType(i);
+      types.add(JdbcType.forCode(columnTypes[i - 1]));
+      classes.add(metaData.getColumnClassName(i));
+    }
+    this.columnNames = Collections.unmodifiableList(names);
+    this.classNames = Collections.unmodifiableList(classes);
+    this.jdbcTypes = Collections.unmodifiableList(types);
+  }
+
+  /**
+   * Checks whether a result set still has the columns this shape was built from.
+   *
+   * @param metaData
+   *          the meta data of the result set
+   * @param useColumnLabel
+   *          whether columns are named after their label
+   * @return true if the number, names and JDBC types of the columns are the same
+   * @throws SQLException
+   *           if the meta data cannot be read
+   */
+  boolean matches(ResultSetMetaData metaData, boolean useColumnLabel) throws SQLException {
+    if (metaData.getColumnCount() != columnTypes.length) {
+      return false;
+    }
+    for (int i = 1; i <= columnTypes.length; i++) {
+      String columnName = useColumnLabel ? metaData.getColumnLabel(i) : metaData.getColumnName(i);
+      if (!Objects.equals(columnNames.get(i - 1), columnName) || columnTypes[i - 1] != metaData.getColumnType(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public List<String> getColumnNames() {
+    return columnNames;
+  }
+
+  public List<String> getClassNames() {
+    return classNames;
+  }
+
+  public List<JdbcType> getJdbcTypes() {
+    return jdbcTypes;
+  }
+
+}
@@ -0,0 +1,172 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * A build-time index of the classes in a classpath root, used by {@link ResolverUtil} instead of listing the root with
+ * the {@link VFS}.
+ * <p>
+ * The index is a {@value #INDEX_RESOURCE} resource listing one binary class name per line. It covers the classpath
+ * root (directory or JAR) it is found in, so roots without an index are still scanned. It can be generated after
+ * compilation by running this class with the classes directory as its argument, for example from the
+ * {@code process-classes} phase with the exec-maven-plugin. The index must be regenerated whenever classes are added
+ * or removed, as classes that are not listed are not found.
+ *
+ * @since 3.5.7
+ */
+public final class ClassIndex {
+
+  public static final String INDEX_RESOURCE = "META-INF/mybatis.index";
+
+  private static final Log log = LogFactory.getLog(ClassIndex.class);
+
+  private static final Map<ClassLoader, Map<String, List<String>>> indexes = Collections.synchronizedMap(new WeakHashMap<>());
+
+  private ClassIndex() {
+    // Prevent Instantiation
+  }
+
+  /**
+   * Writes the index of a classes directory to {@value #INDEX_RESOURCE} inside that directory.
+   *
+   * @param args
+   *          the classes directory
+   * @throws IOException
+   *           if the directory could not be read or the index could not be written
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 1) {
+      throw new IllegalArgumentException("Usage: ClassIndex <classes directory>");
+    }
+    write(Paths.get(args[0]));
+  }
+
+  /**
+   * Writes the index of a classes directory to {@value #INDEX_RESOURCE} inside that directory.
+   *
+   * @param classesDirectory
+   *          the classes directory
+   * @return the index file
+   * @throws IOException
+   *           if the directory could not be read or the index could not be written
+   */
+  public static Path write(Path classesDirectory) throws IOException {
+    List<String> classNames;
+    try (Stream<Path> files = Files.walk(classesDirectory)) {
+      classNames = files.filter(file -> file.getFileName().toString().endsWith(".class") && Files.isRegularFile(file))
+          .map(file -> classesDirectory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/"))
+          .map(name -> name.substring(0, name.length() - ".class".length()).replace('/', '.'))
+          .sorted()
+          .collect(Collectors.toList());
+    }
+    Path indexFile = classesDirectory.resolve(INDEX_RESOURCE);
+    Files.createDirectories(indexFile.getParent());
+    try (Writer writer = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8)) {
+      writer.write("# Classes indexed for MyBatis package scanning\n");
+      for (String className : classNames) {
+        writer.write(className);
+        writer.write('\n');
+      }
+    }
+    return indexFile;
+  }
+
+  /**
+   * Lists the resources under a path like {@link VFS#list(String)} does, taking the class files of indexed classpath
+   * roots from their index.
+   */
+  static List<String> list(VFS vfs, String path) throws IOException {
+    Map<String, List<String>> rootIndexes = getIndexes();
+    if (rootIndexes.isEmpty()) {
+      return vfs.list(path);
+    }
+    String prefix = path + "/";
+    List<String> resources = new ArrayList<>();
+    for (URL url : VFS.getResources(path)) {
+      List<String> index = rootIndexes.get(getRoot(url.toExternalForm(), path));
+      if (index == null) {
+        resources.addAll(vfs.list(url, path));
+        continue;
+      }
+      if (log.isDebugEnabled()) {
+        log.debug("Listing " + url + " from its class index");
+      }
+      for (String resource : index) {
+        if (resource.startsWith(prefix)) {
+          resources.add(resource);
+        }
+      }
+    }
+    return resources;
+  }
+
+  private static Map<String, List<String>> getIndexes() throws IOException {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    Map<String, List<String>> rootIndexes = indexes.get(classLoader);
+    if (rootIndexes == null) {
+      rootIndexes = new HashMap<>();
+      for (URL url : VFS.getResources(INDEX_RESOURCE)) {
+        rootIndexes.put(getRoot(url.toExternalForm(), INDEX_RESOURCE), readIndex(url));
+      }
+      indexes.put(classLoader, rootIndexes);
+    }
+    return rootIndexes;
+  }
+
+  private static List<String> readIndex(URL url) throws IOException {
+    List<String> resources = new ArrayList<>();
+    try (InputStream in = url.openStream();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+      for (String line; (line = reader.readLine()) != null;) {
+        line = line.trim();
+        if (!line.isEmpty() && !line.startsWith("#")) {
+          resources.add(line.replace('.', '/') + ".class");
+        }
+      }
+    }
+    return resources;
+  }
+
+  private static String getRoot(String url, String path) {
+    if (url.endsWith("/")) {
+      url = url.substring(0, url.length() - 1);
+    }
+    return url.endsWith(path) ? url.substring(0, url.length() - path.length()) : url;
+  }
+
+}
@@ -21,16 +21,21 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.file.InvalidPathException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Enumeration;
 import java.util.List;
 import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 import java.util.jar.JarInputStream;
+import java.util.stream.Collectors;
 
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
@@ -51,6 +56,35 @@ public class DefaultVFS extends VFS {
     return true;
   }
 
+  /**
+   * Lists the classpath roots containing the path concurrently, as listing a large JAR mostly waits on I/O.
+   */
+  @Override
+  public List<String> list(String path) throws IOException {
+    List<URL> urls = getResources(path);
+    if (urls.size() < 2) {
+      return super.list(path);
+    }
+    // resources are looked up with the context class loader, which pool threads do not share
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    try {
+      return urls.parallelStream().map(url -> {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+          return list(url, path);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        } finally {
+          thread.setContextClassLoader(previous);
+        }
+      }).flatMap(List::stream).collect(Collectors.toList());
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
   @Override
   public List<String> list(URL url, String path) throws IOException {
     InputStream is = null;
@@ -61,11 +95,19 @@ public class DefaultVFS extends VFS {
       // file is found, then we'll list child resources by reading the JAR.
       URL jarUrl = findJarForResource(url);
       if (jarUrl != null) {
-        is = jarUrl.openStream();
         if (log.isDebugEnabled()) {
           log.debug("Listing " + url);
         }
-        resources = listResources(new JarInputStream(is), path);
+        File file = toFile(jarUrl);
+        if (file != null) {
+          // reads the central directory only instead of inflating every entry
+          try (JarFile jarFile = new JarFile(file)) {
+            resources = listResources(jarFile, path);
+          }
+        } else {
+          is = jarUrl.openStream();
+          resources = listResources(new JarInputStream(is), path);
+        }
       } else {
         List<String> children = new ArrayList<>();
         try {
@@ -188,26 +230,72 @@ public class DefaultVFS extends VFS {
     // Iterate over the entries and collect those that begin with the requested path
     List<String> resources = new ArrayList<>();
     for (JarEntry entry; (entry = jar.getNextJarEntry()) != null;) {
-      if (!entry.isDirectory()) {
-        // Add leading slash if it's missing
-        StringBuilder name = new StringBuilder(entry.getName());
-        if (name.charAt(0) != '/') {
-          name.insert(0, '/');
-        }
+      addIfInPath(entry, path, resources);
+    }
+    return resources;
+  }
 
-        // Check file name
-        if (name.indexOf(path) == 0) {
-          if (log.isDebugEnabled()) {
-            log.debug("Found resource: " + name);
-          }
-          // Trim leading slash
-          resources.add(name.substring(1));
-        }
+  /**
+   * List the names of the entries in the given {@link JarFile} that begin with the specified {@code path}, like
+   * {@link #listResources(JarInputStream, String)} does.
+   *
+   * @param jar
+   *          The JAR file from which to read entries
+   * @param path
+   *          The leading path to match
+   * @return The names of all the matching entries
+   * @since 3.5.7
+   */
+  protected List<String> listResources(JarFile jar, String path) {
+    if (!path.startsWith("/")) {
+      path = "/" + path;
+    }
+    if (!path.endsWith("/")) {
+      path = path + "/";
+    }
+
+    List<String> resources = new ArrayList<>();
+    for (Enumeration<JarEntry> entries = jar.entries(); entries.hasMoreElements();) {
+      JarEntry entry = entries.nextElement();
+      // JarInputStream does not return the manifest
+      if (!JarFile.MANIFEST_NAME.equalsIgnoreCase(entry.getName())) {
+        addIfInPath(entry, path, resources);
       }
     }
     return resources;
   }
 
+  private void addIfInPath(JarEntry entry, String path, List<String> resources) {
+    if (!entry.isDirectory()) {
+      // Add leading slash if it's missing
+      StringBuilder name = new StringBuilder(entry.getName());
+      if (name.charAt(0) != '/') {
+        name.insert(0, '/');
+      }
+
+      // Check file name
+      if (name.indexOf(path) == 0) {
+        if (log.isDebugEnabled()) {
+          log.debug("Found resource: " + name);
+        }
+        // Trim leading slash
+        resources.add(name.substring(1));
+      }
+    }
+  }
+
+  private File toFile(URL jarUrl) {
+    if (!"file".equals(jarUrl.getProtocol())) {
+      return null;
+    }
+    try {
+      File file = new File(jarUrl.toURI());
+      return file.isFile() ? file : null;
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+
   /**
    * Attempts to deconstruct the given URL to find a JAR file containing the resource referenced
    * by the URL. That is, assuming the URL references a JAR entry, this method will return a URL
@@ -235,7 +235,7 @@ public class ResolverUtil<T> {
    * Scans for classes starting at the package provided and descending into subpackages.
    * Each class is offered up to the Test as it is discovered, and if the Test returns
    * true the class is retained.  Accumulated classes can be fetched by calling
-   * {@link #getClasses()}.
+   * {@link #getClasses()}. Classpath roots that contain a {@link ClassIndex} are listed from their index.
    *
    * @param test
    *          an instance of {@link Test} that will be used to filter classes
@@ -247,7 +247,7 @@ public class ResolverUtil<T> {
     String path = getPackagePath(packageName);
 
     try {
-      List<String> children = VFS.getInstance().list(path);
+      List<String> children = ClassIndex.list(VFS.getInstance(), path);
       for (String child : children) {
         if (child.endsWith(".class")) {
           addIfMatching(test, child);
@@ -39,14 +39,34 @@ public class BoundSql {
   private final List<ParameterMapping> parameterMappings;
   private final Object parameterObject;
   private final Map<String, Object> additionalParameters;
-  private final MetaObject metaParameters;
+  private final Configuration configuration;
+  private MetaObject metaParameters;
 
   public BoundSql(Configuration configuration, String sql, List<ParameterMapping> parameterMappings, Object parameterObject) {
     this.sql = sql;
     this.parameterMappings = parameterMappings;
     this.parameterObject = parameterObject;
     this.additionalParameters = new HashMap<>();
-    this.metaParameters = configuration.newMetaObject(additionalParameters);
+    this.configuration = configuration;
+  }
+
+  /**
+   * Creates a bound sql that executes a different SQL string with the parameter object and the additional parameters
+   * of an existing one.
+   *
+   * @param configuration
+   *          the configuration
+   * @param sql
+   *          the SQL string to execute
+   * @param parameterMappings
+   *          the parameter mappings of the SQL string
+   * @param boundSql
+   *          the bound sql to take the parameters from
+   * @since 3.5.7
+   */
+  public BoundSql(Configuration configuration, String sql, List<ParameterMapping> parameterMappings, BoundSql boundSql) {
+    this(configuration, sql, parameterMappings, boundSql.parameterObject);
+    this.additionalParameters.putAll(boundSql.additionalParameters);
   }
 
   public String getSql() {
@@ -62,15 +82,25 @@ public class BoundSql {
   }
 
   public boolean hasAdditionalParameter(String name) {
+    if (additionalParameters.isEmpty()) {
+      return false;
+    }
     String paramName = new PropertyTokenizer(name).getName();
     return additionalParameters.containsKey(paramName);
   }
 
   public void setAdditionalParameter(String name, Object value) {
-    metaParameters.setValue(name, value);
+    getMetaParameters().setValue(name, value);
   }
 
   public Object getAdditionalParameter(String name) {
-    return metaParameters.getValue(name);
+    return getMetaParameters().getValue(name);
+  }
+
+  private MetaObject getMetaParameters() {
+    if (metaParameters == null) {
+      metaParameters = configuration.newMetaObject(additionalParameters);
+    }
+    return metaParameters;
   }
 }
@@ -18,14 +18,19 @@ package org.apache.ibatis.mapping;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.ibatis.builder.BuilderException;
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.executor.resultset.ResultSetShape;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.scripting.LanguageDriver;
+import org.apache.ibatis.scripting.defaults.ParameterBinder;
 import org.apache.ibatis.session.Configuration;
 
 /**
@@ -57,11 +62,19 @@ public final class MappedStatement {
   private KeyGenerator keyGenerator;
   private String[] keyProperties;
   private String[] keyColumns;
+  private String[] keysetColumns;
+  private String[] keysetProperties;
+  private String partitionColumn;
+  private Integer partitions;
+  private PartitionType partitionType;
+  private String shardKey;
   private boolean hasNestedResultMaps;
   private String databaseId;
   private Log statementLog;
   private LanguageDriver lang;
   private String[] resultSets;
+  private final Map<Integer, ResultSetShape> resultSetShapes = new ConcurrentHashMap<>();
+  private final Map<Class<?>, ParameterBinder> parameterBinders = new ConcurrentHashMap<>();
 
   MappedStatement() {
     // constructor disabled
@@ -76,6 +89,7 @@ public final class MappedStatement {
       mappedStatement.sqlSource = sqlSource;
       mappedStatement.statementType = StatementType.PREPARED;
       mappedStatement.resultSetType = ResultSetType.DEFAULT;
+      mappedStatement.partitionType = PartitionType.RANGE;
       mappedStatement.parameterMap = new ParameterMap.Builder(configuration, "defaultParameterMap", null, new ArrayList<>()).build();
       mappedStatement.resultMaps = new ArrayList<>();
       mappedStatement.sqlCommandType = sqlCommandType;
@@ -165,6 +179,85 @@ public final class MappedStatement {
       return this;
     }
 
+    /**
+     * Sets the columns ordering the rows of a select for keyset pagination.
+     *
+     * @param keysetColumn
+     *          column names separated by comma(',')
+     * @return the builder
+     * @since 3.5.7
+     */
+    public Builder keysetColumn(String keysetColumn) {
+      mappedStatement.keysetColumns = trimmedDelimitedStringToArray(keysetColumn);
+      return this;
+    }
+
+    /**
+     * Sets the properties holding the values of the keyset columns in result objects.
+     * Defaults to the keyset column names.
+     *
+     * @param keysetProperty
+     *          property names separated by comma(',')
+     * @return the builder
+     * @since 3.5.7
+     */
+    public Builder keysetProperty(String keysetProperty) {
+      mappedStatement.keysetProperties = trimmedDelimitedStringToArray(keysetProperty);
+      return this;
+    }
+
+    /**
+     * Sets the column splitting the rows of a select between concurrent sub-queries.
+     *
+     * @param partitionColumn
+     *          the partition column
+     * @return the builder
+     * @since 3.5.7
+     */
+    public Builder partitionColumn(String partitionColumn) {
+      mappedStatement.partitionColumn = partitionColumn;
+      return this;
+    }
+
+    /**
+     * Sets the number of concurrent sub-queries of a partitioned select.
+     *
+     * @param partitions
+     *          the number of partitions, {@code null} for the default
+     * @return the builder
+     * @since 3.5.7
+     */
+    public Builder partitions(Integer partitions) {
+      mappedStatement.partitions = partitions;
+      return this;
+    }
+
+    /**
+     * Sets how the rows of a partitioned select are split.
+     *
+     * @param partitionType
+     *          the partition type
+     * @return the builder
+     * @since 3.5.7
+     */
+    public Builder partitionType(PartitionType partitionType) {
+      mappedStatement.partitionType = partitionType == null ? PartitionType.RANGE : partitionType;
+      return this;
+    }
+
+    /**
+     * Sets the property of the parameter object that selects the shard a statement is routed to.
+     *
+     * @param shardKey
+     *          the shard key property
+     * @return the builder
+     * @since 3.5.7
+     */
+    public Builder shardKey(String shardKey) {
+      mappedStatement.shardKey = shardKey;
+      return this;
+    }
+
     public Builder databaseId(String databaseId) {
       mappedStatement.databaseId = databaseId;
       return this;
@@ -200,6 +293,17 @@ public final class MappedStatement {
       assert mappedStatement.sqlSource != null;
       assert mappedStatement.lang != null;
       mappedStatement.resultMaps = Collections.unmodifiableList(mappedStatement.resultMaps);
+      if (mappedStatement.keysetColumns != null) {
+        if (mappedStatement.keysetProperties == null) {
+          mappedStatement.keysetProperties = mappedStatement.keysetColumns;
+        } else if (mappedStatement.keysetProperties.length != mappedStatement.keysetColumns.length) {
+          throw new BuilderException("The keyset properties of statement '" + mappedStatement.id
+              + "' must match the keyset columns one to one.");
+        }
+      }
+      if (mappedStatement.partitions != null && mappedStatement.partitions < 1) {
+        throw new BuilderException("The partitions of statement '" + mappedStatement.id + "' must be positive.");
+      }
       return mappedStatement;
     }
   }
@@ -284,6 +388,66 @@ public final class MappedStatement {
     return keyColumns;
   }
 
+  /**
+   * Gets the columns ordering the rows of a select for keyset pagination.
+   *
+   * @return the keyset columns, or {@code null} if the statement does not support keyset pagination
+   * @since 3.5.7
+   */
+  public String[] getKeysetColumns() {
+    return keysetColumns;
+  }
+
+  /**
+   * Gets the properties holding the values of the keyset columns in result objects.
+   *
+   * @return the keyset properties, or {@code null} if the statement does not support keyset pagination
+   * @since 3.5.7
+   */
+  public String[] getKeysetProperties() {
+    return keysetProperties;
+  }
+
+  /**
+   * Gets the column splitting the rows of a select between concurrent sub-queries.
+   *
+   * @return the partition column, or {@code null} if the statement is not partitioned
+   * @since 3.5.7
+   */
+  public String getPartitionColumn() {
+    return partitionColumn;
+  }
+
+  /**
+   * Gets the number of concurrent sub-queries of a partitioned select.
+   *
+   * @return the number of partitions, or {@code null} for the default
+   * @since 3.5.7
+   */
+  public Integer getPartitions() {
+    return partitions;
+  }
+
+  /**
+   * Gets how the rows of a partitioned select are split.
+   *
+   * @return the partition type
+   * @since 3.5.7
+   */
+  public PartitionType getPartitionType() {
+    return partitionType;
+  }
+
+  /**
+   * Gets the property of the parameter object that selects the shard a statement is routed to.
+   *
+   * @return the shard key property, or {@code null} if the statement does not declare one
+   * @since 3.5.7
+   */
+  public String getShardKey() {
+    return shardKey;
+  }
+
   public Log getStatementLog() {
     return statementLog;
   }
@@ -296,6 +460,27 @@ public final class MappedStatement {
     return resultSets;
   }
 
+  /**
+   * Gets the column shapes of the result sets last returned by this statement, by result set index.
+   *
+   * @return the column shapes
+   * @since 3.5.7
+   */
+  public Map<Integer, ResultSetShape> getResultSetShapes() {
+    return resultSetShapes;
+  }
+
+  /**
+   * Returns the parameter binders compiled for this statement, by parameter type. Only statements whose parameter
+   * mappings are the same on every execution have binders.
+   *
+   * @return the binders, keyed by the class of the parameter object
+   * @since 3.5.7
+   */
+  public Map<Class<?>, ParameterBinder> getParameterBinders() {
+    return parameterBinders;
+  }
+
   /**
    * Gets the resul sets.
    *
@@ -336,4 +521,12 @@ public final class MappedStatement {
     }
   }
 
+  private static String[] trimmedDelimitedStringToArray(String in) {
+    if (in == null || in.trim().length() == 0) {
+      return null;
+    } else {
+      return in.trim().split("\\s*,\\s*");
+    }
+  }
+
 }
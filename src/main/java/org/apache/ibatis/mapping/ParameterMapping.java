@@ -18,6 +18,7 @@ package org.apache.ibatis.mapping;
 import java.sql.ResultSet;
 
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.ArrayTypeHandler;
 import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.TypeHandler;
 import org.apache.ibatis.type.TypeHandlerRegistry;
@@ -101,6 +102,7 @@ public class ParameterMapping {
 
     public ParameterMapping build() {
       resolveTypeHandler();
+      resolveArrayElementType();
       validate();
       return parameterMapping;
     }
@@ -129,6 +131,14 @@ public class ParameterMapping {
       }
     }
 
+    private void resolveArrayElementType() {
+      // 空集合无法从元素推断数组类型，改用映射中声明的javaType或jdbcTypeName
+      if (parameterMapping.typeHandler != null && parameterMapping.typeHandler.getClass() == ArrayTypeHandler.class
+          && (parameterMapping.jdbcTypeName != null || parameterMapping.javaType != Object.class)) {
+        parameterMapping.typeHandler = new ArrayTypeHandler(parameterMapping.javaType, parameterMapping.jdbcTypeName);
+      }
+    }
+
   }
 
   public String getProperty() {
@@ -0,0 +1,33 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.mapping;
+
+/**
+ * How the rows of a partitioned select are split between its concurrent sub-queries.
+ *
+ * @since 3.5.7
+ */
+public enum PartitionType {
+  /**
+   * Splits the range between the minimum and the maximum value of the partition column into contiguous intervals.
+   * Results are merged in ascending order of the intervals.
+   */
+  RANGE,
+  /**
+   * Assigns rows to buckets by the remainder of the partition column divided by the number of partitions.
+   */
+  HASH
+}
@@ -200,6 +200,15 @@ public class XPathParser {
 
   public List<XNode> evalNodes(Object root, String expression) {
     List<XNode> xnodes = new ArrayList<>();
+    String[][] steps = root instanceof Node ? parseChildPath(expression) : null;
+    if (steps != null) {
+      List<Node> nodes = new ArrayList<>();
+      selectChildren(startNode((Node) root, expression), steps, 0, nodes, false);
+      for (Node node : nodes) {
+        xnodes.add(new XNode(this, node, variables));
+      }
+      return xnodes;
+    }
     NodeList nodes = (NodeList) evaluate(expression, root, XPathConstants.NODESET);
     for (int i = 0; i < nodes.getLength(); i++) {
       xnodes.add(new XNode(this, nodes.item(i), variables));
@@ -212,15 +221,105 @@ public class XPathParser {
   }
 
   public XNode evalNode(Object root, String expression) {
-    Node node = (Node) evaluate(expression, root, XPathConstants.NODE);
+    Node node;
+    String[][] steps = root instanceof Node ? parseChildPath(expression) : null;
+    if (steps != null) {
+      List<Node> nodes = new ArrayList<>(1);
+      selectChildren(startNode((Node) root, expression), steps, 0, nodes, true);
+      node = nodes.isEmpty() ? null : nodes.get(0);
+    } else {
+      node = (Node) evaluate(expression, root, XPathConstants.NODE);
+    }
     if (node == null) {
       return null;
     }
     return new XNode(this, node, variables);
   }
 
+  /**
+   * Parses expressions that only select child elements by name, like {@code /mapper/resultMap}, {@code cache} or
+   * {@code select|insert|update|delete}. The builders only use such expressions, and walking the children directly is
+   * much cheaper than compiling and evaluating them with XPath.
+   *
+   * @return the names accepted by each step, or null if the expression has to be evaluated by XPath
+   */
+  private static String[][] parseChildPath(String expression) {
+    int start = expression.startsWith("/") ? 1 : 0;
+    if (start == expression.length()) {
+      return null;
+    }
+    String[] stepExpressions = expression.substring(start).split("/", -1);
+    String[][] steps = new String[stepExpressions.length][];
+    for (int i = 0; i < stepExpressions.length; i++) {
+      steps[i] = stepExpressions[i].split("\\|", -1);
+      for (String name : steps[i]) {
+        if (!isElementName(name)) {
+          return null;
+        }
+      }
+    }
+    // a union of paths (/a|/b) or of steps after the first one (a/b|c) means something else
+    for (int i = 0; i < steps.length; i++) {
+      if (steps[i].length > 1 && (steps.length > 1 || start == 1)) {
+        return null;
+      }
+    }
+    return steps;
+  }
+
+  private static boolean isElementName(String name) {
+    if ("*".equals(name)) {
+      return true;
+    }
+    if (name.isEmpty() || !(Character.isLetter(name.charAt(0)) || name.charAt(0) == '_')) {
+      return false;
+    }
+    for (int i = 1; i < name.length(); i++) {
+      char c = name.charAt(i);
+      if (!(Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.')) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Node startNode(Node root, String expression) {
+    if (expression.startsWith("/") && root.getNodeType() != Node.DOCUMENT_NODE) {
+      return root.getOwnerDocument();
+    }
+    return root;
+  }
+
+  private static boolean selectChildren(Node parent, String[][] steps, int step, List<Node> result, boolean first) {
+    for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+      if (child.getNodeType() == Node.ELEMENT_NODE && matches(child.getNodeName(), steps[step])) {
+        if (step == steps.length - 1) {
+          result.add(child);
+          if (first) {
+            return true;
+          }
+        } else if (selectChildren(child, steps, step + 1, result, first)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static boolean matches(String nodeName, String[] names) {
+    for (String name : names) {
+      if ("*".equals(name) || name.equals(nodeName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private Object evaluate(String expression, Object root, QName returnType) {
     try {
+      if (xpath == null) {
+        xpath = XPathFactory.newInstance().newXPath();
+      }
       return xpath.evaluate(expression, root, returnType);
     } catch (Exception e) {
       throw new BuilderException("Error evaluating XPath.  Cause: " + e, e);
@@ -268,8 +367,8 @@ public class XPathParser {
     this.validation = validation;
     this.entityResolver = entityResolver;
     this.variables = variables;
-    XPathFactory factory = XPathFactory.newInstance();
-    this.xpath = factory.newXPath();
+    // created on first use, most documents are only queried through the child paths evaluated without XPath
+    this.xpath = null;
   }
 
 }
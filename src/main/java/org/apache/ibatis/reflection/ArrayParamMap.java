@@ -0,0 +1,268 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.apache.ibatis.binding.MapperMethod.ParamMap;
+
+/**
+ * A {@link ParamMap} whose keys are fixed by the mapper method, so that its values can be kept in an array.
+ * <p>
+ * The names of the parameters and their generic {@code param1, param2, ...} names are resolved to array slots once per
+ * method by a {@link Layout}. Reading, checking and replacing the value of one of these keys never touches the
+ * underlying {@link HashMap}. Any other operation, such as adding a new key, removing a key or iterating, first
+ * copies the values into the {@link HashMap} and from then on the map behaves like a plain {@link ParamMap}.
+ *
+ * @since 3.5.7
+ */
+class ArrayParamMap<V> extends ParamMap<V> {
+
+  private static final long serialVersionUID = 1L;
+
+  private transient Layout layout;
+  private transient Object[] values;
+
+  ArrayParamMap(Layout layout, Object[] args) {
+    this.layout = layout;
+    this.values = new Object[layout.keys.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = args[layout.argIndexes[i]];
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V get(Object key) {
+    if (layout != null) {
+      int slot = layout.slotOf(key);
+      if (slot >= 0) {
+        return (V) values[slot];
+      }
+      inflate();
+    }
+    return super.get(key);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return layout != null ? layout.slotOf(key) >= 0 : super.containsKey(key);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V put(String key, V value) {
+    if (layout != null) {
+      int slot = layout.slotOf(key);
+      if (slot >= 0) {
+        V previous = (V) values[slot];
+        values[slot] = value;
+        return previous;
+      }
+      inflate();
+    }
+    return super.put(key, value);
+  }
+
+  @Override
+  public int size() {
+    return layout != null ? layout.keys.length : super.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    inflate();
+    return super.containsValue(value);
+  }
+
+  @Override
+  public V getOrDefault(Object key, V defaultValue) {
+    inflate();
+    return super.getOrDefault(key, defaultValue);
+  }
+
+  @Override
+  public void putAll(Map<? extends String, ? extends V> m) {
+    inflate();
+    super.putAll(m);
+  }
+
+  @Override
+  public V putIfAbsent(String key, V value) {
+    inflate();
+    return super.putIfAbsent(key, value);
+  }
+
+  @Override
+  public V remove(Object key) {
+    inflate();
+    return super.remove(key);
+  }
+
+  @Override
+  public boolean remove(Object key, Object value) {
+    inflate();
+    return super.remove(key, value);
+  }
+
+  @Override
+  public boolean replace(String key, V oldValue, V newValue) {
+    inflate();
+    return super.replace(key, oldValue, newValue);
+  }
+
+  @Override
+  public V replace(String key, V value) {
+    inflate();
+    return super.replace(key, value);
+  }
+
+  @Override
+  public V computeIfAbsent(String key, Function<? super String, ? extends V> mappingFunction) {
+    inflate();
+    return super.computeIfAbsent(key, mappingFunction);
+  }
+
+  @Override
+  public V computeIfPresent(String key, BiFunction<? super String, ? super V, ? extends V> remappingFunction) {
+    inflate();
+    return super.computeIfPresent(key, remappingFunction);
+  }
+
+  @Override
+  public V compute(String key, BiFunction<? super String, ? super V, ? extends V> remappingFunction) {
+    inflate();
+    return super.compute(key, remappingFunction);
+  }
+
+  @Override
+  public V merge(String key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+    inflate();
+    return super.merge(key, value, remappingFunction);
+  }
+
+  @Override
+  public void clear() {
+    inflate();
+    super.clear();
+  }
+
+  @Override
+  public Set<String> keySet() {
+    inflate();
+    return super.keySet();
+  }
+
+  @Override
+  public Collection<V> values() {
+    inflate();
+    return super.values();
+  }
+
+  @Override
+  public Set<Map.Entry<String, V>> entrySet() {
+    inflate();
+    return super.entrySet();
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super String, ? super V> action) {
+    inflate();
+    super.forEach(action);
+  }
+
+  @Override
+  public void replaceAll(BiFunction<? super String, ? super V, ? extends V> function) {
+    inflate();
+    super.replaceAll(function);
+  }
+
+  @Override
+  public Object clone() {
+    inflate();
+    return super.clone();
+  }
+
+  private Object writeReplace() {
+    ParamMap<V> map = new ParamMap<>();
+    map.putAll(this);
+    return map;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void inflate() {
+    if (layout == null) {
+      return;
+    }
+    String[] keys = layout.keys;
+    layout = null;
+    for (int i = 0; i < keys.length; i++) {
+      super.put(keys[i], (V) values[i]);
+    }
+    values = null;
+  }
+
+  /**
+   * The keys of the parameter map of one mapper method, and the argument each of them takes its value from.
+   */
+  static final class Layout {
+
+    private static final int MAX_SCANNED_KEYS = 8;
+
+    private final String[] keys;
+    private final int[] argIndexes;
+    private final Map<String, Integer> slots;
+
+    Layout(String[] keys, int[] argIndexes) {
+      this.keys = keys;
+      this.argIndexes = argIndexes;
+      if (keys.length > MAX_SCANNED_KEYS) {
+        slots = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+          slots.put(keys[i], i);
+        }
+      } else {
+        slots = null;
+      }
+    }
+
+    int slotOf(Object key) {
+      if (slots != null) {
+        Integer slot = slots.get(key);
+        return slot == null ? -1 : slot;
+      }
+      // a short array is scanned faster than a hash table is probed
+      for (int i = 0; i < keys.length; i++) {
+        if (keys[i].equals(key)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+  }
+
+}
@@ -53,6 +53,11 @@ public class ParamNameResolver {
 
   private boolean hasParamAnnotation;
 
+  /**
+   * 多参数时参数名称（包括param1、param2等通用名称）到实参的映射布局
+   */
+  private final ArrayParamMap.Layout layout;
+
   public ParamNameResolver(Configuration config, Method method) {
     this.useActualParamName = config.isUseActualParamName();
     final Class<?>[] paramTypes = method.getParameterTypes();
@@ -88,6 +93,23 @@ public class ParamNameResolver {
     }
     // 解析参数类型，存放在names
     names = Collections.unmodifiableSortedMap(map);
+    layout = hasParamAnnotation || names.size() > 1 ? createLayout() : null;
+  }
+
+  private ArrayParamMap.Layout createLayout() {
+    Map<String, Integer> argIndexes = new LinkedHashMap<>();
+    int i = 0;
+    for (Map.Entry<Integer, String> entry : names.entrySet()) {
+      argIndexes.put(entry.getValue(), entry.getKey());
+      final String genericParamName = GENERIC_NAME_PREFIX + (i + 1);
+      // ensure not to overwrite parameter named with @Param
+      if (!names.containsValue(genericParamName)) {
+        argIndexes.put(genericParamName, entry.getKey());
+      }
+      i++;
+    }
+    return new ArrayParamMap.Layout(argIndexes.keySet().toArray(new String[0]),
+        argIndexes.values().stream().mapToInt(Integer::intValue).toArray());
   }
 
   private String getActualParamName(Method method, int paramIndex) {
@@ -133,22 +155,8 @@ public class ParamNameResolver {
     }
     // 处理存在@Param注解或是存在多个非特殊类型参数的场景
     else {
-      // param用来记录参数名称与实参之间的映射关系。这里的ParamMap继承自HashMap，添加已经存在的key时，抛出异常
-      final Map<String, Object> param = new ParamMap<>();
-      int i = 0;
-      for (Map.Entry<Integer, String> entry : names.entrySet()) {
-        // 将参数名称与实参的映射保存到param集合中
-        param.put(entry.getValue(), args[entry.getKey()]);
-        //同时，为参数创建"param+索引"格式的默认参数名称，具体格式为param1、param2等。
-        final String genericParamName = GENERIC_NAME_PREFIX + (i + 1);
-        // ensure not to overwrite parameter named with @Param
-        // 将"param+索引"的默认名称与实参的映射关系也保存在param集合中
-        if (!names.containsValue(genericParamName)) {
-          param.put(genericParamName, args[entry.getKey()]);
-        }
-        i++;
-      }
-      return param;
+      // 参数名称以及"param+索引"格式的默认名称（param1、param2等）已在构造时解析为数组下标，这里只需按下标复制实参
+      return new ArrayParamMap<>(layout, args);
     }
   }
 
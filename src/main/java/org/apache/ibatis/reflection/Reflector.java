@@ -15,6 +15,10 @@
  */
 package org.apache.ibatis.reflection;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
@@ -429,6 +433,73 @@ public class Reflector {
     return method;
   }
 
+  /**
+   * Gets a method handle that sets the given property, so that callers holding a primitive value can pass it without
+   * boxing.
+   *
+   * @param propertyName
+   *          the name of the property
+   * @return a handle of type {@code (declaring class, property type)void}, or {@code null} if the property has no
+   *         unambiguous setter or the setter cannot be accessed
+   * @since 3.5.7
+   */
+  public MethodHandle getSetterHandle(String propertyName) {
+    Invoker invoker = setMethods.get(propertyName);
+    if (invoker instanceof SetFieldInvoker) {
+      return unreflect(((SetFieldInvoker) invoker).getField(), true);
+    }
+    if (invoker instanceof MethodInvoker && !(invoker instanceof AmbiguousMethodInvoker)) {
+      return unreflect(((MethodInvoker) invoker).getMethod(), false);
+    }
+    return null;
+  }
+
+  /**
+   * Gets a method handle that reads the given property, so that callers can obtain a primitive value without boxing.
+   *
+   * @param propertyName
+   *          the name of the property
+   * @return a handle of type {@code (declaring class)property type}, or {@code null} if the property has no
+   *         unambiguous getter or the getter cannot be accessed
+   * @since 3.5.7
+   */
+  public MethodHandle getGetterHandle(String propertyName) {
+    Invoker invoker = getMethods.get(propertyName);
+    if (invoker instanceof GetFieldInvoker) {
+      return unreflect(((GetFieldInvoker) invoker).getField(), false);
+    }
+    if (invoker instanceof MethodInvoker && !(invoker instanceof AmbiguousMethodInvoker)) {
+      return unreflect(((MethodInvoker) invoker).getMethod(), false);
+    }
+    return null;
+  }
+
+  private static MethodHandle unreflect(AccessibleObject member, boolean fieldSetter) {
+    try {
+      return unreflectMember(member, fieldSetter);
+    } catch (IllegalAccessException e) {
+      if (!canControlMemberAccessible()) {
+        return null;
+      }
+      try {
+        member.setAccessible(true);
+        return unreflectMember(member, fieldSetter);
+      } catch (IllegalAccessException | RuntimeException e2) {
+        // 例如无法打开的模块，调用方退回到Invoker
+        return null;
+      }
+    }
+  }
+
+  private static MethodHandle unreflectMember(AccessibleObject member, boolean fieldSetter)
+      throws IllegalAccessException {
+    Lookup lookup = MethodHandles.lookup();
+    if (member instanceof Method) {
+      return lookup.unreflect((Method) member);
+    }
+    return fieldSetter ? lookup.unreflectSetter((Field) member) : lookup.unreflectGetter((Field) member);
+  }
+
   /**
    * Gets the type for a property setter.
    * 获取属性对应setter的参数类型
@@ -19,12 +19,14 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.List;
 
+import org.apache.ibatis.builder.StaticSqlSource;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.SqlSource;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.type.JdbcType;
@@ -63,6 +65,11 @@ public class DefaultParameterHandler implements ParameterHandler {
     ErrorContext.instance().activity("setting parameters").object(mappedStatement.getParameterMap().getId());
     List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
     if (parameterMappings != null) {
+      ParameterBinder binder = getParameterBinder(parameterMappings);
+      if (binder != null) {
+        binder.bind(ps, boundSql, parameterObject);
+        return;
+      }
       for (int i = 0; i < parameterMappings.size(); i++) {
         ParameterMapping parameterMapping = parameterMappings.get(i);
         if (parameterMapping.getMode() != ParameterMode.OUT) {
@@ -93,4 +100,25 @@ public class DefaultParameterHandler implements ParameterHandler {
     }
   }
 
+  private ParameterBinder getParameterBinder(List<ParameterMapping> parameterMappings) {
+    // only static SQL keeps the same parameter mappings across executions, and binders are only compiled for those, not
+    // for the mappings of a statement rewritten for a single execution, e.g. by paging
+    List<ParameterMapping> staticParameterMappings = getStaticParameterMappings();
+    if (parameterObject == null || staticParameterMappings != parameterMappings) {
+      return null;
+    }
+    return mappedStatement.getParameterBinders().computeIfAbsent(parameterObject.getClass(),
+        type -> ParameterBinder.compile(configuration, staticParameterMappings, type));
+  }
+
+  private List<ParameterMapping> getStaticParameterMappings() {
+    SqlSource sqlSource = mappedStatement.getSqlSource();
+    if (sqlSource instanceof RawSqlSource) {
+      return ((RawSqlSource) sqlSource).getParameterMappings();
+    } else if (sqlSource instanceof StaticSqlSource) {
+      return ((StaticSqlSource) sqlSource).getParameterMappings();
+    }
+    return null;
+  }
+
 }
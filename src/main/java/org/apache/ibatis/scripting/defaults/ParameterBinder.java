@@ -0,0 +1,264 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.defaults;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.lang.UsesJava7;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.reflection.MetaClass;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.wrapper.DefaultObjectWrapperFactory;
+import org.apache.ibatis.reflection.wrapper.ObjectWrapper;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.PrimitiveTypeHandler;
+import org.apache.ibatis.type.TypeException;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * Sets the parameters of a statement whose parameter mappings do not change between executions, for one parameter
+ * type.
+ * <p>
+ * Everything {@link DefaultParameterHandler} works out per execution is worked out once instead: whether the
+ * parameter object is the value itself, the map key or getter each property is read with, the type handler and the
+ * JDBC type to use for {@code null}. Properties that are nested, indexed or otherwise not plain are still read with a
+ * {@link org.apache.ibatis.reflection.MetaObject}, and additional parameters of the {@link BoundSql} still take
+ * precedence.
+ *
+ * @since 3.5.7
+ */
+public final class ParameterBinder {
+
+  private static final Object[] NO_ARGUMENTS = new Object[0];
+
+  private final List<ParameterMapping> parameterMappings;
+  private final Binding[] bindings;
+
+  private ParameterBinder(List<ParameterMapping> parameterMappings, Binding[] bindings) {
+    this.parameterMappings = parameterMappings;
+    this.bindings = bindings;
+  }
+
+  /**
+   * Compiles a binder for the given parameter mappings and parameter type.
+   *
+   * @param configuration
+   *          the configuration
+   * @param parameterMappings
+   *          the parameter mappings, which must be the same list on every execution
+   * @param parameterType
+   *          the class of the parameter object
+   * @return the binder
+   */
+  public static ParameterBinder compile(Configuration configuration, List<ParameterMapping> parameterMappings,
+      Class<?> parameterType) {
+    List<Binding> bindings = new ArrayList<>(parameterMappings.size());
+    for (int i = 0; i < parameterMappings.size(); i++) {
+      ParameterMapping parameterMapping = parameterMappings.get(i);
+      if (parameterMapping.getMode() != ParameterMode.OUT) {
+        PropertyReader reader = reader(configuration, parameterType, parameterMapping.getProperty());
+        PrimitiveWriter writer = PrimitiveWriters.create(configuration, parameterType, parameterMapping);
+        bindings.add(new Binding(i + 1, parameterMapping, reader, writer, configuration.getJdbcTypeForNull()));
+      }
+    }
+    return new ParameterBinder(parameterMappings, bindings.toArray(new Binding[0]));
+  }
+
+  /**
+   * Returns whether this binder was compiled for the given parameter mappings.
+   *
+   * @param parameterMappings
+   *          the parameter mappings of a {@link BoundSql}
+   * @return true if this binder can set them
+   */
+  public boolean isCompiledFor(List<ParameterMapping> parameterMappings) {
+    return this.parameterMappings == parameterMappings;
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public void bind(PreparedStatement ps, BoundSql boundSql, Object parameterObject) {
+    for (Binding binding : bindings) {
+      Object value;
+      if (boundSql.hasAdditionalParameter(binding.property)) { // issue #448 ask first for additional params
+        value = boundSql.getAdditionalParameter(binding.property);
+      } else if (binding.writer != null) {
+        writePrimitive(ps, binding, parameterObject);
+        continue;
+      } else {
+        value = binding.reader.read(parameterObject);
+      }
+      JdbcType jdbcType = value == null ? binding.jdbcTypeForNull : binding.jdbcType;
+      try {
+        ((TypeHandler) binding.typeHandler).setParameter(ps, binding.index, value, jdbcType);
+      } catch (TypeException | SQLException e) {
+        throw new TypeException("Could not set parameters for mapping: " + binding.parameterMapping + ". Cause: " + e,
+            e);
+      }
+    }
+  }
+
+  private static void writePrimitive(PreparedStatement ps, Binding binding, Object parameterObject) {
+    try {
+      binding.writer.write(ps, binding.index, parameterObject);
+    } catch (TypeException | SQLException e) {
+      throw new TypeException("Could not set parameters for mapping: " + binding.parameterMapping + ". Cause: " + e, e);
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new ReflectionException("Could not get property '" + binding.property + "' from "
+          + parameterObject.getClass() + ".  Cause: " + t.toString(), t);
+    }
+  }
+
+  private static PropertyReader reader(Configuration configuration, Class<?> parameterType, String property) {
+    if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterType)) {
+      return parameterObject -> parameterObject;
+    }
+    boolean plain = property.indexOf('.') < 0 && property.indexOf('[') < 0;
+    if (plain && configuration.getObjectWrapperFactory().getClass() == DefaultObjectWrapperFactory.class
+        && !ObjectWrapper.class.isAssignableFrom(parameterType) && !Collection.class.isAssignableFrom(parameterType)) {
+      if (Map.class.isAssignableFrom(parameterType)) {
+        return parameterObject -> ((Map<?, ?>) parameterObject).get(property);
+      }
+      MetaClass metaClass = MetaClass.forClass(parameterType, configuration.getReflectorFactory());
+      if (metaClass.hasGetter(property)) {
+        return getterReader(metaClass.getGetInvoker(property), property);
+      }
+    }
+    return parameterObject -> configuration.newMetaObject(parameterObject).getValue(property);
+  }
+
+  private static PropertyReader getterReader(Invoker invoker, String property) {
+    return parameterObject -> {
+      try {
+        try {
+          return invoker.invoke(parameterObject, NO_ARGUMENTS);
+        } catch (Throwable t) {
+          throw ExceptionUtil.unwrapThrowable(t);
+        }
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new ReflectionException("Could not get property '" + property + "' from " + parameterObject.getClass()
+            + ".  Cause: " + t.toString(), t);
+      }
+    };
+  }
+
+  /**
+   * Creates writers that read a primitive property through a getter handle, see {@link PrimitiveTypeHandler}.
+   */
+  @UsesJava7
+  private static final class PrimitiveWriters {
+
+    private PrimitiveWriters() {
+    }
+
+    static PrimitiveWriter create(Configuration configuration, Class<?> parameterType,
+        ParameterMapping parameterMapping) {
+      String property = parameterMapping.getProperty();
+      TypeHandler<?> typeHandler = parameterMapping.getTypeHandler();
+      if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterType)
+          || property.indexOf('.') >= 0 || property.indexOf('[') >= 0
+          || configuration.getObjectWrapperFactory().getClass() != DefaultObjectWrapperFactory.class
+          || ObjectWrapper.class.isAssignableFrom(parameterType) || Collection.class.isAssignableFrom(parameterType)
+          || Map.class.isAssignableFrom(parameterType)) {
+        return null;
+      }
+      Reflector reflector = configuration.getReflectorFactory().findForClass(parameterType);
+      if (!reflector.hasGetter(property)) {
+        return null;
+      }
+      Class<?> type = reflector.getGetterType(property);
+      MethodHandle handle = type.isPrimitive() ? reflector.getGetterHandle(property) : null;
+      if (handle == null) {
+        return null;
+      }
+      MethodHandle getter = handle.asType(MethodType.methodType(type, Object.class));
+      if (type == int.class && PrimitiveTypeHandler.isDeclaredBy(typeHandler, PrimitiveTypeHandler.OfInt.class)) {
+        PrimitiveTypeHandler.OfInt handler = (PrimitiveTypeHandler.OfInt) typeHandler;
+        return (ps, index, parameterObject) -> handler.setInt(ps, index, (int) getter.invokeExact(parameterObject));
+      } else if (type == long.class
+          && PrimitiveTypeHandler.isDeclaredBy(typeHandler, PrimitiveTypeHandler.OfLong.class)) {
+        PrimitiveTypeHandler.OfLong handler = (PrimitiveTypeHandler.OfLong) typeHandler;
+        return (ps, index, parameterObject) -> handler.setLong(ps, index,
+            (long) getter.invokeExact(parameterObject));
+      } else if (type == double.class
+          && PrimitiveTypeHandler.isDeclaredBy(typeHandler, PrimitiveTypeHandler.OfDouble.class)) {
+        PrimitiveTypeHandler.OfDouble handler = (PrimitiveTypeHandler.OfDouble) typeHandler;
+        return (ps, index, parameterObject) -> handler.setDouble(ps, index,
+            (double) getter.invokeExact(parameterObject));
+      } else if (type == boolean.class
+          && PrimitiveTypeHandler.isDeclaredBy(typeHandler, PrimitiveTypeHandler.OfBoolean.class)) {
+        PrimitiveTypeHandler.OfBoolean handler = (PrimitiveTypeHandler.OfBoolean) typeHandler;
+        return (ps, index, parameterObject) -> handler.setBoolean(ps, index,
+            (boolean) getter.invokeExact(parameterObject));
+      }
+      return null;
+    }
+  }
+
+  @FunctionalInterface
+  private interface PropertyReader {
+    Object read(Object parameterObject);
+  }
+
+  /**
+   * Reads a primitive property and sets it without boxing, see {@link PrimitiveTypeHandler}.
+   */
+  @FunctionalInterface
+  private interface PrimitiveWriter {
+    void write(PreparedStatement ps, int index, Object parameterObject) throws Throwable;
+  }
+
+  private static final class Binding {
+
+    private final int index;
+    private final ParameterMapping parameterMapping;
+    private final String property;
+    private final PropertyReader reader;
+    private final PrimitiveWriter writer;
+    private final TypeHandler<?> typeHandler;
+    private final JdbcType jdbcType;
+    private final JdbcType jdbcTypeForNull;
+
+    Binding(int index, ParameterMapping parameterMapping, PropertyReader reader, PrimitiveWriter writer,
+        JdbcType defaultJdbcTypeForNull) {
+      this.index = index;
+      this.parameterMapping = parameterMapping;
+      this.property = parameterMapping.getProperty();
+      this.reader = reader;
+      this.writer = writer;
+      this.typeHandler = parameterMapping.getTypeHandler();
+      this.jdbcType = parameterMapping.getJdbcType();
+      this.jdbcTypeForNull = jdbcType == null ? defaultJdbcTypeForNull : jdbcType;
+    }
+  }
+
+}
@@ -16,9 +16,12 @@
 package org.apache.ibatis.scripting.defaults;
 
 import java.util.HashMap;
+import java.util.List;
 
 import org.apache.ibatis.builder.SqlSourceBuilder;
+import org.apache.ibatis.builder.StaticSqlSource;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.SqlSource;
 import org.apache.ibatis.scripting.xmltags.DynamicContext;
 import org.apache.ibatis.scripting.xmltags.DynamicSqlSource;
@@ -57,4 +60,14 @@ public class RawSqlSource implements SqlSource {
     return sqlSource.getBoundSql(parameterObject);
   }
 
+  /**
+   * Returns the parameter mappings shared by every {@link BoundSql} of this source.
+   *
+   * @return the parameter mappings
+   * @since 3.5.7
+   */
+  public List<ParameterMapping> getParameterMappings() {
+    return ((StaticSqlSource) sqlSource).getParameterMappings();
+  }
+
 }
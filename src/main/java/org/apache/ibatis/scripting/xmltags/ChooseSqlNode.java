@@ -16,6 +16,7 @@
 package org.apache.ibatis.scripting.xmltags;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author Clinton Begin
@@ -42,4 +43,12 @@ public class ChooseSqlNode implements SqlNode {
     }
     return false;
   }
+
+  @Override
+  public void visitExpressions(Consumer<String> consumer) {
+    ifSqlNodes.forEach(node -> node.visitExpressions(consumer));
+    if (defaultSqlNode != null) {
+      defaultSqlNode.visitExpressions(consumer);
+    }
+  }
 }
@@ -33,6 +33,16 @@ public class DynamicSqlSource implements SqlSource {
     this.rootSqlNode = rootSqlNode;
   }
 
+  /**
+   * Gets the root of the SQL node tree evaluated for every execution.
+   *
+   * @return the root SQL node
+   * @since 3.5.7
+   */
+  public SqlNode getRootSqlNode() {
+    return rootSqlNode;
+  }
+
   @Override
   public BoundSql getBoundSql(Object parameterObject) {
     DynamicContext context = new DynamicContext(configuration, parameterObject);
@@ -15,7 +15,10 @@
  */
 package org.apache.ibatis.scripting.xmltags;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.apache.ibatis.parsing.GenericTokenParser;
 import org.apache.ibatis.session.Configuration;
@@ -34,9 +37,23 @@ public class ForEachSqlNode implements SqlNode {
   private final String separator;
   private final String item;
   private final String index;
+  private final boolean padded;
   private final Configuration configuration;
 
   public ForEachSqlNode(Configuration configuration, SqlNode contents, String collectionExpression, String index, String item, String open, String close, String separator) {
+    this(configuration, contents, collectionExpression, index, item, open, close, separator, false);
+  }
+
+  /**
+   * Creates a foreach node that can pad the number of iterations.
+   *
+   * @param padded
+   *          whether to repeat the last item until the number of iterations is a power of two, so that collections
+   *          of similar sizes produce the same SQL
+   * @since 3.5.7
+   */
+  public ForEachSqlNode(Configuration configuration, SqlNode contents, String collectionExpression, String index,
+      String item, String open, String close, String separator, boolean padded) {
     this.evaluator = new ExpressionEvaluator();
     this.collectionExpression = collectionExpression;
     this.contents = contents;
@@ -45,6 +62,7 @@ public class ForEachSqlNode implements SqlNode {
     this.separator = separator;
     this.index = index;
     this.item = item;
+    this.padded = padded;
     this.configuration = configuration;
   }
 
@@ -58,7 +76,7 @@ public class ForEachSqlNode implements SqlNode {
     boolean first = true;
     applyOpen(context);
     int i = 0;
-    for (Object o : iterable) {
+    for (Object o : padded ? pad(iterable) : iterable) {
       DynamicContext oldContext = context;
       if (first || separator == null) {
         context = new PrefixedContext(context, "");
@@ -89,6 +107,27 @@ public class ForEachSqlNode implements SqlNode {
     return true;
   }
 
+  @Override
+  public void visitExpressions(Consumer<String> consumer) {
+    consumer.accept(collectionExpression);
+    contents.visitExpressions(consumer);
+  }
+
+  /**
+   * 重复最后一个元素，使迭代次数为2的幂，IN列表的SQL文本因此只随数量级变化
+   */
+  private static List<Object> pad(Iterable<?> iterable) {
+    List<Object> items = new ArrayList<>();
+    iterable.forEach(items::add);
+    int size = items.size();
+    int paddedSize = Integer.highestOneBit(size) == size ? size : Integer.highestOneBit(size) << 1;
+    Object last = items.get(size - 1);
+    for (int i = size; i < paddedSize; i++) {
+      items.add(last);
+    }
+    return items;
+  }
+
   private void applyIndex(DynamicContext context, Object o, int i) {
     if (index != null) {
       context.bind(index, o);
@@ -15,6 +15,8 @@
  */
 package org.apache.ibatis.scripting.xmltags;
 
+import java.util.function.Consumer;
+
 /**
  * @author Clinton Begin
  */
@@ -38,4 +40,10 @@ public class IfSqlNode implements SqlNode {
     return false;
   }
 
+  @Override
+  public void visitExpressions(Consumer<String> consumer) {
+    consumer.accept(test);
+    contents.visitExpressions(consumer);
+  }
+
 }
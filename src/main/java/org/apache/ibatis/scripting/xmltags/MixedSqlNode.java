@@ -16,6 +16,7 @@
 package org.apache.ibatis.scripting.xmltags;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author Clinton Begin
@@ -32,4 +33,9 @@ public class MixedSqlNode implements SqlNode {
     contents.forEach(node -> node.apply(context));
     return true;
   }
+
+  @Override
+  public void visitExpressions(Consumer<String> consumer) {
+    contents.forEach(node -> node.visitExpressions(consumer));
+  }
 }
@@ -49,6 +49,21 @@ public final class OgnlCache {
     }
   }
 
+  /**
+   * Parses an expression ahead of its first evaluation.
+   *
+   * @param expression
+   *          the expression
+   * @since 3.5.7
+   */
+  public static void parse(String expression) {
+    try {
+      parseExpression(expression);
+    } catch (OgnlException e) {
+      throw new BuilderException("Error parsing expression '" + expression + "'. Cause: " + e, e);
+    }
+  }
+
   private static Object parseExpression(String expression) throws OgnlException {
     Object node = expressionCache.get(expression);
     if (node == null) {
@@ -15,9 +15,22 @@
  */
 package org.apache.ibatis.scripting.xmltags;
 
+import java.util.function.Consumer;
+
 /**
  * @author Clinton Begin
  */
 public interface SqlNode {
   boolean apply(DynamicContext context);
+
+  /**
+   * Passes the OGNL expressions evaluated by this node and by its child nodes to the given consumer.
+   *
+   * @param consumer
+   *          the consumer of the expressions
+   * @since 3.5.7
+   */
+  default void visitExpressions(Consumer<String> consumer) {
+    // no expressions
+  }
 }
@@ -15,6 +15,7 @@
  */
 package org.apache.ibatis.scripting.xmltags;
 
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 import org.apache.ibatis.parsing.GenericTokenParser;
@@ -52,6 +53,14 @@ public class TextSqlNode implements SqlNode {
     return true;
   }
 
+  @Override
+  public void visitExpressions(Consumer<String> consumer) {
+    createParser(content -> {
+      consumer.accept(content);
+      return null;
+    }).parse(text);
+  }
+
   private GenericTokenParser createParser(TokenHandler handler) {
     return new GenericTokenParser("${", "}", handler);
   }
@@ -18,6 +18,7 @@ package org.apache.ibatis.scripting.xmltags;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.Locale;
 import java.util.Map;
 import java.util.StringTokenizer;
@@ -57,6 +58,11 @@ public class TrimSqlNode implements SqlNode {
     return result;
   }
 
+  @Override
+  public void visitExpressions(Consumer<String> consumer) {
+    contents.visitExpressions(consumer);
+  }
+
   private static List<String> parseOverrides(String overrides) {
     if (overrides != null) {
       final StringTokenizer parser = new StringTokenizer(overrides, "|", false);
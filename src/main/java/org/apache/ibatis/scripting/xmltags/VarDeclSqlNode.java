@@ -15,6 +15,8 @@
  */
 package org.apache.ibatis.scripting.xmltags;
 
+import java.util.function.Consumer;
+
 /**
  * @author Frank D. Martinez [mnesarco]
  */
@@ -35,4 +37,9 @@ public class VarDeclSqlNode implements SqlNode {
     return true;
   }
 
+  @Override
+  public void visitExpressions(Consumer<String> consumer) {
+    consumer.accept(expression);
+  }
+
 }
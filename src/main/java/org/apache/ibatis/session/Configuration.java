@@ -15,23 +15,38 @@
  */
 package org.apache.ibatis.session;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiFunction;
 
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
 import org.apache.ibatis.binding.MapperRegistry;
+import org.apache.ibatis.builder.BuilderException;
 import org.apache.ibatis.builder.CacheRefResolver;
 import org.apache.ibatis.builder.IncompleteElementException;
 import org.apache.ibatis.builder.ResultMapResolver;
 import org.apache.ibatis.builder.annotation.MethodResolver;
+import org.apache.ibatis.builder.xml.DocumentSnapshot;
 import org.apache.ibatis.builder.xml.XMLStatementBuilder;
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.decorators.FifoCache;
@@ -42,11 +57,19 @@ import org.apache.ibatis.cache.impl.PerpetualCache;
 import org.apache.ibatis.datasource.jndi.JndiDataSourceFactory;
 import org.apache.ibatis.datasource.pooled.PooledDataSourceFactory;
 import org.apache.ibatis.datasource.unpooled.UnpooledDataSourceFactory;
+import org.apache.ibatis.executor.BaseExecutor;
 import org.apache.ibatis.executor.BatchExecutor;
 import org.apache.ibatis.executor.CachingExecutor;
 import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.QueryCoalescer;
 import org.apache.ibatis.executor.ReuseExecutor;
 import org.apache.ibatis.executor.SimpleExecutor;
+import org.apache.ibatis.executor.dialect.Dialect;
+import org.apache.ibatis.executor.dialect.DialectRegistry;
+import org.apache.ibatis.executor.dialect.LimitOffsetDialect;
+import org.apache.ibatis.executor.dialect.OffsetFetchDialect;
+import org.apache.ibatis.executor.dialect.Pagination;
+import org.apache.ibatis.executor.dialect.RownumDialect;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.loader.ProxyFactory;
 import org.apache.ibatis.executor.loader.cglib.CglibProxyFactory;
@@ -74,6 +97,7 @@ import org.apache.ibatis.mapping.ResultMap;
 import org.apache.ibatis.mapping.ResultSetType;
 import org.apache.ibatis.mapping.VendorDatabaseIdProvider;
 import org.apache.ibatis.parsing.XNode;
+import org.apache.ibatis.parsing.XPathParser;
 import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.plugin.InterceptorChain;
 import org.apache.ibatis.reflection.DefaultReflectorFactory;
@@ -94,12 +118,17 @@ import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.TypeAliasRegistry;
 import org.apache.ibatis.type.TypeHandler;
 import org.apache.ibatis.type.TypeHandlerRegistry;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 
 /**
  * @author Clinton Begin
  */
 public class Configuration {
 
+  private static final String SQL_FRAGMENTS_ELEMENT = "sqlFragments";
+
   protected Environment environment;
 
   protected boolean safeRowBoundsEnabled;
@@ -114,6 +143,13 @@ public class Configuration {
   protected boolean useActualParamName = true;
   protected boolean returnInstanceForEmptyRow;
   protected boolean shrinkWhitespacesInSql;
+  protected boolean queryCoalescingEnabled;
+  protected boolean physicalPaginationEnabled;
+  protected boolean parallelMapperParsingEnabled;
+  protected boolean discardSqlFragments;
+  protected boolean lazyStatementBuildingEnabled;
+  protected boolean freezeConfiguration;
+  protected volatile boolean frozen;
 
   protected String logPrefix;
   protected Class<? extends Log> logImpl;
@@ -139,6 +175,9 @@ public class Configuration {
 
   protected boolean lazyLoadingEnabled = false;
   protected ProxyFactory proxyFactory = new JavassistProxyFactory(); // #224 Using internal Javassist instead of OGNL
+  protected Dialect dialect;
+  protected ExecutorService partitionExecutorService;
+  protected DocumentSnapshot documentSnapshot;
 
   protected String databaseId;
   /**
@@ -154,6 +193,8 @@ public class Configuration {
   protected final TypeHandlerRegistry typeHandlerRegistry = new TypeHandlerRegistry(this);
   protected final TypeAliasRegistry typeAliasRegistry = new TypeAliasRegistry();
   protected final LanguageDriverRegistry languageRegistry = new LanguageDriverRegistry();
+  protected final QueryCoalescer queryCoalescer = new QueryCoalescer();
+  protected final DialectRegistry dialectRegistry = new DialectRegistry();
 
   protected final Map<String, MappedStatement> mappedStatements = new StrictMap<MappedStatement>("Mapped Statements collection")
       .conflictMessageProducer((savedValue, targetValue) ->
@@ -162,11 +203,24 @@ public class Configuration {
   protected final Map<String, ResultMap> resultMaps = new StrictMap<>("Result Maps collection");
   protected final Map<String, ParameterMap> parameterMaps = new StrictMap<>("Parameter Maps collection");
   protected final Map<String, KeyGenerator> keyGenerators = new StrictMap<>("Key Generators collection");
+  protected final Map<String, MappedStatement> countStatements = new ConcurrentHashMap<>();
 
   protected final Set<String> loadedResources = new HashSet<>();
   protected final Map<String, XNode> sqlFragments = new StrictMap<>("XML fragments parsed from previous mappers");
 
   protected final Collection<XMLStatementBuilder> incompleteStatements = new LinkedList<>();
+  /*
+   * Statements waiting to be built on first use, by statement name without namespace and then by full id. The
+   * builder lists are only accessed while holding lazyStatementLock. A statement is removed from here once it has been
+   * built, so lookups of ids that are not waiting read the registries, which are concurrent maps, without locking.
+   */
+  protected final Map<String, Map<String, List<XMLStatementBuilder>>> lazyStatements = new ConcurrentHashMap<>();
+  protected final Lock lazyStatementLock = new ReentrantLock();
+  /*
+   * Lazily built statements that could not be completed, moved to incompleteStatements by buildAllStatements. They are
+   * kept apart because lazy builds must not wait for the lock of incompleteStatements.
+   */
+  protected final Queue<XMLStatementBuilder> lazyIncompleteStatements = new ConcurrentLinkedQueue<>();
   protected final Collection<CacheRefResolver> incompleteCacheRefs = new LinkedList<>();
   protected final Collection<ResultMapResolver> incompleteResultMaps = new LinkedList<>();
   protected final Collection<MethodResolver> incompleteMethods = new LinkedList<>();
@@ -213,6 +267,10 @@ public class Configuration {
     typeAliasRegistry.registerAlias("CGLIB", CglibProxyFactory.class);
     typeAliasRegistry.registerAlias("JAVASSIST", JavassistProxyFactory.class);
 
+    typeAliasRegistry.registerAlias("LIMIT_OFFSET", LimitOffsetDialect.class);
+    typeAliasRegistry.registerAlias("OFFSET_FETCH", OffsetFetchDialect.class);
+    typeAliasRegistry.registerAlias("ROWNUM", RownumDialect.class);
+
     languageRegistry.setDefaultDriverClass(XMLLanguageDriver.class);
     languageRegistry.register(RawLanguageDriver.class);
   }
@@ -300,6 +358,272 @@ public class Configuration {
     this.shrinkWhitespacesInSql = shrinkWhitespacesInSql;
   }
 
+  /**
+   * Gets whether concurrent identical queries share one in-flight execution.
+   *
+   * @return true if query coalescing is enabled
+   * @since 3.5.7
+   */
+  public boolean isQueryCoalescingEnabled() {
+    return queryCoalescingEnabled;
+  }
+
+  /**
+   * Sets whether concurrent identical queries share one in-flight execution.
+   *
+   * @param queryCoalescingEnabled
+   *          true to let concurrent identical select statements wait for and reuse a running execution
+   * @since 3.5.7
+   * @see QueryCoalescer
+   */
+  public void setQueryCoalescingEnabled(boolean queryCoalescingEnabled) {
+    this.queryCoalescingEnabled = queryCoalescingEnabled;
+  }
+
+  /**
+   * Gets the registry of in-flight queries shared by all executors of this configuration.
+   *
+   * @return the query coalescer
+   * @since 3.5.7
+   */
+  public QueryCoalescer getQueryCoalescer() {
+    return queryCoalescer;
+  }
+
+  /**
+   * Gets the executor service running the sub-queries of partitioned selects.
+   *
+   * @return the executor service, or {@code null} for a shared pool of
+   *         {@value org.apache.ibatis.executor.PartitionedQuery#DEFAULT_PARTITIONS} daemon threads
+   * @since 3.5.7
+   * @see org.apache.ibatis.mapping.MappedStatement#getPartitionColumn()
+   */
+  public ExecutorService getPartitionExecutorService() {
+    return partitionExecutorService;
+  }
+
+  /**
+   * Sets the executor service running the sub-queries of partitioned selects. Each sub-query holds a connection of
+   * the environment's data source while it runs, so the service should not run more tasks at once than the data
+   * source can serve.
+   *
+   * @param partitionExecutorService
+   *          the executor service
+   * @since 3.5.7
+   */
+  public void setPartitionExecutorService(ExecutorService partitionExecutorService) {
+    this.partitionExecutorService = partitionExecutorService;
+  }
+
+  /**
+   * Gets whether row bounds of select statements are applied by the database through the {@link Dialect}.
+   *
+   * @return true if physical pagination is enabled
+   * @since 3.5.7
+   */
+  public boolean isPhysicalPaginationEnabled() {
+    return physicalPaginationEnabled;
+  }
+
+  /**
+   * Sets whether row bounds of select statements are applied by the database through the {@link Dialect}.
+   * Statements for which no dialect can be resolved keep skipping rows on the client side.
+   *
+   * @param physicalPaginationEnabled
+   *          true to rewrite selects executed with row bounds
+   * @since 3.5.7
+   */
+  public void setPhysicalPaginationEnabled(boolean physicalPaginationEnabled) {
+    this.physicalPaginationEnabled = physicalPaginationEnabled;
+  }
+
+  /**
+   * Gets whether mapper XML documents are parsed concurrently while the configuration is built.
+   *
+   * @return true if mapper documents are parsed in parallel
+   * @since 3.5.7
+   */
+  public boolean isParallelMapperParsingEnabled() {
+    return parallelMapperParsingEnabled;
+  }
+
+  /**
+   * Sets whether mapper XML documents are parsed concurrently while the configuration is built. Only the XML parsing
+   * runs concurrently; the documents and mapper annotations are still applied to the configuration one by one, in the
+   * order they are declared.
+   *
+   * @param parallelMapperParsingEnabled
+   *          true to parse mapper documents in parallel
+   * @since 3.5.7
+   */
+  public void setParallelMapperParsingEnabled(boolean parallelMapperParsingEnabled) {
+    this.parallelMapperParsingEnabled = parallelMapperParsingEnabled;
+  }
+
+  /**
+   * Gets whether mapped statements declared in mapper XML are built on first use instead of while the mapper is parsed.
+   *
+   * @return true if statements are built lazily
+   * @since 3.5.7
+   */
+  public boolean isLazyStatementBuildingEnabled() {
+    return lazyStatementBuildingEnabled;
+  }
+
+  /**
+   * Sets whether mapped statements declared in mapper XML are built on first use instead of while the mapper is parsed.
+   * Errors in a statement are then only reported when it is first used, and the mapper documents stay in memory until
+   * all of their statements have been built.
+   *
+   * @param lazyStatementBuildingEnabled
+   *          true to build statements lazily
+   * @since 3.5.7
+   */
+  public void setLazyStatementBuildingEnabled(boolean lazyStatementBuildingEnabled) {
+    this.lazyStatementBuildingEnabled = lazyStatementBuildingEnabled;
+  }
+
+  /**
+   * Gets whether {@link SqlSessionFactoryBuilder#build(Configuration)} freezes the configuration.
+   *
+   * @return true if the configuration is frozen when the session factory is built
+   * @since 3.5.7
+   */
+  public boolean isFreezeConfiguration() {
+    return freezeConfiguration;
+  }
+
+  /**
+   * Sets whether {@link SqlSessionFactoryBuilder#build(Configuration)} freezes the configuration.
+   *
+   * @param freezeConfiguration
+   *          true to freeze the configuration when the session factory is built
+   * @since 3.5.7
+   * @see #freeze()
+   */
+  public void setFreezeConfiguration(boolean freezeConfiguration) {
+    this.freezeConfiguration = freezeConfiguration;
+  }
+
+  /**
+   * Gets whether SQL fragments are discarded when the configuration is compacted.
+   *
+   * @return true if SQL fragments are discarded
+   * @since 3.5.7
+   * @see #compact()
+   */
+  public boolean isDiscardSqlFragments() {
+    return discardSqlFragments;
+  }
+
+  /**
+   * Sets whether SQL fragments are discarded when the configuration is compacted. Mapper documents that are added after
+   * that can no longer include fragments declared by the documents added before.
+   *
+   * @param discardSqlFragments
+   *          true to discard SQL fragments
+   * @since 3.5.7
+   * @see #compact()
+   */
+  public void setDiscardSqlFragments(boolean discardSqlFragments) {
+    this.discardSqlFragments = discardSqlFragments;
+  }
+
+  /**
+   * Gets the snapshot that mapper documents are restored from and recorded in while the configuration is built.
+   *
+   * @return the snapshot, or {@code null} when documents are always parsed
+   * @since 3.5.7
+   */
+  public DocumentSnapshot getDocumentSnapshot() {
+    return documentSnapshot;
+  }
+
+  /**
+   * Sets the snapshot that mapper documents are restored from and recorded in while the configuration is built.
+   *
+   * @param documentSnapshot
+   *          the snapshot
+   * @since 3.5.7
+   */
+  public void setDocumentSnapshot(DocumentSnapshot documentSnapshot) {
+    this.documentSnapshot = documentSnapshot;
+  }
+
+  /**
+   * Gets the dialect of the database. When no dialect has been set, the dialect registered for the current database
+   * id is returned.
+   *
+   * @return the dialect, or {@code null} if none applies
+   * @since 3.5.7
+   */
+  public Dialect getDialect() {
+    if (dialect != null) {
+      return dialect;
+    }
+    return dialectRegistry.getDialect(databaseId);
+  }
+
+  /**
+   * Sets the dialect of the database, overriding the one registered for the database id.
+   *
+   * @param dialect
+   *          the dialect
+   * @since 3.5.7
+   */
+  public void setDialect(Dialect dialect) {
+    this.dialect = dialect;
+  }
+
+  /**
+   * Gets the dialect registry.
+   *
+   * @return the dialect registry
+   * @since 3.5.7
+   */
+  public DialectRegistry getDialectRegistry() {
+    return dialectRegistry;
+  }
+
+  /**
+   * Gets the dialect that should apply the row bounds of a statement.
+   *
+   * @param ms
+   *          the mapped statement
+   * @param boundSql
+   *          the bound sql of the select
+   * @param rowBounds
+   *          the row bounds
+   * @return the dialect, or {@code null} if the row bounds must be applied on the client side
+   * @since 3.5.7
+   * @see KeysetRowBounds
+   */
+  public Dialect getPagingDialect(MappedStatement ms, BoundSql boundSql, RowBounds rowBounds) {
+    // keyset pages are always limited in SQL when a dialect is known, their cost should not depend on the setting
+    boolean enabled = physicalPaginationEnabled || rowBounds instanceof KeysetRowBounds;
+    if (!enabled || !Pagination.isPageable(ms, boundSql, rowBounds)) {
+      return null;
+    }
+    Dialect pagingDialect = getDialect();
+    return pagingDialect != null && pagingDialect.isPageable(boundSql.getSql()) ? pagingDialect : null;
+  }
+
+  /**
+   * Gets the statement counting the rows of a select.
+   *
+   * @param ms
+   *          the select statement
+   * @return the count statement, or {@code null} if no dialect applies
+   * @since 3.5.7
+   */
+  public MappedStatement getCountStatement(MappedStatement ms) {
+    Dialect pagingDialect = getDialect();
+    if (pagingDialect == null) {
+      return null;
+    }
+    return countStatements.computeIfAbsent(ms.getId(), k -> Pagination.newCountStatement(pagingDialect, ms));
+  }
+
   public String getDatabaseId() {
     return databaseId;
   }
@@ -341,6 +665,7 @@ public class Configuration {
   }
 
   public void addLoadedResource(String resource) {
+    checkNotFrozen("load " + resource);
     loadedResources.add(resource);
   }
 
@@ -668,16 +993,34 @@ public class Configuration {
   }
 
   public Executor newExecutor(Transaction transaction, ExecutorType executorType) {
+    return newExecutor(transaction, executorType, null);
+  }
+
+  /**
+   * Creates an executor for a transaction of an environment other than the one of this configuration.
+   *
+   * @param transaction
+   *          the transaction
+   * @param executorType
+   *          the executor type
+   * @param environment
+   *          the environment of the transaction, or {@code null} for the environment of this configuration
+   * @return the executor
+   * @since 3.5.7
+   */
+  public Executor newExecutor(Transaction transaction, ExecutorType executorType, Environment environment) {
     executorType = executorType == null ? defaultExecutorType : executorType;
     executorType = executorType == null ? ExecutorType.SIMPLE : executorType;
-    Executor executor;
+    BaseExecutor baseExecutor;
     if (ExecutorType.BATCH == executorType) {
-      executor = new BatchExecutor(this, transaction);
+      baseExecutor = new BatchExecutor(this, transaction);
     } else if (ExecutorType.REUSE == executorType) {
-      executor = new ReuseExecutor(this, transaction);
+      baseExecutor = new ReuseExecutor(this, transaction);
     } else {
-      executor = new SimpleExecutor(this, transaction);
+      baseExecutor = new SimpleExecutor(this, transaction);
     }
+    baseExecutor.setEnvironment(environment);
+    Executor executor = baseExecutor;
     if (cacheEnabled) {
       executor = new CachingExecutor(executor);
     }
@@ -686,15 +1029,16 @@ public class Configuration {
   }
 
   public void addKeyGenerator(String id, KeyGenerator keyGenerator) {
+    checkNotFrozen("add key generator " + id);
     keyGenerators.put(id, keyGenerator);
   }
 
   public Collection<String> getKeyGeneratorNames() {
-    return keyGenerators.keySet();
+    return frozen ? Collections.unmodifiableCollection(keyGenerators.keySet()) : keyGenerators.keySet();
   }
 
   public Collection<KeyGenerator> getKeyGenerators() {
-    return keyGenerators.values();
+    return frozen ? Collections.unmodifiableCollection(keyGenerators.values()) : keyGenerators.values();
   }
 
   public KeyGenerator getKeyGenerator(String id) {
@@ -706,15 +1050,16 @@ public class Configuration {
   }
 
   public void addCache(Cache cache) {
+    checkNotFrozen("add cache " + cache.getId());
     caches.put(cache.getId(), cache);
   }
 
   public Collection<String> getCacheNames() {
-    return caches.keySet();
+    return frozen ? Collections.unmodifiableCollection(caches.keySet()) : caches.keySet();
   }
 
   public Collection<Cache> getCaches() {
-    return caches.values();
+    return frozen ? Collections.unmodifiableCollection(caches.values()) : caches.values();
   }
 
   public Cache getCache(String id) {
@@ -726,17 +1071,18 @@ public class Configuration {
   }
 
   public void addResultMap(ResultMap rm) {
+    checkNotFrozen("add result map " + rm.getId());
     resultMaps.put(rm.getId(), rm);
     checkLocallyForDiscriminatedNestedResultMaps(rm);
     checkGloballyForDiscriminatedNestedResultMaps(rm);
   }
 
   public Collection<String> getResultMapNames() {
-    return resultMaps.keySet();
+    return frozen ? Collections.unmodifiableCollection(resultMaps.keySet()) : resultMaps.keySet();
   }
 
   public Collection<ResultMap> getResultMaps() {
-    return resultMaps.values();
+    return frozen ? Collections.unmodifiableCollection(resultMaps.values()) : resultMaps.values();
   }
 
   public ResultMap getResultMap(String id) {
@@ -748,15 +1094,16 @@ public class Configuration {
   }
 
   public void addParameterMap(ParameterMap pm) {
+    checkNotFrozen("add parameter map " + pm.getId());
     parameterMaps.put(pm.getId(), pm);
   }
 
   public Collection<String> getParameterMapNames() {
-    return parameterMaps.keySet();
+    return frozen ? Collections.unmodifiableCollection(parameterMaps.keySet()) : parameterMaps.keySet();
   }
 
   public Collection<ParameterMap> getParameterMaps() {
-    return parameterMaps.values();
+    return frozen ? Collections.unmodifiableCollection(parameterMaps.values()) : parameterMaps.values();
   }
 
   public ParameterMap getParameterMap(String id) {
@@ -768,49 +1115,163 @@ public class Configuration {
   }
 
   public void addMappedStatement(MappedStatement ms) {
-    mappedStatements.put(ms.getId(), ms);
+    checkNotFrozen("add mapped statement " + ms.getId());
+    if (lazyStatements.isEmpty()) {
+      mappedStatements.put(ms.getId(), ms);
+      return;
+    }
+    lazyStatementLock.lock();
+    try {
+      // a lazy statement with the same id is built first, so the duplicate is reported just as without lazy building
+      buildLazyStatements(ms.getId());
+      mappedStatements.put(ms.getId(), ms);
+    } finally {
+      lazyStatementLock.unlock();
+    }
   }
 
   public Collection<String> getMappedStatementNames() {
-    buildAllStatements();
-    return mappedStatements.keySet();
+    if (!frozen) {
+      buildAllLazyStatements();
+      buildAllStatements();
+      return mappedStatements.keySet();
+    }
+    return Collections.unmodifiableCollection(mappedStatements.keySet());
   }
 
   public Collection<MappedStatement> getMappedStatements() {
-    buildAllStatements();
-    return mappedStatements.values();
+    if (!frozen) {
+      buildAllLazyStatements();
+      buildAllStatements();
+      return mappedStatements.values();
+    }
+    return Collections.unmodifiableCollection(mappedStatements.values());
+  }
+
+  /**
+   * Registers a statement to be built when it is first looked up.
+   *
+   * @param id
+   *          the statement id including the namespace
+   * @param statementBuilder
+   *          the builder of the statement
+   * @since 3.5.7
+   * @see #isLazyStatementBuildingEnabled()
+   */
+  public void addLazyStatement(String id, XMLStatementBuilder statementBuilder) {
+    checkNotFrozen("add mapped statement " + id);
+    lazyStatementLock.lock();
+    try {
+      lazyStatements.computeIfAbsent(StrictMap.getShortName(id), k -> new ConcurrentHashMap<>())
+          .computeIfAbsent(id, k -> new ArrayList<>()).add(statementBuilder);
+    } finally {
+      lazyStatementLock.unlock();
+    }
+  }
+
+  /**
+   * Builds the lazy statements that can be looked up with the given id, which may omit the namespace. The lock is only
+   * taken if such a statement is waiting; statements are removed from the waiting ones after they have been built, so
+   * a lookup that finds none waiting also finds the built statement.
+   */
+  protected void buildLazyStatements(String id) {
+    if (id == null || lazyStatements.isEmpty()) {
+      return;
+    }
+    String shortName = StrictMap.getShortName(id);
+    Map<String, List<XMLStatementBuilder>> pending = lazyStatements.get(shortName);
+    if (pending == null || !shortName.equals(id) && !pending.containsKey(id)) {
+      return;
+    }
+    lazyStatementLock.lock();
+    try {
+      Map<String, List<XMLStatementBuilder>> candidates = lazyStatements.get(shortName);
+      if (candidates == null) {
+        return;
+      }
+      // a short name is ambiguous if it is declared in several namespaces, so all of them have to be built
+      List<String> ids = shortName.equals(id) ? new ArrayList<>(candidates.keySet()) : Collections.singletonList(id);
+      try {
+        for (String candidate : ids) {
+          // stays waiting while it is built, so other threads wait for the build instead of missing the statement
+          List<XMLStatementBuilder> statementBuilders = candidates.replace(candidate, Collections.emptyList());
+          if (statementBuilders != null) {
+            try {
+              for (XMLStatementBuilder statementBuilder : statementBuilders) {
+                buildLazyStatement(statementBuilder);
+              }
+            } finally {
+              candidates.remove(candidate);
+            }
+          }
+        }
+      } finally {
+        if (candidates.isEmpty()) {
+          lazyStatements.remove(shortName);
+        }
+      }
+    } finally {
+      lazyStatementLock.unlock();
+    }
+  }
+
+  protected void buildAllLazyStatements() {
+    if (lazyStatements.isEmpty()) {
+      return;
+    }
+    lazyStatementLock.lock();
+    try {
+      for (String shortName : new ArrayList<>(lazyStatements.keySet())) {
+        buildLazyStatements(shortName);
+      }
+    } finally {
+      lazyStatementLock.unlock();
+    }
+  }
+
+  private void buildLazyStatement(XMLStatementBuilder statementBuilder) {
+    try {
+      statementBuilder.parseStatementNode();
+    } catch (IncompleteElementException e) {
+      // reported by buildAllStatements, just as when the statement is built with its mapper
+      lazyIncompleteStatements.add(statementBuilder);
+    }
   }
 
   public Collection<XMLStatementBuilder> getIncompleteStatements() {
-    return incompleteStatements;
+    return frozen ? Collections.unmodifiableCollection(incompleteStatements) : incompleteStatements;
   }
 
   public void addIncompleteStatement(XMLStatementBuilder incompleteStatement) {
+    checkNotFrozen("add incomplete statement");
     incompleteStatements.add(incompleteStatement);
   }
 
   public Collection<CacheRefResolver> getIncompleteCacheRefs() {
-    return incompleteCacheRefs;
+    return frozen ? Collections.unmodifiableCollection(incompleteCacheRefs) : incompleteCacheRefs;
   }
 
   public void addIncompleteCacheRef(CacheRefResolver incompleteCacheRef) {
+    checkNotFrozen("add incomplete cache ref");
     incompleteCacheRefs.add(incompleteCacheRef);
   }
 
   public Collection<ResultMapResolver> getIncompleteResultMaps() {
-    return incompleteResultMaps;
+    return frozen ? Collections.unmodifiableCollection(incompleteResultMaps) : incompleteResultMaps;
   }
 
   public void addIncompleteResultMap(ResultMapResolver resultMapResolver) {
+    checkNotFrozen("add incomplete result map");
     incompleteResultMaps.add(resultMapResolver);
   }
 
   public void addIncompleteMethod(MethodResolver builder) {
+    checkNotFrozen("add incomplete method");
     incompleteMethods.add(builder);
   }
 
   public Collection<MethodResolver> getIncompleteMethods() {
-    return incompleteMethods;
+    return frozen ? Collections.unmodifiableCollection(incompleteMethods) : incompleteMethods;
   }
 
   public MappedStatement getMappedStatement(String id) {
@@ -818,29 +1279,148 @@ public class Configuration {
   }
 
   public MappedStatement getMappedStatement(String id, boolean validateIncompleteStatements) {
-    if (validateIncompleteStatements) {
-      buildAllStatements();
+    if (!frozen) {
+      buildLazyStatements(id);
+      if (validateIncompleteStatements) {
+        buildAllStatements();
+      }
     }
     return mappedStatements.get(id);
   }
 
   public Map<String, XNode> getSqlFragments() {
-    return sqlFragments;
+    return frozen ? Collections.unmodifiableMap(sqlFragments) : sqlFragments;
+  }
+
+  /**
+   * Completes the configuration and rejects any further change to it. All pending and lazily built statements, result
+   * maps, cache refs and methods are built, the configuration is {@link #compact() compacted}, and the type handler and
+   * type alias registries are frozen as well.
+   * <p>
+   * Afterwards, adding mappers, statements, result maps, parameter maps, caches, key generators, interceptors, type
+   * handlers or type aliases fails with an {@link IllegalStateException} or a {@link org.apache.ibatis.type.TypeException}, the
+   * collections and maps returned by the getters of the registered elements are unmodifiable, and statement lookups no
+   * longer check for pending elements nor take any lock. Settings remain plain properties and are not
+   * guarded. This is called by {@link SqlSessionFactoryBuilder#build(Configuration)} when
+   * {@link #isFreezeConfiguration()} is set; calling it again has no effect.
+   *
+   * @throws IncompleteElementException
+   *           if an element cannot be resolved
+   * @since 3.5.7
+   */
+  public void freeze() {
+    if (frozen) {
+      return;
+    }
+    buildAllLazyStatements();
+    buildAllStatements();
+    compact();
+    typeHandlerRegistry.freeze();
+    typeAliasRegistry.freeze();
+    frozen = true;
+  }
+
+  /**
+   * Gets whether the configuration has been frozen.
+   *
+   * @return true if the configuration no longer accepts changes
+   * @since 3.5.7
+   * @see #freeze()
+   */
+  public boolean isFrozen() {
+    return frozen;
+  }
+
+  private void checkNotFrozen(String change) {
+    if (frozen) {
+      throw new IllegalStateException("Cannot " + change + ", the configuration has been frozen.");
+    }
+  }
+
+  /**
+   * Releases the mapper documents retained once all mappers have been added. SQL fragments keep a reference to the
+   * document they were declared in, so they are copied into a single document holding nothing but the fragments, or
+   * dropped when {@link #isDiscardSqlFragments()} is set and no statement is waiting for a fragment to be included.
+   * Statements that are built lazily keep their mapper documents until they are built.
+   * This is called by {@link SqlSessionFactoryBuilder#build(Configuration)}; calling it again has no effect unless
+   * mapper documents were added since.
+   *
+   * @since 3.5.7
+   */
+  public void compact() {
+    if (frozen) {
+      return;
+    }
+    if (discardSqlFragments && incompleteStatements.isEmpty() && lazyStatements.isEmpty()
+        && lazyIncompleteStatements.isEmpty()) {
+      sqlFragments.clear();
+      return;
+    }
+    // short names point to the same nodes as the full ids, ambiguous short names to a marker
+    @SuppressWarnings("unchecked")
+    Map<String, Object> fragments = (Map<String, Object>) (Map<String, ?>) sqlFragments;
+    Map<XNode, XNode> detached = new IdentityHashMap<>();
+    Map<String, XNode> replacements = new HashMap<>();
+    XPathParser parser = null;
+    Element root = null;
+    for (Map.Entry<String, Object> entry : fragments.entrySet()) {
+      if (!(entry.getValue() instanceof XNode)) {
+        continue;
+      }
+      XNode fragment = (XNode) entry.getValue();
+      Document owner = fragment.getNode().getOwnerDocument();
+      if (root == null && SQL_FRAGMENTS_ELEMENT.equals(owner.getDocumentElement().getNodeName())) {
+        // compacted before, keep adding to the same document
+        root = owner.getDocumentElement();
+        parser = new XPathParser(owner, false, variables);
+      }
+      if (root != null && owner == root.getOwnerDocument()) {
+        continue;
+      }
+      if (root == null) {
+        Document document = newDocument();
+        root = document.createElement(SQL_FRAGMENTS_ELEMENT);
+        document.appendChild(root);
+        parser = new XPathParser(document, false, variables);
+      }
+      XNode copy = detached.get(fragment);
+      if (copy == null) {
+        Node node = root.appendChild(root.getOwnerDocument().importNode(fragment.getNode(), true));
+        copy = new XNode(parser, node, variables);
+        detached.put(fragment, copy);
+      }
+      replacements.put(entry.getKey(), copy);
+    }
+    replacements.forEach(sqlFragments::replace);
+  }
+
+  private Document newDocument() {
+    try {
+      DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+      factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+      return factory.newDocumentBuilder().newDocument();
+    } catch (ParserConfigurationException e) {
+      throw new BuilderException("Error creating the document for SQL fragments. Cause: " + e, e);
+    }
   }
 
   public void addInterceptor(Interceptor interceptor) {
+    checkNotFrozen("add interceptor");
     interceptorChain.addInterceptor(interceptor);
   }
 
   public void addMappers(String packageName, Class<?> superType) {
+    checkNotFrozen("add mappers of package " + packageName);
     mapperRegistry.addMappers(packageName, superType);
   }
 
   public void addMappers(String packageName) {
+    checkNotFrozen("add mappers of package " + packageName);
     mapperRegistry.addMappers(packageName);
   }
 
   public <T> void addMapper(Class<T> type) {
+    checkNotFrozen("add mapper " + type.getName());
     mapperRegistry.addMapper(type);
   }
 
@@ -857,13 +1437,17 @@ public class Configuration {
   }
 
   public boolean hasStatement(String statementName, boolean validateIncompleteStatements) {
-    if (validateIncompleteStatements) {
-      buildAllStatements();
+    if (!frozen) {
+      buildLazyStatements(statementName);
+      if (validateIncompleteStatements) {
+        buildAllStatements();
+      }
     }
     return mappedStatements.containsKey(statementName);
   }
 
   public void addCacheRef(String namespace, String referencedNamespace) {
+    checkNotFrozen("add cache ref " + namespace);
     cacheRefMap.put(namespace, referencedNamespace);
   }
 
@@ -879,6 +1463,13 @@ public class Configuration {
         incompleteCacheRefs.removeIf(x -> x.resolveCacheRef() != null);
       }
     }
+    if (!lazyIncompleteStatements.isEmpty()) {
+      synchronized (incompleteStatements) {
+        for (XMLStatementBuilder statementBuilder; (statementBuilder = lazyIncompleteStatements.poll()) != null;) {
+          incompleteStatements.add(statementBuilder);
+        }
+      }
+    }
     if (!incompleteStatements.isEmpty()) {
       synchronized (incompleteStatements) {
         incompleteStatements.removeIf(x -> {
@@ -970,7 +1561,7 @@ public class Configuration {
     }
   }
 
-  protected static class StrictMap<V> extends HashMap<String, V> {
+  protected static class StrictMap<V> extends ConcurrentHashMap<String, V> {
 
     private static final long serialVersionUID = -4950446264854982944L;
     private final String name;
@@ -1009,6 +1600,12 @@ public class Configuration {
       return this;
     }
 
+    @Override
+    public boolean containsKey(Object key) {
+      // ConcurrentHashMap implements containsKey with get, which throws for missing keys here
+      return key != null && super.get(key) != null;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public V put(String key, V value) {
@@ -1029,7 +1626,7 @@ public class Configuration {
 
     @Override
     public V get(Object key) {
-      V value = super.get(key);
+      V value = key == null ? null : super.get(key);
       if (value == null) {
         throw new IllegalArgumentException(name + " does not contain value for " + key);
       }
@@ -1052,7 +1649,7 @@ public class Configuration {
       }
     }
 
-    private String getShortName(String key) {
+    private static String getShortName(String key) {
       final String[] keyParts = key.split("\\.");
       return keyParts[keyParts.length - 1];
     }
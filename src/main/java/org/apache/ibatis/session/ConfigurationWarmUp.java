@@ -0,0 +1,265 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.apache.ibatis.executor.loader.ResultLoaderMap;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMap;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.scripting.xmltags.DynamicSqlSource;
+import org.apache.ibatis.scripting.xmltags.OgnlCache;
+import org.apache.ibatis.type.SimpleTypeRegistry;
+
+/**
+ * Initializes ahead of the first request what MyBatis otherwise builds on first use: lazily built statements, the
+ * reflectors of parameter and result types, the parsed OGNL expressions of dynamic SQL, the resolved mapper methods,
+ * the type handler lookups of parameter and result types and the lazy loading proxy classes.
+ * <p>
+ * Reflectors, expressions and mapper methods can be prepared in parallel; type handler lookups and proxy classes are
+ * always prepared by the calling thread. Anything that fails is reported instead of thrown, it will fail the same way
+ * when it is first used.
+ *
+ * <pre>
+ * Report report = new ConfigurationWarmUp(sqlSessionFactory.getConfiguration()).parallel(true).run();
+ * </pre>
+ *
+ * @since 3.5.7
+ */
+public class ConfigurationWarmUp {
+
+  private final Configuration configuration;
+  private boolean parallel;
+
+  public ConfigurationWarmUp(Configuration configuration) {
+    this.configuration = configuration;
+  }
+
+  /**
+   * Sets whether reflectors, expressions and mapper methods are prepared by the common fork-join pool.
+   *
+   * @param parallel
+   *          true to prepare them in parallel
+   * @return this warm-up
+   */
+  public ConfigurationWarmUp parallel(boolean parallel) {
+    this.parallel = parallel;
+    return this;
+  }
+
+  public Report run() {
+    long start = System.nanoTime();
+    Report report = new Report();
+    List<MappedStatement> statements = getMappedStatements();
+    report.statements = statements.size();
+
+    Set<ResultMap> resultMaps = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Object resultMap : configuration.getResultMaps()) {
+      if (resultMap instanceof ResultMap) {
+        resultMaps.add((ResultMap) resultMap);
+      }
+    }
+    statements.forEach(statement -> resultMaps.addAll(statement.getResultMaps()));
+    Set<Class<?>> types = collectTypes(statements, resultMaps);
+
+    report.reflectors = forEach(types, report, "reflector of ", type -> {
+      if (!SimpleTypeRegistry.isSimpleType(type) && !type.isPrimitive() && !type.isArray() && !type.isInterface()
+          && !Map.class.isAssignableFrom(type) && !Collection.class.isAssignableFrom(type)) {
+        configuration.getReflectorFactory().findForClass(type);
+        return true;
+      }
+      return false;
+    });
+    report.expressions = forEach(collectExpressions(statements), report, "expression ", expression -> {
+      OgnlCache.parse(expression);
+      return true;
+    });
+    report.mappers = forEach(configuration.getMapperRegistry().getMappers(), report, "mapper ", type -> {
+      Map<Method, RuntimeException> failures = configuration.getMapperRegistry().resolveMethods(type);
+      failures.forEach((method, e) -> report.failures.add("mapper method " + type.getName() + "." + method.getName()
+          + ": " + e));
+      return true;
+    });
+    for (Class<?> type : types) {
+      try {
+        configuration.getTypeHandlerRegistry().hasTypeHandler(type);
+      } catch (RuntimeException e) {
+        report.failures.add("type handler of " + type.getName() + ": " + e);
+      }
+    }
+    for (ResultMap resultMap : resultMaps) {
+      if (hasLazyLoadedProperty(resultMap) && resultMap.getConstructorResultMappings().isEmpty()) {
+        try {
+          Object target = configuration.getObjectFactory().create(resultMap.getType());
+          configuration.getProxyFactory().createProxy(target, new ResultLoaderMap(), configuration,
+              configuration.getObjectFactory(), new ArrayList<>(), new ArrayList<>());
+          report.proxies++;
+        } catch (RuntimeException e) {
+          report.failures.add("lazy loading proxy of " + resultMap.getType().getName() + ": " + e);
+        }
+      }
+    }
+    report.elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    return report;
+  }
+
+  private List<MappedStatement> getMappedStatements() {
+    // builds lazy and incomplete statements, short names map to the same statements as full ids
+    Set<MappedStatement> statements = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Object statement : configuration.getMappedStatements()) {
+      if (statement instanceof MappedStatement) {
+        statements.add((MappedStatement) statement);
+      }
+    }
+    return new ArrayList<>(statements);
+  }
+
+  private Set<Class<?>> collectTypes(List<MappedStatement> statements, Set<ResultMap> resultMaps) {
+    Set<Class<?>> types = new LinkedHashSet<>();
+    Consumer<Class<?>> addType = type -> {
+      if (type != null) {
+        types.add(type);
+      }
+    };
+    for (ResultMap resultMap : resultMaps) {
+      addType.accept(resultMap.getType());
+      resultMap.getResultMappings().forEach(mapping -> addType.accept(mapping.getJavaType()));
+    }
+    Set<ParameterMap> parameterMaps = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Object parameterMap : configuration.getParameterMaps()) {
+      if (parameterMap instanceof ParameterMap) {
+        parameterMaps.add((ParameterMap) parameterMap);
+      }
+    }
+    statements.forEach(statement -> parameterMaps.add(statement.getParameterMap()));
+    for (ParameterMap parameterMap : parameterMaps) {
+      addType.accept(parameterMap.getType());
+      for (ParameterMapping mapping : parameterMap.getParameterMappings()) {
+        addType.accept(mapping.getJavaType());
+      }
+    }
+    return types;
+  }
+
+  private Set<String> collectExpressions(List<MappedStatement> statements) {
+    Set<String> expressions = new LinkedHashSet<>();
+    for (MappedStatement statement : statements) {
+      if (statement.getSqlSource() instanceof DynamicSqlSource) {
+        ((DynamicSqlSource) statement.getSqlSource()).getRootSqlNode().visitExpressions(expressions::add);
+      }
+    }
+    return expressions;
+  }
+
+  private boolean hasLazyLoadedProperty(ResultMap resultMap) {
+    for (ResultMapping mapping : resultMap.getPropertyResultMappings()) {
+      if (mapping.getNestedQueryId() != null && mapping.isLazy()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private <T> int forEach(Collection<T> items, Report report, String description, Task<T> task) {
+    Collection<String> failures = new ConcurrentLinkedQueue<>();
+    Stream<T> stream = parallel ? items.parallelStream() : items.stream();
+    int count = (int) stream.filter(item -> {
+      try {
+        return task.run(item);
+      } catch (RuntimeException e) {
+        failures.add(description + (item instanceof Class ? ((Class<?>) item).getName() : item) + ": " + e);
+        return false;
+      }
+    }).count();
+    report.failures.addAll(failures);
+    return count;
+  }
+
+  @FunctionalInterface
+  private interface Task<T> {
+    boolean run(T item);
+  }
+
+  /**
+   * What a warm-up has prepared.
+   */
+  public static class Report {
+
+    private int statements;
+    private int reflectors;
+    private int expressions;
+    private int mappers;
+    private int proxies;
+    private final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+    private long elapsedMillis;
+
+    public int getStatements() {
+      return statements;
+    }
+
+    public int getReflectors() {
+      return reflectors;
+    }
+
+    public int getExpressions() {
+      return expressions;
+    }
+
+    /**
+     * Returns the number of mapper interfaces whose methods have been resolved.
+     *
+     * @return the number of mappers
+     */
+    public int getMappers() {
+      return mappers;
+    }
+
+    public int getProxies() {
+      return proxies;
+    }
+
+    public List<String> getFailures() {
+      return Collections.unmodifiableList(failures);
+    }
+
+    public long getElapsedMillis() {
+      return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+      return "Warmed up " + statements + " statements, " + reflectors + " reflectors, " + expressions + " expressions, "
+          + mappers + " mappers and " + proxies + " lazy loading proxies in " + elapsedMillis + " ms"
+          + (failures.isEmpty() ? "" : ", " + failures.size() + " failed: " + failures);
+    }
+  }
+
+}
@@ -0,0 +1,84 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+/**
+ * Row bounds that select a page of rows following the position described by a continuation token.
+ * <p>
+ * Instead of skipping {@code offset} rows, the statement is restricted to rows whose keyset columns sort after the
+ * last row of the previous page, so the cost of a page does not grow with its position. The statement must declare its
+ * keyset columns (see {@code keysetColumn} on {@code <select>} or {@code @Options}) and should not order the rows
+ * itself.
+ * <p>
+ * After a call to {@link SqlSession#selectList(String, Object, RowBounds)}, {@link #getNextToken()} returns the token
+ * of the following page, or {@code null} when the returned page was the last one. Tokens are opaque and only valid for
+ * the statement that produced them.
+ *
+ * @since 3.5.7
+ */
+public class KeysetRowBounds extends RowBounds {
+
+  private final String token;
+  private String nextToken;
+
+  public KeysetRowBounds(int pageSize) {
+    this(null, pageSize);
+  }
+
+  public KeysetRowBounds(String token, int pageSize) {
+    super(NO_ROW_OFFSET, pageSize);
+    this.token = token;
+  }
+
+  /**
+   * Gets the token of the page to select.
+   *
+   * @return the token, or {@code null} for the first page
+   */
+  public String getToken() {
+    return token;
+  }
+
+  /**
+   * Gets the token of the page following the selected one.
+   *
+   * @return the next token, or {@code null} if there are no more rows
+   */
+  public String getNextToken() {
+    return nextToken;
+  }
+
+  public void setNextToken(String nextToken) {
+    this.nextToken = nextToken;
+  }
+
+  public boolean hasNext() {
+    return nextToken != null;
+  }
+
+  /**
+   * Creates the row bounds of the page following the selected one.
+   *
+   * @return the row bounds of the next page
+   */
+  public KeysetRowBounds next() {
+    if (nextToken == null) {
+      throw new IllegalStateException("There is no page after the selected one.");
+    }
+    return new KeysetRowBounds(nextToken, getLimit());
+  }
+
+}
@@ -0,0 +1,48 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+/**
+ * Row bounds that also report the total number of rows the statement would return without bounds.
+ * <p>
+ * The total is obtained through the count statement of the configured {@link org.apache.ibatis.executor.dialect.Dialect}
+ * and is only available when physical pagination applies to the executed statement.
+ *
+ * @since 3.5.7
+ * @see Configuration#isPhysicalPaginationEnabled()
+ */
+public class PageRowBounds extends RowBounds {
+
+  private Long total;
+
+  public PageRowBounds(int offset, int limit) {
+    super(offset, limit);
+  }
+
+  /**
+   * Gets the total number of rows.
+   *
+   * @return the total number of rows, or {@code null} if it could not be counted
+   */
+  public Long getTotal() {
+    return total;
+  }
+
+  public void setTotal(Long total) {
+    this.total = total;
+  }
+
+}
@@ -15,14 +15,23 @@
  */
 package org.apache.ibatis.session;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Properties;
 
+import org.apache.ibatis.builder.xml.DocumentSnapshot;
 import org.apache.ibatis.builder.xml.XMLConfigBuilder;
 import org.apache.ibatis.exceptions.ExceptionFactory;
 import org.apache.ibatis.executor.ErrorContext;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.session.defaults.DefaultSqlSessionFactory;
 
 /**
@@ -32,6 +41,8 @@ import org.apache.ibatis.session.defaults.DefaultSqlSessionFactory;
  */
 public class SqlSessionFactoryBuilder {
 
+  private static final Log log = LogFactory.getLog(SqlSessionFactoryBuilder.class);
+
   public SqlSessionFactory build(Reader reader) {
     return build(reader, null, null);
   }
@@ -88,7 +99,92 @@ public class SqlSessionFactoryBuilder {
     }
   }
 
+  /**
+   * Builds a factory from a configuration resource, restoring the parsed XML documents from a snapshot file when the
+   * file exists and all of its documents still match their sources. Otherwise the documents are parsed and the
+   * snapshot file is (re)written once the configuration has been built, so it can be produced at build time or on
+   * first run. Only XML parsing and validation are skipped; the configuration is built from the documents as usual.
+   *
+   * @param resource
+   *          the classpath resource of the configuration document
+   * @param snapshotFile
+   *          the snapshot file
+   * @return the factory
+   * @since 3.5.7
+   * @see DocumentSnapshot
+   */
+  public SqlSessionFactory build(String resource, Path snapshotFile) {
+    return build(resource, snapshotFile, null, null);
+  }
+
+  /**
+   * Builds a factory from a configuration resource, restoring the parsed XML documents from a snapshot file when the
+   * file exists and all of its documents still match their sources.
+   *
+   * @param resource
+   *          the classpath resource of the configuration document
+   * @param snapshotFile
+   *          the snapshot file
+   * @param environment
+   *          the environment to use, or {@code null} for the default one
+   * @param properties
+   *          the properties overriding those of the configuration document
+   * @return the factory
+   * @since 3.5.7
+   * @see #build(String, Path)
+   */
+  public SqlSessionFactory build(String resource, Path snapshotFile, String environment, Properties properties) {
+    try {
+      DocumentSnapshot snapshot = readSnapshot(snapshotFile);
+      XMLConfigBuilder parser = new XMLConfigBuilder(snapshot, resource, environment, properties);
+      SqlSessionFactory factory = build(parser.parse());
+      snapshot.prune();
+      if (snapshot.isModified()) {
+        writeSnapshot(snapshot, snapshotFile);
+      }
+      return factory;
+    } catch (Exception e) {
+      throw ExceptionFactory.wrapException("Error building SqlSession.", e);
+    } finally {
+      ErrorContext.instance().reset();
+    }
+  }
+
+  private DocumentSnapshot readSnapshot(Path snapshotFile) {
+    if (Files.isRegularFile(snapshotFile)) {
+      try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(snapshotFile))) {
+        DocumentSnapshot snapshot = DocumentSnapshot.read(inputStream);
+        if (snapshot.isUpToDate()) {
+          return snapshot;
+        }
+      } catch (IOException e) {
+        log.warn("Ignoring unreadable document snapshot '" + snapshotFile + "'. Cause: " + e);
+      }
+    }
+    return new DocumentSnapshot();
+  }
+
+  private void writeSnapshot(DocumentSnapshot snapshot, Path snapshotFile) {
+    // the snapshot only speeds up the next start, failing to write it must not fail this one
+    try {
+      Path parent = snapshotFile.toAbsolutePath().getParent();
+      Files.createDirectories(parent);
+      Path tempFile = Files.createTempFile(parent, snapshotFile.getFileName().toString(), ".tmp");
+      try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+        snapshot.write(outputStream);
+      }
+      Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      log.warn("Could not write document snapshot '" + snapshotFile + "'. Cause: " + e);
+    }
+  }
+
   public SqlSessionFactory build(Configuration config) {
+    if (config.isFreezeConfiguration()) {
+      config.freeze();
+    } else {
+      config.compact();
+    }
     return new DefaultSqlSessionFactory(config);
   }
 
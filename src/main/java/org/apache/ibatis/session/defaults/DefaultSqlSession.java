@@ -30,11 +30,16 @@ import org.apache.ibatis.exceptions.TooManyResultsException;
 import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.PartitionedQuery;
+import org.apache.ibatis.executor.dialect.Keyset;
 import org.apache.ibatis.executor.result.DefaultMapResultHandler;
 import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.reflection.ParamNameResolver;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.KeysetRowBounds;
+import org.apache.ibatis.session.PageRowBounds;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
@@ -49,18 +54,37 @@ public class DefaultSqlSession implements SqlSession {
 
   private final Configuration configuration;
   private final Executor executor;
+  private final Environment environment;
 
   private final boolean autoCommit;
   private boolean dirty;
   private List<Cursor<?>> cursorList;
 
-  public DefaultSqlSession(Configuration configuration, Executor executor, boolean autoCommit) {
+  /**
+   * Creates a session whose executor works on a transaction of the given environment.
+   *
+   * @param configuration
+   *          the configuration
+   * @param executor
+   *          the executor
+   * @param autoCommit
+   *          the auto commit
+   * @param environment
+   *          the environment of the executor's transaction
+   * @since 3.5.7
+   */
+  public DefaultSqlSession(Configuration configuration, Executor executor, boolean autoCommit, Environment environment) {
     this.configuration = configuration;
     this.executor = executor;
+    this.environment = environment;
     this.dirty = false;
     this.autoCommit = autoCommit;
   }
 
+  public DefaultSqlSession(Configuration configuration, Executor executor, boolean autoCommit) {
+    this(configuration, executor, autoCommit, configuration.getEnvironment());
+  }
+
   public DefaultSqlSession(Configuration configuration, Executor executor) {
     this(configuration, executor, false);
   }
@@ -120,7 +144,9 @@ public class DefaultSqlSession implements SqlSession {
   public <T> Cursor<T> selectCursor(String statement, Object parameter, RowBounds rowBounds) {
     try {
       MappedStatement ms = configuration.getMappedStatement(statement);
-      Cursor<T> cursor = executor.queryCursor(ms, wrapCollection(parameter), rowBounds);
+      Object wrappedParameter = wrapCollection(parameter);
+      countTotalIfRequested(ms, wrappedParameter, rowBounds);
+      Cursor<T> cursor = executor.queryCursor(ms, wrappedParameter, rowBounds);
       registerCursor(cursor);
       return cursor;
     } catch (Exception e) {
@@ -144,7 +170,13 @@ public class DefaultSqlSession implements SqlSession {
   public <E> List<E> selectList(String statement, Object parameter, RowBounds rowBounds) {
     try {
       MappedStatement ms = configuration.getMappedStatement(statement);
-      return executor.query(ms, wrapCollection(parameter), rowBounds, Executor.NO_RESULT_HANDLER);
+      Object wrappedParameter = wrapCollection(parameter);
+      List<E> result = isPartitioned(ms, rowBounds)
+          ? PartitionedQuery.query(environment, executor, ms, wrappedParameter)
+          : executor.query(ms, wrappedParameter, rowBounds, Executor.NO_RESULT_HANDLER);
+      countTotalIfRequested(ms, wrappedParameter, rowBounds);
+      updateNextTokenIfRequested(ms, rowBounds, result);
+      return result;
     } catch (Exception e) {
       throw ExceptionFactory.wrapException("Error querying database.  Cause: " + e, e);
     } finally {
@@ -166,7 +198,13 @@ public class DefaultSqlSession implements SqlSession {
   public void select(String statement, Object parameter, RowBounds rowBounds, ResultHandler handler) {
     try {
       MappedStatement ms = configuration.getMappedStatement(statement);
-      executor.query(ms, wrapCollection(parameter), rowBounds, handler);
+      Object wrappedParameter = wrapCollection(parameter);
+      if (isPartitioned(ms, rowBounds)) {
+        PartitionedQuery.query(environment, executor, ms, wrappedParameter, handler);
+      } else {
+        executor.query(ms, wrappedParameter, rowBounds, handler);
+      }
+      countTotalIfRequested(ms, wrappedParameter, rowBounds);
     } catch (Exception e) {
       throw ExceptionFactory.wrapException("Error querying database.  Cause: " + e, e);
     } finally {
@@ -312,6 +350,31 @@ public class DefaultSqlSession implements SqlSession {
     cursorList.add(cursor);
   }
 
+  private boolean isPartitioned(MappedStatement ms, RowBounds rowBounds) {
+    // partitions run in their own transactions and would not see the uncommitted changes of this session
+    return !dirty && PartitionedQuery.isPartitioned(environment, ms, rowBounds);
+  }
+
+  private void countTotalIfRequested(MappedStatement ms, Object parameter, RowBounds rowBounds) throws SQLException {
+    if (rowBounds instanceof PageRowBounds
+        && configuration.getPagingDialect(ms, ms.getBoundSql(parameter), rowBounds) != null) {
+      MappedStatement countStatement = configuration.getCountStatement(ms);
+      List<Long> counts = executor.query(countStatement, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+      ((PageRowBounds) rowBounds).setTotal(counts.isEmpty() ? null : counts.get(0));
+    }
+  }
+
+  private void updateNextTokenIfRequested(MappedStatement ms, RowBounds rowBounds, List<?> result) {
+    if (rowBounds instanceof KeysetRowBounds) {
+      KeysetRowBounds keysetRowBounds = (KeysetRowBounds) rowBounds;
+      if (result.isEmpty() || result.size() < keysetRowBounds.getLimit()) {
+        keysetRowBounds.setNextToken(null);
+      } else {
+        keysetRowBounds.setNextToken(Keyset.getToken(configuration, ms, result.get(result.size() - 1)));
+      }
+    }
+  }
+
   private boolean isCommitOrRollbackRequired(boolean force) {
     return (!autoCommit && dirty) || force;
   }
@@ -0,0 +1,41 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.sharding;
+
+import java.util.List;
+
+import org.apache.ibatis.mapping.MappedStatement;
+
+/**
+ * Distributes shard keys over the shards by their remainder, or the remainder of their hash code for keys that are
+ * not integral numbers.
+ *
+ * @since 3.5.7
+ */
+public class HashShardStrategy implements ShardStrategy {
+
+  @Override
+  public String getShardId(MappedStatement ms, Object shardKey, List<String> shardIds) {
+    long hash;
+    if (shardKey instanceof Long || shardKey instanceof Integer || shardKey instanceof Short || shardKey instanceof Byte) {
+      hash = ((Number) shardKey).longValue();
+    } else {
+      hash = shardKey.hashCode();
+    }
+    return shardIds.get((int) Math.floorMod(hash, (long) shardIds.size()));
+  }
+
+}
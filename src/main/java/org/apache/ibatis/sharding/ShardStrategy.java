@@ -0,0 +1,43 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.sharding;
+
+import java.util.List;
+
+import org.apache.ibatis.mapping.MappedStatement;
+
+/**
+ * Selects the shard a statement is routed to from the value of its shard key.
+ *
+ * @since 3.5.7
+ * @see MappedStatement#getShardKey()
+ */
+public interface ShardStrategy {
+
+  /**
+   * Gets the shard a statement is routed to.
+   *
+   * @param ms
+   *          the mapped statement
+   * @param shardKey
+   *          the value of the shard key, never {@code null}
+   * @param shardIds
+   *          the ids of all shards, in the order they were registered
+   * @return the id of the shard, or {@code null} if the statement should be sent to all shards
+   */
+  String getShardId(MappedStatement ms, Object shardKey, List<String> shardIds);
+
+}
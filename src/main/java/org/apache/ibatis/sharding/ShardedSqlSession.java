@@ -0,0 +1,389 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.sharding;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.exceptions.TooManyResultsException;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.result.DefaultMapResultHandler;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.reflection.ParamNameResolver;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.KeysetRowBounds;
+import org.apache.ibatis.session.PageRowBounds;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionException;
+import org.apache.ibatis.session.TransactionIsolationLevel;
+
+/**
+ * A session that routes every statement to the shard selected by its shard key.
+ * <p>
+ * A session is opened on a shard the first time a statement is routed to it. Commits and rollbacks are applied to
+ * each opened shard session in turn and are not atomic across shards. Selects sent to all shards query the shards
+ * concurrently and return their results in shard order; row bounds are applied to the merged results. Result handlers
+ * are called shard after shard on the calling thread. Cursors, paged and keyset row bounds require a single shard.
+ * Note that this class is not Thread-Safe.
+ *
+ * @since 3.5.7
+ */
+public class ShardedSqlSession implements SqlSession {
+
+  private final ShardedSqlSessionFactory sqlSessionFactory;
+  private final Configuration configuration;
+  private final ExecutorType execType;
+  private final TransactionIsolationLevel level;
+  private final boolean autoCommit;
+  private final Map<String, SqlSession> shardSessions = new LinkedHashMap<>();
+
+  public ShardedSqlSession(ShardedSqlSessionFactory sqlSessionFactory, ExecutorType execType,
+      TransactionIsolationLevel level, boolean autoCommit) {
+    this.sqlSessionFactory = sqlSessionFactory;
+    this.configuration = sqlSessionFactory.getConfiguration();
+    this.execType = execType;
+    this.level = level;
+    this.autoCommit = autoCommit;
+  }
+
+  /**
+   * Gets the session of a shard, opening it if needed.
+   *
+   * @param shardId
+   *          the shard id
+   * @return the shard session
+   */
+  public SqlSession getShardSession(String shardId) {
+    SqlSession session = shardSessions.get(shardId);
+    if (session == null) {
+      session = sqlSessionFactory.openShardSession(shardId, execType, level, autoCommit);
+      shardSessions.put(shardId, session);
+    }
+    return session;
+  }
+
+  @Override
+  public <T> T selectOne(String statement) {
+    return this.selectOne(statement, null);
+  }
+
+  @Override
+  public <T> T selectOne(String statement, Object parameter) {
+    List<T> list = this.selectList(statement, parameter);
+    if (list.size() == 1) {
+      return list.get(0);
+    } else if (list.size() > 1) {
+      throw new TooManyResultsException("Expected one result (or null) to be returned by selectOne(), but found: " + list.size());
+    } else {
+      return null;
+    }
+  }
+
+  @Override
+  public <K, V> Map<K, V> selectMap(String statement, String mapKey) {
+    return this.selectMap(statement, null, mapKey, RowBounds.DEFAULT);
+  }
+
+  @Override
+  public <K, V> Map<K, V> selectMap(String statement, Object parameter, String mapKey) {
+    return this.selectMap(statement, parameter, mapKey, RowBounds.DEFAULT);
+  }
+
+  @Override
+  public <K, V> Map<K, V> selectMap(String statement, Object parameter, String mapKey, RowBounds rowBounds) {
+    final List<? extends V> list = selectList(statement, parameter, rowBounds);
+    final DefaultMapResultHandler<K, V> mapResultHandler = new DefaultMapResultHandler<>(mapKey,
+            configuration.getObjectFactory(), configuration.getObjectWrapperFactory(), configuration.getReflectorFactory());
+    final DefaultResultContext<V> context = new DefaultResultContext<>();
+    for (V o : list) {
+      context.nextResultObject(o);
+      mapResultHandler.handleResult(context);
+    }
+    return mapResultHandler.getMappedResults();
+  }
+
+  @Override
+  public <T> Cursor<T> selectCursor(String statement) {
+    return selectCursor(statement, null);
+  }
+
+  @Override
+  public <T> Cursor<T> selectCursor(String statement, Object parameter) {
+    return selectCursor(statement, parameter, RowBounds.DEFAULT);
+  }
+
+  @Override
+  public <T> Cursor<T> selectCursor(String statement, Object parameter, RowBounds rowBounds) {
+    return getShardSession(requireShardId(statement, parameter)).selectCursor(statement, parameter, rowBounds);
+  }
+
+  @Override
+  public <E> List<E> selectList(String statement) {
+    return this.selectList(statement, null);
+  }
+
+  @Override
+  public <E> List<E> selectList(String statement, Object parameter) {
+    return this.selectList(statement, parameter, RowBounds.DEFAULT);
+  }
+
+  @Override
+  public <E> List<E> selectList(String statement, Object parameter, RowBounds rowBounds) {
+    String shardId = getShardId(statement, parameter);
+    if (shardId != null) {
+      return getShardSession(shardId).selectList(statement, parameter, rowBounds);
+    }
+    if (rowBounds instanceof PageRowBounds || rowBounds instanceof KeysetRowBounds) {
+      throw new SqlSessionException("Statement '" + statement + "' must be routed to a single shard to be paged.");
+    }
+    // each shard may contribute all rows up to the end of the requested range
+    long shardLimit = (long) rowBounds.getOffset() + rowBounds.getLimit();
+    RowBounds shardRowBounds = rowBounds.getOffset() == RowBounds.NO_ROW_OFFSET ? rowBounds
+        : new RowBounds(RowBounds.NO_ROW_OFFSET, (int) Math.min(shardLimit, RowBounds.NO_ROW_LIMIT));
+    List<E> results = selectFromAllShards(statement, parameter, shardRowBounds);
+    if (rowBounds.getOffset() == RowBounds.NO_ROW_OFFSET && rowBounds.getLimit() >= results.size()) {
+      return results;
+    }
+    int fromIndex = Math.min(rowBounds.getOffset(), results.size());
+    int toIndex = (int) Math.min(Math.min(shardLimit, RowBounds.NO_ROW_LIMIT), results.size());
+    return new ArrayList<>(results.subList(fromIndex, toIndex));
+  }
+
+  @Override
+  public void select(String statement, Object parameter, ResultHandler handler) {
+    select(statement, parameter, RowBounds.DEFAULT, handler);
+  }
+
+  @Override
+  public void select(String statement, ResultHandler handler) {
+    select(statement, null, RowBounds.DEFAULT, handler);
+  }
+
+  @Override
+  public void select(String statement, Object parameter, RowBounds rowBounds, ResultHandler handler) {
+    String shardId = getShardId(statement, parameter);
+    if (shardId != null) {
+      getShardSession(shardId).select(statement, parameter, rowBounds, handler);
+      return;
+    }
+    if (rowBounds.getOffset() != RowBounds.NO_ROW_OFFSET || rowBounds.getLimit() != RowBounds.NO_ROW_LIMIT) {
+      throw new SqlSessionException("Statement '" + statement + "' must be routed to a single shard to apply row bounds to a result handler.");
+    }
+    for (String id : sqlSessionFactory.getShardIds()) {
+      getShardSession(id).select(statement, parameter, rowBounds, handler);
+    }
+  }
+
+  @Override
+  public int insert(String statement) {
+    return insert(statement, null);
+  }
+
+  @Override
+  public int insert(String statement, Object parameter) {
+    return getShardSession(requireShardId(statement, parameter)).insert(statement, parameter);
+  }
+
+  @Override
+  public int update(String statement) {
+    return update(statement, null);
+  }
+
+  @Override
+  public int update(String statement, Object parameter) {
+    return getShardSession(requireShardId(statement, parameter)).update(statement, parameter);
+  }
+
+  @Override
+  public int delete(String statement) {
+    return delete(statement, null);
+  }
+
+  @Override
+  public int delete(String statement, Object parameter) {
+    return getShardSession(requireShardId(statement, parameter)).delete(statement, parameter);
+  }
+
+  @Override
+  public void commit() {
+    commit(false);
+  }
+
+  @Override
+  public void commit(boolean force) {
+    for (SqlSession session : shardSessions.values()) {
+      session.commit(force);
+    }
+  }
+
+  @Override
+  public void rollback() {
+    rollback(false);
+  }
+
+  @Override
+  public void rollback(boolean force) {
+    for (SqlSession session : shardSessions.values()) {
+      session.rollback(force);
+    }
+  }
+
+  @Override
+  public List<BatchResult> flushStatements() {
+    List<BatchResult> results = new ArrayList<>();
+    for (SqlSession session : shardSessions.values()) {
+      results.addAll(session.flushStatements());
+    }
+    return results;
+  }
+
+  @Override
+  public void close() {
+    RuntimeException failure = null;
+    for (SqlSession session : shardSessions.values()) {
+      try {
+        session.close();
+      } catch (RuntimeException e) {
+        if (failure == null) {
+          failure = e;
+        }
+      }
+    }
+    shardSessions.clear();
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  @Override
+  public void clearCache() {
+    for (SqlSession session : shardSessions.values()) {
+      session.clearCache();
+    }
+  }
+
+  @Override
+  public Configuration getConfiguration() {
+    return configuration;
+  }
+
+  @Override
+  public <T> T getMapper(Class<T> type) {
+    return configuration.getMapper(type, this);
+  }
+
+  @Override
+  public Connection getConnection() {
+    throw new SqlSessionException("A sharded session has one connection per shard, use getShardSession(String).getConnection().");
+  }
+
+  private <E> List<E> selectFromAllShards(String statement, Object parameter, RowBounds rowBounds) {
+    List<SqlSession> sessions = new ArrayList<>();
+    for (String id : sqlSessionFactory.getShardIds()) {
+      sessions.add(getShardSession(id));
+    }
+    ExecutorService executorService = sqlSessionFactory.getFanOutExecutorService();
+    List<Future<List<E>>> futures = new ArrayList<>(sessions.size() - 1);
+    try {
+      for (SqlSession session : sessions.subList(1, sessions.size())) {
+        futures.add(executorService.submit(() -> session.<E>selectList(statement, parameter, rowBounds)));
+      }
+      List<E> results = new ArrayList<>(sessions.get(0).<E>selectList(statement, parameter, rowBounds));
+      for (Future<List<E>> future : futures) {
+        results.addAll(future.get());
+      }
+      return results;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SqlSessionException("Interrupted while querying the shards of statement '" + statement + "'.", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new SqlSessionException("Error querying the shards of statement '" + statement + "'.  Cause: " + e.getCause(), e.getCause());
+    } finally {
+      // the shard sessions must not be used by the caller while a query is still running on them
+      awaitCompletion(futures);
+    }
+  }
+
+  private static void awaitCompletion(List<? extends Future<?>> futures) {
+    boolean interrupted = false;
+    for (Future<?> future : futures) {
+      while (!future.isDone()) {
+        try {
+          future.get();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          // reported by the first failure already
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private String requireShardId(String statement, Object parameter) {
+    String shardId = getShardId(statement, parameter);
+    if (shardId == null) {
+      throw new SqlSessionException("Statement '" + statement + "' must be routed to a single shard, but its parameter has no shard key.");
+    }
+    return shardId;
+  }
+
+  private String getShardId(String statement, Object parameter) {
+    MappedStatement ms = configuration.getMappedStatement(statement);
+    String shardKey = ms.getShardKey();
+    if (shardKey == null) {
+      return null;
+    }
+    Object shardKeyValue = getShardKeyValue(shardKey, ParamNameResolver.wrapToMapIfCollection(parameter, null));
+    if (shardKeyValue == null) {
+      return null;
+    }
+    String shardId = sqlSessionFactory.getShardStrategy().getShardId(ms, shardKeyValue, sqlSessionFactory.getShardIds());
+    if (shardId != null && !sqlSessionFactory.getShardIds().contains(shardId)) {
+      throw new SqlSessionException("Unknown shard '" + shardId + "' selected for statement '" + statement
+          + "'. Available shards are " + sqlSessionFactory.getShardIds());
+    }
+    return shardId;
+  }
+
+  private Object getShardKeyValue(String shardKey, Object parameter) {
+    if (parameter == null) {
+      return null;
+    }
+    if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+      // a parameter of a simple type is the shard key itself, as it is the value of any property in SQL
+      return parameter;
+    }
+    return configuration.newMetaObject(parameter).getValue(shardKey);
+  }
+
+}
@@ -0,0 +1,226 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.sharding;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.exceptions.ExceptionFactory;
+import org.apache.ibatis.executor.ErrorContext;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionException;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.TransactionIsolationLevel;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
+import org.apache.ibatis.transaction.Transaction;
+
+/**
+ * Opens sessions that route each mapped statement to one of several shard environments sharing a single
+ * configuration.
+ * <p>
+ * Statements declaring a shard key are routed to the shard selected by the {@link ShardStrategy}. Selects without a
+ * shard key, or whose key is null, are sent to all shards and their results merged in shard order; writes always
+ * require a shard key. All shards must run the same database product.
+ * <p>
+ * Selects sent to all shards query the shards concurrently: the first shard on the calling thread, the others on the
+ * fan-out executor service.
+ *
+ * @since 3.5.7
+ * @see ShardedSqlSession
+ */
+public class ShardedSqlSessionFactory implements SqlSessionFactory {
+
+  private final Configuration configuration;
+  private final Map<String, Environment> shards = new LinkedHashMap<>();
+  private final List<String> shardIds;
+  private final ShardStrategy shardStrategy;
+  private volatile ExecutorService fanOutExecutorService;
+
+  /**
+   * Creates a factory routing statements across shard environments.
+   *
+   * @param configuration
+   *          the configuration shared by all shards
+   * @param shards
+   *          the environments of the shards, identified by their ids
+   * @param shardStrategy
+   *          the shard strategy
+   */
+  public ShardedSqlSessionFactory(Configuration configuration, Collection<Environment> shards, ShardStrategy shardStrategy) {
+    if (shards.isEmpty()) {
+      throw new IllegalArgumentException("At least one shard environment is required.");
+    }
+    for (Environment shard : shards) {
+      if (this.shards.put(shard.getId(), shard) != null) {
+        throw new IllegalArgumentException("Duplicate shard environment id '" + shard.getId() + "'.");
+      }
+    }
+    this.configuration = configuration;
+    this.shardIds = Collections.unmodifiableList(new ArrayList<>(this.shards.keySet()));
+    this.shardStrategy = shardStrategy;
+  }
+
+  @Override
+  public SqlSession openSession() {
+    return new ShardedSqlSession(this, configuration.getDefaultExecutorType(), null, false);
+  }
+
+  @Override
+  public SqlSession openSession(boolean autoCommit) {
+    return new ShardedSqlSession(this, configuration.getDefaultExecutorType(), null, autoCommit);
+  }
+
+  @Override
+  public SqlSession openSession(ExecutorType execType) {
+    return new ShardedSqlSession(this, execType, null, false);
+  }
+
+  @Override
+  public SqlSession openSession(TransactionIsolationLevel level) {
+    return new ShardedSqlSession(this, configuration.getDefaultExecutorType(), level, false);
+  }
+
+  @Override
+  public SqlSession openSession(ExecutorType execType, TransactionIsolationLevel level) {
+    return new ShardedSqlSession(this, execType, level, false);
+  }
+
+  @Override
+  public SqlSession openSession(ExecutorType execType, boolean autoCommit) {
+    return new ShardedSqlSession(this, execType, null, autoCommit);
+  }
+
+  @Override
+  public SqlSession openSession(Connection connection) {
+    throw new SqlSessionException("Sharded sessions obtain their connections from the shard environments.");
+  }
+
+  @Override
+  public SqlSession openSession(ExecutorType execType, Connection connection) {
+    throw new SqlSessionException("Sharded sessions obtain their connections from the shard environments.");
+  }
+
+  @Override
+  public Configuration getConfiguration() {
+    return configuration;
+  }
+
+  public List<String> getShardIds() {
+    return shardIds;
+  }
+
+  public ShardStrategy getShardStrategy() {
+    return shardStrategy;
+  }
+
+  /**
+   * Gets the executor service querying the shards of a select sent to all shards.
+   *
+   * @return the executor service, by default a pool of daemon threads with one thread per shard but the first
+   */
+  public ExecutorService getFanOutExecutorService() {
+    ExecutorService executorService = fanOutExecutorService;
+    if (executorService == null) {
+      synchronized (this) {
+        executorService = fanOutExecutorService;
+        if (executorService == null) {
+          executorService = newFanOutExecutorService(Math.max(1, shardIds.size() - 1));
+          fanOutExecutorService = executorService;
+        }
+      }
+    }
+    return executorService;
+  }
+
+  /**
+   * Sets the executor service querying the shards of a select sent to all shards.
+   *
+   * @param fanOutExecutorService
+   *          the executor service
+   */
+  public void setFanOutExecutorService(ExecutorService fanOutExecutorService) {
+    this.fanOutExecutorService = fanOutExecutorService;
+  }
+
+  /**
+   * Opens a session on a single shard.
+   *
+   * @param shardId
+   *          the id of the shard environment
+   * @param execType
+   *          the executor type
+   * @param level
+   *          the transaction isolation level
+   * @param autoCommit
+   *          the auto commit
+   * @return the session
+   */
+  public SqlSession openShardSession(String shardId, ExecutorType execType, TransactionIsolationLevel level, boolean autoCommit) {
+    Environment environment = shards.get(shardId);
+    if (environment == null) {
+      throw new SqlSessionException("Unknown shard '" + shardId + "'. Available shards are " + shardIds);
+    }
+    Transaction tx = null;
+    try {
+      tx = environment.getTransactionFactory().newTransaction(environment.getDataSource(), level, autoCommit);
+      final Executor executor = configuration.newExecutor(tx, execType, environment);
+      return new DefaultSqlSession(configuration, executor, autoCommit, environment);
+    } catch (Exception e) {
+      closeTransaction(tx); // may have fetched a connection so lets call close()
+      throw ExceptionFactory.wrapException("Error opening session.  Cause: " + e, e);
+    } finally {
+      ErrorContext.instance().reset();
+    }
+  }
+
+  private static ExecutorService newFanOutExecutorService(int threads) {
+    AtomicInteger threadNumber = new AtomicInteger();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(), runnable -> {
+          Thread thread = new Thread(runnable, "mybatis-shard-" + threadNumber.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private void closeTransaction(Transaction tx) {
+    if (tx != null) {
+      try {
+        tx.close();
+      } catch (SQLException ignore) {
+        // Intentionally ignore. Prefer previous error.
+      }
+    }
+  }
+
+}
@@ -31,6 +31,7 @@ import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -72,8 +73,33 @@ public class ArrayTypeHandler extends BaseTypeHandler<Object> {
     STANDARD_MAPPING.put(URL.class, JdbcType.DATALINK.name());
   }
 
+  private final String elementTypeName;
+
   public ArrayTypeHandler() {
     super();
+    this.elementTypeName = null;
+  }
+
+  /**
+   * Creates a handler for a parameter mapping that declares the type of the collection elements, so that an empty
+   * collection, or one holding only nulls, can be bound as well. The SQL type is the mapping's {@code jdbcTypeName}
+   * if set, otherwise the one of its {@code javaType}, or of the component type if that is an array.
+   *
+   * @param javaType
+   *          the java type of the parameter mapping
+   * @param jdbcTypeName
+   *          the jdbc type name of the parameter mapping
+   * @since 3.5.7
+   */
+  public ArrayTypeHandler(Class<?> javaType, String jdbcTypeName) {
+    super();
+    if (jdbcTypeName != null) {
+      this.elementTypeName = jdbcTypeName;
+    } else if (javaType != null && javaType.isArray()) {
+      this.elementTypeName = STANDARD_MAPPING.get(javaType.getComponentType());
+    } else {
+      this.elementTypeName = javaType == null ? null : STANDARD_MAPPING.get(javaType);
+    }
   }
 
   @Override
@@ -82,10 +108,17 @@ public class ArrayTypeHandler extends BaseTypeHandler<Object> {
     if (parameter instanceof Array) {
       // it's the user's responsibility to properly free() the Array instance
       ps.setArray(i, (Array) parameter);
+    } else if (parameter instanceof Collection) {
+      // 整个集合作为一个数组参数绑定，例如 "= ANY(?)"，SQL文本不随元素个数变化
+      Collection<?> collection = (Collection<?>) parameter;
+      String typeName = elementTypeName != null ? elementTypeName : resolveTypeName(resolveElementType(collection));
+      Array array = ps.getConnection().createArrayOf(typeName, collection.toArray());
+      ps.setArray(i, array);
+      array.free();
     } else {
       if (!parameter.getClass().isArray()) {
         throw new TypeException(
-            "ArrayType Handler requires SQL array or java array parameter and does not support type "
+            "ArrayType Handler requires SQL array, java array or collection parameter and does not support type "
                 + parameter.getClass());
       }
       Class<?> componentType = parameter.getClass().getComponentType();
@@ -96,6 +129,15 @@ public class ArrayTypeHandler extends BaseTypeHandler<Object> {
     }
   }
 
+  private Class<?> resolveElementType(Collection<?> collection) {
+    for (Object element : collection) {
+      if (element != null) {
+        return element.getClass();
+      }
+    }
+    return Object.class;
+  }
+
   protected String resolveTypeName(Class<?> type) {
     return STANDARD_MAPPING.getOrDefault(type, JdbcType.JAVA_OBJECT.name());
   }
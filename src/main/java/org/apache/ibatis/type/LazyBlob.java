@@ -0,0 +1,105 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import java.io.InputStream;
+import java.sql.Blob;
+import java.sql.SQLException;
+
+/**
+ * A handle to a BLOB value that reads its content only when asked to.
+ * <p>
+ * Mapping a column to a {@code LazyBlob} keeps the driver's locator instead of copying the content into a
+ * {@code byte[]}, so rows whose content is never used cost no heap. The handle is only guaranteed to be readable while
+ * the row is being handled, that is inside a {@link org.apache.ibatis.session.ResultHandler} callback or before a
+ * {@link org.apache.ibatis.cursor.Cursor} moves on; many drivers keep it readable until the transaction ends.
+ *
+ * @since 3.5.7
+ * @see LazyBlobTypeHandler
+ */
+public final class LazyBlob implements AutoCloseable {
+
+  private final Blob blob;
+  private byte[] bytes;
+
+  public LazyBlob(Blob blob) {
+    this.blob = blob;
+  }
+
+  /**
+   * Returns the number of bytes of the value.
+   *
+   * @return the length
+   * @throws SQLException
+   *           if the driver fails to read the length
+   */
+  public long length() throws SQLException {
+    return bytes != null ? bytes.length : blob.length();
+  }
+
+  /**
+   * Opens a stream over the whole value. The content is streamed from the driver and not kept by this handle.
+   *
+   * @return a new stream
+   * @throws SQLException
+   *           if the driver fails to open the stream
+   */
+  public InputStream openStream() throws SQLException {
+    return blob.getBinaryStream();
+  }
+
+  /**
+   * Opens a stream over a part of the value.
+   *
+   * @param position
+   *          the position of the first byte, starting at 1
+   * @param length
+   *          the number of bytes
+   * @return a new stream
+   * @throws SQLException
+   *           if the driver fails to open the stream
+   */
+  public InputStream openStream(long position, long length) throws SQLException {
+    return blob.getBinaryStream(position, length);
+  }
+
+  /**
+   * Reads the whole value into memory. The bytes are read once and kept by this handle.
+   *
+   * @return the content
+   * @throws SQLException
+   *           if the driver fails to read the content
+   */
+  public byte[] getBytes() throws SQLException {
+    if (bytes == null) {
+      bytes = blob.getBytes(1, (int) blob.length());
+    }
+    return bytes;
+  }
+
+  public Blob getBlob() {
+    return blob;
+  }
+
+  /**
+   * Releases the resources the driver holds for the value.
+   */
+  @Override
+  public void close() throws SQLException {
+    blob.free();
+  }
+
+}
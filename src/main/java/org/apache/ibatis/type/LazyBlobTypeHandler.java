@@ -0,0 +1,59 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * The {@link TypeHandler} for {@link Blob}/{@link LazyBlob}, which maps the column without reading its content.
+ *
+ * @since 3.5.7
+ */
+public class LazyBlobTypeHandler extends BaseTypeHandler<LazyBlob> {
+
+  @Override
+  public void setNonNullParameter(PreparedStatement ps, int i, LazyBlob parameter, JdbcType jdbcType)
+      throws SQLException {
+    ps.setBlob(i, parameter.getBlob());
+  }
+
+  @Override
+  public LazyBlob getNullableResult(ResultSet rs, String columnName)
+      throws SQLException {
+    return toLazyBlob(rs.getBlob(columnName));
+  }
+
+  @Override
+  public LazyBlob getNullableResult(ResultSet rs, int columnIndex)
+      throws SQLException {
+    return toLazyBlob(rs.getBlob(columnIndex));
+  }
+
+  @Override
+  public LazyBlob getNullableResult(CallableStatement cs, int columnIndex)
+      throws SQLException {
+    return toLazyBlob(cs.getBlob(columnIndex));
+  }
+
+  private LazyBlob toLazyBlob(Blob blob) {
+    return blob == null ? null : new LazyBlob(blob);
+  }
+
+}
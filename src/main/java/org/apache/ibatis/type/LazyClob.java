@@ -0,0 +1,103 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import java.io.Reader;
+import java.sql.Clob;
+import java.sql.SQLException;
+
+/**
+ * A handle to a CLOB value that reads its content only when asked to.
+ * <p>
+ * Mapping a column to a {@code LazyClob} keeps the driver's locator instead of copying the content into a
+ * {@code String}. Like {@link LazyBlob}, the handle is only guaranteed to be readable while the row is being handled.
+ *
+ * @since 3.5.7
+ * @see LazyClobTypeHandler
+ */
+public final class LazyClob implements AutoCloseable {
+
+  private final Clob clob;
+  private String string;
+
+  public LazyClob(Clob clob) {
+    this.clob = clob;
+  }
+
+  /**
+   * Returns the number of characters of the value.
+   *
+   * @return the length
+   * @throws SQLException
+   *           if the driver fails to read the length
+   */
+  public long length() throws SQLException {
+    return string != null ? string.length() : clob.length();
+  }
+
+  /**
+   * Opens a reader over the whole value. The content is streamed from the driver and not kept by this handle.
+   *
+   * @return a new reader
+   * @throws SQLException
+   *           if the driver fails to open the reader
+   */
+  public Reader openReader() throws SQLException {
+    return clob.getCharacterStream();
+  }
+
+  /**
+   * Opens a reader over a part of the value.
+   *
+   * @param position
+   *          the position of the first character, starting at 1
+   * @param length
+   *          the number of characters
+   * @return a new reader
+   * @throws SQLException
+   *           if the driver fails to open the reader
+   */
+  public Reader openReader(long position, long length) throws SQLException {
+    return clob.getCharacterStream(position, length);
+  }
+
+  /**
+   * Reads the whole value into memory. The string is read once and kept by this handle.
+   *
+   * @return the content
+   * @throws SQLException
+   *           if the driver fails to read the content
+   */
+  public String getString() throws SQLException {
+    if (string == null) {
+      string = clob.getSubString(1, (int) clob.length());
+    }
+    return string;
+  }
+
+  public Clob getClob() {
+    return clob;
+  }
+
+  /**
+   * Releases the resources the driver holds for the value.
+   */
+  @Override
+  public void close() throws SQLException {
+    clob.free();
+  }
+
+}
@@ -0,0 +1,59 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * The {@link TypeHandler} for {@link Clob}/{@link LazyClob}, which maps the column without reading its content.
+ *
+ * @since 3.5.7
+ */
+public class LazyClobTypeHandler extends BaseTypeHandler<LazyClob> {
+
+  @Override
+  public void setNonNullParameter(PreparedStatement ps, int i, LazyClob parameter, JdbcType jdbcType)
+      throws SQLException {
+    ps.setClob(i, parameter.getClob());
+  }
+
+  @Override
+  public LazyClob getNullableResult(ResultSet rs, String columnName)
+      throws SQLException {
+    return toLazyClob(rs.getClob(columnName));
+  }
+
+  @Override
+  public LazyClob getNullableResult(ResultSet rs, int columnIndex)
+      throws SQLException {
+    return toLazyClob(rs.getClob(columnIndex));
+  }
+
+  @Override
+  public LazyClob getNullableResult(CallableStatement cs, int columnIndex)
+      throws SQLException {
+    return toLazyClob(cs.getClob(columnIndex));
+  }
+
+  private LazyClob toLazyClob(Clob clob) {
+    return clob == null ? null : new LazyClob(clob);
+  }
+
+}
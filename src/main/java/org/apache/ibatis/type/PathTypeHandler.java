@@ -0,0 +1,145 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * The {@link TypeHandler} that binds the content of a file to a BLOB or binary parameter.
+ * <p>
+ * The file is handed to the driver as a stream of known length and is not read into memory. It is opened when the
+ * driver starts reading it and closed as soon as the driver has read as many bytes as the file had when the parameter
+ * was set, even if the driver does not read on to the end; bytes appended to the file later are not sent. Columns
+ * cannot be mapped to a
+ * {@link Path}; use {@link LazyBlob} to stream a column instead.
+ *
+ * @since 3.5.7
+ */
+public class PathTypeHandler extends BaseTypeHandler<Path> {
+
+  @Override
+  public void setNonNullParameter(PreparedStatement ps, int i, Path parameter, JdbcType jdbcType)
+      throws SQLException {
+    long length;
+    try {
+      length = Files.size(parameter);
+    } catch (IOException e) {
+      throw new TypeException("Could not read the size of file " + parameter + ".  Cause: " + e, e);
+    }
+    ps.setBinaryStream(i, new FileContentStream(parameter, length), length);
+  }
+
+  @Override
+  public Path getNullableResult(ResultSet rs, String columnName) {
+    throw unsupportedResult();
+  }
+
+  @Override
+  public Path getNullableResult(ResultSet rs, int columnIndex) {
+    throw unsupportedResult();
+  }
+
+  @Override
+  public Path getNullableResult(CallableStatement cs, int columnIndex) {
+    throw unsupportedResult();
+  }
+
+  private TypeException unsupportedResult() {
+    return new TypeException("A column cannot be mapped to a Path. Map it to a LazyBlob to stream its content.");
+  }
+
+  /**
+   * Opens the file on the first read and closes it once the announced length has been delivered or the file ends
+   * early, so that a stream the driver never reads, or reads no further than the announced length, holds no file
+   * handle.
+   */
+  private static final class FileContentStream extends InputStream {
+
+    private final Path path;
+    private long remaining;
+    private InputStream in;
+    private boolean closed;
+
+    FileContentStream(Path path, long length) {
+      this.path = path;
+      this.remaining = length;
+    }
+
+    @Override
+    public int read() throws IOException {
+      InputStream stream = open();
+      int b = stream == null ? -1 : stream.read();
+      delivered(b < 0 ? -1 : 1);
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      InputStream stream = open();
+      // 文件在设置参数后变长时，只读取声明的长度
+      int n = stream == null ? -1 : stream.read(b, off, (int) Math.min(len, remaining));
+      delivered(n);
+      return n;
+    }
+
+    @Override
+    public int available() throws IOException {
+      InputStream stream = open();
+      return stream == null ? 0 : (int) Math.min(stream.available(), remaining);
+    }
+
+    private void delivered(int n) throws IOException {
+      if (n < 0) {
+        close();
+        return;
+      }
+      remaining -= n;
+      if (remaining <= 0) {
+        close();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      closed = true;
+      if (in != null) {
+        in.close();
+        in = null;
+      }
+    }
+
+    private InputStream open() throws IOException {
+      if (remaining <= 0) {
+        close();
+      }
+      if (in == null && !closed) {
+        in = Files.newInputStream(path);
+      }
+      return in;
+    }
+  }
+
+}
@@ -0,0 +1,92 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * Optional contracts of a {@link TypeHandler} that reads and writes primitive values without boxing them.
+ * <p>
+ * When a column is mapped to a primitive property, or a primitive property is bound to a parameter, MyBatis uses the
+ * contract matching the property type instead of {@link TypeHandler#getResult(ResultSet, String)} and
+ * {@link TypeHandler#setParameter(PreparedStatement, int, Object, JdbcType)}. A getter returns the value of the column
+ * and reports SQL {@code NULL} through {@link #wasNull(ResultSet)}, which is called right after it.
+ * <p>
+ * A contract is only used when the class of the handler declares it itself. A subclass of a built-in handler that
+ * changes how values are read or written therefore keeps the boxed methods unless it declares the contract again.
+ *
+ * @since 3.5.7
+ */
+public interface PrimitiveTypeHandler {
+
+  /**
+   * Returns whether the value returned by the last getter was SQL {@code NULL}.
+   *
+   * @param rs
+   *          the result set the value was read from
+   * @return true if the value was SQL {@code NULL}
+   * @throws SQLException
+   *           if the result set fails
+   */
+  default boolean wasNull(ResultSet rs) throws SQLException {
+    return rs.wasNull();
+  }
+
+  /**
+   * Returns whether the class of the given type handler declares the given contract.
+   *
+   * @param typeHandler
+   *          the type handler
+   * @param contract
+   *          one of the nested contracts
+   * @return true if the contract can be used in place of the boxed methods
+   */
+  static boolean isDeclaredBy(TypeHandler<?> typeHandler, Class<? extends PrimitiveTypeHandler> contract) {
+    return typeHandler != null && Arrays.asList(typeHandler.getClass().getInterfaces()).contains(contract);
+  }
+
+  interface OfInt extends PrimitiveTypeHandler {
+
+    int getInt(ResultSet rs, String columnName) throws SQLException;
+
+    void setInt(PreparedStatement ps, int i, int parameter) throws SQLException;
+  }
+
+  interface OfLong extends PrimitiveTypeHandler {
+
+    long getLong(ResultSet rs, String columnName) throws SQLException;
+
+    void setLong(PreparedStatement ps, int i, long parameter) throws SQLException;
+  }
+
+  interface OfDouble extends PrimitiveTypeHandler {
+
+    double getDouble(ResultSet rs, String columnName) throws SQLException;
+
+    void setDouble(PreparedStatement ps, int i, double parameter) throws SQLException;
+  }
+
+  interface OfBoolean extends PrimitiveTypeHandler {
+
+    boolean getBoolean(ResultSet rs, String columnName) throws SQLException;
+
+    void setBoolean(PreparedStatement ps, int i, boolean parameter) throws SQLException;
+  }
+
+}
@@ -38,6 +38,7 @@ import org.apache.ibatis.io.Resources;
 public class TypeAliasRegistry {
 
   private final Map<String, Class<?>> typeAliases = new HashMap<>();
+  private volatile boolean frozen;
 
   public TypeAliasRegistry() {
     registerAlias("string", String.class);
@@ -154,6 +155,9 @@ public class TypeAliasRegistry {
   }
 
   public void registerAlias(String alias, Class<?> value) {
+    if (frozen) {
+      throw new TypeException("Cannot register type alias " + alias + ", the registry has been frozen.");
+    }
     //判断别名是否为 null，直接返回false
     if (alias == null) {
       throw new TypeException("The parameter alias cannot be null");
@@ -187,4 +191,14 @@ public class TypeAliasRegistry {
     return Collections.unmodifiableMap(typeAliases);
   }
 
+  /**
+   * Rejects any further registration of type aliases.
+   *
+   * @since 3.5.7
+   * @see org.apache.ibatis.session.Configuration#freeze()
+   */
+  public void freeze() {
+    frozen = true;
+  }
+
 }
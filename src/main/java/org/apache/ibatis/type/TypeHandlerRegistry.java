@@ -22,6 +22,7 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -42,6 +43,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.apache.ibatis.binding.MapperMethod.ParamMap;
 import org.apache.ibatis.io.ResolverUtil;
@@ -72,9 +74,19 @@ public final class TypeHandlerRegistry {
    * 空TypeHandler集合的标识
    */
   private static final Map<JdbcType, TypeHandler<?>> NULL_TYPE_HANDLER_MAP = Collections.emptyMap();
+  /**
+   * 已解析结果的缓存，key是Java类型，按JdbcType记录解析出的TypeHandler（包括解析失败）
+   */
+  private final Map<Type, ResolvedTypeHandlers> resolvedTypeHandlers = new ConcurrentHashMap<>();
+  /**
+   * 每次注册TypeHandler都会递增，使之前解析的结果失效
+   */
+  private volatile int generation;
 
   private Class<? extends TypeHandler> defaultEnumTypeHandler = EnumTypeHandler.class;
 
+  private volatile boolean frozen;
+
   /**
    * The default constructor.
    */
@@ -120,6 +132,7 @@ public final class TypeHandlerRegistry {
     register(JdbcType.DOUBLE, new DoubleTypeHandler());
 
     register(Reader.class, new ClobReaderTypeHandler());
+    register(LazyClob.class, new LazyClobTypeHandler());
     register(String.class, new StringTypeHandler());
     register(String.class, JdbcType.CHAR, new StringTypeHandler());
     register(String.class, JdbcType.CLOB, new ClobTypeHandler());
@@ -148,6 +161,8 @@ public final class TypeHandlerRegistry {
     register(JdbcType.NUMERIC, new BigDecimalTypeHandler());
 
     register(InputStream.class, new BlobInputStreamTypeHandler());
+    register(LazyBlob.class, new LazyBlobTypeHandler());
+    register(Path.class, new PathTypeHandler());
     register(Byte[].class, new ByteObjectArrayTypeHandler());
     register(Byte[].class, JdbcType.BLOB, new BlobByteObjectArrayTypeHandler());
     register(Byte[].class, JdbcType.LONGVARBINARY, new BlobByteObjectArrayTypeHandler());
@@ -198,7 +213,9 @@ public final class TypeHandlerRegistry {
    * @since 3.4.5
    */
   public void setDefaultEnumTypeHandler(Class<? extends TypeHandler> typeHandler) {
+    checkNotFrozen();
     this.defaultEnumTypeHandler = typeHandler;
+    generation++;
   }
 
   public boolean hasTypeHandler(Class<?> javaType) {
@@ -243,7 +260,24 @@ public final class TypeHandlerRegistry {
 
   @SuppressWarnings("unchecked")
   private <T> TypeHandler<T> getTypeHandler(Type type, JdbcType jdbcType) {
-    if (ParamMap.class.equals(type)) {
+    int currentGeneration = generation;
+    ResolvedTypeHandlers resolved = resolvedTypeHandlers.get(type);
+    if (resolved == null || resolved.generation != currentGeneration) {
+      resolved = new ResolvedTypeHandlers(currentGeneration);
+      resolvedTypeHandlers.put(type, resolved);
+    }
+    int slot = jdbcType == null ? ResolvedTypeHandlers.NULL_JDBC_TYPE_SLOT : jdbcType.ordinal();
+    Object handler = resolved.handlers.get(slot);
+    if (handler == null) {
+      handler = resolveTypeHandler(type, jdbcType);
+      resolved.handlers.set(slot, handler == null ? ResolvedTypeHandlers.NO_TYPE_HANDLER : handler);
+    }
+    // type drives generics here
+    return handler == ResolvedTypeHandlers.NO_TYPE_HANDLER ? null : (TypeHandler<T>) handler;
+  }
+
+  private TypeHandler<?> resolveTypeHandler(Type type, JdbcType jdbcType) {
+    if (type instanceof Class && ParamMap.class.isAssignableFrom((Class<?>) type)) {
       return null;
     }
     // 根据java类型查找对应的JdbcTypeHandler集合
@@ -261,8 +295,7 @@ public final class TypeHandlerRegistry {
         handler = pickSoleHandler(jdbcHandlerMap);
       }
     }
-    // type drives generics here
-    return (TypeHandler<T>) handler;
+    return handler;
   }
 
   private Map<JdbcType, TypeHandler<?>> getJdbcHandlerMap(Type type) {
@@ -280,7 +313,8 @@ public final class TypeHandlerRegistry {
         Class<?> enumClass = clazz.isAnonymousClass() ? clazz.getSuperclass() : clazz;
         jdbcHandlerMap = getJdbcHandlerMapForEnumInterfaces(enumClass, enumClass);
         if (jdbcHandlerMap == null) {
-          register(enumClass, getInstance(enumClass, defaultEnumTypeHandler));
+          // also done once frozen, just like caching the handlers found for a superclass
+          register((Type) enumClass, getInstance(enumClass, defaultEnumTypeHandler));
           return typeHandlerMap.get(enumClass);
         }
       }
@@ -344,6 +378,7 @@ public final class TypeHandlerRegistry {
   }
 
   public void register(JdbcType jdbcType, TypeHandler<?> handler) {
+    checkNotFrozen();
     jdbcTypeHandlerMap.put(jdbcType, handler);
   }
 
@@ -355,6 +390,7 @@ public final class TypeHandlerRegistry {
 
   @SuppressWarnings("unchecked")
   public <T> void register(TypeHandler<T> typeHandler) {
+    checkNotFrozen();
     boolean mappedTypeFound = false;
     // 读取TypeHandler类中定义的@MappedTypes注解
     MappedTypes mappedTypes = typeHandler.getClass().getAnnotation(MappedTypes.class);
@@ -384,6 +420,7 @@ public final class TypeHandlerRegistry {
   // java type + handler
 
   public <T> void register(Class<T> javaType, TypeHandler<? extends T> typeHandler) {
+    checkNotFrozen();
     register((Type) javaType, typeHandler);
   }
 
@@ -406,6 +443,7 @@ public final class TypeHandlerRegistry {
   }
 
   public <T> void register(TypeReference<T> javaTypeReference, TypeHandler<? extends T> handler) {
+    checkNotFrozen();
     register(javaTypeReference.getRawType(), handler);
   }
 
@@ -414,6 +452,7 @@ public final class TypeHandlerRegistry {
   // Cast is required here
   @SuppressWarnings("cast")
   public <T> void register(Class<T> type, JdbcType jdbcType, TypeHandler<? extends T> handler) {
+    checkNotFrozen();
     register((Type) type, jdbcType, handler);
   }
 
@@ -428,6 +467,7 @@ public final class TypeHandlerRegistry {
       // 将TypeHandler实例记录到typeHandlerMap集合
       map.put(jdbcType, handler);
       typeHandlerMap.put(javaType, map);
+      generation++;
     }
     // 向allTypeHandlersMap集合注册TypeHandler类型和对应的对象
     allTypeHandlersMap.put(handler.getClass(), handler);
@@ -440,6 +480,7 @@ public final class TypeHandlerRegistry {
   // Only handler type
 
   public void register(Class<?> typeHandlerClass) {
+    checkNotFrozen();
     boolean mappedTypeFound = false;
     MappedTypes mappedTypes = typeHandlerClass.getAnnotation(MappedTypes.class);
     if (mappedTypes != null) {
@@ -456,16 +497,19 @@ public final class TypeHandlerRegistry {
   // java type + handler type
 
   public void register(String javaTypeClassName, String typeHandlerClassName) throws ClassNotFoundException {
+    checkNotFrozen();
     register(Resources.classForName(javaTypeClassName), Resources.classForName(typeHandlerClassName));
   }
 
   public void register(Class<?> javaTypeClass, Class<?> typeHandlerClass) {
+    checkNotFrozen();
     register(javaTypeClass, getInstance(javaTypeClass, typeHandlerClass));
   }
 
   // java type + jdbc type + handler type
 
   public void register(Class<?> javaTypeClass, JdbcType jdbcType, Class<?> typeHandlerClass) {
+    checkNotFrozen();
     register(javaTypeClass, jdbcType, getInstance(javaTypeClass, typeHandlerClass));
   }
 
@@ -494,6 +538,7 @@ public final class TypeHandlerRegistry {
   // scan
 
   public void register(String packageName) {
+    checkNotFrozen();
     ResolverUtil<Class<?>> resolverUtil = new ResolverUtil<>();
     resolverUtil.find(new ResolverUtil.IsA(TypeHandler.class), packageName);
     Set<Class<? extends Class<?>>> handlerSet = resolverUtil.getClasses();
@@ -517,4 +562,37 @@ public final class TypeHandlerRegistry {
     return Collections.unmodifiableCollection(allTypeHandlersMap.values());
   }
 
+  /**
+   * Rejects any further registration of type handlers. Handlers are still resolved and cached for java types seen for
+   * the first time, including the default handler of an enum type.
+   *
+   * @since 3.5.7
+   * @see org.apache.ibatis.session.Configuration#freeze()
+   */
+  public void freeze() {
+    frozen = true;
+  }
+
+  private void checkNotFrozen() {
+    if (frozen) {
+      throw new TypeException("Cannot register a type handler, the registry has been frozen.");
+    }
+  }
+
+  /**
+   * The handlers resolved for one java type, indexed by the ordinal of the jdbc type.
+   */
+  private static final class ResolvedTypeHandlers {
+
+    private static final int NULL_JDBC_TYPE_SLOT = JdbcType.values().length;
+    private static final Object NO_TYPE_HANDLER = new Object();
+
+    private final int generation;
+    private final AtomicReferenceArray<Object> handlers = new AtomicReferenceArray<>(NULL_JDBC_TYPE_SLOT + 1);
+
+    ResolvedTypeHandlers(int generation) {
+      this.generation = generation;
+    }
+  }
+
 }
@@ -15,6 +15,7 @@
  */
 package org.apache.ibatis.type;
 
+import java.lang.ref.WeakReference;
 import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -36,6 +37,11 @@ public class UnknownTypeHandler extends BaseTypeHandler<Object> {
   // TODO Rename to 'configuration' after removing the 'configuration' property(deprecated property) on parent class
   private final Configuration config;
   private final Supplier<TypeHandlerRegistry> typeHandlerRegistrySupplier;
+  /**
+   * 当前线程最近一个结果集中按列名解析出的TypeHandler，同一结果集的后续行不再读取元数据。
+   * 按线程保存，并发读取不同结果集时不会相互覆盖
+   */
+  private final ThreadLocal<ColumnTypeHandlers> lastColumnTypeHandlers = new ThreadLocal<>();
 
   /**
    * The constructor that pass a MyBatis configuration.
@@ -105,6 +111,24 @@ public class UnknownTypeHandler extends BaseTypeHandler<Object> {
   }
 
   private TypeHandler<?> resolveTypeHandler(ResultSet rs, String column) {
+    ColumnTypeHandlers columnTypeHandlers = lastColumnTypeHandlers.get();
+    if (columnTypeHandlers == null) {
+      columnTypeHandlers = new ColumnTypeHandlers();
+      lastColumnTypeHandlers.set(columnTypeHandlers);
+    }
+    if (columnTypeHandlers.resultSet.get() != rs) {
+      columnTypeHandlers.resultSet = new WeakReference<>(rs);
+      columnTypeHandlers.handlers.clear();
+    }
+    TypeHandler<?> handler = columnTypeHandlers.handlers.get(column);
+    if (handler == null) {
+      handler = resolveColumnTypeHandler(rs, column);
+      columnTypeHandlers.handlers.put(column, handler);
+    }
+    return handler;
+  }
+
+  private TypeHandler<?> resolveColumnTypeHandler(ResultSet rs, String column) {
     try {
       Map<String,Integer> columnIndexLookup;
       columnIndexLookup = new HashMap<>();
@@ -158,4 +182,10 @@ public class UnknownTypeHandler extends BaseTypeHandler<Object> {
       return null;
     }
   }
+
+  private static final class ColumnTypeHandlers {
+
+    private WeakReference<ResultSet> resultSet = new WeakReference<>(null);
+    private final Map<String, TypeHandler<?>> handlers = new HashMap<>();
+  }
 }
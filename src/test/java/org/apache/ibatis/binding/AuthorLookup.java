@@ -0,0 +1,42 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.binding;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+public interface AuthorLookup<T> {
+
+  @Select("select * from author where id = #{id}")
+  T selectById(int id);
+
+  @Select("select count(*) from author")
+  int countAuthors();
+
+  @Select("select * from author where id = #{id} and username = #{username}")
+  T selectByIdAndUsername(@Param("id") int id, @Param("username") String username);
+
+  @Select("select * from author where id in (${ids}) order by id")
+  List<T> selectByIds(@Param("ids") String ids);
+
+  T selectUnbound();
+
+  default int countAuthorsTwice() {
+    return countAuthors() * 2;
+  }
+}
@@ -0,0 +1,151 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.binding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sql.DataSource;
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MapperImplementationProcessorTest {
+
+  @TempDir
+  static Path tempDir;
+
+  private static URLClassLoader classLoader;
+  private static Class<?> generatedMapper;
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    Path sources = Files.createDirectories(tempDir.resolve("src/org/apache/ibatis/binding/generated"));
+    Path classes = Files.createDirectories(tempDir.resolve("classes"));
+    Path source = sources.resolve("GeneratedAuthorMapper.java");
+    Files.write(source, Arrays.asList(
+        "package org.apache.ibatis.binding.generated;",
+        "@org.apache.ibatis.annotations.Mapper",
+        "public interface GeneratedAuthorMapper extends org.apache.ibatis.binding.AuthorLookup<org.apache.ibatis.domain.blog.Author> {",
+        "  @org.apache.ibatis.annotations.Select(\"select username from author where id in (${ids}) order by id\")",
+        "  java.util.Set<String> selectUsernames(@org.apache.ibatis.annotations.Param(\"ids\") String ids);",
+        "  @org.apache.ibatis.annotations.Mapper",
+        "  interface Nested {",
+        "    @org.apache.ibatis.annotations.Select(\"select count(*) from author\")",
+        "    long count();",
+        "  }",
+        "  @org.apache.ibatis.annotations.Mapper",
+        "  interface Generic<T> {",
+        "    T get();",
+        "  }",
+        "}"), StandardCharsets.UTF_8);
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+      List<String> options = Arrays.asList("-classpath", System.getProperty("java.class.path"), "-d",
+          classes.toString(), "-processor", MapperImplementationProcessor.class.getName());
+      assertTrue(compiler.getTask(null, fileManager, null, options, null,
+          fileManager.getJavaFileObjects(source.toFile())).call());
+    }
+    classLoader = new URLClassLoader(new URL[] { classes.toUri().toURL() },
+        MapperImplementationProcessorTest.class.getClassLoader());
+    generatedMapper = classLoader.loadClass("org.apache.ibatis.binding.generated.GeneratedAuthorMapper");
+
+    DataSource dataSource = BaseDataTest.createBlogDataSource();
+    BaseDataTest.runScript(dataSource, BaseDataTest.BLOG_DDL);
+    BaseDataTest.runScript(dataSource, BaseDataTest.BLOG_DATA);
+    Configuration configuration = new Configuration(
+        new Environment("Production", new JdbcTransactionFactory(), dataSource));
+    configuration.addMapper(generatedMapper);
+    configuration.addMapper(classLoader.loadClass("org.apache.ibatis.binding.generated.GeneratedAuthorMapper$Nested"));
+    configuration.addMapper(classLoader.loadClass("org.apache.ibatis.binding.generated.GeneratedAuthorMapper$Generic"));
+    sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+  }
+
+  @Test
+  void shouldUseGeneratedImplementationInsteadOfProxy() throws Exception {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      Object mapper = session.getMapper(generatedMapper);
+      assertThat(Proxy.isProxyClass(mapper.getClass())).isFalse();
+      assertEquals(MapperImplementationProcessor.getImplementationName(generatedMapper.getName()),
+          mapper.getClass().getName());
+      Object nested = session.getMapper(classLoader.loadClass("org.apache.ibatis.binding.generated.GeneratedAuthorMapper$Nested"));
+      assertThat(Proxy.isProxyClass(nested.getClass())).isFalse();
+      assertEquals(2L, nested.getClass().getMethod("count").invoke(nested));
+    }
+  }
+
+  @Test
+  void shouldLeaveGenericMapperToProxy() throws Exception {
+    assertThat(new File(tempDir.toFile(), "classes/org/apache/ibatis/binding/generated/GeneratedAuthorMapper$Generic"
+        + MapperImplementationProcessor.IMPLEMENTATION_SUFFIX + ".class")).doesNotExist();
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      Object mapper = session.getMapper(classLoader.loadClass("org.apache.ibatis.binding.generated.GeneratedAuthorMapper$Generic"));
+      assertThat(Proxy.isProxyClass(mapper.getClass())).isTrue();
+    }
+  }
+
+  @Test
+  void shouldExecuteStatementsThroughGeneratedImplementation() throws Exception {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      @SuppressWarnings("unchecked")
+      AuthorLookup<Author> mapper = (AuthorLookup<Author>) session.getMapper(generatedMapper);
+      assertEquals(2, mapper.countAuthors());
+      assertEquals(4, mapper.countAuthorsTwice());
+      assertEquals("jim", mapper.selectById(101).getUsername());
+      assertEquals("sally", mapper.selectByIdAndUsername(102, "sally").getUsername());
+      assertEquals(null, mapper.selectByIdAndUsername(102, "jim"));
+      assertThat(mapper.selectByIds("101, 102")).extracting(Author::getUsername).containsExactly("jim", "sally");
+      assertEquals(new java.util.HashSet<>(Arrays.asList("jim", "sally")),
+          generatedMapper.getMethod("selectUsernames", String.class).invoke(mapper, "101, 102"));
+    }
+  }
+
+  @Test
+  void shouldFailOnFirstCallOfUnboundMethod() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      @SuppressWarnings("unchecked")
+      AuthorLookup<Author> mapper = (AuthorLookup<Author>) session.getMapper(generatedMapper);
+      BindingException e = assertThrows(BindingException.class, mapper::selectUnbound);
+      assertThat(e.getMessage()).contains("selectUnbound");
+    }
+  }
+
+}
@@ -43,6 +43,7 @@ import org.apache.ibatis.domain.blog.Blog;
 import org.apache.ibatis.domain.blog.mappers.BlogMapper;
 import org.apache.ibatis.domain.blog.mappers.NestedBlogMapper;
 import org.apache.ibatis.domain.jpetstore.Cart;
+import org.apache.ibatis.executor.dialect.OffsetFetchDialect;
 import org.apache.ibatis.executor.loader.cglib.CglibProxyFactory;
 import org.apache.ibatis.executor.loader.javassist.JavassistProxyFactory;
 import org.apache.ibatis.io.JBoss6VFS;
@@ -102,6 +103,13 @@ class XmlConfigBuilderTest {
       assertThat(config.getTypeHandlerRegistry().getTypeHandler(RoundingMode.class)).isInstanceOf(EnumTypeHandler.class);
       assertThat(config.isShrinkWhitespacesInSql()).isFalse();
       assertThat(config.getDefaultSqlProviderType()).isNull();
+      assertThat(config.isQueryCoalescingEnabled()).isFalse();
+      assertThat(config.isPhysicalPaginationEnabled()).isFalse();
+      assertNull(config.getDialect());
+      assertThat(config.isParallelMapperParsingEnabled()).isFalse();
+      assertThat(config.isDiscardSqlFragments()).isFalse();
+      assertThat(config.isLazyStatementBuildingEnabled()).isFalse();
+      assertThat(config.isFreezeConfiguration()).isFalse();
     }
   }
 
@@ -198,6 +206,13 @@ class XmlConfigBuilderTest {
       assertThat(config.getConfigurationFactory().getName()).isEqualTo(String.class.getName());
       assertThat(config.isShrinkWhitespacesInSql()).isTrue();
       assertThat(config.getDefaultSqlProviderType().getName()).isEqualTo(MySqlProvider.class.getName());
+      assertThat(config.isQueryCoalescingEnabled()).isTrue();
+      assertThat(config.isPhysicalPaginationEnabled()).isTrue();
+      assertThat(config.getDialect()).isInstanceOf(OffsetFetchDialect.class);
+      assertThat(config.isParallelMapperParsingEnabled()).isTrue();
+      assertThat(config.isDiscardSqlFragments()).isTrue();
+      assertThat(config.isLazyStatementBuildingEnabled()).isTrue();
+      assertThat(config.isFreezeConfiguration()).isTrue();
 
       assertThat(config.getTypeAliasRegistry().getTypeAliases().get("blogauthor")).isEqualTo(Author.class);
       assertThat(config.getTypeAliasRegistry().getTypeAliases().get("blog")).isEqualTo(Blog.class);
@@ -306,6 +321,55 @@ class XmlConfigBuilderTest {
       .hasMessageContaining("The properties element cannot specify both a URL and a resource based property file reference.  Please specify one or the other.");
   }
 
+  @Test
+  void parallelMapperParsingRegistersSameStatementsAsSequentialParsing() {
+    final String MAPPER_CONFIG = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n"
+            + "<!DOCTYPE configuration PUBLIC \"-//mybatis.org//DTD Config 3.0//EN\" \"http://mybatis.org/dtd/mybatis-3-config.dtd\">\n"
+            + "<configuration>\n"
+            + "  <settings>\n"
+            + "    <setting name=\"parallelMapperParsingEnabled\" value=\"%s\"/>\n"
+            + "  </settings>\n"
+            + "  <typeAliases>\n"
+            + "    <package name=\"org.apache.ibatis.domain.blog\"/>\n"
+            + "  </typeAliases>\n"
+            + "  <mappers>\n"
+            + "    <mapper resource=\"org/apache/ibatis/builder/BlogMapper.xml\"/>\n"
+            + "    <mapper resource=\"org/apache/ibatis/builder/AuthorMapper.xml\"/>\n"
+            + "    <mapper url=\"file:./src/test/java/org/apache/ibatis/builder/NestedBlogMapper.xml\"/>\n"
+            + "    <mapper class=\"org.apache.ibatis.builder.CachedAuthorMapper\"/>\n"
+            + "    <package name=\"org.apache.ibatis.builder.mapper\"/>\n"
+            + "  </mappers>\n"
+            + "</configuration>\n";
+
+    Configuration sequential = new XMLConfigBuilder(new StringReader(String.format(MAPPER_CONFIG, "false"))).parse();
+    Configuration parallel = new XMLConfigBuilder(new StringReader(String.format(MAPPER_CONFIG, "true"))).parse();
+
+    assertThat(parallel.isParallelMapperParsingEnabled()).isTrue();
+    assertThat(parallel.getMappedStatementNames()).containsExactlyInAnyOrderElementsOf(sequential.getMappedStatementNames());
+    assertThat(parallel.getResultMapNames()).containsExactlyInAnyOrderElementsOf(sequential.getResultMapNames());
+    assertThat(parallel.getMapperRegistry().getMappers()).containsExactlyInAnyOrderElementsOf(sequential.getMapperRegistry().getMappers());
+    assertThat(parallel.getIncompleteStatements()).isEmpty();
+  }
+
+  @Test
+  void parallelMapperParsingReportsMissingMapperDocuments() {
+    final String MAPPER_CONFIG = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n"
+            + "<!DOCTYPE configuration PUBLIC \"-//mybatis.org//DTD Config 3.0//EN\" \"http://mybatis.org/dtd/mybatis-3-config.dtd\">\n"
+            + "<configuration>\n"
+            + "  <settings>\n"
+            + "    <setting name=\"parallelMapperParsingEnabled\" value=\"true\"/>\n"
+            + "  </settings>\n"
+            + "  <mappers>\n"
+            + "    <mapper resource=\"org/apache/ibatis/builder/NoSuchMapper.xml\"/>\n"
+            + "  </mappers>\n"
+            + "</configuration>\n";
+
+    XMLConfigBuilder builder = new XMLConfigBuilder(new StringReader(MAPPER_CONFIG));
+    when(builder::parse);
+    then(caughtException()).isInstanceOf(BuilderException.class)
+      .hasMessageContaining("org/apache/ibatis/builder/NoSuchMapper.xml");
+  }
+
   static class MySqlProvider {
     @SuppressWarnings("unused")
     public static String provideSql() {
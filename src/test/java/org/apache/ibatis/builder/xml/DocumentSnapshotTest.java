@@ -0,0 +1,141 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.builder.xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.parsing.XNode;
+import org.apache.ibatis.parsing.XPathParser;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DocumentSnapshotTest {
+
+  private static final String RESOURCE = "org/apache/ibatis/builder/CustomizedSettingsMapperConfig.xml";
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void shouldRestoreDocumentsWithTheSameContent() throws Exception {
+    String mapper = "org/apache/ibatis/builder/BlogMapper.xml";
+    DocumentSnapshot snapshot = new DocumentSnapshot();
+    XPathParser parsed = snapshot.parse(mapper, Resources.getResourceAsStream(mapper), null);
+    String expected = parsed.evalNode("/mapper").toString();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    snapshot.write(out);
+    DocumentSnapshot restored = DocumentSnapshot.read(new ByteArrayInputStream(out.toByteArray()));
+
+    assertThat(restored.isModified()).isFalse();
+    assertThat(restored.isUpToDate()).isTrue();
+    assertThat(restored.getLocations()).containsExactly(mapper);
+    XNode root = restored.getParser(mapper, null).evalNode("/mapper");
+    assertThat(root.toString()).isEqualTo(expected);
+    assertThat(restored.getParser("org/apache/ibatis/builder/AuthorMapper.xml", null)).isNull();
+  }
+
+  @Test
+  void shouldWriteSnapshotOnFirstBuildAndReuseItAfterwards() throws Exception {
+    Path snapshotFile = tempDir.resolve("mybatis.snapshot");
+    Configuration expected = new XMLConfigBuilder(Resources.getResourceAsStream(RESOURCE)).parse();
+
+    Configuration first = new SqlSessionFactoryBuilder().build(RESOURCE, snapshotFile).getConfiguration();
+    assertThat(snapshotFile).exists();
+    DocumentSnapshot snapshot;
+    try (InputStream in = Files.newInputStream(snapshotFile)) {
+      snapshot = DocumentSnapshot.read(in);
+    }
+    assertThat(snapshot.getLocations()).contains(RESOURCE, "org/apache/ibatis/builder/BlogMapper.xml",
+        "file:./src/test/java/org/apache/ibatis/builder/NestedBlogMapper.xml", "org/apache/ibatis/builder/CachedAuthorMapper.xml");
+
+    FileTime written = FileTime.fromMillis(0);
+    Files.setLastModifiedTime(snapshotFile, written);
+    Configuration second = new SqlSessionFactoryBuilder().build(RESOURCE, snapshotFile).getConfiguration();
+    assertThat(Files.getLastModifiedTime(snapshotFile)).isEqualTo(written);
+
+    for (Configuration configuration : new Configuration[] { first, second }) {
+      assertThat(configuration.getMappedStatementNames()).containsExactlyInAnyOrderElementsOf(expected.getMappedStatementNames());
+      assertThat(configuration.getResultMapNames()).containsExactlyInAnyOrderElementsOf(expected.getResultMapNames());
+      assertThat(configuration.getMapperRegistry().getMappers()).containsExactlyInAnyOrderElementsOf(expected.getMapperRegistry().getMappers());
+      assertThat(configuration.getDocumentSnapshot()).isNull();
+    }
+  }
+
+  @Test
+  void shouldRebuildSnapshotWhenSourceChanged() throws Exception {
+    Path snapshotFile = tempDir.resolve("mybatis.snapshot");
+    DocumentSnapshot stale = new DocumentSnapshot();
+    String outdated = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n"
+        + "<!DOCTYPE configuration PUBLIC \"-//mybatis.org//DTD Config 3.0//EN\" \"http://mybatis.org/dtd/mybatis-3-config.dtd\">\n"
+        + "<configuration/>\n";
+    stale.parse(RESOURCE, new ByteArrayInputStream(outdated.getBytes(StandardCharsets.UTF_8)), null);
+    try (OutputStream out = Files.newOutputStream(snapshotFile)) {
+      stale.write(out);
+    }
+    assertThat(stale.isUpToDate()).isFalse();
+
+    Configuration configuration = new SqlSessionFactoryBuilder().build(RESOURCE, snapshotFile).getConfiguration();
+
+    assertThat(configuration.getMappedStatementNames()).isNotEmpty();
+    try (InputStream in = Files.newInputStream(snapshotFile)) {
+      assertThat(DocumentSnapshot.read(in).isUpToDate()).isTrue();
+    }
+  }
+
+  @Test
+  void shouldPruneDocumentsTheBuildNoLongerReads() throws Exception {
+    Path snapshotFile = tempDir.resolve("mybatis.snapshot");
+    String unused = "org/apache/ibatis/builder/AuthorMapper.xml";
+    DocumentSnapshot snapshot = new DocumentSnapshot();
+    snapshot.parse(unused, Resources.getResourceAsStream(unused), null);
+    try (OutputStream out = Files.newOutputStream(snapshotFile)) {
+      snapshot.write(out);
+    }
+
+    new SqlSessionFactoryBuilder().build(RESOURCE, snapshotFile);
+
+    try (InputStream in = Files.newInputStream(snapshotFile)) {
+      assertThat(DocumentSnapshot.read(in).getLocations()).contains(RESOURCE).doesNotContain(unused);
+    }
+  }
+
+  @Test
+  void shouldIgnoreUnreadableSnapshot() throws Exception {
+    Path snapshotFile = tempDir.resolve("mybatis.snapshot");
+    Files.write(snapshotFile, "not a snapshot".getBytes(StandardCharsets.UTF_8));
+
+    Configuration configuration = new SqlSessionFactoryBuilder().build(RESOURCE, snapshotFile).getConfiguration();
+
+    assertThat(configuration.getMappedStatementNames()).isNotEmpty();
+    try (InputStream in = Files.newInputStream(snapshotFile)) {
+      assertThat(DocumentSnapshot.read(in).getLocations()).contains(RESOURCE);
+    }
+  }
+
+}
@@ -0,0 +1,78 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptivePoolSizerTest {
+
+  @Test
+  void shouldPredictWaitFromQueueAndCheckoutTime() {
+    AdaptivePoolSizer sizer = new AdaptivePoolSizer();
+    assertEquals(0, sizer.predictWaitTime(2));
+    sizer.recordReturn(100);
+    assertEquals(50, sizer.predictWaitTime(2));
+    sizer.waitStarted();
+    assertEquals(100, sizer.predictWaitTime(2));
+    sizer.waitEnded();
+    sizer.recordReturn(200);
+    assertEquals(120, sizer.getAverageCheckoutTime());
+  }
+
+  @Test
+  void shouldConsiderAnyWaitTooLongBeforeAConnectionWasReturned() {
+    AdaptivePoolSizer sizer = new AdaptivePoolSizer();
+    assertTrue(sizer.isWaitTooLong(1, 50));
+    sizer.recordReturn(10);
+    assertFalse(sizer.isWaitTooLong(1, 50));
+    sizer.recordReturn(1000);
+    assertTrue(sizer.isWaitTooLong(1, 50));
+  }
+
+  @Test
+  void shouldGrowWithinBounds() {
+    AdaptivePoolSizer sizer = new AdaptivePoolSizer();
+    assertEquals(2, sizer.getLimit(2, 4));
+    assertTrue(sizer.grow(2, 4));
+    assertTrue(sizer.grow(2, 4));
+    assertFalse(sizer.grow(2, 4));
+    assertEquals(4, sizer.getLimit(2, 4));
+    assertEquals(3, sizer.getLimit(2, 3));
+  }
+
+  @Test
+  void shouldShrinkOnlyAfterConsecutiveQuietIntervals() {
+    AdaptivePoolSizer sizer = new AdaptivePoolSizer();
+    sizer.grow(1, 5);
+    sizer.grow(1, 5);
+    sizer.grow(1, 5);
+    assertEquals(4, sizer.getLimit(1, 5));
+
+    sizer.shrinkIfIdle(1, 0, 1, 5);
+    sizer.shrinkIfIdle(1, 0, 1, 5);
+    sizer.recordCheckout(0, 4);
+    sizer.shrinkIfIdle(1, 0, 1, 5);
+    assertEquals(4, sizer.getLimit(1, 5));
+
+    sizer.shrinkIfIdle(1, 0, 1, 5);
+    sizer.shrinkIfIdle(1, 0, 1, 5);
+    sizer.shrinkIfIdle(1, 0, 1, 5);
+    assertEquals(3, sizer.getLimit(1, 5));
+  }
+
+}
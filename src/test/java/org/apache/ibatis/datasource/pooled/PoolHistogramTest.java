@@ -0,0 +1,64 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class PoolHistogramTest {
+
+  @Test
+  void shouldCountValuesInPowerOfTwoBuckets() {
+    assertEquals(0, PoolHistogram.bucketOf(0));
+    assertEquals(1, PoolHistogram.bucketOf(1));
+    assertEquals(2, PoolHistogram.bucketOf(3));
+    assertEquals(3, PoolHistogram.bucketOf(4));
+    assertEquals(63, PoolHistogram.bucketOf(Long.MAX_VALUE));
+
+    PoolHistogram histogram = new PoolHistogram();
+    histogram.record(0);
+    histogram.record(5);
+    histogram.record(6);
+    histogram.record(-1);
+    long[] buckets = histogram.getBucketCounts();
+    assertEquals(2, buckets[0]);
+    assertEquals(2, buckets[3]);
+    assertEquals(4, histogram.getCount());
+    assertEquals(11, histogram.getTotal());
+    assertEquals(6, histogram.getMax());
+  }
+
+  @Test
+  void shouldReportPercentilesAsBucketUpperBounds() {
+    PoolHistogram histogram = new PoolHistogram();
+    assertEquals(0, histogram.getPercentile(99));
+    for (int i = 0; i < 98; i++) {
+      histogram.record(10);
+    }
+    histogram.record(500);
+    histogram.record(1000);
+    assertEquals(15, histogram.getPercentile(50));
+    assertEquals(511, histogram.getPercentile(99));
+    assertEquals(1000, histogram.getPercentile(100));
+    assertEquals(24.8, histogram.getMean(), 0.001);
+
+    histogram.reset();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMax());
+  }
+
+}
@@ -0,0 +1,138 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class QueryCoalescerTest {
+
+  private ExecutorService pool;
+
+  @BeforeEach
+  void setUp() {
+    pool = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  void shouldShareInFlightExecutionBetweenConcurrentCallers() throws Exception {
+    QueryCoalescer coalescer = new QueryCoalescer();
+    AtomicInteger executions = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    Future<List<String>> leader = pool.submit(() -> coalescer.execute(new CacheKey(new Object[] { "select", 1 }), () -> {
+      executions.incrementAndGet();
+      started.countDown();
+      await(release);
+      return new ArrayList<>(Arrays.asList("a", "b"));
+    }));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    List<Future<List<String>>> followers = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      followers.add(pool.submit(() -> coalescer.execute(new CacheKey(new Object[] { "select", 1 }), () -> {
+        executions.incrementAndGet();
+        return Collections.singletonList("unexpected");
+      })));
+    }
+    while (coalescer.getInFlightCount() != 1) {
+      Thread.sleep(10);
+    }
+    Thread.sleep(100);
+    release.countDown();
+
+    List<String> leaderResult = leader.get(5, TimeUnit.SECONDS);
+    assertEquals(Arrays.asList("a", "b"), leaderResult);
+    for (Future<List<String>> follower : followers) {
+      List<String> followerResult = follower.get(5, TimeUnit.SECONDS);
+      assertEquals(Arrays.asList("a", "b"), followerResult);
+      assertNotSame(leaderResult, followerResult);
+    }
+    assertEquals(1, executions.get());
+    assertEquals(0, coalescer.getInFlightCount());
+  }
+
+  @Test
+  void shouldNotShareExecutionsOfDifferentKeys() throws Exception {
+    QueryCoalescer coalescer = new QueryCoalescer();
+    List<Integer> first = coalescer.execute(new CacheKey(new Object[] { "select", 1 }), () -> Collections.singletonList(1));
+    List<Integer> second = coalescer.execute(new CacheKey(new Object[] { "select", 2 }), () -> Collections.singletonList(2));
+    assertEquals(Collections.singletonList(1), first);
+    assertEquals(Collections.singletonList(2), second);
+    assertEquals(0, coalescer.getInFlightCount());
+  }
+
+  @Test
+  void shouldLetFollowersRunTheirOwnQueryWhenLeaderFails() throws Exception {
+    QueryCoalescer coalescer = new QueryCoalescer();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    Future<List<String>> leader = pool.submit(() -> coalescer.<String>execute(new CacheKey(new Object[] { "select" }), () -> {
+      started.countDown();
+      await(release);
+      throw new SQLException("boom");
+    }));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    Future<List<String>> follower = pool.submit(() -> coalescer.execute(new CacheKey(new Object[] { "select" }),
+        () -> Collections.singletonList("retried")));
+    Thread.sleep(100);
+    release.countDown();
+
+    Exception e = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+    assertTrue(e.getCause() instanceof SQLException);
+    assertEquals(Collections.singletonList("retried"), follower.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void shouldExecuteReentrantCallsOfTheLeadingThread() throws Exception {
+    QueryCoalescer coalescer = new QueryCoalescer();
+    CacheKey key = new CacheKey(new Object[] { "select" });
+    List<String> result = coalescer.execute(key, () -> coalescer.execute(key, () -> Collections.singletonList("inner")));
+    assertEquals(Collections.singletonList("inner"), result);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
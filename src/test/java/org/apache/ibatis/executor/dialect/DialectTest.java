@@ -0,0 +1,137 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.dialect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Test;
+
+class DialectTest {
+
+  private static final String SQL = "select * from names order by id";
+
+  @Test
+  void shouldAppendLimitAndOffset() {
+    List<Integer> parameters = new ArrayList<>();
+    String sql = new LimitOffsetDialect().getPagingSql(SQL, 20, 10, parameters);
+    assertThat(sql).isEqualTo(SQL + " LIMIT ? OFFSET ?");
+    assertThat(parameters).containsExactly(10, 20);
+  }
+
+  @Test
+  void shouldOmitOffsetWhenNotSkippingRows() {
+    List<Integer> parameters = new ArrayList<>();
+    String sql = new LimitOffsetDialect().getPagingSql(SQL, RowBounds.NO_ROW_OFFSET, 10, parameters);
+    assertThat(sql).isEqualTo(SQL + " LIMIT ?");
+    assertThat(parameters).containsExactly(10);
+  }
+
+  @Test
+  void shouldAppendOffsetFetch() {
+    List<Integer> parameters = new ArrayList<>();
+    String sql = new OffsetFetchDialect().getPagingSql(SQL, 20, 10, parameters);
+    assertThat(sql).isEqualTo(SQL + " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+    assertThat(parameters).containsExactly(20, 10);
+  }
+
+  @Test
+  void shouldOmitFetchWithoutLimit() {
+    List<Integer> parameters = new ArrayList<>();
+    String sql = new OffsetFetchDialect().getPagingSql(SQL, 20, RowBounds.NO_ROW_LIMIT, parameters);
+    assertThat(sql).isEqualTo(SQL + " OFFSET ? ROWS");
+    assertThat(parameters).containsExactly(20);
+  }
+
+  @Test
+  void shouldWrapWithRownum() {
+    List<Integer> parameters = new ArrayList<>();
+    String sql = new RownumDialect().getPagingSql(SQL, 20, 10, parameters);
+    assertThat(sql).isEqualTo("SELECT * FROM (SELECT page_tmp.*, ROWNUM page_rn FROM (" + SQL
+        + ") page_tmp WHERE ROWNUM <= ?) WHERE page_rn > ?");
+    assertThat(parameters).containsExactly(30, 20);
+  }
+
+  @Test
+  void shouldNotOverflowRownumUpperBound() {
+    List<Integer> parameters = new ArrayList<>();
+    new RownumDialect().getPagingSql(SQL, 20, Integer.MAX_VALUE - 10, parameters);
+    assertThat(parameters).containsExactly(Integer.MAX_VALUE, 20);
+  }
+
+  @Test
+  void shouldDeclineSelectsThatAlreadyLimitRows() {
+    Dialect dialect = new LimitOffsetDialect();
+    assertThat(dialect.isPageable(SQL)).isTrue();
+    assertThat(dialect.isPageable(SQL + " limit 10")).isFalse();
+    assertThat(dialect.isPageable(SQL + " FETCH FIRST 10 ROWS ONLY")).isFalse();
+    assertThat(dialect.isPageable("select top 10 * from names order by id")).isFalse();
+    assertThat(dialect.isPageable("select * from (select * from names limit 10) t where name <> 'limit'")).isTrue();
+    assertThat(new OffsetFetchDialect().isPageable(SQL + " offset 10 rows")).isFalse();
+    assertThat(new RownumDialect().isPageable(SQL + " FETCH FIRST 10 ROWS ONLY")).isTrue();
+  }
+
+  @Test
+  void shouldDeclineUnorderedSelectsForOffsetFetch() {
+    Dialect dialect = new OffsetFetchDialect();
+    assertThat(dialect.isPageable(SQL)).isTrue();
+    assertThat(dialect.isPageable("select * from names")).isFalse();
+    assertThat(dialect.isPageable("select row_number() over (order by id) from names -- order by id")).isFalse();
+  }
+
+  @Test
+  void shouldWrapCountQuery() {
+    assertThat(new LimitOffsetDialect().getCountSql(SQL)).isEqualTo("SELECT COUNT(*) FROM (" + SQL + ") count_tmp");
+  }
+
+  @Test
+  void shouldResolveDialectsByDatabaseIdIgnoringCase() {
+    DialectRegistry registry = new DialectRegistry();
+    assertThat(registry.getDialect("MySQL")).isInstanceOf(LimitOffsetDialect.class);
+    assertThat(registry.getDialect("derby")).isInstanceOf(OffsetFetchDialect.class);
+    assertThat(registry.getDialect("oracle")).isInstanceOf(RownumDialect.class);
+    assertThat(registry.getDialect("oracle12c")).isInstanceOf(OffsetFetchDialect.class);
+    assertThat(registry.getDialect("unknown")).isNull();
+    assertThat(registry.getDialect(null)).isNull();
+    registry.register("oracle", new OffsetFetchDialect());
+    assertThat(registry.getDialect("ORACLE")).isInstanceOf(OffsetFetchDialect.class);
+  }
+
+  @Test
+  void shouldStripTrailingSemicolons() {
+    assertThat(Pagination.toSubSelect(SQL + " ;\n")).isEqualTo(SQL);
+  }
+
+  @Test
+  void shouldTerminateTrailingLineComment() {
+    String sql = new LimitOffsetDialect().getPagingSql(Pagination.toSubSelect(SQL + " -- by id;"), 0, 10,
+        new ArrayList<>());
+    assertThat(sql).isEqualTo(SQL + " -- by id\n LIMIT ?");
+    assertThat(Pagination.toSubSelect("select 1 -- one\nfrom dual")).isEqualTo("select 1 -- one\nfrom dual");
+  }
+
+  @Test
+  void shouldBlankLiteralsCommentsAndSubSelects() {
+    assertThat(Pagination.topLevelClauses("select 'a''b', \"c\" from (select 1) t -- x\n/* y */ order by 1"))
+        .isEqualTo("select       ,     from            t     \n        order by 1");
+    assertThat(Pagination.topLevelClauses("select 'open")).isEqualTo("select      ");
+    assertThat(Pagination.topLevelClauses("/* open")).isEqualTo("       ");
+  }
+
+}
@@ -0,0 +1,68 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.dialect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.ibatis.executor.ExecutorException;
+import org.junit.jupiter.api.Test;
+
+class KeysetTest {
+
+  @Test
+  void shouldRoundTripSupportedValues() {
+    Timestamp timestamp = Timestamp.valueOf("2020-01-02 03:04:05.123456789");
+    List<Object> values = Arrays.asList("Flintstone", 1, 2L, (short) 3, (byte) 4, 5.5d, 6.5f, true,
+        new BigDecimal("7.25"), new BigInteger("12345678901234567890"), timestamp, java.sql.Date.valueOf("2020-01-02"),
+        new Date(1000L), LocalDate.of(2020, 1, 2), LocalDateTime.of(2020, 1, 2, 3, 4, 5, 6), Instant.ofEpochSecond(7, 8));
+    List<Object> decoded = Keyset.decodeToken(Keyset.encodeToken(values));
+    assertThat(decoded).isEqualTo(values);
+    assertThat(decoded.get(10)).isInstanceOf(Timestamp.class);
+    assertThat(((Timestamp) decoded.get(10)).getNanos()).isEqualTo(123456789);
+  }
+
+  @Test
+  void shouldProduceUrlSafeTokens() {
+    String token = Keyset.encodeToken(Collections.singletonList("???>>>"));
+    assertThat(token).matches("[A-Za-z0-9_-]+");
+  }
+
+  @Test
+  void shouldRejectUnsupportedValues() {
+    assertThrows(ExecutorException.class, () -> Keyset.encodeToken(Collections.singletonList(new Object())));
+  }
+
+  @Test
+  void shouldRejectTamperedTokens() {
+    String token = Keyset.encodeToken(Collections.singletonList(1));
+    assertThrows(ExecutorException.class, () -> Keyset.decodeToken(token + "AA"));
+    assertThrows(ExecutorException.class, () -> Keyset.decodeToken(token.substring(0, token.length() - 2)));
+    assertThrows(ExecutorException.class, () -> Keyset.decodeToken("%%%"));
+  }
+
+}
@@ -18,6 +18,8 @@ package org.apache.ibatis.executor.resultset;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.sql.Connection;
@@ -28,6 +30,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -44,6 +47,8 @@ import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.type.IntegerTypeHandler;
+import org.apache.ibatis.type.PrimitiveTypeHandler;
 import org.apache.ibatis.type.TypeHandler;
 import org.apache.ibatis.type.TypeHandlerRegistry;
 import org.junit.jupiter.api.Assertions;
@@ -101,6 +106,112 @@ class DefaultResultSetHandlerTest {
     assertEquals(100, ((HashMap) results.get(0)).get("cOlUmN1"));
   }
 
+  @Test
+  void shouldReuseColumnShapeOfPreviousExecution() throws Exception {
+    final MappedStatement ms = getMappedStatement();
+    when(stmt.getResultSet()).thenReturn(rs);
+    when(rs.getMetaData()).thenReturn(rsmd);
+    when(rs.getType()).thenReturn(ResultSet.TYPE_FORWARD_ONLY);
+    when(rs.next()).thenReturn(true, false, true, false);
+    when(rs.getInt("CoLuMn1")).thenReturn(100, 200);
+    when(rsmd.getColumnCount()).thenReturn(1);
+    when(rsmd.getColumnLabel(1)).thenReturn("CoLuMn1");
+    when(rsmd.getColumnType(1)).thenReturn(Types.INTEGER);
+    when(rsmd.getColumnClassName(1)).thenReturn(Integer.class.getCanonicalName());
+    when(stmt.getConnection()).thenReturn(conn);
+    when(conn.getMetaData()).thenReturn(dbmd);
+    when(dbmd.supportsMultipleResultSets()).thenReturn(false);
+
+    for (int expected : new int[] { 100, 200 }) {
+      List<Object> results = new DefaultResultSetHandler(null, ms, null, null, null, new RowBounds(0, 100))
+          .handleResultSets(stmt);
+      assertEquals(expected, ((HashMap) results.get(0)).get("cOlUmN1"));
+    }
+    verify(rsmd, times(1)).getColumnClassName(1);
+    assertEquals(Collections.singletonList("CoLuMn1"), ms.getResultSetShapes().get(0).getColumnNames());
+  }
+
+  @Test
+  void shouldRebuildColumnShapeWhenColumnsChange() throws Exception {
+    final MappedStatement ms = getMappedStatement();
+    when(stmt.getResultSet()).thenReturn(rs);
+    when(rs.getMetaData()).thenReturn(rsmd);
+    when(rs.getType()).thenReturn(ResultSet.TYPE_FORWARD_ONLY);
+    when(rs.next()).thenReturn(true, false, true, false);
+    when(rs.getInt("CoLuMn1")).thenReturn(100);
+    when(rsmd.getColumnCount()).thenReturn(1);
+    when(rsmd.getColumnLabel(1)).thenReturn("CoLuMn1");
+    when(rsmd.getColumnType(1)).thenReturn(Types.INTEGER, Types.BIGINT);
+    when(rsmd.getColumnClassName(1)).thenReturn(Integer.class.getCanonicalName(), Long.class.getCanonicalName());
+    when(stmt.getConnection()).thenReturn(conn);
+    when(conn.getMetaData()).thenReturn(dbmd);
+    when(dbmd.supportsMultipleResultSets()).thenReturn(false);
+
+    new DefaultResultSetHandler(null, ms, null, null, null, new RowBounds(0, 100)).handleResultSets(stmt);
+    ResultSetShape first = ms.getResultSetShapes().get(0);
+    new DefaultResultSetHandler(null, ms, null, null, null, new RowBounds(0, 100)).handleResultSets(stmt);
+    verify(rsmd, times(2)).getColumnClassName(1);
+    Assertions.assertNotSame(first, ms.getResultSetShapes().get(0));
+    assertEquals(Collections.singletonList(Long.class.getCanonicalName()), ms.getResultSetShapes().get(0).getClassNames());
+  }
+
+  @Test
+  void shouldMatchColumnShapeWithUnnamedColumns() throws Exception {
+    when(rsmd.getColumnCount()).thenReturn(2);
+    when(rsmd.getColumnLabel(1)).thenReturn(null);
+    when(rsmd.getColumnLabel(2)).thenReturn("CoLuMn2");
+    when(rsmd.getColumnType(1)).thenReturn(Types.INTEGER);
+    when(rsmd.getColumnType(2)).thenReturn(Types.INTEGER);
+    when(rsmd.getColumnClassName(1)).thenReturn(Integer.class.getCanonicalName());
+    when(rsmd.getColumnClassName(2)).thenReturn(Integer.class.getCanonicalName());
+
+    ResultSetShape shape = new ResultSetShape(rsmd, true);
+    assertEquals(Arrays.asList(null, "CoLuMn2"), shape.getColumnNames());
+    Assertions.assertTrue(shape.matches(rsmd, true));
+  }
+
+  @Test
+  void shouldMapPrimitivePropertiesWithoutBoxedResults() throws Exception {
+    final Configuration config = new Configuration();
+    final ResultMapping idMapping = new ResultMapping.Builder(config, "id", "ID", new PrimitiveOnlyIntTypeHandler())
+        .build();
+    final MappedStatement ms = new MappedStatement.Builder(config, "testSelect",
+        new StaticSqlSource(config, "some select statement"), SqlCommandType.SELECT)
+            .resultMaps(Collections.singletonList(
+                new ResultMap.Builder(config, "testMap", PrimitiveBean.class, Collections.singletonList(idMapping))
+                    .build()))
+            .build();
+    when(stmt.getResultSet()).thenReturn(rs);
+    when(rs.getMetaData()).thenReturn(rsmd);
+    when(rs.getType()).thenReturn(ResultSet.TYPE_FORWARD_ONLY);
+    when(rs.next()).thenReturn(true, true, false);
+    when(rs.getInt("ID")).thenReturn(7, 0);
+    when(rs.getLong("TOTAL")).thenReturn(5L, 9L);
+    when(rs.wasNull()).thenReturn(true);
+    when(rsmd.getColumnCount()).thenReturn(2);
+    when(rsmd.getColumnLabel(1)).thenReturn("ID");
+    when(rsmd.getColumnLabel(2)).thenReturn("TOTAL");
+    when(rsmd.getColumnType(1)).thenReturn(Types.INTEGER);
+    when(rsmd.getColumnType(2)).thenReturn(Types.BIGINT);
+    when(rsmd.getColumnClassName(1)).thenReturn(Integer.class.getCanonicalName());
+    when(rsmd.getColumnClassName(2)).thenReturn(Long.class.getCanonicalName());
+    when(stmt.getConnection()).thenReturn(conn);
+    when(conn.getMetaData()).thenReturn(dbmd);
+    when(dbmd.supportsMultipleResultSets()).thenReturn(false);
+
+    List<Object> results = new DefaultResultSetHandler(null, ms, null, null, null, new RowBounds(0, 100))
+        .handleResultSets(stmt);
+
+    assertEquals(2, results.size());
+    PrimitiveBean first = (PrimitiveBean) results.get(0);
+    assertEquals(7, first.getId());
+    assertEquals(5L, first.getTotal());
+    PrimitiveBean second = (PrimitiveBean) results.get(1);
+    assertEquals(-1, second.getId());
+    assertEquals(9L, second.getTotal());
+    verify(rs, times(1)).wasNull();
+  }
+
   @Test
   void shouldThrowExceptionWithColumnName() throws Exception {
     final MappedStatement ms = getMappedStatement();
@@ -144,4 +255,32 @@ class DefaultResultSetHandlerTest {
         }).build();
   }
 
+  static class PrimitiveBean {
+    private int id = -1;
+    private long total;
+
+    public int getId() {
+      return id;
+    }
+
+    public void setId(int id) {
+      this.id = id;
+    }
+
+    public long getTotal() {
+      return total;
+    }
+
+    public void setTotal(long total) {
+      this.total = total;
+    }
+  }
+
+  static class PrimitiveOnlyIntTypeHandler extends IntegerTypeHandler implements PrimitiveTypeHandler.OfInt {
+    @Override
+    public Integer getNullableResult(ResultSet rs, String columnName) {
+      throw new UnsupportedOperationException("the boxed result should not be read");
+    }
+  }
+
 }
@@ -0,0 +1,116 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ClassIndexTest {
+
+  private static final String PACKAGE_PATH = "org/apache/ibatis/io";
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void shouldWriteIndexOfClassesDirectory() throws Exception {
+    copyClass(First.class);
+    copyClass(Second.class);
+    Files.write(tempDir.resolve(PACKAGE_PATH).resolve("README.txt"), "not a class".getBytes(StandardCharsets.UTF_8));
+
+    Path indexFile = ClassIndex.write(tempDir);
+
+    assertThat(indexFile).isEqualTo(tempDir.resolve(ClassIndex.INDEX_RESOURCE));
+    assertThat(Files.readAllLines(indexFile)).containsExactly("# Classes indexed for MyBatis package scanning",
+        First.class.getName(), Second.class.getName());
+  }
+
+  @Test
+  void shouldListIndexedRootFromItsIndex() throws Exception {
+    copyClass(First.class);
+    copyClass(Second.class);
+    ClassIndex.write(tempDir);
+    assertThat(find()).containsExactlyInAnyOrder(First.class.getName(), Second.class.getName());
+
+    // classes that are not indexed are not found, which shows the directory is not listed
+    Files.write(tempDir.resolve(ClassIndex.INDEX_RESOURCE), Arrays.asList(First.class.getName()));
+    assertThat(find()).containsExactly(First.class.getName());
+  }
+
+  @Test
+  void shouldListJarEntriesFromCentralDirectory() throws Exception {
+    Path jar = tempDir.resolve("test.jar");
+    try (OutputStream out = Files.newOutputStream(jar); JarOutputStream jarOut = new JarOutputStream(out, new Manifest())) {
+      for (String name : new String[] { "com/example/", "com/example/A.class", "com/example/sub/B.class", "com/other/C.class" }) {
+        jarOut.putNextEntry(new JarEntry(name));
+        jarOut.closeEntry();
+      }
+    }
+    URL url = new URL("jar:" + jar.toUri().toURL() + "!/com/example");
+
+    List<String> resources = new DefaultVFS().list(url, "com/example");
+
+    assertThat(resources).containsExactly("com/example/A.class", "com/example/sub/B.class");
+    assertThat(new DefaultVFS().list(new URL("jar:" + jar.toUri().toURL() + "!/META-INF"), "META-INF")).isEmpty();
+  }
+
+  private List<String> find() throws Exception {
+    Thread thread = Thread.currentThread();
+    ClassLoader previous = thread.getContextClassLoader();
+    // no parent, so the package is only found in the temporary directory
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[] { tempDir.toUri().toURL() }, null)) {
+      thread.setContextClassLoader(classLoader);
+      ResolverUtil<Object> resolverUtil = new ResolverUtil<>();
+      resolverUtil.setClassLoader(classLoader);
+      resolverUtil.find(new ResolverUtil.IsA(Object.class), "org.apache.ibatis.io");
+      return resolverUtil.getClasses().stream().map(Class::getName).collect(Collectors.toList());
+    } finally {
+      thread.setContextClassLoader(previous);
+    }
+  }
+
+  private void copyClass(Class<?> type) throws Exception {
+    String resource = type.getName().replace('.', '/') + ".class";
+    Path target = tempDir.resolve(resource);
+    Files.createDirectories(target.getParent());
+    try (InputStream in = type.getClassLoader().getResourceAsStream(resource)) {
+      Files.copy(in, target);
+    }
+  }
+
+  interface First {
+  }
+
+  interface Second {
+  }
+
+}
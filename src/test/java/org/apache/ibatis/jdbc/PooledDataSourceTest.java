@@ -16,18 +16,29 @@
 package org.apache.ibatis.jdbc;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
 import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.datasource.pooled.PoolListener;
+import org.apache.ibatis.datasource.pooled.PoolState;
 import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
 import org.hsqldb.jdbc.JDBCConnection;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -91,6 +102,315 @@ class PooledDataSourceTest extends BaseDataTest {
     c.close();
   }
 
+  @Test
+  void shouldServeTrackedConnectionStateWithoutAskingTheDriver() throws Exception {
+    Connection real = mock(Connection.class);
+    when(real.getAutoCommit()).thenReturn(true);
+    PooledDataSource ds = createTrackingDataSource(real);
+
+    for (int i = 0; i < 3; i++) {
+      Connection c = ds.getConnection();
+      c.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+      if (c.getAutoCommit()) {
+        c.setAutoCommit(false);
+      }
+      assertFalse(c.getAutoCommit());
+      c.commit();
+      c.setAutoCommit(true);
+      c.close();
+    }
+
+    assertEquals(1, ds.getPoolState().getIdleConnectionCount());
+    verify(real).getAutoCommit();
+    verify(real).setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+    verify(real, never()).getTransactionIsolation();
+    verify(real, times(3)).setAutoCommit(false);
+    verify(real, times(3)).setAutoCommit(true);
+    verify(real, never()).rollback();
+  }
+
+  @Test
+  void shouldRollBackTrackedConnectionOnlyWhenItDidWork() throws Exception {
+    Connection real = mock(Connection.class);
+    when(real.getAutoCommit()).thenReturn(false);
+    PooledDataSource ds = createTrackingDataSource(real);
+
+    Connection c = ds.getConnection();
+    c.prepareStatement("select 1");
+    c.close();
+    verify(real).rollback();
+
+    c = ds.getConnection();
+    c.close();
+    verify(real).rollback();
+    verify(real).getAutoCommit();
+  }
+
+  @Test
+  void shouldKeepConnectionsOfEachCredentialSetInTheirOwnPartition() throws Exception {
+    UnpooledDataSource unpooled = mock(UnpooledDataSource.class);
+    when(unpooled.getConnection(anyString(), anyString())).thenAnswer(invocation -> mock(Connection.class));
+    PooledDataSource ds = new PooledDataSource(unpooled);
+    ds.setPoolPartitioningEnabled(true);
+
+    for (int i = 0; i < 3; i++) {
+      ds.getConnection("tenant1", "secret1").close();
+      ds.getConnection("tenant2", "secret2").close();
+    }
+
+    verify(unpooled).getConnection("tenant1", "secret1");
+    verify(unpooled).getConnection("tenant2", "secret2");
+    PoolState tenant1 = ds.getPoolState("tenant1", "secret1");
+    assertNotSame(ds.getPoolState(), tenant1);
+    assertNotSame(tenant1, ds.getPoolState("tenant2", "secret2"));
+    assertEquals(3, tenant1.getRequestCount());
+    assertEquals(1, tenant1.getIdleConnectionCount());
+    assertEquals(0, ds.getPoolState().getRequestCount());
+  }
+
+  @Test
+  void shouldApplyLimitsPerPartition() throws Exception {
+    UnpooledDataSource unpooled = mock(UnpooledDataSource.class);
+    when(unpooled.getConnection(anyString(), anyString())).thenAnswer(invocation -> mock(Connection.class));
+    PooledDataSource ds = new PooledDataSource(unpooled);
+    ds.setPoolMaximumCheckoutTime(50);
+    ds.setPoolTimeToWait(10);
+    ds.setPoolPartitioningEnabled(true);
+    ds.getPoolState("tenant1", "secret1").setMaximumActiveConnections(1);
+
+    Connection first = ds.getConnection("tenant1", "secret1");
+    Connection other = ds.getConnection("tenant2", "secret2");
+    Connection second = ds.getConnection("tenant1", "secret1");
+
+    assertEquals(1, ds.getPoolState("tenant1", "secret1").getClaimedOverdueConnectionCount());
+    assertEquals(1, ds.getPoolState("tenant1", "secret1").getActiveConnectionCount());
+    assertEquals(0, ds.getPoolState("tenant2", "secret2").getClaimedOverdueConnectionCount());
+    assertEquals(10, ds.getPoolState("tenant2", "secret2").getMaximumActiveConnections());
+    second.close();
+    other.close();
+    first.close();
+  }
+
+  @Test
+  void shouldCapConnectionsOfAllPartitions() throws Exception {
+    UnpooledDataSource unpooled = mock(UnpooledDataSource.class);
+    List<Connection> realConnections = new ArrayList<>();
+    when(unpooled.getConnection(anyString(), anyString())).thenAnswer(invocation -> {
+      Connection realConnection = mock(Connection.class);
+      when(realConnection.getAutoCommit()).thenReturn(true);
+      realConnections.add(realConnection);
+      return realConnection;
+    });
+    PooledDataSource ds = new PooledDataSource(unpooled);
+    ds.setPoolTimeToWait(10000);
+    ds.setPoolPartitioningEnabled(true);
+    ds.setPoolMaximumTotalConnections(2);
+
+    ds.getConnection("tenant1", "secret1").close();
+    Connection tenant2 = ds.getConnection("tenant2", "secret2");
+    Connection tenant3 = ds.getConnection("tenant3", "secret3");
+
+    assertEquals(0, ds.getPoolState("tenant1", "secret1").getIdleConnectionCount());
+    verify(realConnections.get(0)).close();
+
+    Connection[] tenant4 = new Connection[1];
+    Thread waiting = new Thread(() -> {
+      try {
+        tenant4[0] = ds.getConnection("tenant4", "secret4");
+      } catch (SQLException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    waiting.start();
+    PoolState tenant4State = ds.getPoolState("tenant4", "secret4");
+    while (tenant4State.getPendingRequestCount() == 0) {
+      Thread.sleep(5);
+    }
+    tenant2.close();
+    waiting.join(5000);
+
+    assertNotNull(tenant4[0]);
+    assertEquals(0, ds.getPoolState("tenant2", "secret2").getIdleConnectionCount());
+    verify(realConnections.get(1)).close();
+    assertEquals(4, realConnections.size());
+    tenant4[0].close();
+    tenant3.close();
+  }
+
+  @Test
+  void shouldRemovePartitionsThatWereNotUsedForAWhile() throws Exception {
+    UnpooledDataSource unpooled = mock(UnpooledDataSource.class);
+    Connection realConnection = mock(Connection.class);
+    when(realConnection.getAutoCommit()).thenReturn(true);
+    when(unpooled.getConnection(anyString(), anyString())).thenReturn(realConnection);
+    PooledDataSource ds = new PooledDataSource(unpooled);
+    ds.setPoolPartitioningEnabled(true);
+    ds.setPoolPartitionIdleTimeout(20);
+
+    ds.getConnection("tenant1", "secret1").close();
+    PoolState tenant1 = ds.getPoolState("tenant1", "secret1");
+    Thread.sleep(50);
+    ds.getConnection("tenant2", "secret2").close();
+
+    verify(realConnection).close();
+    assertEquals(0, tenant1.getIdleConnectionCount());
+    assertNotSame(tenant1, ds.getPoolState("tenant1", "secret1"));
+  }
+
+  @Test
+  void shouldGrowPoolWhenPredictedWaitIsTooLong() throws Exception {
+    UnpooledDataSource unpooled = mock(UnpooledDataSource.class);
+    when(unpooled.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    PooledDataSource ds = new PooledDataSource(unpooled);
+    ds.setPoolMaximumActiveConnections(3);
+    ds.setPoolTargetWaitTime(5);
+    ds.setPoolAdaptiveSizingEnabled(true);
+    assertEquals(1, ds.getPoolState().getActiveConnectionLimit());
+
+    Connection first = ds.getConnection();
+    Thread.sleep(50);
+    first.close();
+    first = ds.getConnection();
+    Connection second = ds.getConnection();
+
+    assertEquals(2, ds.getPoolState().getActiveConnectionLimit());
+    assertEquals(2, ds.getPoolState().getActiveConnectionCount());
+    assertEquals(0, ds.getPoolState().getHadToWaitCount());
+    second.close();
+    first.close();
+  }
+
+  @Test
+  void shouldGrowColdPoolForConcurrentRequests() throws Exception {
+    UnpooledDataSource unpooled = mock(UnpooledDataSource.class);
+    when(unpooled.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    PooledDataSource ds = new PooledDataSource(unpooled);
+    ds.setPoolMaximumActiveConnections(3);
+    ds.setPoolTimeToWait(10000);
+    ds.setPoolAdaptiveSizingEnabled(true);
+    CountDownLatch bothHoldConnections = new CountDownLatch(2);
+    CountDownLatch release = new CountDownLatch(1);
+    Runnable holdConnection = () -> {
+      try (Connection c = ds.getConnection()) {
+        bothHoldConnections.countDown();
+        release.await();
+      } catch (SQLException | InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+    };
+    Thread first = new Thread(holdConnection);
+    Thread second = new Thread(holdConnection);
+    first.start();
+    second.start();
+
+    try {
+      assertTrue(bothHoldConnections.await(5, TimeUnit.SECONDS));
+      assertEquals(2, ds.getPoolState().getActiveConnectionLimit());
+      assertEquals(2, ds.getPoolState().getActiveConnectionCount());
+    } finally {
+      release.countDown();
+      first.join(5000);
+      second.join(5000);
+    }
+  }
+
+  @Test
+  void shouldRejectRequestWhosePredictedWaitExceedsTheDeadline() throws Exception {
+    UnpooledDataSource unpooled = mock(UnpooledDataSource.class);
+    when(unpooled.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    PooledDataSource ds = new PooledDataSource(unpooled);
+    ds.setPoolMaximumActiveConnections(1);
+    ds.setPoolAdmissionDeadline(10);
+
+    Connection c = ds.getConnection();
+    Thread.sleep(50);
+    c.close();
+    c = ds.getConnection();
+
+    SQLException e = assertThrows(SQLException.class, ds::getConnection);
+    assertTrue(e.getMessage().contains("admission deadline"));
+    assertEquals(1, ds.getPoolState().getRejectedRequestCount());
+    assertEquals(0, ds.getPoolState().getHadToWaitCount());
+    c.close();
+  }
+
+  @Test
+  void shouldTellListenersAboutCheckoutsReturnsAndOverdueConnections() throws Exception {
+    UnpooledDataSource unpooled = mock(UnpooledDataSource.class);
+    when(unpooled.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    PooledDataSource ds = new PooledDataSource(unpooled);
+    ds.setPoolMaximumActiveConnections(1);
+    ds.setPoolMaximumCheckoutTime(20);
+    ds.setPoolBorrowSiteSampling(1);
+    List<String> events = new ArrayList<>();
+    List<Throwable> borrowSites = new ArrayList<>();
+    ds.addPoolListener(new PoolListener() {
+      @Override
+      public void connectionCheckedOut(PoolState pool, long waitTime) {
+        events.add("checkedOut");
+      }
+
+      @Override
+      public void connectionReturned(PoolState pool, long holdTime) {
+        events.add("returned");
+      }
+
+      @Override
+      public void overdueConnectionClaimed(PoolState pool, long checkoutTime, Throwable borrowSite) {
+        events.add("overdue");
+        borrowSites.add(borrowSite);
+      }
+    });
+
+    ds.getConnection().close();
+    ds.getConnection();
+    Thread.sleep(50);
+    Connection c = ds.getConnection();
+    c.close();
+
+    assertEquals(Arrays.asList("checkedOut", "returned", "checkedOut", "overdue", "checkedOut", "returned"), events);
+    assertTrue(Arrays.stream(borrowSites.get(0).getStackTrace())
+        .anyMatch(e -> e.getMethodName().equals("shouldTellListenersAboutCheckoutsReturnsAndOverdueConnections")));
+    PoolState pool = ds.getPoolState();
+    assertEquals(3, pool.getWaitTimeHistogram().getCount());
+    assertEquals(2, pool.getHoldTimeHistogram().getCount());
+    assertEquals(0, pool.getPendingRequestCount());
+  }
+
+  @Test
+  void shouldExposePoolStatisticsThroughJmx() throws Exception {
+    UnpooledDataSource unpooled = mock(UnpooledDataSource.class);
+    when(unpooled.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    PooledDataSource ds = new PooledDataSource(unpooled);
+    ds.setPoolMaximumIdleConnections(1);
+    ds.setPoolJmxName("jmxTest");
+    try {
+      Connection c = ds.getConnection();
+      ds.getConnection().close();
+
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = new ObjectName("org.apache.ibatis.datasource.pooled:type=PooledDataSource,name=\"jmxTest\"");
+      assertEquals(1, server.getAttribute(name, "ActiveConnections"));
+      assertEquals(1, server.getAttribute(name, "IdleConnections"));
+      assertEquals(2L, server.getAttribute(name, "CheckoutCount"));
+      assertEquals(0, server.getAttribute(name, "PendingRequests"));
+      c.close();
+
+      ds.setPoolJmxName(null);
+      assertFalse(server.isRegistered(name));
+    } finally {
+      ds.setPoolJmxName(null);
+    }
+  }
+
+  private PooledDataSource createTrackingDataSource(Connection real) throws SQLException {
+    UnpooledDataSource unpooled = mock(UnpooledDataSource.class);
+    when(unpooled.getConnection()).thenReturn(real);
+    PooledDataSource ds = new PooledDataSource(unpooled);
+    ds.setPoolStateTrackingEnabled(true);
+    return ds;
+  }
+
   @Disabled("See the comments")
   @Test
   void shouldReconnectWhenServerKilledLeakedConnection() throws Exception {
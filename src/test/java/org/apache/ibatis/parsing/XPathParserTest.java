@@ -16,19 +16,25 @@
 package org.apache.ibatis.parsing;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.util.List;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathFactory;
 
 import org.apache.ibatis.builder.BuilderException;
 import org.apache.ibatis.io.Resources;
 import org.junit.jupiter.api.Test;
 import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
 import org.xml.sax.InputSource;
 
 class XPathParserTest {
@@ -256,4 +262,34 @@ class XPathParserTest {
     assertEquals(carsNodeToStringExpect, carsNodeToString);
   }
 
+  @Test
+  void childPathsSelectSameNodesAsXPath() throws Exception {
+    try (InputStream inputStream = Resources.getResourceAsStream(resource)) {
+      XPathParser parser = new XPathParser(inputStream, false, null, null);
+      Document document = (Document) parser.evalNode("/employee").getNode().getOwnerDocument();
+      XPath xpath = XPathFactory.newInstance().newXPath();
+      String[] expressions = { "/employee", "/*", "/employee/birth_date/year", "/employee/*", "employee/blah",
+          "/employee/missing", "/missing/year", "first_name|last_name|height", "*/*" };
+      for (String expression : expressions) {
+        NodeList expected = (NodeList) xpath.evaluate(expression, document, XPathConstants.NODESET);
+        List<XNode> nodes = parser.evalNodes(expression);
+        assertEquals(expected.getLength(), nodes.size(), expression);
+        for (int i = 0; i < nodes.size(); i++) {
+          assertSame(expected.item(i), nodes.get(i).getNode(), expression);
+        }
+        XNode first = parser.evalNode(expression);
+        assertSame(expected.getLength() == 0 ? null : expected.item(0), first == null ? null : first.getNode(), expression);
+      }
+
+      XNode employee = parser.evalNode("/employee");
+      assertEquals(3, employee.evalNodes("first_name|last_name|height").size());
+      assertEquals("1970", employee.evalNode("birth_date/year").getStringBody());
+      assertEquals(0, employee.evalNodes("year").size());
+      assertEquals("employee", employee.evalNode("birth_date").evalNode("/employee").getName());
+      // expressions other than child paths are still evaluated by XPath
+      assertEquals("that", employee.evalString("blah/@something"));
+      assertEquals(2, employee.evalNodes("//*[@units]").size());
+    }
+  }
+
 }
@@ -0,0 +1,109 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.binding.BindingException;
+import org.apache.ibatis.binding.MapperMethod.ParamMap;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Test;
+
+class ParamNameResolverTest {
+
+  interface Mapper {
+    void select(@Param("id") int id, RowBounds rowBounds, @Param("name") String name);
+
+    void selectClashing(@Param("param2") int id, @Param("name") String name);
+  }
+
+  @Test
+  void shouldResolveNamesAndGenericNamesWithoutHashing() throws Exception {
+    Object params = namedParams("select", 1, RowBounds.DEFAULT, "a");
+
+    assertThat(params).isInstanceOf(ParamMap.class);
+    Map<String, Object> expected = new HashMap<>();
+    expected.put("id", 1);
+    expected.put("param1", 1);
+    expected.put("name", "a");
+    expected.put("param2", "a");
+    assertEquals(expected, params);
+    Map<?, ?> map = (Map<?, ?>) params;
+    assertEquals(4, map.size());
+    assertTrue(map.containsKey("param2"));
+    assertFalse(map.containsKey("param3"));
+  }
+
+  @Test
+  void shouldNotOverwriteParameterNamedLikeGenericName() throws Exception {
+    Map<?, ?> params = (Map<?, ?>) namedParams("selectClashing", 1, "a");
+    assertEquals(3, params.size());
+    assertEquals(1, params.get("param2"));
+    assertEquals(1, params.get("param1"));
+    assertEquals("a", params.get("name"));
+  }
+
+  @Test
+  void shouldBehaveLikeParamMapOnceModified() throws Exception {
+    @SuppressWarnings("unchecked")
+    Map<String, Object> params = (Map<String, Object>) namedParams("select", 1, RowBounds.DEFAULT, "a");
+
+    assertEquals(1, params.put("id", 2));
+    assertEquals(2, params.get("id"));
+    assertEquals(1, params.get("param1"));
+    assertNull(params.put("extra", "x"));
+    assertEquals(5, params.size());
+    assertEquals("x", params.get("extra"));
+    assertEquals(2, params.get("id"));
+    BindingException e = assertThrows(BindingException.class, () -> params.get("missing"));
+    assertThat(e.getMessage()).contains("missing", "extra", "param2");
+  }
+
+  @Test
+  void shouldSerializeAsParamMap() throws Exception {
+    Object params = namedParams("select", 1, RowBounds.DEFAULT, "a");
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(params);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      Object copy = in.readObject();
+      assertEquals(ParamMap.class, copy.getClass());
+      assertEquals(params, copy);
+    }
+  }
+
+  private Object namedParams(String methodName, Object... args) throws Exception {
+    for (Method method : Mapper.class.getMethods()) {
+      if (method.getName().equals(methodName)) {
+        return new ParamNameResolver(new Configuration(), method).getNamedParams(args);
+      }
+    }
+    throw new IllegalArgumentException(methodName);
+  }
+
+}
@@ -15,23 +15,36 @@
  */
 package org.apache.ibatis.scripting.defaults;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.Section;
 import org.apache.ibatis.mapping.*;
+import org.apache.ibatis.scripting.xmltags.DynamicSqlSource;
+import org.apache.ibatis.scripting.xmltags.TextSqlNode;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.IntegerTypeHandler;
 import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.PrimitiveTypeHandler;
 import org.apache.ibatis.type.TypeException;
 import org.apache.ibatis.type.TypeHandler;
 import org.apache.ibatis.type.TypeHandlerRegistry;
@@ -70,6 +83,103 @@ class DefaultParameterHandlerTest {
 
   }
 
+  @Test
+  void shouldBindWithBinderCompiledOncePerParameterType() throws SQLException {
+    Configuration config = new Configuration();
+    TypeHandlerRegistry registry = config.getTypeHandlerRegistry();
+    List<ParameterMapping> parameterMappings = Arrays.asList(
+        new ParameterMapping.Builder(config, "id", registry.getTypeHandler(Integer.class)).build(),
+        new ParameterMapping.Builder(config, "username", registry.getTypeHandler(String.class)).build(),
+        new ParameterMapping.Builder(config, "bio", registry.getTypeHandler(String.class)).build());
+    MappedStatement ms = new MappedStatement.Builder(config, "insertAuthor",
+        new StaticSqlSource(config, "insert into author values (?, ?, ?)", parameterMappings), SqlCommandType.INSERT).build();
+
+    PreparedStatement ps = mock(PreparedStatement.class);
+    for (int i = 0; i < 2; i++) {
+      Author author = new Author(i, "user" + i, null, null, null, Section.NEWS);
+      new DefaultParameterHandler(ms, author, ms.getBoundSql(author)).setParameters(ps);
+    }
+    Map<String, Object> map = new HashMap<>();
+    map.put("id", 7);
+    map.put("username", "mapped");
+    BoundSql boundSql = ms.getBoundSql(map);
+    boundSql.setAdditionalParameter("bio", "additional");
+    new DefaultParameterHandler(ms, map, boundSql).setParameters(ps);
+
+    verify(ps).setInt(1, 0);
+    verify(ps).setString(2, "user0");
+    verify(ps).setInt(1, 1);
+    verify(ps).setString(2, "user1");
+    verify(ps, times(2)).setNull(3, JdbcType.OTHER.TYPE_CODE);
+    verify(ps).setInt(1, 7);
+    verify(ps).setString(2, "mapped");
+    verify(ps).setString(3, "additional");
+    assertEquals(new HashSet<>(Arrays.asList(Author.class, HashMap.class)), ms.getParameterBinders().keySet());
+  }
+
+  @Test
+  void shouldCompileBinderOnlyForTheParameterMappingsOfTheStatement() throws SQLException {
+    Configuration config = new Configuration();
+    TypeHandlerRegistry registry = config.getTypeHandlerRegistry();
+    List<ParameterMapping> parameterMappings = Collections.singletonList(
+        new ParameterMapping.Builder(config, "id", registry.getTypeHandler(Integer.class)).build());
+    MappedStatement ms = new MappedStatement.Builder(config, "selectAuthor",
+        new StaticSqlSource(config, "select * from author where id = ?", parameterMappings), SqlCommandType.SELECT)
+            .build();
+    Author author = new Author(5);
+
+    // a paged execution binds a copy of the mappings with the paging parameters appended
+    List<ParameterMapping> pagedMappings = new ArrayList<>(parameterMappings);
+    pagedMappings.add(new ParameterMapping.Builder(config, "_limit", registry.getTypeHandler(Integer.class)).build());
+    BoundSql pagedBoundSql = new BoundSql(config, "select * from author where id = ? limit ?", pagedMappings, author);
+    pagedBoundSql.setAdditionalParameter("_limit", 10);
+    PreparedStatement ps = mock(PreparedStatement.class);
+    new DefaultParameterHandler(ms, author, pagedBoundSql).setParameters(ps);
+    assertTrue(ms.getParameterBinders().isEmpty());
+
+    new DefaultParameterHandler(ms, author, ms.getBoundSql(author)).setParameters(ps);
+    new DefaultParameterHandler(ms, author, pagedBoundSql).setParameters(ps);
+
+    verify(ps, times(3)).setInt(1, 5);
+    verify(ps, times(2)).setInt(2, 10);
+    assertTrue(ms.getParameterBinders().get(Author.class).isCompiledFor(parameterMappings));
+  }
+
+  @Test
+  void shouldBindPrimitivePropertiesWithoutBoxedParameters() throws SQLException {
+    Configuration config = new Configuration();
+    List<ParameterMapping> parameterMappings = Collections.singletonList(
+        new ParameterMapping.Builder(config, "id", new PrimitiveOnlyIntTypeHandler()).build());
+    MappedStatement ms = new MappedStatement.Builder(config, "selectAuthor",
+        new StaticSqlSource(config, "select * from author where id = ?", parameterMappings), SqlCommandType.SELECT)
+            .build();
+    Author author = new Author(5);
+
+    PreparedStatement ps = mock(PreparedStatement.class);
+    new DefaultParameterHandler(ms, author, ms.getBoundSql(author)).setParameters(ps);
+    verify(ps).setInt(1, 5);
+
+    BoundSql boundSql = ms.getBoundSql(author);
+    boundSql.setAdditionalParameter("id", 6);
+    TypeException e = Assertions.assertThrows(TypeException.class,
+        () -> new DefaultParameterHandler(ms, author, boundSql).setParameters(ps));
+    assertTrue(e.getMessage().contains("boxed parameter"));
+  }
+
+  @Test
+  void shouldNotCompileBinderForDynamicSql() throws SQLException {
+    Configuration config = new Configuration();
+    SqlSource sqlSource = new DynamicSqlSource(config, new TextSqlNode("select * from author where id = #{id}"));
+    MappedStatement ms = new MappedStatement.Builder(config, "selectAuthor", sqlSource, SqlCommandType.SELECT).build();
+    Author author = new Author(3);
+
+    PreparedStatement ps = mock(PreparedStatement.class);
+    new DefaultParameterHandler(ms, author, ms.getBoundSql(author)).setParameters(ps);
+
+    verify(ps).setInt(1, 3);
+    assertTrue(ms.getParameterBinders().isEmpty());
+  }
+
   MappedStatement getMappedStatement() {
     final Configuration config = new Configuration();
     final TypeHandlerRegistry registry = config.getTypeHandlerRegistry();
@@ -85,4 +195,11 @@ class DefaultParameterHandlerTest {
         }).build();
   }
 
+  static class PrimitiveOnlyIntTypeHandler extends IntegerTypeHandler implements PrimitiveTypeHandler.OfInt {
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, Integer parameter, JdbcType jdbcType) {
+      throw new UnsupportedOperationException("boxed parameter");
+    }
+  }
+
 }
@@ -0,0 +1,84 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.binding.AuthorLookup;
+import org.apache.ibatis.binding.BoundAuthorMapper;
+import org.apache.ibatis.binding.BoundBlogMapper;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.Blog;
+import org.apache.ibatis.domain.blog.Post;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConfigurationWarmUpTest {
+
+  private Configuration configuration;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    DataSource dataSource = BaseDataTest.createBlogDataSource();
+    configuration = new Configuration(new Environment("Production", new JdbcTransactionFactory(), dataSource));
+    configuration.setLazyLoadingEnabled(true);
+    configuration.getTypeAliasRegistry().registerAlias(Blog.class);
+    configuration.getTypeAliasRegistry().registerAlias(Post.class);
+    configuration.getTypeAliasRegistry().registerAlias(Author.class);
+    configuration.addMapper(BoundBlogMapper.class);
+    configuration.addMapper(BoundAuthorMapper.class);
+  }
+
+  @Test
+  void shouldPrepareRuntimeStructures() {
+    ConfigurationWarmUp.Report report = new ConfigurationWarmUp(configuration).run();
+    assertThat(report.getStatements()).isEqualTo(configuration.getMappedStatementNames().stream()
+        .filter(name -> name.contains(".")).count());
+    assertThat(report.getReflectors()).isPositive();
+    assertThat(report.getExpressions()).isPositive();
+    assertThat(report.getMappers()).isEqualTo(2);
+    assertThat(report.getProxies()).isPositive();
+    assertThat(report.getFailures()).isEmpty();
+    assertThat(configuration.getReflectorFactory().isClassCacheEnabled()).isTrue();
+    assertThat(configuration.getMapperRegistry().resolveMethods(BoundBlogMapper.class)).isEmpty();
+  }
+
+  @Test
+  void shouldPrepareTheSameInParallel() {
+    ConfigurationWarmUp.Report sequential = new ConfigurationWarmUp(configuration).run();
+    ConfigurationWarmUp.Report parallel = new ConfigurationWarmUp(configuration).parallel(true).run();
+    assertThat(parallel.getStatements()).isEqualTo(sequential.getStatements());
+    assertThat(parallel.getReflectors()).isEqualTo(sequential.getReflectors());
+    assertThat(parallel.getExpressions()).isEqualTo(sequential.getExpressions());
+    assertThat(parallel.getMappers()).isEqualTo(sequential.getMappers());
+    assertThat(parallel.getFailures()).isEqualTo(sequential.getFailures());
+  }
+
+  @Test
+  void shouldReportMethodsThatCannotBeResolved() {
+    configuration.addMapper(AuthorLookup.class);
+    ConfigurationWarmUp.Report report = new ConfigurationWarmUp(configuration).run();
+    assertThat(report.getMappers()).isEqualTo(3);
+    assertThat(report.getFailures()).hasSize(1);
+    assertThat(report.getFailures().get(0)).contains(AuthorLookup.class.getName() + ".selectUnbound");
+  }
+
+}
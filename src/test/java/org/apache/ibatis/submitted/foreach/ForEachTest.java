@@ -27,6 +27,7 @@ import java.util.List;
 import org.apache.ibatis.BaseDataTest;
 import org.apache.ibatis.exceptions.PersistenceException;
 import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.session.SqlSessionFactoryBuilder;
@@ -139,4 +140,39 @@ class ForEachTest {
     }
   }
 
+  @Test
+  void shouldPadItemsToAPowerOfTwo() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      Assertions.assertEquals(3, mapper.countByIdsPadded(Arrays.asList(1, 2, 3)));
+      Assertions.assertEquals(1, mapper.countByIdsPadded(Collections.singletonList(4)));
+
+      MappedStatement ms = sqlSessionFactory.getConfiguration()
+          .getMappedStatement("org.apache.ibatis.submitted.foreach.Mapper.countByIdsPadded");
+      String sqlForThree = ms.getBoundSql(Collections.singletonMap("list", Arrays.asList(1, 2, 3))).getSql();
+      String sqlForFour = ms.getBoundSql(Collections.singletonMap("list", Arrays.asList(1, 2, 3, 4))).getSql();
+      Assertions.assertEquals(sqlForFour, sqlForThree);
+      Assertions.assertEquals(4, sqlForThree.chars().filter(c -> c == '?').count());
+    }
+  }
+
+  @Test
+  void shouldBindCollectionAsOneArrayParameter() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      Assertions.assertEquals(3, mapper.countByIdArray(Arrays.asList(1, 3, 5)));
+      Assertions.assertEquals(1, mapper.countByIdArray(Collections.singletonList(6)));
+    }
+  }
+
+  @Test
+  void shouldBindEmptyCollectionAsArrayOfTheDeclaredType() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      Assertions.assertEquals(0, mapper.countByIntegerArray(Collections.emptyList()));
+      Assertions.assertEquals(0, mapper.countByIntegerArray(Collections.singletonList(null)));
+      Assertions.assertEquals(2, mapper.countByIntegerArray(Arrays.asList(1, 3)));
+    }
+  }
+
 }
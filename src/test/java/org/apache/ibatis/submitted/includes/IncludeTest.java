@@ -15,17 +15,27 @@
  */
 package org.apache.ibatis.submitted.includes;
 
+import java.io.ByteArrayInputStream;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.builder.xml.XMLConfigBuilder;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
 import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.parsing.XNode;
+import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.session.SqlSessionFactoryBuilder;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
 
 class IncludeTest {
 
@@ -59,4 +69,54 @@ class IncludeTest {
     }
   }
 
+  @Test
+  void shouldMoveFragmentsOffTheirMapperDocuments() throws Exception {
+    Configuration configuration = parseConfiguration();
+    XNode fragment = configuration.getSqlFragments().get("org.apache.ibatis.submitted.includes.fragments.update");
+    Document mapperDocument = fragment.getNode().getOwnerDocument();
+
+    new SqlSessionFactoryBuilder().build(configuration);
+
+    Set<Document> documents = new HashSet<>();
+    for (XNode node : configuration.getSqlFragments().values()) {
+      documents.add(node.getNode().getOwnerDocument());
+    }
+    Assertions.assertEquals(1, documents.size());
+    Assertions.assertNotSame(mapperDocument, documents.iterator().next());
+    Assertions.assertEquals("sqlFragments", documents.iterator().next().getDocumentElement().getNodeName());
+
+    // mappers added later can still include the fragments of earlier mappers
+    String mapper = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n"
+        + "<!DOCTYPE mapper PUBLIC \"-//mybatis.org//DTD Mapper 3.0//EN\" \"http://mybatis.org/dtd/mybatis-3-mapper.dtd\">\n"
+        + "<mapper namespace=\"org.apache.ibatis.submitted.includes.late\">\n"
+        + "  <update id=\"update\"><include refid=\"org.apache.ibatis.submitted.includes.fragments.update\"/> LateTable</update>\n"
+        + "</mapper>\n";
+    new XMLMapperBuilder(new ByteArrayInputStream(mapper.getBytes(StandardCharsets.UTF_8)), configuration, "late.xml",
+        configuration.getSqlFragments()).parse();
+    String sql = configuration.getMappedStatement("org.apache.ibatis.submitted.includes.late.update").getBoundSql(null).getSql();
+    Assertions.assertTrue(sql.contains("update") && sql.contains("LateTable"), sql);
+    configuration.compact();
+    Assertions.assertEquals(documents.iterator().next(), configuration.getSqlFragments()
+        .get("org.apache.ibatis.submitted.includes.fragments.update").getNode().getOwnerDocument());
+  }
+
+  @Test
+  void shouldDiscardFragmentsWhenRequested() throws Exception {
+    Configuration configuration = parseConfiguration();
+    configuration.setDiscardSqlFragments(true);
+
+    new SqlSessionFactoryBuilder().build(configuration);
+
+    Assertions.assertTrue(configuration.getSqlFragments().isEmpty());
+    String sql = configuration.getMappedStatement("org.apache.ibatis.submitted.includes.mapper.update")
+        .getBoundSql(new HashMap<>()).getSql();
+    Assertions.assertTrue(sql.contains("update") && sql.contains("SomeTable"), sql);
+  }
+
+  private static Configuration parseConfiguration() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/includes/MapperConfig.xml")) {
+      return new XMLConfigBuilder(reader).parse();
+    }
+  }
+
 }
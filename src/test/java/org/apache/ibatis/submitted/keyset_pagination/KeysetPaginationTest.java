@@ -0,0 +1,144 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.keyset_pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.KeysetRowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.submitted.physical_pagination.Name;
+import org.apache.ibatis.submitted.physical_pagination.SqlRecorder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class KeysetPaginationTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/keyset_pagination/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/keyset_pagination/CreateDB.sql");
+  }
+
+  @BeforeEach
+  void clearRecordedSql() {
+    SqlRecorder.SQL.clear();
+  }
+
+  @Test
+  void shouldWalkAllPagesInKeysetOrder() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      List<Integer> ids = new ArrayList<>();
+      List<Integer> pageSizes = new ArrayList<>();
+      KeysetRowBounds rowBounds = new KeysetRowBounds(3);
+      while (true) {
+        List<Name> page = mapper.findAll(rowBounds);
+        page.forEach(name -> ids.add(name.getId()));
+        pageSizes.add(page.size());
+        if (!rowBounds.hasNext()) {
+          break;
+        }
+        rowBounds = rowBounds.next();
+      }
+      assertThat(ids).containsExactly(2, 3, 4, 7, 1, 5, 6);
+      assertThat(pageSizes).containsExactly(3, 3, 1);
+    }
+  }
+
+  @Test
+  void shouldInjectKeysetPredicateAndLimit() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      KeysetRowBounds first = new KeysetRowBounds(2);
+      mapper.findAll(first);
+      mapper.findAll(first.next());
+      assertThat(SqlRecorder.SQL).containsExactly(
+          "SELECT * FROM (select id, firstName, lastName from names) keyset_tmp ORDER BY lastName, id LIMIT ?",
+          "SELECT * FROM (select id, firstName, lastName from names) keyset_tmp"
+              + " WHERE ((lastName > ?) OR (lastName = ? AND id > ?)) ORDER BY lastName, id LIMIT ?");
+    }
+  }
+
+  @Test
+  void shouldReportNoNextPageWhenLastPageIsShort() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      KeysetRowBounds rowBounds = new KeysetRowBounds(5);
+      List<Name> names = mapper.findByLastName("Rubble", rowBounds);
+      assertThat(names).extracting(Name::getId).containsExactly(1, 5, 6);
+      assertThat(rowBounds.hasNext()).isFalse();
+      assertThat(rowBounds.getNextToken()).isNull();
+    }
+  }
+
+  @Test
+  void shouldSupportKeysetColumnsDeclaredByAnnotation() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      KeysetRowBounds rowBounds = new KeysetRowBounds(2);
+      assertThat(mapper.findByLastName("Flintstone", rowBounds)).extracting(Name::getId).containsExactly(2, 3);
+      assertThat(mapper.findByLastName("Flintstone", rowBounds.next())).extracting(Name::getId).containsExactly(4, 7);
+    }
+  }
+
+  @Test
+  void shouldNotShareLocalCacheBetweenPages() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      KeysetRowBounds first = new KeysetRowBounds(2);
+      assertThat(mapper.findAll(first)).extracting(Name::getId).containsExactly(2, 3);
+      assertThat(mapper.findAll(first.next())).extracting(Name::getId).containsExactly(4, 7);
+      assertThat(mapper.findAll(new KeysetRowBounds(2))).extracting(Name::getId).containsExactly(2, 3);
+      assertThat(SqlRecorder.SQL).hasSize(2);
+    }
+  }
+
+  @Test
+  void shouldFailWhenStatementDeclaresNoKeysetColumns() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      PersistenceException e = assertThrows(PersistenceException.class, () -> mapper.findAllUnordered(new KeysetRowBounds(2)));
+      assertThat(e.getMessage()).contains("does not declare keyset columns");
+    }
+  }
+
+  @Test
+  void shouldRejectMalformedToken() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      PersistenceException e = assertThrows(PersistenceException.class,
+          () -> mapper.findAll(new KeysetRowBounds("not-a-token", 2)));
+      assertThat(e.getMessage()).contains("Invalid keyset token");
+    }
+  }
+
+}
@@ -0,0 +1,36 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.keyset_pagination;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.submitted.physical_pagination.Name;
+import org.apache.ibatis.session.KeysetRowBounds;
+
+public interface NameMapper {
+
+  List<Name> findAll(KeysetRowBounds rowBounds);
+
+  List<Name> findAllUnordered(KeysetRowBounds rowBounds);
+
+  @Select("select id, firstName, lastName from names where lastName = #{lastName}")
+  @Options(keysetColumn = "id")
+  List<Name> findByLastName(@Param("lastName") String lastName, KeysetRowBounds rowBounds);
+
+}
@@ -0,0 +1,258 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.lazy_statements;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.submitted.physical_pagination.Name;
+import org.apache.ibatis.type.TypeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LazyStatementsTest {
+
+  private static final String NAMESPACE = "org.apache.ibatis.submitted.lazy_statements.NameMapper";
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/lazy_statements/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/physical_pagination/CreateDB.sql");
+  }
+
+  @Test
+  void shouldBuildStatementsOnFirstUse() {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    assertThat(configuration.isLazyStatementBuildingEnabled()).isTrue();
+    assertThat(configuration.hasKeyGenerator(NAMESPACE + ".insert!selectKey")).isFalse();
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      Name name = mapper.findById(1);
+      assertThat(name.getLastName()).isEqualTo("Flintstone");
+      assertThat(configuration.hasKeyGenerator(NAMESPACE + ".insert!selectKey")).isFalse();
+
+      Name barney = new Name();
+      barney.setFirstName("Bamm-Bamm");
+      barney.setLastName("Rubble");
+      assertThat(mapper.insert(barney)).isEqualTo(1);
+      assertThat(barney.getId()).isEqualTo(7);
+      assertThat(configuration.hasKeyGenerator(NAMESPACE + ".insert!selectKey")).isTrue();
+    }
+  }
+
+  @Test
+  void shouldBuildAllStatementsWhenFrozen() {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    configuration.freeze();
+    assertThat(configuration.isFrozen()).isTrue();
+    assertThat(configuration.hasKeyGenerator(NAMESPACE + ".insert!selectKey")).isTrue();
+    assertThat(configuration.getIncompleteStatements()).isEmpty();
+
+    assertThrows(IllegalStateException.class, () -> configuration.addMapper(Runnable.class));
+    MappedStatement findById = configuration.getMappedStatement(NAMESPACE + ".findById");
+    assertThrows(IllegalStateException.class, () -> configuration.addMappedStatement(findById));
+    assertThrows(UnsupportedOperationException.class, () -> configuration.getSqlFragments().clear());
+    assertThrows(UnsupportedOperationException.class, () -> configuration.getMappedStatements().clear());
+    assertThrows(UnsupportedOperationException.class, () -> configuration.getMappedStatementNames().clear());
+    assertThrows(UnsupportedOperationException.class, () -> configuration.getResultMaps().clear());
+    assertThrows(UnsupportedOperationException.class, () -> configuration.getCaches().clear());
+    assertThrows(UnsupportedOperationException.class, () -> configuration.getKeyGenerators().clear());
+    assertThrows(UnsupportedOperationException.class, () -> configuration.getParameterMaps().clear());
+    assertThrows(UnsupportedOperationException.class, () -> configuration.getIncompleteStatements().add(null));
+    assertThrows(TypeException.class, () -> configuration.getTypeAliasRegistry().registerAlias(Name.class));
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.getMapper(NameMapper.class).findById(1).getLastName()).isEqualTo("Flintstone");
+    }
+  }
+
+  @Test
+  void shouldFreezeWhenBuildingSessionFactory() throws Exception {
+    Configuration configuration;
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/lazy_statements/mybatis-config.xml")) {
+      configuration = new SqlSessionFactoryBuilder().build(reader).getConfiguration();
+    }
+    assertThat(configuration.isFrozen()).isFalse();
+    configuration.setFreezeConfiguration(true);
+    assertThat(new SqlSessionFactoryBuilder().build(configuration).getConfiguration().isFrozen()).isTrue();
+  }
+
+  @Test
+  void shouldReportErrorsOfStatementsOnFirstUse() {
+    Configuration configuration = new Configuration();
+    configuration.setLazyStatementBuildingEnabled(true);
+    String mapper = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n"
+        + "<!DOCTYPE mapper PUBLIC \"-//mybatis.org//DTD Mapper 3.0//EN\" \"http://mybatis.org/dtd/mybatis-3-mapper.dtd\">\n"
+        + "<mapper namespace=\"broken\">\n"
+        + "  <select id=\"select\" resultType=\"NoSuchType\">select 1</select>\n"
+        + "</mapper>\n";
+    new XMLMapperBuilder(new ByteArrayInputStream(mapper.getBytes(StandardCharsets.UTF_8)), configuration, "broken.xml",
+        configuration.getSqlFragments()).parse();
+
+    BuilderException e = assertThrows(BuilderException.class, () -> configuration.getMappedStatement("broken.select"));
+    assertThat(e.getMessage()).contains("NoSuchType");
+  }
+
+  @Test
+  void shouldReportXmlStatementsCollidingWithAnnotatedOnes() {
+    Configuration configuration = new Configuration();
+    configuration.setLazyStatementBuildingEnabled(true);
+    String namespace = CollidingMapper.class.getName();
+    String mapper = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n"
+        + "<!DOCTYPE mapper PUBLIC \"-//mybatis.org//DTD Mapper 3.0//EN\" \"http://mybatis.org/dtd/mybatis-3-mapper.dtd\">\n"
+        + "<mapper namespace=\"" + namespace + "\">\n"
+        + "  <select id=\"count\" resultType=\"int\">select 2</select>\n"
+        + "</mapper>\n";
+    XMLMapperBuilder builder = new XMLMapperBuilder(new ByteArrayInputStream(mapper.getBytes(StandardCharsets.UTF_8)),
+        configuration, "colliding.xml", configuration.getSqlFragments());
+
+    // binding the namespace adds the annotated statement, which must not replace the pending XML one silently
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class, builder::parse);
+    assertThat(e.getMessage()).contains("already contains value for " + namespace + ".count");
+  }
+
+  interface CollidingMapper {
+    @Select("select 1 from INFORMATION_SCHEMA.SYSTEM_USERS")
+    int count();
+  }
+
+  @Test
+  void shouldLookUpBuiltAndUnknownIdsWithoutLocking() throws Exception {
+    LockExposingConfiguration configuration = new LockExposingConfiguration();
+    configuration.setLazyStatementBuildingEnabled(true);
+    String mapper = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n"
+        + "<!DOCTYPE mapper PUBLIC \"-//mybatis.org//DTD Mapper 3.0//EN\" \"http://mybatis.org/dtd/mybatis-3-mapper.dtd\">\n"
+        + "<mapper namespace=\"locked\">\n"
+        + "  <select id=\"built\" resultType=\"int\">select 1</select>\n"
+        + "  <select id=\"pending\" resultType=\"int\">select 2</select>\n"
+        + "</mapper>\n";
+    new XMLMapperBuilder(new ByteArrayInputStream(mapper.getBytes(StandardCharsets.UTF_8)), configuration, "locked.xml",
+        configuration.getSqlFragments()).parse();
+    assertThat(configuration.getMappedStatement("locked.built")).isNotNull();
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    CountDownLatch locked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Future<?> holder = executor.submit(() -> {
+      configuration.getLazyStatementLock().lock();
+      try {
+        locked.countDown();
+        release.await();
+      } finally {
+        configuration.getLazyStatementLock().unlock();
+      }
+      return null;
+    });
+    try {
+      locked.await();
+      assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+        assertThat(configuration.getMappedStatement("locked.built")).isNotNull();
+        assertThat(configuration.hasResultMap("locked.unknown")).isFalse();
+        assertThat(configuration.hasStatement("locked.unknown")).isFalse();
+        assertThat(configuration.hasKeyGenerator("locked.pending!selectKey")).isFalse();
+      });
+    } finally {
+      release.countDown();
+      holder.get();
+      executor.shutdown();
+    }
+    assertThat(configuration.hasStatement("locked.pending")).isTrue();
+  }
+
+  static class LockExposingConfiguration extends Configuration {
+    Lock getLazyStatementLock() {
+      return lazyStatementLock;
+    }
+  }
+
+  @Test
+  void shouldIncludeFragmentsOfMappersParsedLater() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Name> names = sqlSession.getMapper(NameMapper.class).findAll();
+      assertThat(names).extracting(Name::getFirstName).containsExactly("Fred", "Wilma", "Pebbles", "Barney", "Betty",
+          "Bamm Bamm");
+    }
+  }
+
+  @Test
+  void shouldReportAmbiguousShortNamesLikeEagerlyBuiltStatements() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.<Integer>selectOne(NAMESPACE + ".count")).isEqualTo(6);
+      PersistenceException e = assertThrows(PersistenceException.class, () -> sqlSession.selectOne("count"));
+      assertThat(e.getMessage()).contains("count is ambiguous");
+      assertThat(sqlSession.<Integer>selectOne("org.apache.ibatis.submitted.lazy_statements.fragments.count")).isEqualTo(3);
+    }
+  }
+
+  @Test
+  void shouldListAllStatements() {
+    assertThat(sqlSessionFactory.getConfiguration().getMappedStatementNames()).contains(NAMESPACE + ".findById",
+        NAMESPACE + ".findAll", NAMESPACE + ".count", NAMESPACE + ".insert", NAMESPACE + ".insert!selectKey",
+        "org.apache.ibatis.submitted.lazy_statements.fragments.count", "findAll");
+  }
+
+  @Test
+  void shouldBuildStatementOnceWhenFirstUsedConcurrently() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Callable<String>> tasks = new ArrayList<>();
+      for (int i = 0; i < 16; i++) {
+        tasks.add(() -> {
+          try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            return sqlSession.getMapper(NameMapper.class).findById(2).getLastName();
+          }
+        });
+      }
+      for (Future<String> result : executor.invokeAll(tasks)) {
+        assertThat(result.get()).isEqualTo("Flintstone");
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+}
@@ -0,0 +1,46 @@
+--
+--    Copyright 2009-2026 the original author or authors.
+--
+--    Licensed under the Apache License, Version 2.0 (the "License");
+--    you may not use this file except in compliance with the License.
+--    You may obtain a copy of the License at
+--
+--       http://www.apache.org/licenses/LICENSE-2.0
+--
+--    Unless required by applicable law or agreed to in writing, software
+--    distributed under the License is distributed on an "AS IS" BASIS,
+--    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+--    See the License for the specific language governing permissions and
+--    limitations under the License.
+--
+
+
+drop table names if exists;
+
+create table names (
+id int,
+firstName varchar(20),
+lastName varchar(20)
+);
+
+insert into names (id, firstName, lastName) values(1, 'Name1', 'Flintstone');
+insert into names (id, firstName, lastName) values(2, 'Name2', 'Rubble');
+insert into names (id, firstName, lastName) values(3, 'Name3', 'Flintstone');
+insert into names (id, firstName, lastName) values(4, 'Name4', 'Rubble');
+insert into names (id, firstName, lastName) values(5, 'Name5', 'Flintstone');
+insert into names (id, firstName, lastName) values(6, 'Name6', 'Rubble');
+insert into names (id, firstName, lastName) values(7, 'Name7', 'Flintstone');
+insert into names (id, firstName, lastName) values(8, 'Name8', 'Rubble');
+insert into names (id, firstName, lastName) values(9, 'Name9', 'Flintstone');
+insert into names (id, firstName, lastName) values(10, 'Name10', 'Rubble');
+insert into names (id, firstName, lastName) values(11, 'Name11', 'Flintstone');
+insert into names (id, firstName, lastName) values(12, 'Name12', 'Rubble');
+insert into names (id, firstName, lastName) values(13, 'Name13', 'Flintstone');
+insert into names (id, firstName, lastName) values(14, 'Name14', 'Rubble');
+insert into names (id, firstName, lastName) values(15, 'Name15', 'Flintstone');
+insert into names (id, firstName, lastName) values(16, 'Name16', 'Rubble');
+insert into names (id, firstName, lastName) values(17, 'Name17', 'Flintstone');
+insert into names (id, firstName, lastName) values(18, 'Name18', 'Rubble');
+insert into names (id, firstName, lastName) values(19, 'Name19', 'Flintstone');
+insert into names (id, firstName, lastName) values(20, 'Name20', 'Rubble');
+insert into names (id, firstName, lastName) values(null, 'Dino', 'Flintstone');
@@ -0,0 +1,46 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.partitioned_query;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.PartitionType;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.submitted.physical_pagination.Name;
+
+public interface NameMapper {
+
+  List<Name> findAll();
+
+  void findAll(ResultHandler<Name> handler);
+
+  List<Name> findByLastName(String lastName);
+
+  @Select("select id, firstName, lastName from names where id > 100")
+  @Options(partitionColumn = "id", partitions = 4)
+  List<Name> findNone();
+
+  @Select("select id, firstName, lastName from names where id <= 10 order by id")
+  @Options(partitionColumn = "id", partitions = 2, partitionType = PartitionType.RANGE)
+  List<Name> findFirstTen();
+
+  @Insert("insert into names (id, firstName, lastName) values(#{id}, #{firstName}, #{lastName})")
+  void insert(Name name);
+
+}
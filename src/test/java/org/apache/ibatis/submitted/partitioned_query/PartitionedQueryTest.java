@@ -0,0 +1,171 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.partitioned_query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.PartitionType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.submitted.physical_pagination.Name;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PartitionedQueryTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/partitioned_query/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/partitioned_query/CreateDB.sql");
+  }
+
+  @BeforeEach
+  void clearRecordedSql() {
+    SqlRecorder.THREADS_BY_SQL.clear();
+  }
+
+  @Test
+  void shouldReadPartitionSettings() {
+    MappedStatement ms = sqlSessionFactory.getConfiguration()
+        .getMappedStatement("org.apache.ibatis.submitted.partitioned_query.NameMapper.findByLastName");
+    assertThat(ms.getPartitionColumn()).isEqualTo("id");
+    assertThat(ms.getPartitions()).isEqualTo(3);
+    assertThat(ms.getPartitionType()).isEqualTo(PartitionType.HASH);
+  }
+
+  @Test
+  void shouldMergeRangePartitionsInOrder() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      List<Name> names = mapper.findAll();
+      assertThat(names).hasSize(21);
+      assertThat(names.get(0).getId()).isNull();
+      assertThat(names.subList(1, 21)).extracting(Name::getId).isSorted().doesNotHaveDuplicates();
+      List<String> partitionSql = SqlRecorder.THREADS_BY_SQL.keySet().stream()
+          .filter(sql -> sql.contains("partition_tmp WHERE")).sorted().collect(Collectors.toList());
+      assertThat(partitionSql).containsExactly(
+          "SELECT * FROM (select id, firstName, lastName from names order by id) partition_tmp WHERE (id >= ? AND id < ?)",
+          "SELECT * FROM (select id, firstName, lastName from names order by id) partition_tmp WHERE (id >= ? AND id <= ?)",
+          "SELECT * FROM (select id, firstName, lastName from names order by id) partition_tmp WHERE id IS NULL OR (id >= ? AND id < ?)");
+    }
+  }
+
+  @Test
+  void shouldRunPartitionsOnWorkerThreads() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(NameMapper.class).findByLastName("Rubble");
+      Set<String> threads = new HashSet<>();
+      SqlRecorder.THREADS_BY_SQL.forEach((sql, thread) -> {
+        if (sql.contains("MOD(id, 3)")) {
+          threads.add(thread);
+        }
+      });
+      assertThat(SqlRecorder.THREADS_BY_SQL.keySet()).filteredOn(sql -> sql.contains("MOD(id, 3)")).hasSize(3);
+      assertThat(threads).allMatch(thread -> thread.startsWith("mybatis-partition-"));
+    }
+  }
+
+  @Test
+  void shouldCollectAllRowsOfHashPartitions() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Name> names = sqlSession.getMapper(NameMapper.class).findByLastName("Rubble");
+      assertThat(names).extracting(Name::getId).containsExactlyInAnyOrder(2, 4, 6, 8, 10, 12, 14, 16, 18, 20);
+    }
+  }
+
+  @Test
+  void shouldPassMergedResultsToResultHandler() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Integer> ids = new ArrayList<>();
+      sqlSession.getMapper(NameMapper.class).findAll(context -> ids.add(context.getResultObject().getId()));
+      assertThat(ids).hasSize(21);
+      assertThat(ids.subList(1, 21)).isSorted();
+    }
+  }
+
+  @Test
+  void shouldStopSubQueriesWhenResultHandlerStops() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Integer> ids = new ArrayList<>();
+      sqlSession.getMapper(NameMapper.class).findAll(context -> {
+        ids.add(context.getResultObject().getId());
+        if (ids.size() == 3) {
+          context.stop();
+        }
+      });
+      assertThat(ids).hasSize(3);
+    }
+  }
+
+  @Test
+  void shouldReadRangeByColumnLabel() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(NameMapper.class).findFirstTen();
+      assertThat(SqlRecorder.THREADS_BY_SQL.keySet())
+          .anyMatch(sql -> sql.startsWith("SELECT MIN(id) AS pmin, MAX(id) AS pmax FROM ("));
+    }
+  }
+
+  @Test
+  void shouldSupportPartitionsDeclaredByAnnotation() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      assertThat(mapper.findFirstTen()).extracting(Name::getId).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+      assertThat(SqlRecorder.THREADS_BY_SQL.keySet()).filteredOn(sql -> sql.contains("partition_tmp WHERE")).hasSize(2);
+    }
+  }
+
+  @Test
+  void shouldRunUnpartitionedWhenThereAreNoRows() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.getMapper(NameMapper.class).findNone()).isEmpty();
+      assertThat(SqlRecorder.THREADS_BY_SQL.keySet()).noneMatch(sql -> sql.contains("partition_tmp WHERE"));
+    }
+  }
+
+  @Test
+  void shouldSeeOwnUncommittedChanges() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      Name name = new Name();
+      name.setId(21);
+      name.setFirstName("Name21");
+      name.setLastName("Flintstone");
+      mapper.insert(name);
+      assertThat(mapper.findAll()).hasSize(22);
+      assertThat(SqlRecorder.THREADS_BY_SQL.keySet()).noneMatch(sql -> sql.contains("partition_tmp"));
+      sqlSession.rollback();
+    }
+  }
+
+}
@@ -0,0 +1,45 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.physical_pagination;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.RowBounds;
+
+public interface NameMapper {
+
+  List<Name> findByLastName(@Param("lastName") String lastName, RowBounds rowBounds);
+
+  List<Name> findAll(RowBounds rowBounds);
+
+  List<Name> findAllWithTrailingComment(RowBounds rowBounds);
+
+  @Select("select id, firstName, lastName from names order by id")
+  Cursor<Name> findAllAsCursor(RowBounds rowBounds);
+
+  @Select("select id, firstName, lastName from names order by id for update")
+  List<Name> findAllForUpdate(RowBounds rowBounds);
+
+  @Select("select id, firstName, lastName from names where firstName <> 'hold for update' /* for update */ order by id")
+  List<Name> findAllQuotingLockingClause(RowBounds rowBounds);
+
+  @Select("select id, firstName, lastName from names order by id limit 4")
+  List<Name> findFirstFour(RowBounds rowBounds);
+
+}
@@ -0,0 +1,182 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.physical_pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.dialect.LimitOffsetDialect;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.PageRowBounds;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PhysicalPaginationTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/physical_pagination/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/physical_pagination/CreateDB.sql");
+  }
+
+  @BeforeEach
+  void clearRecordedSql() {
+    SqlRecorder.SQL.clear();
+  }
+
+  @Test
+  void shouldResolveDialectFromDatabaseId() {
+    assertThat(sqlSessionFactory.getConfiguration().getDatabaseId()).isEqualTo("hsqldb");
+    assertThat(sqlSessionFactory.getConfiguration().getDialect()).isInstanceOf(LimitOffsetDialect.class);
+  }
+
+  @Test
+  void shouldApplyRowBoundsInSql() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      List<Name> names = mapper.findAll(new RowBounds(2, 3));
+      assertThat(names).extracting(Name::getId).containsExactly(3, 4, 5);
+      assertThat(SqlRecorder.SQL).containsExactly("select id, firstName, lastName from names order by id LIMIT ? OFFSET ?");
+    }
+  }
+
+  @Test
+  void shouldApplyLimitWithoutOffset() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      List<Name> names = mapper.findByLastName("Rubble", new RowBounds(0, 2));
+      assertThat(names).extracting(Name::getId).containsExactly(4, 5);
+      assertThat(SqlRecorder.SQL).hasSize(1);
+      assertThat(SqlRecorder.SQL.get(0)).endsWith("order by id LIMIT ?");
+    }
+  }
+
+  @Test
+  void shouldSkipRowsOfLockingSelectsOnTheClient() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      List<Name> names = mapper.findAllForUpdate(new RowBounds(2, 3));
+      assertThat(names).extracting(Name::getId).containsExactly(3, 4, 5);
+      assertThat(SqlRecorder.SQL).containsExactly("select id, firstName, lastName from names order by id for update");
+    }
+  }
+
+  @Test
+  void shouldIgnoreLockingClausesInLiteralsAndComments() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      List<Name> names = mapper.findAllQuotingLockingClause(new RowBounds(2, 3));
+      assertThat(names).extracting(Name::getId).containsExactly(3, 4, 5);
+      assertThat(SqlRecorder.SQL).hasSize(1);
+      assertThat(SqlRecorder.SQL.get(0)).endsWith("order by id LIMIT ? OFFSET ?");
+    }
+  }
+
+  @Test
+  void shouldSkipRowsOfSelectsThatAlreadyLimitRowsOnTheClient() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      PageRowBounds rowBounds = new PageRowBounds(1, 2);
+      List<Name> names = mapper.findFirstFour(rowBounds);
+      assertThat(names).extracting(Name::getId).containsExactly(2, 3);
+      assertThat(rowBounds.getTotal()).isNull();
+      assertThat(SqlRecorder.SQL).containsExactly("select id, firstName, lastName from names order by id limit 4");
+    }
+  }
+
+  @Test
+  void shouldApplyOffsetWithoutLimit() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      List<Name> names = mapper.findAll(new RowBounds(4, RowBounds.NO_ROW_LIMIT));
+      assertThat(names).extracting(Name::getId).containsExactly(5, 6);
+    }
+  }
+
+  @Test
+  void shouldApplyRowBoundsAfterTrailingComment() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      PageRowBounds rowBounds = new PageRowBounds(1, 2);
+      List<Name> names = mapper.findAllWithTrailingComment(rowBounds);
+      assertThat(names).extracting(Name::getId).containsExactly(2, 3);
+      assertThat(rowBounds.getTotal()).isEqualTo(6L);
+    }
+  }
+
+  @Test
+  void shouldNotRewriteStatementsWithoutRowBounds() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      assertThat(mapper.findAll(RowBounds.DEFAULT)).hasSize(6);
+      assertThat(SqlRecorder.SQL).containsExactly("select id, firstName, lastName from names order by id");
+    }
+  }
+
+  @Test
+  void shouldCountTotalRows() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      PageRowBounds rowBounds = new PageRowBounds(1, 2);
+      List<Name> names = mapper.findByLastName("Flintstone", rowBounds);
+      assertThat(names).extracting(Name::getId).containsExactly(2, 3);
+      assertThat(rowBounds.getTotal()).isEqualTo(3L);
+      assertThat(SqlRecorder.SQL).hasSize(2);
+      assertThat(SqlRecorder.SQL.get(1)).startsWith("SELECT COUNT(*) FROM (select id, firstName, lastName from names WHERE lastName = ?");
+    }
+  }
+
+  @Test
+  void shouldCountTotalRowsOnLocalCacheHit() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      mapper.findAll(new PageRowBounds(0, 2));
+      PageRowBounds rowBounds = new PageRowBounds(0, 2);
+      assertThat(mapper.findAll(rowBounds)).hasSize(2);
+      assertThat(rowBounds.getTotal()).isEqualTo(6L);
+      assertThat(SqlRecorder.SQL).hasSize(2);
+    }
+  }
+
+  @Test
+  void shouldApplyRowBoundsToCursors() throws Exception {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      List<Integer> ids = new ArrayList<>();
+      try (Cursor<Name> cursor = mapper.findAllAsCursor(new RowBounds(3, 2))) {
+        cursor.forEach(name -> ids.add(name.getId()));
+      }
+      assertThat(ids).containsExactly(4, 5);
+      assertThat(SqlRecorder.SQL.get(0)).endsWith("LIMIT ? OFFSET ?");
+    }
+  }
+
+}
@@ -0,0 +1,47 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.sharding;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.session.RowBounds;
+
+public interface NameMapper {
+
+  Name findById(Integer id);
+
+  List<Name> findByLastName(@Param("id") Integer id, @Param("lastName") String lastName);
+
+  List<Name> findAll();
+
+  List<Name> findAll(RowBounds rowBounds);
+
+  List<Name> findAllWithSelf();
+
+  int count();
+
+  @Select("select count(*) from names where id = #{id}")
+  @Options(shardKey = "id")
+  int countById(@Param("id") Integer id);
+
+  void insert(Name name);
+
+  int updateLastName(@Param("id") Integer id, @Param("lastName") String lastName);
+
+}
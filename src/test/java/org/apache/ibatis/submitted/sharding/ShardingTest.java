@@ -0,0 +1,170 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.sharding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionException;
+import org.apache.ibatis.sharding.HashShardStrategy;
+import org.apache.ibatis.sharding.ShardedSqlSession;
+import org.apache.ibatis.sharding.ShardedSqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ShardingTest {
+
+  private ShardedSqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    Environment shard0 = newShard("shard0");
+    Environment shard1 = newShard("shard1");
+    Configuration configuration = new Configuration();
+    configuration.addMapper(NameMapper.class);
+    sqlSessionFactory = new ShardedSqlSessionFactory(configuration, Arrays.asList(shard0, shard1),
+        new HashShardStrategy());
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      for (int id = 1; id <= 6; id++) {
+        mapper.insert(newName(id, "Name" + id, id <= 3 ? "Flintstone" : "Rubble"));
+      }
+      sqlSession.commit();
+    }
+  }
+
+  private static Environment newShard(String id) throws Exception {
+    UnpooledDataSource dataSource = new UnpooledDataSource("org.hsqldb.jdbcDriver", "jdbc:hsqldb:mem:sharding_" + id, "sa", "");
+    BaseDataTest.runScript(dataSource, "org/apache/ibatis/submitted/sharding/CreateDB.sql");
+    return new Environment(id, new JdbcTransactionFactory(), dataSource);
+  }
+
+  private static Name newName(int id, String firstName, String lastName) {
+    Name name = new Name();
+    name.setId(id);
+    name.setFirstName(firstName);
+    name.setLastName(lastName);
+    return name;
+  }
+
+  @Test
+  void shouldRouteWritesByShardKey() {
+    try (ShardedSqlSession sqlSession = (ShardedSqlSession) sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.getShardSession("shard0").<Name>selectList("org.apache.ibatis.submitted.sharding.NameMapper.findAll"))
+          .extracting(Name::getId).containsExactly(2, 4, 6);
+      assertThat(sqlSession.getShardSession("shard1").<Name>selectList("org.apache.ibatis.submitted.sharding.NameMapper.findAll"))
+          .extracting(Name::getId).containsExactly(1, 3, 5);
+    }
+  }
+
+  @Test
+  void shouldRouteSelectsWithShardKeyToSingleShard() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      assertThat(mapper.findById(5).getFirstName()).isEqualTo("Name5");
+      assertThat(mapper.findByLastName(4, null)).extracting(Name::getId).containsExactly(4);
+      assertThat(mapper.countById(3)).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void shouldFanOutSelectsWithoutShardKey() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      assertThat(mapper.findAll()).extracting(Name::getId).containsExactly(2, 4, 6, 1, 3, 5);
+      assertThat(mapper.findByLastName(null, "Rubble")).extracting(Name::getId).containsExactly(4, 6, 5);
+    }
+  }
+
+  @Test
+  void shouldLoadLazilyFromTheShardAfterSessionIsClosed() {
+    List<Name> names;
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      names = sqlSession.getMapper(NameMapper.class).findAllWithSelf();
+    }
+    assertThat(names).hasSize(6);
+    for (Name name : names) {
+      assertThat(name.getSelf().getFirstName()).isEqualTo("Name" + name.getId());
+    }
+  }
+
+  @Test
+  void shouldApplyRowBoundsToMergedResults() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      assertThat(mapper.findAll(new RowBounds(2, 3))).extracting(Name::getId).containsExactly(6, 1, 3);
+      assertThat(mapper.findAll(new RowBounds(5, 10))).extracting(Name::getId).containsExactly(5);
+      assertThat(mapper.findAll(new RowBounds(0, 2))).extracting(Name::getId).containsExactly(2, 4);
+    }
+  }
+
+  @Test
+  void shouldRejectWritesWithoutShardKey() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      SqlSessionException e = assertThrows(SqlSessionException.class, () -> mapper.updateLastName(null, "Slate"));
+      assertThat(e.getMessage()).contains("must be routed to a single shard");
+    }
+  }
+
+  @Test
+  void shouldCommitAndRollbackEveryShard() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      NameMapper mapper = sqlSession.getMapper(NameMapper.class);
+      mapper.updateLastName(1, "Slate");
+      mapper.updateLastName(2, "Slate");
+      sqlSession.rollback();
+      assertThat(mapper.findByLastName(null, "Slate")).isEmpty();
+      mapper.updateLastName(1, "Slate");
+      mapper.updateLastName(2, "Slate");
+      sqlSession.commit();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.getMapper(NameMapper.class).findByLastName(null, "Slate")).extracting(Name::getId).containsExactly(2, 1);
+    }
+  }
+
+  @Test
+  void shouldNotShareSecondLevelCacheBetweenShards() {
+    try (ShardedSqlSession sqlSession = (ShardedSqlSession) sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(NameMapper.class).insert(newName(8, "Name8", "Slate"));
+      sqlSession.commit();
+      assertThat(sqlSession.getShardSession("shard0").<Integer>selectOne("org.apache.ibatis.submitted.sharding.NameMapper.count")).isEqualTo(4);
+      sqlSession.commit();
+      assertThat(sqlSession.getShardSession("shard1").<Integer>selectOne("org.apache.ibatis.submitted.sharding.NameMapper.count")).isEqualTo(3);
+    }
+  }
+
+  @Test
+  void shouldRejectCursorsAcrossShards() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThrows(SqlSessionException.class, () -> sqlSession.selectCursor("org.apache.ibatis.submitted.sharding.NameMapper.findAll"));
+      assertThrows(PersistenceException.class, sqlSession::getConnection);
+    }
+  }
+
+}
@@ -27,6 +27,8 @@ import static org.mockito.Mockito.when;
 import java.sql.Array;
 import java.sql.Connection;
 import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -58,6 +60,34 @@ class ArrayTypeHandlerTest extends BaseTypeHandlerTest {
     verify(array).free();
   }
 
+  @Test
+  void shouldSetCollectionParameter() throws Exception {
+    Connection connection = mock(Connection.class);
+    when(ps.getConnection()).thenReturn(connection);
+
+    Array array = mock(Array.class);
+    when(connection.createArrayOf("INTEGER", new Object[] { null, 1, 2 })).thenReturn(array);
+
+    TYPE_HANDLER.setParameter(ps, 1, Arrays.asList(null, 1, 2), JdbcType.ARRAY);
+    verify(ps).setArray(1, array);
+    verify(array).free();
+  }
+
+  @Test
+  void shouldSetEmptyCollectionParameterAsArrayOfTheDeclaredType() throws Exception {
+    Connection connection = mock(Connection.class);
+    when(ps.getConnection()).thenReturn(connection);
+    Array array = mock(Array.class);
+    when(connection.createArrayOf("BIGINT", new Object[0])).thenReturn(array);
+    when(connection.createArrayOf("VARCHAR", new Object[] { null })).thenReturn(array);
+
+    new ArrayTypeHandler(Long[].class, null).setParameter(ps, 1, Collections.emptyList(), JdbcType.ARRAY);
+    new ArrayTypeHandler(Object.class, "VARCHAR").setParameter(ps, 2, Collections.singletonList(null), JdbcType.ARRAY);
+
+    verify(ps).setArray(1, array);
+    verify(ps).setArray(2, array);
+  }
+
   @Test
   public void shouldSetNullParameter() throws Exception {
     TYPE_HANDLER.setParameter(ps, 1, null, JdbcType.ARRAY);
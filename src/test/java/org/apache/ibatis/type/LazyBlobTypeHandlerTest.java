@@ -0,0 +1,184 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Blob;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+
+class LazyBlobTypeHandlerTest extends BaseTypeHandlerTest {
+
+  private static final TypeHandler<LazyBlob> TYPE_HANDLER = new LazyBlobTypeHandler();
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @Mock
+  protected Blob blob;
+
+  @BeforeAll
+  static void setupSqlSessionFactory() throws Exception {
+    DataSource dataSource = BaseDataTest.createUnpooledDataSource("org/apache/ibatis/type/jdbc.properties");
+    Environment environment = new Environment("Production", new JdbcTransactionFactory(), dataSource);
+    Configuration configuration = new Configuration(environment);
+    configuration.addMapper(Mapper.class);
+    sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+
+    BaseDataTest.runScript(dataSource, "org/apache/ibatis/type/LazyBlobTypeHandlerTest.sql");
+  }
+
+  @Override
+  @Test
+  public void shouldSetParameter() throws Exception {
+    TYPE_HANDLER.setParameter(ps, 1, new LazyBlob(blob), null);
+    verify(ps).setBlob(1, blob);
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultFromResultSetByName() throws Exception {
+    when(rs.getBlob("column")).thenReturn(blob);
+    assertThat(TYPE_HANDLER.getResult(rs, "column").getBlob()).isSameAs(blob);
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultNullFromResultSetByName() throws Exception {
+    when(rs.getBlob("column")).thenReturn(null);
+    assertThat(TYPE_HANDLER.getResult(rs, "column")).isNull();
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultFromResultSetByPosition() throws Exception {
+    when(rs.getBlob(1)).thenReturn(blob);
+    assertThat(TYPE_HANDLER.getResult(rs, 1).getBlob()).isSameAs(blob);
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultNullFromResultSetByPosition() throws Exception {
+    when(rs.getBlob(1)).thenReturn(null);
+    assertThat(TYPE_HANDLER.getResult(rs, 1)).isNull();
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultFromCallableStatement() throws Exception {
+    when(cs.getBlob(1)).thenReturn(blob);
+    assertThat(TYPE_HANDLER.getResult(cs, 1).getBlob()).isSameAs(blob);
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultNullFromCallableStatement() throws Exception {
+    when(cs.getBlob(1)).thenReturn(null);
+    assertThat(TYPE_HANDLER.getResult(cs, 1)).isNull();
+  }
+
+  @Test
+  void shouldReadContentOnlyWhenAsked() throws Exception {
+    InputStream in = new ByteArrayInputStream("Hello".getBytes());
+    when(rs.getBlob("column")).thenReturn(blob);
+    when(blob.getBinaryStream()).thenReturn(in);
+    LazyBlob lazyBlob = TYPE_HANDLER.getResult(rs, "column");
+    verify(blob, never()).getBytes(1, 5);
+
+    assertThat(lazyBlob.openStream()).isSameAs(in);
+    when(blob.length()).thenReturn(5L);
+    when(blob.getBytes(1, 5)).thenReturn("Hello".getBytes());
+    assertThat(lazyBlob.getBytes()).isEqualTo("Hello".getBytes());
+    assertThat(lazyBlob.getBytes()).isEqualTo("Hello".getBytes());
+    verify(blob, times(1)).getBytes(1, 5);
+  }
+
+  @Test
+  void shouldStreamFileIntoBlobAndBackWithinCursor(@TempDir Path dir) throws Exception {
+    Path file = Files.write(dir.resolve("content.txt"), "Hello".getBytes(StandardCharsets.UTF_8));
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      Mapper mapper = session.getMapper(Mapper.class);
+      mapper.insert(new FileContent(1, file));
+      mapper.insert(new FileContent(2, file));
+      List<String> contents = new ArrayList<>();
+      try (Cursor<LazyBlob> cursor = mapper.findAll()) {
+        for (LazyBlob content : cursor) {
+          try (BufferedReader reader = new BufferedReader(
+              new InputStreamReader(content.openStream(), StandardCharsets.UTF_8))) {
+            contents.add(reader.readLine());
+          }
+        }
+      }
+      assertThat(contents).containsExactly("Hello", "Hello");
+      session.rollback();
+    }
+  }
+
+  interface Mapper {
+    @Select("SELECT CONTENT FROM TEST_LAZY_BLOB ORDER BY ID")
+    Cursor<LazyBlob> findAll();
+
+    @Insert("INSERT INTO TEST_LAZY_BLOB (ID, CONTENT) VALUES(#{id}, #{content})")
+    void insert(FileContent fileContent);
+  }
+
+  static class FileContent {
+    private final int id;
+    private final Path content;
+
+    FileContent(int id, Path content) {
+      this.id = id;
+      this.content = content;
+    }
+
+    public int getId() {
+      return id;
+    }
+
+    public Path getContent() {
+      return content;
+    }
+  }
+
+}
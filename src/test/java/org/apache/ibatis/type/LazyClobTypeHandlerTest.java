@@ -0,0 +1,101 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.sql.Clob;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+class LazyClobTypeHandlerTest extends BaseTypeHandlerTest {
+
+  private static final TypeHandler<LazyClob> TYPE_HANDLER = new LazyClobTypeHandler();
+
+  @Mock
+  protected Clob clob;
+
+  @Override
+  @Test
+  public void shouldSetParameter() throws Exception {
+    TYPE_HANDLER.setParameter(ps, 1, new LazyClob(clob), null);
+    verify(ps).setClob(1, clob);
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultFromResultSetByName() throws Exception {
+    when(rs.getClob("column")).thenReturn(clob);
+    assertThat(TYPE_HANDLER.getResult(rs, "column").getClob()).isSameAs(clob);
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultNullFromResultSetByName() throws Exception {
+    when(rs.getClob("column")).thenReturn(null);
+    assertThat(TYPE_HANDLER.getResult(rs, "column")).isNull();
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultFromResultSetByPosition() throws Exception {
+    when(rs.getClob(1)).thenReturn(clob);
+    assertThat(TYPE_HANDLER.getResult(rs, 1).getClob()).isSameAs(clob);
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultNullFromResultSetByPosition() throws Exception {
+    when(rs.getClob(1)).thenReturn(null);
+    assertThat(TYPE_HANDLER.getResult(rs, 1)).isNull();
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultFromCallableStatement() throws Exception {
+    when(cs.getClob(1)).thenReturn(clob);
+    assertThat(TYPE_HANDLER.getResult(cs, 1).getClob()).isSameAs(clob);
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultNullFromCallableStatement() throws Exception {
+    when(cs.getClob(1)).thenReturn(null);
+    assertThat(TYPE_HANDLER.getResult(cs, 1)).isNull();
+  }
+
+  @Test
+  void shouldReadContentOnlyWhenAsked() throws Exception {
+    Reader reader = new StringReader("Hello");
+    when(rs.getClob("column")).thenReturn(clob);
+    when(clob.getCharacterStream()).thenReturn(reader);
+    when(clob.length()).thenReturn(5L);
+    when(clob.getSubString(1, 5)).thenReturn("Hello");
+    LazyClob lazyClob = TYPE_HANDLER.getResult(rs, "column");
+
+    assertThat(lazyClob.openReader()).isSameAs(reader);
+    assertThat(lazyClob.getString()).isEqualTo("Hello");
+    assertThat(lazyClob.getString()).isEqualTo("Hello");
+    verify(clob, times(1)).getSubString(1, 5);
+  }
+
+}
@@ -0,0 +1,132 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.ibatis.executor.result.ResultMapException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+class PathTypeHandlerTest extends BaseTypeHandlerTest {
+
+  private static final TypeHandler<Path> TYPE_HANDLER = new PathTypeHandler();
+
+  @TempDir
+  Path dir;
+
+  @Override
+  @Test
+  public void shouldSetParameter() throws Exception {
+    Path file = Files.write(dir.resolve("content.txt"), "Hello".getBytes(StandardCharsets.UTF_8));
+    TYPE_HANDLER.setParameter(ps, 1, file, null);
+
+    ArgumentCaptor<InputStream> stream = ArgumentCaptor.forClass(InputStream.class);
+    verify(ps).setBinaryStream(eq(1), stream.capture(), eq(5L));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[2];
+    int n;
+    while ((n = stream.getValue().read(buffer, 0, buffer.length)) >= 0) {
+      out.write(buffer, 0, n);
+    }
+    assertThat(out.toString("UTF-8")).isEqualTo("Hello");
+    assertThat(stream.getValue().read()).isEqualTo(-1);
+  }
+
+  @Test
+  void shouldStopAtTheLengthTheFileHadWhenTheParameterWasSet() throws Exception {
+    Path file = Files.write(dir.resolve("growing.txt"), "Hello".getBytes(StandardCharsets.UTF_8));
+    TYPE_HANDLER.setParameter(ps, 1, file, null);
+    Files.write(file, " World".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+    ArgumentCaptor<InputStream> stream = ArgumentCaptor.forClass(InputStream.class);
+    verify(ps).setBinaryStream(eq(1), stream.capture(), eq(5L));
+    byte[] buffer = new byte[16];
+    assertThat(stream.getValue().read(buffer, 0, buffer.length)).isEqualTo(5);
+    assertThat(new String(buffer, 0, 5, StandardCharsets.UTF_8)).isEqualTo("Hello");
+    assertThat(stream.getValue().available()).isZero();
+    assertThat(stream.getValue().read()).isEqualTo(-1);
+  }
+
+  @Test
+  void shouldEndEarlyWhenTheFileShrinks() throws Exception {
+    Path file = Files.write(dir.resolve("shrinking.txt"), "Hello".getBytes(StandardCharsets.UTF_8));
+    TYPE_HANDLER.setParameter(ps, 1, file, null);
+    Files.write(file, "Hi".getBytes(StandardCharsets.UTF_8));
+
+    ArgumentCaptor<InputStream> stream = ArgumentCaptor.forClass(InputStream.class);
+    verify(ps).setBinaryStream(eq(1), stream.capture(), eq(5L));
+    assertThat(stream.getValue().read()).isEqualTo('H');
+    assertThat(stream.getValue().read()).isEqualTo('i');
+    assertThat(stream.getValue().read()).isEqualTo(-1);
+    assertThat(stream.getValue().read()).isEqualTo(-1);
+  }
+
+  @Test
+  void shouldNotOpenFileUntilRead() throws Exception {
+    Path file = dir.resolve("deleted.txt");
+    Files.write(file, new byte[3]);
+    TYPE_HANDLER.setParameter(ps, 1, file, null);
+    Files.delete(file);
+    verify(ps).setBinaryStream(eq(1), any(InputStream.class), eq(3L));
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultFromResultSetByName() throws Exception {
+    assertThrows(ResultMapException.class, () -> TYPE_HANDLER.getResult(rs, "column"));
+  }
+
+  @Override
+  public void shouldGetResultNullFromResultSetByName() throws Exception {
+    // Unnecessary
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultFromResultSetByPosition() throws Exception {
+    assertThrows(ResultMapException.class, () -> TYPE_HANDLER.getResult(rs, 1));
+  }
+
+  @Override
+  public void shouldGetResultNullFromResultSetByPosition() throws Exception {
+    // Unnecessary
+  }
+
+  @Override
+  @Test
+  public void shouldGetResultFromCallableStatement() throws Exception {
+    assertThrows(ResultMapException.class, () -> TYPE_HANDLER.getResult(cs, 1));
+  }
+
+  @Override
+  public void shouldGetResultNullFromCallableStatement() throws Exception {
+    // Unnecessary
+  }
+
+}
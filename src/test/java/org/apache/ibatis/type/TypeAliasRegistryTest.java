@@ -67,4 +67,12 @@ class TypeAliasRegistryTest {
     typeAliasRegistry.registerAlias("foo", String.class);
   }
 
+  @Test
+  void shouldNotBeAbleToRegisterAliasOnceFrozen() {
+    TypeAliasRegistry typeAliasRegistry = new TypeAliasRegistry();
+    typeAliasRegistry.freeze();
+    assertThrows(TypeException.class, () -> typeAliasRegistry.registerAlias("decimal", BigDecimal.class));
+    assertEquals(String.class, typeAliasRegistry.resolveAlias("string"));
+  }
+
 }
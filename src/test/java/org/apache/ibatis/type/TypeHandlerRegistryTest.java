@@ -143,6 +143,19 @@ class TypeHandlerRegistryTest {
     assertEquals(DateTypeHandler.class, typeHandlerRegistry.getTypeHandler(MyDate.class).getClass());
   }
 
+  @Test
+  void shouldResolveAgainAfterRegistration() {
+    class MyDate extends Date {
+      private static final long serialVersionUID = 1L;
+    }
+    assertEquals(DateTypeHandler.class, typeHandlerRegistry.getTypeHandler(MyDate.class).getClass());
+    assertNull(typeHandlerRegistry.getTypeHandler(RichType.class, JdbcType.VARCHAR));
+    typeHandlerRegistry.register(MyDate.class, SqlTimestampTypeHandler.class);
+    typeHandlerRegistry.register(RichType.class, JdbcType.VARCHAR, StringTypeHandler.class);
+    assertEquals(SqlTimestampTypeHandler.class, typeHandlerRegistry.getTypeHandler(MyDate.class).getClass());
+    assertEquals(StringTypeHandler.class, typeHandlerRegistry.getTypeHandler(RichType.class, JdbcType.VARCHAR).getClass());
+  }
+
   @Test
   void shouldReturnHandlerForSuperSuperclassIfRegistered() {
     class MyDate1 extends Date {
@@ -246,4 +259,13 @@ class TypeHandlerRegistryTest {
       executorService.shutdownNow();
     }
   }
+
+  @Test
+  void shouldRejectRegistrationsButResolveEnumsOnceFrozen() {
+    typeHandlerRegistry.freeze();
+    assertThrows(TypeException.class, () -> typeHandlerRegistry.register(RichType.class, StringTypeHandler.class));
+    assertThrows(TypeException.class, () -> typeHandlerRegistry.register(JdbcType.VARCHAR, new StringTypeHandler()));
+    assertFalse(typeHandlerRegistry.hasTypeHandler(RichType.class));
+    assertTrue(typeHandlerRegistry.getTypeHandler(TestEnum.class) instanceof EnumTypeHandler);
+  }
 }
@@ -19,6 +19,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.*;
 
+import java.sql.ResultSet;
 import java.sql.SQLException;
 
 import org.apache.ibatis.executor.result.ResultMapException;
@@ -49,6 +50,49 @@ class UnknownTypeHandlerTest extends BaseTypeHandlerTest {
     assertEquals("Hello", TYPE_HANDLER.getResult(rs, "column"));
   }
 
+  @Test
+  void shouldResolveColumnTypeHandlerOncePerResultSet() throws Exception {
+    TypeHandler<Object> typeHandler = new UnknownTypeHandler(new Configuration());
+    when(rs.getMetaData()).thenReturn(rsmd);
+    when(rsmd.getColumnCount()).thenReturn(1);
+    when(rsmd.getColumnLabel(1)).thenReturn("column");
+    when(rsmd.getColumnClassName(1)).thenReturn(Integer.class.getName());
+    when(rsmd.getColumnType(1)).thenReturn(JdbcType.INTEGER.TYPE_CODE);
+    when(rs.getInt("column")).thenReturn(1, 2);
+    assertEquals(1, typeHandler.getResult(rs, "column"));
+    assertEquals(2, typeHandler.getResult(rs, "column"));
+    verify(rs, times(1)).getMetaData();
+  }
+
+  @Test
+  void shouldKeepResolvedColumnTypeHandlersOfEachThread() throws Exception {
+    TypeHandler<Object> typeHandler = new UnknownTypeHandler(new Configuration());
+    when(rs.getMetaData()).thenReturn(rsmd);
+    when(rsmd.getColumnCount()).thenReturn(1);
+    when(rsmd.getColumnLabel(1)).thenReturn("column");
+    when(rsmd.getColumnClassName(1)).thenReturn(Integer.class.getName());
+    when(rsmd.getColumnType(1)).thenReturn(JdbcType.INTEGER.TYPE_CODE);
+    when(rs.getInt("column")).thenReturn(1, 2);
+    ResultSet otherRs = mock(ResultSet.class);
+    when(otherRs.getMetaData()).thenReturn(rsmd);
+    when(otherRs.getInt("column")).thenReturn(3);
+
+    assertEquals(1, typeHandler.getResult(rs, "column"));
+    Thread other = new Thread(() -> {
+      try {
+        assertEquals(3, typeHandler.getResult(otherRs, "column"));
+      } catch (SQLException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    other.start();
+    other.join();
+    assertEquals(2, typeHandler.getResult(rs, "column"));
+
+    verify(rs, times(1)).getMetaData();
+    verify(otherRs, times(1)).getMetaData();
+  }
+
   @Override
   public void shouldGetResultNullFromResultSetByName() throws Exception {
     // Unnecessary